@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jolie.runtime.Value;
+
+/**
+ * Measures the routing of messages to running sessions by the correlation engine, as a function of
+ * the number of sessions waiting for a message.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class CorrelationBenchmark {
+	@Param( { "simple", "hash" } )
+	public String algorithm;
+
+	@Param( { "10", "1000" } )
+	public int sessions;
+
+	private EmbeddedProgram program;
+	private Value[] requests;
+
+	@Setup
+	public void setup()
+		throws Exception {
+		program = EmbeddedProgram.start( "correlation.ol", "--correlationAlgorithm", algorithm );
+		requests = new Value[ sessions ];
+		for( int i = 0; i < sessions; i++ ) {
+			requests[ i ] = Value.create();
+			requests[ i ].getFirstChild( "sid" ).setValue( "session-" + i );
+			program.call( "start", requests[ i ] );
+		}
+	}
+
+	@TearDown
+	public void tearDown()
+		throws IOException {
+		program.close();
+	}
+
+	@Benchmark
+	public Value poke()
+		throws Exception {
+		return program.call( "poke", requests[ ThreadLocalRandom.current().nextInt( sessions ) ] );
+	}
+}
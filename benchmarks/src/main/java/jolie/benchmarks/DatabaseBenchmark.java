@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package jolie.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jolie.runtime.FaultException;
+import jolie.runtime.Value;
+import joliex.db.DatabaseService;
+
+/**
+ * Measures the time to update a number of rows of an in-memory HSQLDB database through the
+ * database service: one update operation per row, one update per row within a transaction, and a
+ * single batchUpdate operation for all the rows.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class DatabaseBenchmark {
+	private static final String UPDATE = "UPDATE benchmark SET amount = :amount WHERE id = :id";
+
+	@Param( { "10", "1000" } )
+	public int rows;
+
+	// Only hosts the database service, which needs an interpreter to connect
+	private EmbeddedProgram program;
+	private DatabaseService database;
+	private Value[] updates;
+	private Value batchRequest;
+
+	@Setup
+	public void setup()
+		throws Exception {
+		program = EmbeddedProgram.start( "echo.ol" );
+		database = new DatabaseService();
+		database.setInterpreter( program.interpreter() );
+
+		final Value connectRequest = Value.create();
+		connectRequest.getFirstChild( "driver" ).setValue( "hsqldb_embedded" );
+		connectRequest.getFirstChild( "database" ).setValue( "mem:benchmark" );
+		connectRequest.getFirstChild( "username" ).setValue( "SA" );
+		connectRequest.getFirstChild( "password" ).setValue( "" );
+		connectRequest.getFirstChild( "host" ).setValue( "" );
+		database.connect( connectRequest );
+		database.update( Value.create( "CREATE TABLE benchmark(id INTEGER PRIMARY KEY, amount DOUBLE)" ) );
+
+		final Value insertRequest = Value.create();
+		insertRequest.getFirstChild( "update" ).setValue( "INSERT INTO benchmark(id, amount) VALUES (:id, 0)" );
+		updates = new Value[ rows ];
+		batchRequest = Value.create();
+		batchRequest.getFirstChild( "update" ).setValue( UPDATE );
+		for( int i = 0; i < rows; i++ ) {
+			insertRequest.getNewChild( "rows" ).getFirstChild( "id" ).setValue( i );
+			updates[ i ] = Value.create( UPDATE );
+			updates[ i ].getFirstChild( "id" ).setValue( i );
+			updates[ i ].getFirstChild( "amount" ).setValue( i * 1.5 );
+			batchRequest.getChildren( "rows" ).add( updates[ i ] );
+		}
+		database.batchUpdate( insertRequest );
+	}
+
+	@TearDown
+	public void tearDown()
+		throws FaultException, IOException {
+		database.update( Value.create( "DROP TABLE benchmark" ) );
+		database.close();
+		program.close();
+	}
+
+	@Benchmark
+	public long update()
+		throws FaultException {
+		long updated = 0;
+		for( Value update : updates ) {
+			updated += database.update( update ).intValue();
+		}
+		return updated;
+	}
+
+	@Benchmark
+	public long updateInTransaction()
+		throws FaultException {
+		final Value txHandle = database.beginTx();
+		final Value request = Value.create();
+		request.getFirstChild( "txHandle" ).setValue( txHandle.longValue() );
+		long updated = 0;
+		for( Value update : updates ) {
+			request.getChildren( "update" ).set( 0, update );
+			updated += database.update( request ).intValue();
+		}
+		database.commitTx( txHandle );
+		return updated;
+	}
+
+	@Benchmark
+	public Value batchUpdate()
+		throws FaultException {
+		return database.batchUpdate( batchRequest );
+	}
+}
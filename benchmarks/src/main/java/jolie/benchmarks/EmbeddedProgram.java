@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+import jolie.Interpreter;
+import jolie.VirtualThreads;
+import jolie.cli.CommandLineException;
+import jolie.cli.CommandLineParser;
+import jolie.net.CommMessage;
+import jolie.net.LocalCommChannel;
+import jolie.runtime.FaultException;
+import jolie.runtime.Value;
+
+/**
+ * A Jolie program run in the same JVM as the benchmarks, loaded from the resources of this module.
+ */
+final class EmbeddedProgram implements AutoCloseable {
+	private final Interpreter interpreter;
+	private final Path file;
+
+	private EmbeddedProgram( Interpreter interpreter, Path file ) {
+		this.interpreter = interpreter;
+		this.file = file;
+	}
+
+	/**
+	 * Starts the program with the given name and waits for its init procedure to complete.
+	 *
+	 * @param name the name of the program, relative to this package
+	 * @param options additional command line options for the interpreter
+	 */
+	static EmbeddedProgram start( String name, String... options )
+		throws IOException, CommandLineException, ExecutionException, InterruptedException {
+		final Path file = Files.createTempFile( "jolie-benchmark-", ".ol" );
+		try( InputStream in = EmbeddedProgram.class.getResourceAsStream( name ) ) {
+			if( in == null ) {
+				throw new IOException( "Benchmark program not found: " + name );
+			}
+			Files.copy( in, file, StandardCopyOption.REPLACE_EXISTING );
+		}
+
+		final String[] args = Arrays.copyOf( options, options.length + 1 );
+		args[ options.length ] = file.toString();
+		// The interpreter reads the program through the parser, which must stay open until it has started
+		final CommandLineParser parser =
+			new CommandLineParser( args, EmbeddedProgram.class.getClassLoader(), false );
+		final Interpreter interpreter =
+			new Interpreter( parser.getInterpreterConfiguration(), null, Optional.of( Value.create() ),
+				Optional.empty() );
+		final Exception e = interpreter.start().get();
+		parser.close();
+		if( e != null ) {
+			throw new ExecutionException( e );
+		}
+		interpreter.initThread().join();
+		return new EmbeddedProgram( interpreter, file );
+	}
+
+	Interpreter interpreter() {
+		return interpreter;
+	}
+
+	/**
+	 * Makes the calling thread behave as a thread of the program, so that code which needs the current
+	 * interpreter, e.g., protocols, can run on it.
+	 */
+	void attachCurrentThread() {
+		VirtualThreads.setExecutionThread( interpreter.initThread() );
+	}
+
+	/**
+	 * Invokes a request-response operation of the program through an in-memory channel.
+	 */
+	Value call( String operationName, Value request )
+		throws IOException, FaultException, ExecutionException, InterruptedException {
+		final LocalCommChannel channel = interpreter.commCore().getLocalCommChannel();
+		final CommMessage message = CommMessage.createRequest( operationName, "/", request );
+		channel.send( message );
+		final CommMessage response = channel.recvResponseFor( message ).get();
+		if( response.isFault() ) {
+			throw response.fault();
+		}
+		return response.value();
+	}
+
+	@Override
+	public void close()
+		throws IOException {
+		VirtualThreads.setExecutionThread( null );
+		interpreter.exit();
+		Files.deleteIfExists( file );
+	}
+}
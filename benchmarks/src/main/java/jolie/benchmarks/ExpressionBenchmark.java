@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jolie.lang.Constants.OperandType;
+import jolie.runtime.Value;
+import jolie.runtime.expression.Expression;
+import jolie.runtime.expression.Expression.Operand;
+import jolie.runtime.expression.ProductExpression;
+import jolie.runtime.expression.SumExpression;
+
+/**
+ * Measures the evaluation of arithmetic expressions over variables, e.g., <code>a + b - c + 1</code>.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class ExpressionBenchmark {
+	private Expression intSum;
+	private Expression doubleSum;
+	private Expression intProduct;
+	private Expression stringSum;
+
+	@Setup
+	public void setup() {
+		final Value root = Value.create();
+		root.getFirstChild( "a" ).setValue( 12 );
+		root.getFirstChild( "b" ).setValue( 30 );
+		root.getFirstChild( "c" ).setValue( 7 );
+		root.getFirstChild( "x" ).setValue( 1.5 );
+		root.getFirstChild( "s" ).setValue( "total: " );
+
+		intSum = new SumExpression( new Operand[] {
+			new Operand( OperandType.ADD, FixedRootPath.of( root, "a" ) ),
+			new Operand( OperandType.ADD, FixedRootPath.of( root, "b" ) ),
+			new Operand( OperandType.SUBTRACT, FixedRootPath.of( root, "c" ) ),
+			new Operand( OperandType.ADD, Value.create( 1 ) )
+		} );
+		doubleSum = new SumExpression( new Operand[] {
+			new Operand( OperandType.ADD, FixedRootPath.of( root, "a" ) ),
+			new Operand( OperandType.ADD, FixedRootPath.of( root, "x" ) ),
+			new Operand( OperandType.SUBTRACT, FixedRootPath.of( root, "c" ) )
+		} );
+		intProduct = new ProductExpression( new Operand[] {
+			new Operand( OperandType.MULTIPLY, FixedRootPath.of( root, "a" ) ),
+			new Operand( OperandType.MULTIPLY, FixedRootPath.of( root, "b" ) ),
+			new Operand( OperandType.DIVIDE, FixedRootPath.of( root, "c" ) ),
+			new Operand( OperandType.MODULUS, Value.create( 10 ) )
+		} );
+		stringSum = new SumExpression( new Operand[] {
+			new Operand( OperandType.ADD, FixedRootPath.of( root, "s" ) ),
+			new Operand( OperandType.ADD, FixedRootPath.of( root, "a" ) )
+		} );
+	}
+
+	@Benchmark
+	public Value sumInts() {
+		return intSum.evaluate();
+	}
+
+	@Benchmark
+	public Value sumDoubles() {
+		return doubleSum.evaluate();
+	}
+
+	@Benchmark
+	public Value multiplyInts() {
+		return intProduct.evaluate();
+	}
+
+	@Benchmark
+	public Value concatenateStrings() {
+		return stringSum.evaluate();
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jolie.runtime.ByteArray;
+import jolie.runtime.FaultException;
+import jolie.runtime.Value;
+import joliex.io.FileService;
+
+/**
+ * Measures the time to read and write a file of {@link #FILE_SIZE} bytes through the operations of
+ * the file service: at once, in ranges of different sizes, a page of lines at a time, and in chunks.
+ * The throughput is FILE_SIZE divided by the time of an operation.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class FileServiceBenchmark {
+	private static final int FILE_SIZE = 64 * 1024 * 1024;
+	private static final int SMALL_RANGE = 64 * 1024;
+	private static final int LARGE_RANGE = 4 * 1024 * 1024;
+
+	private FileService fileService;
+	private Path directory;
+	private Path source;
+	private Path target;
+	private ByteArray chunk;
+
+	@Setup
+	public void setup()
+		throws Exception {
+		fileService = new FileService();
+		directory = Files.createTempDirectory( "jolie-benchmark-" );
+		source = directory.resolve( "source.txt" );
+		target = directory.resolve( "target.txt" );
+		try( BufferedWriter writer = Files.newBufferedWriter( source, StandardCharsets.UTF_8 ) ) {
+			final String line = "2026-01-01T00:00:00Z INFO request served in 12ms by worker ";
+			long written = 0;
+			for( int i = 0; written < FILE_SIZE; i++ ) {
+				final String l = line + i + '\n';
+				writer.write( l );
+				written += l.length();
+			}
+		}
+		chunk = new ByteArray( new byte[ SMALL_RANGE ] );
+	}
+
+	@TearDown
+	public void tearDown()
+		throws IOException {
+		Files.deleteIfExists( source );
+		Files.deleteIfExists( target );
+		Files.delete( directory );
+	}
+
+	@Benchmark
+	public Value readFile()
+		throws FaultException {
+		final Value request = Value.create();
+		request.getFirstChild( "filename" ).setValue( source.toString() );
+		request.getFirstChild( "format" ).setValue( "binary" );
+		return fileService.readFile( request );
+	}
+
+	@Benchmark
+	public long readSmallRanges()
+		throws FaultException {
+		return readRanges( SMALL_RANGE );
+	}
+
+	@Benchmark
+	public long readLargeRanges()
+		throws FaultException {
+		return readRanges( LARGE_RANGE );
+	}
+
+	@Benchmark
+	public long readLines()
+		throws FaultException {
+		final Value openRequest = Value.create();
+		openRequest.getFirstChild( "filename" ).setValue( source.toString() );
+		openRequest.getFirstChild( "charset" ).setValue( "UTF-8" );
+		final Value request = Value.create();
+		request.getFirstChild( "reader" ).setValue( fileService.openLineReader( openRequest ).longValue() );
+		long lines = 0;
+		Value page;
+		do {
+			page = fileService.readLines( request );
+			lines += page.getChildren( "line" ).size();
+		} while( page.getFirstChild( "hasMore" ).boolValue() );
+		return lines;
+	}
+
+	@Benchmark
+	public void writeChunks()
+		throws FaultException {
+		final Value openRequest = Value.create();
+		openRequest.getFirstChild( "filename" ).setValue( target.toString() );
+		final Value writer = fileService.openFileWriter( openRequest );
+		final Value request = Value.create();
+		request.getFirstChild( "writer" ).setValue( writer.longValue() );
+		request.getFirstChild( "content" ).setValue( chunk );
+		for( int written = 0; written < FILE_SIZE; written += SMALL_RANGE ) {
+			fileService.writeChunk( request );
+		}
+		fileService.closeFileWriter( writer );
+	}
+
+	private long readRanges( int length )
+		throws FaultException {
+		final Value request = Value.create();
+		request.getFirstChild( "filename" ).setValue( source.toString() );
+		request.getFirstChild( "length" ).setValue( length );
+		long read = 0;
+		Value range;
+		do {
+			request.getFirstChild( "offset" ).setValue( read );
+			range = fileService.readFileRange( request );
+			read += range.getFirstChild( "content" ).byteArrayValue().size();
+		} while( !range.getFirstChild( "eof" ).boolValue() );
+		return read;
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jolie.runtime.Value;
+import jolie.runtime.VariablePath;
+import jolie.runtime.expression.Expression;
+import jolie.util.Pair;
+
+/**
+ * A variable path that is resolved against a given value instead of the state of the current Jolie
+ * thread, so that it can be used outside of a running program.
+ */
+final class FixedRootPath extends VariablePath {
+	private final Value root;
+
+	private FixedRootPath( Value root, Pair< Expression, Expression >[] path ) {
+		super( path );
+		this.root = root;
+	}
+
+	@Override
+	protected Value getRootValue() {
+		return root;
+	}
+
+	/**
+	 * Creates a path from a sequence of node names, each optionally followed by an index, e.g.,
+	 * <code>of( root, "a", "b", 2, "c" )</code> for <code>a.b[2].c</code>.
+	 */
+	@SuppressWarnings( "unchecked" )
+	static FixedRootPath of( Value root, Object... nodes ) {
+		final List< Pair< Expression, Expression > > path = new ArrayList<>();
+		for( int i = 0; i < nodes.length; i++ ) {
+			final Expression key = Value.create( (String) nodes[ i ] );
+			Expression index = null;
+			if( i + 1 < nodes.length && nodes[ i + 1 ] instanceof Integer ) {
+				index = Value.create( (Integer) nodes[ ++i ] );
+			}
+			path.add( new Pair<>( key, index ) );
+		}
+		return new FixedRootPath( root, path.toArray( new Pair[ 0 ] ) );
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.TransformerFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jolie.js.JsUtils;
+import jolie.net.CommChannel;
+import jolie.net.CommMessage;
+import jolie.net.HttpProtocol;
+import jolie.net.ports.OutputPort;
+import jolie.runtime.typing.Type;
+
+/**
+ * Measures encoding of requests and decoding of responses with JSON bodies by the HTTP protocol, on
+ * in-memory streams. The protocol is configured by an output port of a running program.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class HttpProtocolBenchmark {
+	/*
+	 * A channel that only gives the protocol access to its port.
+	 */
+	private static class PortChannel extends CommChannel {
+		@Override
+		public Future< CommMessage > recvResponseFor( CommMessage request )
+			throws IOException {
+			throw new IOException( "Unsupported operation" );
+		}
+
+		@Override
+		protected CommMessage recvImpl()
+			throws IOException {
+			throw new IOException( "Unsupported operation" );
+		}
+
+		@Override
+		protected void sendImpl( CommMessage message )
+			throws IOException {
+			throw new IOException( "Unsupported operation" );
+		}
+
+		@Override
+		protected void closeImpl() {}
+	}
+
+	@Param( { "10", "1000" } )
+	public int items;
+
+	private EmbeddedProgram program;
+	private HttpProtocol protocol;
+	private CommMessage request;
+	private ByteArrayOutputStream out;
+	private byte[] response;
+
+	@Setup
+	public void setup()
+		throws Exception {
+		program = EmbeddedProgram.start( "echo.ol" );
+		program.attachCurrentThread();
+		final OutputPort port = program.interpreter().getOutputPort( "Http" );
+		final CommChannel channel = new PortChannel();
+		channel.setParentOutputPort( port );
+		protocol = new HttpProtocol( port.protocolConfigurationPath(), new URI( "socket://localhost:8000/" ), false,
+			TransformerFactory.newInstance(), DocumentBuilderFactory.newInstance().newDocumentBuilder() );
+		protocol.setChannel( channel );
+
+		request = CommMessage.createRequest( "echo", "/", Payloads.order( items ) );
+		out = new ByteArrayOutputStream();
+		protocol.send( out, request, null );
+
+		final StringBuilder body = new StringBuilder();
+		JsUtils.valueToJsonString( request.value(), true, Type.UNDEFINED, body );
+		final byte[] content = body.toString().getBytes( StandardCharsets.UTF_8 );
+		final String header = "HTTP/1.1 200 OK\r\n"
+			+ "Content-Type: application/json; charset=utf-8\r\n"
+			+ "Content-Length: " + content.length + "\r\n"
+			+ "\r\n";
+		final ByteArrayOutputStream responseStream = new ByteArrayOutputStream();
+		responseStream.write( header.getBytes( StandardCharsets.US_ASCII ) );
+		responseStream.write( content );
+		response = responseStream.toByteArray();
+	}
+
+	@TearDown
+	public void tearDown()
+		throws IOException {
+		program.close();
+	}
+
+	@Benchmark
+	public int encodeRequest()
+		throws IOException {
+		out.reset();
+		protocol.send( out, request, null );
+		return out.size();
+	}
+
+	@Benchmark
+	public CommMessage decodeResponse()
+		throws IOException {
+		return protocol.recv( new ByteArrayInputStream( response ), out );
+	}
+}
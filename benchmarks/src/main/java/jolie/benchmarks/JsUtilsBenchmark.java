@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jolie.js.JsUtils;
+import jolie.runtime.Value;
+import jolie.runtime.typing.Type;
+
+/**
+ * Measures conversions between JSON documents and values.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class JsUtilsBenchmark {
+	@Param( { "10", "1000" } )
+	public int items;
+
+	private Value order;
+	private String json;
+	private byte[] jsonBytes;
+
+	@Setup
+	public void setup()
+		throws IOException {
+		order = Payloads.order( items );
+		json = serialize();
+		jsonBytes = json.getBytes( StandardCharsets.UTF_8 );
+	}
+
+	@Benchmark
+	public String serialize()
+		throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		JsUtils.valueToJsonString( order, true, Type.UNDEFINED, builder );
+		return builder.toString();
+	}
+
+	@Benchmark
+	public byte[] serializeToStream()
+		throws IOException {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		try( Writer writer = new OutputStreamWriter( stream, StandardCharsets.UTF_8 ) ) {
+			JsUtils.writeJson( order, true, Type.UNDEFINED, writer );
+		}
+		return stream.toByteArray();
+	}
+
+	@Benchmark
+	public Value parse()
+		throws IOException {
+		final Value value = Value.create();
+		JsUtils.parseJsonIntoValue( new StringReader( json ), value, false );
+		return value;
+	}
+
+	@Benchmark
+	public Value parseFromStream()
+		throws IOException {
+		final Value value = Value.create();
+		JsUtils.parseJsonIntoValue(
+			new InputStreamReader( new ByteArrayInputStream( jsonBytes ), StandardCharsets.UTF_8 ), value, false );
+		return value;
+	}
+}
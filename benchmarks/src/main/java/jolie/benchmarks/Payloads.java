@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.benchmarks;
+
+import jolie.runtime.Value;
+import jolie.runtime.ValueVector;
+
+/**
+ * Message payloads shared by the benchmarks.
+ */
+final class Payloads {
+	private Payloads() {}
+
+	/**
+	 * Creates an order with the given number of items, representative of the structured data that
+	 * services usually exchange.
+	 */
+	static Value order( int items ) {
+		final Value order = Value.create();
+		order.getFirstChild( "id" ).setValue( 123456789L );
+		order.getFirstChild( "paid" ).setValue( true );
+		final Value customer = order.getFirstChild( "customer" );
+		customer.getFirstChild( "name" ).setValue( "Ada Lovelace" );
+		customer.getFirstChild( "email" ).setValue( "ada@example.org" );
+		final ValueVector vector = order.getChildren( "items" );
+		for( int i = 0; i < items; i++ ) {
+			final Value item = vector.get( i );
+			item.getFirstChild( "sku" ).setValue( "SKU-" + i );
+			item.getFirstChild( "quantity" ).setValue( i % 7 + 1 );
+			item.getFirstChild( "price" ).setValue( 9.99 + i );
+		}
+		return order;
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jolie.net.CommMessage;
+import jolie.net.SodepProtocol;
+import jolie.runtime.Value;
+
+/**
+ * Measures encoding and decoding of messages with the SODEP protocol, on in-memory streams.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class SodepProtocolBenchmark {
+	@Param( { "10", "1000" } )
+	public int items;
+
+	private SodepProtocol protocol;
+	private CommMessage message;
+	private ByteArrayOutputStream out;
+	private byte[] encoded;
+
+	@Setup
+	public void setup()
+		throws IOException {
+		protocol = new SodepProtocol( FixedRootPath.of( Value.create() ) );
+		message = CommMessage.createRequest( "echo", "/", Payloads.order( items ) );
+		out = new ByteArrayOutputStream();
+		protocol.send( out, message, null );
+		encoded = out.toByteArray();
+	}
+
+	@Benchmark
+	public int send()
+		throws IOException {
+		out.reset();
+		protocol.send( out, message, null );
+		return out.size();
+	}
+
+	@Benchmark
+	public CommMessage recv()
+		throws IOException {
+		return protocol.recv( new ByteArrayInputStream( encoded ), out );
+	}
+}
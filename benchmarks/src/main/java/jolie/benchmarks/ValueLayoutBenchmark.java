@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jolie.runtime.Value;
+import jolie.runtime.ValueVector;
+
+/**
+ * Measures the cost of storing scalars, small records and numeric arrays in value trees.
+ *
+ * The benchmarks use only the public {@link Value} API, so that the same suite can be run against
+ * builds with different value layouts. Run it with the GC profiler to compare allocation rates, e.g.
+ * <code>java -jar benchmarks/target/benchmarks.jar ValueLayout -prof gc</code>.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class ValueLayoutBenchmark {
+	@Param( { "16", "1024" } )
+	public int size;
+
+	private Value counter;
+	private Value one;
+	private Value doubles;
+	private Value record;
+
+	@Setup
+	public void setup() {
+		counter = Value.create( 0L );
+		one = Value.create( 1 );
+		doubles = Value.create();
+		final ValueVector vector = doubles.getChildren( "values" );
+		for( int i = 0; i < size; i++ ) {
+			vector.get( i ).setValue( i * 0.5 );
+		}
+		record = Value.create();
+		record.getFirstChild( "id" ).setValue( 42 );
+		record.getFirstChild( "name" ).setValue( "jolie" );
+		record.getFirstChild( "enabled" ).setValue( true );
+	}
+
+	@Benchmark
+	public Value createInt() {
+		final Value value = Value.create();
+		value.setValue( 100000 + size );
+		return value;
+	}
+
+	@Benchmark
+	public Value createRecord() {
+		final Value value = Value.create();
+		value.getFirstChild( "id" ).setValue( size );
+		value.getFirstChild( "name" ).setValue( "jolie" );
+		value.getFirstChild( "enabled" ).setValue( true );
+		return value;
+	}
+
+	@Benchmark
+	public Value createDoubleArray() {
+		final Value value = Value.create();
+		final ValueVector vector = value.getChildren( "values" );
+		for( int i = 0; i < size; i++ ) {
+			vector.get( i ).setValue( i * 0.5 );
+		}
+		return value;
+	}
+
+	@Benchmark
+	public double sumDoubleArray() {
+		double sum = 0.0;
+		for( Value v : doubles.getChildren( "values" ) ) {
+			sum += v.doubleValue();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int readRecord() {
+		return record.getFirstChild( "id" ).intValue()
+			+ record.getFirstChild( "name" ).strValue().length()
+			+ (record.getFirstChild( "enabled" ).boolValue() ? 1 : 0);
+	}
+
+	@Benchmark
+	public long incrementCounter() {
+		counter.add( one );
+		return counter.longValue();
+	}
+
+	@Benchmark
+	public Value deepCopyRecord() {
+		return Value.createDeepCopy( record );
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jolie.runtime.Value;
+import jolie.runtime.ValueVector;
+
+/**
+ * Measures copies of value trees and accesses to value vectors.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class ValueTreeBenchmark {
+	@Param( { "10", "1000" } )
+	public int items;
+
+	private Value order;
+	private ValueVector vector;
+
+	@Setup
+	public void setup() {
+		order = Payloads.order( items );
+		vector = order.getChildren( "items" );
+	}
+
+	@Benchmark
+	public Value deepCopy() {
+		return Value.createDeepCopy( order );
+	}
+
+	@Benchmark
+	public Value cloneAndWrite() {
+		final Value copy = order.clone();
+		copy.getChildren( "items" ).get( items - 1 ).getFirstChild( "price" ).setValue( 1.0 );
+		return copy;
+	}
+
+	@Benchmark
+	public double vectorGet() {
+		double sum = 0.0;
+		for( int i = 0; i < items; i++ ) {
+			sum += vector.get( i ).getFirstChild( "price" ).doubleValue();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public double vectorIterate() {
+		double sum = 0.0;
+		for( Value item : vector ) {
+			sum += item.getFirstChild( "price" ).doubleValue();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public ValueVector vectorAppend() {
+		final ValueVector v = ValueVector.create();
+		for( int i = 0; i < items; i++ ) {
+			v.add( Value.create( i ) );
+		}
+		return v;
+	}
+}
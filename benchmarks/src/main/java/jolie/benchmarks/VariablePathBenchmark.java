@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jolie.runtime.Value;
+import jolie.runtime.VariablePath;
+
+/**
+ * Measures variable access through {@link VariablePath}, which is what every assignment and read of
+ * a variable in a Jolie program goes through.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class VariablePathBenchmark {
+	private VariablePath shallow;
+	private VariablePath deep;
+	private VariablePath deepLeaf;
+	private Value newValue;
+
+	@Setup
+	public void setup() {
+		final Value root = Value.create();
+		root.getFirstChild( "counter" ).setValue( 1 );
+		root.getFirstChild( "request" ).getChildren( "items" ).get( 2 ).getFirstChild( "price" ).setValue( 9.99 );
+		shallow = FixedRootPath.of( root, "counter" );
+		deep = FixedRootPath.of( root, "request", "items", 2, "price" );
+		deepLeaf = FixedRootPath.of( root, "request", "items", 2, "quantity" );
+		newValue = Value.create( 3 );
+	}
+
+	@Benchmark
+	public Value getShallow() {
+		return shallow.getValue();
+	}
+
+	@Benchmark
+	public Value getDeep() {
+		return deep.getValue();
+	}
+
+	@Benchmark
+	public void setDeep() {
+		deepLeaf.setValue( newValue );
+	}
+
+	@Benchmark
+	public void assignDeep() {
+		deepLeaf.getValue().setValue( 3 );
+	}
+}
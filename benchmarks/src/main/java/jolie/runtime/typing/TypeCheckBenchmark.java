@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.runtime.typing;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jolie.lang.NativeType;
+import jolie.lang.parse.ast.types.BasicTypeDefinition;
+import jolie.runtime.Value;
+import jolie.runtime.ValueVector;
+import jolie.util.Range;
+
+/**
+ * Compares the compiled type validators with the recursive checks of {@link Type}, which are still
+ * used to describe errors. This benchmark lives in the package of {@link Type} to reach those
+ * checks.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Thread )
+public class TypeCheckBenchmark {
+	@Param( { "10", "1000" } )
+	public int items;
+
+	private Type orderType;
+	private Value order;
+
+	@Setup
+	public void setup() {
+		final Map< String, Type > customer = new HashMap<>();
+		customer.put( "name", leaf( NativeType.STRING, 1, 1 ) );
+		customer.put( "email", leaf( NativeType.STRING, 0, 1 ) );
+
+		final Map< String, Type > item = new HashMap<>();
+		item.put( "sku", leaf( NativeType.STRING, 1, 1 ) );
+		item.put( "quantity", leaf( NativeType.INT, 1, 1 ) );
+		item.put( "price", leaf( NativeType.DOUBLE, 1, 1 ) );
+
+		final Map< String, Type > subTypes = new HashMap<>();
+		subTypes.put( "id", leaf( NativeType.LONG, 1, 1 ) );
+		subTypes.put( "paid", leaf( NativeType.BOOL, 1, 1 ) );
+		subTypes.put( "customer", node( new Range( 1, 1 ), customer ) );
+		subTypes.put( "items", node( new Range( 0, Integer.MAX_VALUE ), item ) );
+		orderType = node( new Range( 1, 1 ), subTypes );
+		orderType.compile();
+
+		order = Value.create();
+		order.getFirstChild( "id" ).setValue( 123456789L );
+		order.getFirstChild( "paid" ).setValue( true );
+		order.getFirstChild( "customer" ).getFirstChild( "name" ).setValue( "Ada Lovelace" );
+		order.getFirstChild( "customer" ).getFirstChild( "email" ).setValue( "ada@example.org" );
+		final ValueVector vector = order.getChildren( "items" );
+		for( int i = 0; i < items; i++ ) {
+			vector.get( i ).getFirstChild( "sku" ).setValue( "SKU-" + i );
+			vector.get( i ).getFirstChild( "quantity" ).setValue( i % 7 + 1 );
+			vector.get( i ).getFirstChild( "price" ).setValue( 9.99 + i );
+		}
+	}
+
+	private static Type leaf( NativeType nativeType, int min, int max ) {
+		return Type.create( BasicType.fromBasicTypeDefinition( BasicTypeDefinition.of( nativeType ) ),
+			new Range( min, max ), false, new HashMap<>() );
+	}
+
+	private static Type node( Range cardinality, Map< String, Type > subTypes ) {
+		return Type.create( BasicType.fromBasicTypeDefinition( BasicTypeDefinition.of( NativeType.VOID ) ),
+			cardinality, false, subTypes );
+	}
+
+	@Benchmark
+	public Value compiledCheck()
+		throws TypeCheckingException {
+		orderType.check( order );
+		return order;
+	}
+
+	@Benchmark
+	public Value recursiveCheck()
+		throws TypeCheckingException {
+		orderType.check( order, new StringBuilder( "#Message" ) );
+		return order;
+	}
+
+	@Benchmark
+	public Value compiledCast()
+		throws TypeCastingException {
+		return orderType.cast( order );
+	}
+
+	@Benchmark
+	public Value recursiveCast()
+		throws TypeCastingException {
+		return orderType.cast( order, new StringBuilder( "#Message" ) );
+	}
+}
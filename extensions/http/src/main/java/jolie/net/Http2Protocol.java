@@ -0,0 +1,464 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+
+import jolie.lang.Constants;
+import jolie.net.http.ChunkedInputStream;
+import jolie.net.http.HttpMessage;
+import jolie.net.http.HttpParser;
+import jolie.net.http.HttpUtils;
+import jolie.net.http.StaticFileCache;
+import jolie.net.http2.HeaderField;
+import jolie.net.http2.Http2Connection;
+import jolie.net.http2.Http2MessageFramer;
+import jolie.net.protocols.ConcurrentCommProtocol;
+import jolie.net.protocols.MessageFramer;
+import jolie.runtime.FaultException;
+import jolie.runtime.Value;
+import jolie.runtime.VariablePath;
+
+/**
+ * The http protocol over HTTP/2. Output ports use it if the http2 parameter is true, with prior
+ * knowledge of the server or as negotiated by https. Input ports always use it: connections that
+ * start with the HTTP/2 preface use HTTP/2, and the others HTTP/1.x through an
+ * {@link HttpProtocol}. With https, input ports offer HTTP/2 if the http2 parameter is true.
+ *
+ * Concurrent requests on a connection use separate streams. The messages of each stream are
+ * translated to and from HTTP/1.1 by their own {@link HttpProtocol}, so that they support the same
+ * parameters, e.g., format, compression, headers, statusCode and method.
+ */
+public class Http2Protocol extends ConcurrentCommProtocol {
+	private static final byte[] HEADER_END = "\r\n\r\n".getBytes( StandardCharsets.ISO_8859_1 );
+	private static final String CRLF = HttpUtils.CRLF;
+	// Header fields that are specific to an HTTP/1.1 connection, or become pseudo-header fields
+	private static final Set< String > HTTP1_ONLY_HEADERS =
+		Set.of( "connection", "keep-alive", "proxy-connection", "transfer-encoding", "upgrade", "host", "te" );
+
+	/**
+	 * A request waiting for its response, with the protocol translating the messages of its stream.
+	 */
+	private static class Exchange {
+		private final long requestId;
+		private final String operationName;
+		private final int streamId;
+		private final HttpProtocol protocol;
+
+		private Exchange( long requestId, String operationName, int streamId, HttpProtocol protocol ) {
+			this.requestId = requestId;
+			this.operationName = operationName;
+			this.streamId = streamId;
+			this.protocol = protocol;
+		}
+	}
+
+	/**
+	 * The parts of an HTTP/1.1 message written by an {@link HttpProtocol}.
+	 */
+	private static class Http1Message {
+		private final String[] startLine;
+		private final List< HeaderField > headers = new ArrayList<>();
+		private byte[] content;
+
+		private Http1Message( byte[] data )
+			throws IOException {
+			final int headerEnd = indexOf( data, HEADER_END );
+			if( headerEnd < 0 ) {
+				throw new IOException( "Malformed HTTP message" );
+			}
+			final String[] lines = new String( data, 0, headerEnd, StandardCharsets.ISO_8859_1 ).split( CRLF );
+			startLine = lines[ 0 ].split( " ", 3 );
+			boolean chunked = false;
+			for( int i = 1; i < lines.length; i++ ) {
+				final int colon = lines[ i ].indexOf( ':' );
+				if( colon > 0 ) {
+					final String name = lines[ i ].substring( 0, colon ).trim().toLowerCase();
+					final String value = lines[ i ].substring( colon + 1 ).trim();
+					if( name.equals( "transfer-encoding" ) ) {
+						chunked = value.toLowerCase().contains( "chunked" );
+					}
+					headers.add( new HeaderField( name, value ) );
+				}
+			}
+			final InputStream contentStream = new ByteArrayInputStream( data, headerEnd + HEADER_END.length,
+				data.length - headerEnd - HEADER_END.length );
+			content = chunked
+				? new ChunkedInputStream( contentStream, new HttpMessage( HttpMessage.Type.RESPONSE ) ).readAllBytes()
+				: contentStream.readAllBytes();
+		}
+
+		private String header( String name ) {
+			for( HeaderField field : headers ) {
+				if( field.name().equals( name ) ) {
+					return field.value();
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Appends the header fields that HTTP/2 carries as they are.
+		 */
+		private void addHeadersTo( List< HeaderField > fields ) {
+			for( HeaderField field : headers ) {
+				if( !HTTP1_ONLY_HEADERS.contains( field.name() ) ) {
+					fields.add( field );
+				}
+			}
+		}
+
+		private static int indexOf( byte[] data, byte[] target ) {
+			outer: for( int i = 0; i <= data.length - target.length; i++ ) {
+				for( int j = 0; j < target.length; j++ ) {
+					if( data[ i + j ] != target[ j ] ) {
+						continue outer;
+					}
+				}
+				return i;
+			}
+			return -1;
+		}
+	}
+
+	private final URI uri;
+	private final boolean inInputPort;
+	private final TransformerFactory transformerFactory;
+	private final DocumentBuilder docBuilder;
+	private final StaticFileCache staticFileCache;
+	private final Http2Connection connection;
+	private final Deque< HttpProtocol > idleProtocols = new ConcurrentLinkedDeque<>();
+	// Received requests waiting for their responses, by request identifier
+	private final Map< Long, Exchange > exchanges = new ConcurrentHashMap<>();
+
+	// In input ports, whether the connection uses HTTP/2, which is known after receiving its first
+	// bytes
+	private volatile Boolean http2 = null;
+	// In input ports, the protocol of HTTP/1.x connections, and the bytes read to tell them apart
+	private HttpProtocol http1Protocol = null;
+	private byte[] http1Prefix = null;
+
+	public Http2Protocol(
+		VariablePath configurationPath,
+		URI uri,
+		boolean inInputPort,
+		TransformerFactory transformerFactory,
+		DocumentBuilder docBuilder,
+		StaticFileCache staticFileCache ) {
+		super( configurationPath );
+		this.uri = uri;
+		this.inInputPort = inInputPort;
+		this.transformerFactory = transformerFactory;
+		this.docBuilder = docBuilder;
+		this.staticFileCache = staticFileCache;
+		this.connection = new Http2Connection( !inInputPort );
+		if( !inInputPort ) {
+			setMaxContentLength();
+			http2 = true;
+		}
+	}
+
+	private void setMaxContentLength() {
+		if( hasParameter( HttpUtils.Parameters.MAX_CONTENT_LENGTH ) ) {
+			connection.setMaxContentLength(
+				getParameterFirstValue( HttpUtils.Parameters.MAX_CONTENT_LENGTH ).longValue() );
+		}
+	}
+
+	@Override
+	public String name() {
+		return "http";
+	}
+
+	@Override
+	public MessageFramer createMessageFramer() {
+		if( !inInputPort ) {
+			return null;
+		}
+		// The framer of HTTP/1 requests needs the limit before the first message is received
+		setMaxContentLength();
+		return new Http2MessageFramer( connection );
+	}
+
+	private String scheme() {
+		return "https".equals( configurationPath().getValue().strValue() ) ? "https" : "http";
+	}
+
+	private HttpProtocol acquireProtocol()
+		throws IOException {
+		HttpProtocol protocol = idleProtocols.poll();
+		if( protocol == null ) {
+			try {
+				protocol = new HttpProtocol( configurationPath(), uri, inInputPort, transformerFactory, docBuilder,
+					staticFileCache );
+			} catch( TransformerConfigurationException e ) {
+				throw new IOException( e );
+			}
+		}
+		protocol.setChannel( channel() );
+		return protocol;
+	}
+
+	private void releaseProtocol( HttpProtocol protocol ) {
+		idleProtocols.push( protocol );
+	}
+
+	@Override
+	public CommMessage recv( InputStream istream, OutputStream ostream )
+		throws IOException {
+		if( !inInputPort ) {
+			return recvResponse( istream, ostream );
+		}
+		if( http2 == null ) {
+			setMaxContentLength();
+			detectVersion( istream, ostream );
+		}
+		if( !http2 ) {
+			final InputStream stream = http1Prefix == null ? istream
+				: new SequenceInputStream( new ByteArrayInputStream( http1Prefix ), istream );
+			http1Prefix = null;
+			return HttpUtils.recv( stream, ostream, inInputPort, channel(), http1Protocol );
+		}
+
+		CommMessage request = null;
+		do {
+			final Http2Connection.Message message = connection.poll( istream, ostream );
+			if( message != null ) {
+				request = recvRequest( message, istream, ostream );
+			}
+		} while( request == null && connection.hasReceived() );
+		channel().setToBeClosed( connection.isGoingAway() );
+		return request;
+	}
+
+	/**
+	 * Reads the first bytes of a connection, as long as they match the HTTP/2 preface.
+	 */
+	private void detectVersion( InputStream istream, OutputStream ostream )
+		throws IOException {
+		for( int i = 0; i < Http2Connection.PREFACE.length; i++ ) {
+			final int b = istream.read();
+			if( b < 0 ) {
+				throw new ChannelClosingException( "[http] Remote host closed connection." );
+			}
+			if( b != Http2Connection.PREFACE[ i ] ) {
+				http1Prefix = new byte[ i + 1 ];
+				System.arraycopy( Http2Connection.PREFACE, 0, http1Prefix, 0, i );
+				http1Prefix[ i ] = (byte) b;
+				http1Protocol = acquireProtocol();
+				http2 = false;
+				return;
+			}
+		}
+		connection.start( ostream );
+		http2 = true;
+	}
+
+	private CommMessage recvRequest( Http2Connection.Message message, InputStream istream, OutputStream ostream )
+		throws IOException {
+		String authority = null;
+		final StringBuilder builder = new StringBuilder();
+		final StringBuilder cookies = new StringBuilder();
+		String method = null;
+		String path = null;
+		for( HeaderField field : message.headers() ) {
+			switch( field.name() ) {
+			case ":method":
+				method = field.value();
+				break;
+			case ":path":
+				path = field.value();
+				break;
+			case ":authority":
+				authority = field.value();
+				break;
+			case ":scheme":
+			case "content-length":
+				break;
+			case "cookie":
+				// Cookies can be split into several fields (RFC 9113, Section 8.2.3)
+				cookies.append( cookies.length() > 0 ? "; " : "" ).append( field.value() );
+				break;
+			default:
+				builder.append( field.name() ).append( ": " ).append( field.value() ).append( CRLF );
+			}
+		}
+		if( authority != null ) {
+			builder.append( "host: " ).append( authority ).append( CRLF );
+		}
+		if( cookies.length() > 0 ) {
+			builder.append( "cookie: " ).append( cookies ).append( CRLF );
+		}
+		builder.append( "content-length: " ).append( message.contentLength() ).append( CRLF ).append( CRLF );
+
+		final ByteArrayOutputStream request = new ByteArrayOutputStream();
+		request.write( (method + ' ' + path + " HTTP/1.1" + CRLF).getBytes( StandardCharsets.ISO_8859_1 ) );
+		request.write( builder.toString().getBytes( StandardCharsets.ISO_8859_1 ) );
+		request.write( message.content() );
+
+		final HttpProtocol protocol = acquireProtocol();
+		// Responses written while receiving, e.g., errors and static files, are sent on the stream
+		final ByteArrayOutputStream directResponse = new ByteArrayOutputStream();
+		CommMessage received = null;
+		try {
+			received = HttpUtils.recv( new ByteArrayInputStream( request.toByteArray() ), directResponse, true,
+				channel(), protocol );
+		} catch( IOException e ) {
+			// The error has been written to the response, if it could be
+		}
+		if( received == null ) {
+			releaseProtocol( protocol );
+			if( directResponse.size() > 0 ) {
+				sendResponse( message.streamId(), directResponse.toByteArray(), istream, ostream );
+			} else {
+				connection.resetStream( ostream, message.streamId() );
+			}
+			// Nothing else is sent for this stream
+			ostream.flush();
+			return null;
+		}
+
+		final long requestId = CommMessage.getNewRequestId();
+		final CommMessage result = received instanceof RequestErrorCommMessage
+			? new RequestErrorCommMessage( requestId, received.operationName(), received.resourcePath(),
+				received.value(), received.fault(), ((RequestErrorCommMessage) received).getTemplate() )
+			: new CommMessage( requestId, received.operationName(), received.resourcePath(), received.value(),
+				received.fault() );
+		exchanges.put( requestId, new Exchange( requestId, received.operationName(), message.streamId(), protocol ) );
+		return result;
+	}
+
+	private CommMessage recvResponse( InputStream istream, OutputStream ostream )
+		throws IOException {
+		final Http2Connection.Message message = connection.receive( istream, ostream );
+		final Exchange exchange = (Exchange) message.attachment();
+		try {
+			if( message.error() != null ) {
+				return new CommMessage( exchange.requestId, exchange.operationName, Constants.ROOT_RESOURCE_PATH,
+					Value.create(), new FaultException( Constants.IO_EXCEPTION_FAULT_NAME, message.error() ) );
+			}
+			final StringBuilder builder = new StringBuilder( "HTTP/1.1 " );
+			for( HeaderField field : message.headers() ) {
+				if( field.name().equals( ":status" ) ) {
+					builder.append( HttpUtils.getStatusCodeDescription(
+						Integer.parseInt( field.value() ) ) ).append( CRLF );
+				} else if( !field.name().equals( "content-length" ) ) {
+					builder.append( field.name() ).append( ": " ).append( field.value() ).append( CRLF );
+				}
+			}
+			builder.append( "content-length: " ).append( message.contentLength() ).append( CRLF ).append( CRLF );
+
+			final ByteArrayOutputStream response = new ByteArrayOutputStream();
+			response.write( builder.toString().getBytes( StandardCharsets.ISO_8859_1 ) );
+			response.write( message.content() );
+			final CommMessage received = HttpUtils.recv( new ByteArrayInputStream( response.toByteArray() ),
+				OutputStream.nullOutputStream(), inInputPort, channel(), exchange.protocol );
+			return new CommMessage( exchange.requestId, received.operationName(), received.resourcePath(),
+				received.value(), received.fault() );
+		} finally {
+			releaseProtocol( exchange.protocol );
+			channel().setToBeClosed( connection.isGoingAway() );
+		}
+	}
+
+	@Override
+	public void send( OutputStream ostream, CommMessage message, InputStream istream )
+		throws IOException {
+		if( !inInputPort ) {
+			sendRequest( ostream, message, istream );
+		} else if( !http2 ) {
+			HttpUtils.send( ostream, message, istream, inInputPort, channel(), http1Protocol );
+		} else {
+			final Exchange exchange = exchanges.remove( message.requestId() );
+			if( exchange == null ) {
+				throw new IOException( "No HTTP/2 stream is waiting for a response to request " + message.requestId() );
+			}
+			final ByteArrayOutputStream response = new ByteArrayOutputStream();
+			try {
+				HttpUtils.send( response, message, istream, inInputPort, channel(), exchange.protocol );
+			} finally {
+				releaseProtocol( exchange.protocol );
+			}
+			sendResponse( exchange.streamId, response.toByteArray(), istream, ostream );
+			channel().setToBeClosed( connection.isGoingAway() );
+		}
+	}
+
+	private void sendResponse( int streamId, byte[] response, InputStream istream, OutputStream ostream )
+		throws IOException {
+		final Http1Message http1Message = new Http1Message( response );
+		final List< HeaderField > headers = new ArrayList<>();
+		headers.add( new HeaderField( ":status", http1Message.startLine[ 1 ] ) );
+		http1Message.addHeadersTo( headers );
+		connection.sendResponse( istream, ostream, streamId, headers, http1Message.content );
+	}
+
+	private void sendRequest( OutputStream ostream, CommMessage message, InputStream istream )
+		throws IOException {
+		final HttpProtocol protocol = acquireProtocol();
+		final ByteArrayOutputStream request = new ByteArrayOutputStream();
+		final Http1Message http1Message;
+		try {
+			HttpUtils.send( request, message, istream, inInputPort, channel(), protocol );
+			http1Message = new Http1Message( request.toByteArray() );
+		} catch( IOException e ) {
+			releaseProtocol( protocol );
+			throw e;
+		}
+
+		String path = http1Message.startLine[ 1 ];
+		if( !path.startsWith( "/" ) ) {
+			// The absolute form used to reach proxies
+			final URI target = URI.create( path );
+			path = target.getRawPath() + (target.getRawQuery() == null ? "" : "?" + target.getRawQuery());
+		}
+		final String host = http1Message.header( "host" );
+		final List< HeaderField > headers = new ArrayList<>();
+		headers.add( new HeaderField( ":method", http1Message.startLine[ 0 ] ) );
+		headers.add( new HeaderField( ":scheme", scheme() ) );
+		headers.add( new HeaderField( ":authority", host != null ? host : uri.getAuthority() ) );
+		headers.add( new HeaderField( ":path", path.isEmpty() ? "/" : path ) );
+		http1Message.addHeadersTo( headers );
+		try {
+			connection.sendRequest( istream, ostream, headers, http1Message.content,
+				new Exchange( message.requestId(), message.operationName(), 0, protocol ) );
+		} catch( IOException e ) {
+			channel().setToBeClosed( true );
+			throw e;
+		}
+	}
+}
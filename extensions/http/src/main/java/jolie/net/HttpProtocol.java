@@ -26,16 +26,20 @@ import jolie.lang.Constants;
 import jolie.lang.NativeType;
 import jolie.monitoring.events.ProtocolMessageEvent;
 import jolie.net.constants.HttpProtocolConstants;
+import jolie.net.http.ChunkedOutputStream;
 import jolie.net.http.HttpMessage;
+import jolie.net.http.HttpMessageFramer;
 import jolie.net.http.HttpParser;
 import jolie.net.http.HttpUtils;
 import jolie.net.http.HttpUtils.ContentTypes;
 import jolie.net.http.HttpUtils.Formats;
 import jolie.net.http.Method;
 import jolie.net.http.MultiPartFormDataParser;
+import jolie.net.http.StaticFileCache;
 import jolie.net.http.UnsupportedMethodException;
 import jolie.net.ports.Interface;
 import jolie.net.protocols.CommProtocol;
+import jolie.net.protocols.MessageFramer;
 import jolie.runtime.ByteArray;
 import jolie.runtime.FaultException;
 import jolie.runtime.Value;
@@ -66,15 +70,27 @@ import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URLEncoder;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
@@ -101,11 +117,19 @@ public class HttpProtocol extends CommProtocol implements HttpUtils.Protocol {
 		private String requestFormat = null;
 		private String requestCharset = null;
 		private boolean headRequest = false;
+		private boolean chunkedResponse = false;
+		private String streamingEncoding = null;
 	}
 
+	private static final int DEFAULT_CHUNK_SIZE = 8192;
+	private static final String DEFAULT_COMPRESSION_TYPES =
+		"text/html text/css text/plain text/xml text/x-js application/json application/javascript application/x-www-form-urlencoded application/xhtml+xml application/xml x-font/otf x-font/ttf application/x-font-ttf";
+	private static final String INDEX_FILE = "index.html";
+
 	private final URI uri;
 	private final boolean inInputPort;
 	private final ExchangeContext exchangeContext;
+	private final StaticFileCache staticFileCache;
 
 	private final Transformer transformer;
 	private final DocumentBuilder docBuilder;
@@ -120,6 +144,12 @@ public class HttpProtocol extends CommProtocol implements HttpUtils.Protocol {
 		return checkBooleanParameter( HttpUtils.Parameters.CONCURRENT );
 	}
 
+	@Override
+	public MessageFramer createMessageFramer() {
+		// Responses may be delimited by the closing of the connection, only requests are framed
+		return inInputPort ? new HttpMessageFramer( maxContentLength() ) : null;
+	}
+
 	public HttpProtocol(
 		VariablePath configurationPath,
 		URI uri,
@@ -127,9 +157,26 @@ public class HttpProtocol extends CommProtocol implements HttpUtils.Protocol {
 		TransformerFactory transformerFactory,
 		DocumentBuilder docBuilder )
 		throws TransformerConfigurationException {
+		this( configurationPath, uri, inInputPort, transformerFactory, docBuilder,
+			new StaticFileCache( StaticFileCache.DEFAULT_MAX_SIZE ) );
+	}
+
+	/**
+	 * @param staticFileCache the cache of the files served with the staticFiles parameter, which should
+	 *        be shared by the protocols of the same port
+	 */
+	public HttpProtocol(
+		VariablePath configurationPath,
+		URI uri,
+		boolean inInputPort,
+		TransformerFactory transformerFactory,
+		DocumentBuilder docBuilder,
+		StaticFileCache staticFileCache )
+		throws TransformerConfigurationException {
 		super( configurationPath );
 		this.uri = uri;
 		this.inInputPort = inInputPort;
+		this.staticFileCache = staticFileCache;
 		this.exchangeContext = new ExchangeContext();
 		this.transformer = transformerFactory.newTransformer();
 		this.docBuilder = docBuilder;
@@ -432,30 +479,35 @@ public class HttpProtocol extends CommProtocol implements HttpUtils.Protocol {
 			ret.content = new ByteArray( builder.toString().getBytes( charset ) );
 		} else if( Formats.JSON.equals( format ) ) {
 			ret.contentType = HttpUtils.ContentTypes.APPLICATION_JSON;
-			StringBuilder jsonStringBuilder = new StringBuilder();
-			if( message.isFault() ) {
-				Value error = message.value().getFirstChild( "error" );
-				error.getFirstChild( "code" ).setValue( -32000 );
-				error.getFirstChild( "message" ).setValue( message.fault().faultName() );
-				error.getChildren( "data" ).set( 0, message.fault().value() );
-				JsUtils.faultValueToJsonString( message.value(), sendType, jsonStringBuilder );
-			} else {
-				JsUtils.valueToJsonString( message.value(), true, sendType, jsonStringBuilder );
+			// Encode while serialising, instead of building the whole document as a string first
+			ByteArrayOutputStream jsonStream = new ByteArrayOutputStream();
+			try( Writer writer = new BufferedWriter( new OutputStreamWriter( jsonStream, charset ) ) ) {
+				if( message.isFault() ) {
+					Value error = message.value().getFirstChild( "error" );
+					error.getFirstChild( "code" ).setValue( -32000 );
+					error.getFirstChild( "message" ).setValue( message.fault().faultName() );
+					error.getChildren( "data" ).set( 0, message.fault().value() );
+					JsUtils.writeFaultJson( message.value(), sendType, writer );
+				} else {
+					JsUtils.writeJson( message.value(), true, sendType, writer );
+				}
 			}
-			ret.content = new ByteArray( jsonStringBuilder.toString().getBytes( charset ) );
+			ret.content = new ByteArray( jsonStream.toByteArray() );
 		} else if( Formats.NDJSON.equals( format ) ) {
 			ret.contentType = HttpUtils.ContentTypes.APPLICATION_NDJSON;
-			StringBuilder ndJsonStringBuilder = new StringBuilder();
-			if( message.isFault() ) {
-				Value error = message.value().getFirstChild( "error" );
-				error.getFirstChild( "code" ).setValue( -32000 );
-				error.getFirstChild( "message" ).setValue( message.fault().faultName() );
-				error.getChildren( "data" ).set( 0, message.fault().value() );
-				JsUtils.faultValueToJsonString( message.value(), sendType, ndJsonStringBuilder );
-			} else {
-				JsUtils.valueToNdJsonString( message.value(), true, sendType, ndJsonStringBuilder );
+			ByteArrayOutputStream ndJsonStream = new ByteArrayOutputStream();
+			try( Writer writer = new BufferedWriter( new OutputStreamWriter( ndJsonStream, charset ) ) ) {
+				if( message.isFault() ) {
+					Value error = message.value().getFirstChild( "error" );
+					error.getFirstChild( "code" ).setValue( -32000 );
+					error.getFirstChild( "message" ).setValue( message.fault().faultName() );
+					error.getChildren( "data" ).set( 0, message.fault().value() );
+					JsUtils.writeFaultJson( message.value(), sendType, writer );
+				} else {
+					JsUtils.writeNdJson( message.value(), true, sendType, writer );
+				}
 			}
-			ret.content = new ByteArray( ndJsonStringBuilder.toString().getBytes( charset ) );
+			ret.content = new ByteArray( ndJsonStream.toByteArray() );
 		} else if( Formats.RAW.equals( format ) ) {
 			ret.contentType = HttpUtils.ContentTypes.TEXT_PLAIN;
 			if( message.isFault() ) {
@@ -552,6 +604,10 @@ public class HttpProtocol extends CommProtocol implements HttpUtils.Protocol {
 
 		send_appendSetCookieHeader( message, headerBuilder );
 		headerBuilder.append( "Server: Jolie" ).append( HttpUtils.CRLF );
+		send_appendCacheControlHeader( headerBuilder );
+	}
+
+	private void send_appendCacheControlHeader( StringBuilder headerBuilder ) {
 		StringBuilder cacheControlHeader = new StringBuilder();
 		if( hasParameter( HttpUtils.Parameters.CACHE_CONTROL ) ) {
 			Value cacheControl = getParameterFirstValue( HttpUtils.Parameters.CACHE_CONTROL );
@@ -811,12 +867,7 @@ public class HttpProtocol extends CommProtocol implements HttpUtils.Protocol {
 
 			boolean compression =
 				exchangeContext.encoding != null && checkBooleanParameter( HttpUtils.Parameters.COMPRESSION, true );
-			String compressionTypes = getStringParameter(
-				HttpUtils.Parameters.COMPRESSION_TYPES,
-				"text/html text/css text/plain text/xml text/x-js application/json application/javascript application/x-www-form-urlencoded application/xhtml+xml application/xml x-font/otf x-font/ttf application/x-font-ttf" )
-					.toLowerCase();
-			if( compression && !compressionTypes.equals( "*" )
-				&& !compressionTypes.contains( encodedContent.contentType ) ) {
+			if( compression && !isCompressible( encodedContent.contentType ) ) {
 				compression = false;
 			}
 			if( compression ) {
@@ -831,11 +882,24 @@ public class HttpProtocol extends CommProtocol implements HttpUtils.Protocol {
 					}
 
 				} );
-				encodedContent.content =
-					HttpUtils.encode( exchangeContext.encoding, encodedContent.content, headerBuilder );
+				if( exchangeContext.chunkedResponse ) {
+					// The content is compressed while it is sent, instead of being compressed in memory first
+					exchangeContext.streamingEncoding = HttpUtils.selectEncoding( exchangeContext.encoding );
+				}
+				if( exchangeContext.streamingEncoding == null ) {
+					encodedContent.content =
+						HttpUtils.encode( exchangeContext.encoding, encodedContent.content, headerBuilder );
+				}
 			}
 
-			headerBuilder.append( "Content-Length: " ).append( encodedContent.content.size() ).append( HttpUtils.CRLF );
+			if( exchangeContext.streamingEncoding != null ) {
+				headerBuilder.append( "Content-Encoding: " ).append( exchangeContext.streamingEncoding )
+					.append( HttpUtils.CRLF );
+				headerBuilder.append( "Transfer-Encoding: chunked" ).append( HttpUtils.CRLF );
+			} else {
+				headerBuilder.append( "Content-Length: " ).append( encodedContent.content.size() )
+					.append( HttpUtils.CRLF );
+			}
 			// https://datatracker.ietf.org/doc/html/rfc9110#name-content-length
 		} else if( !inInputPort ) {
 			// a server response with no payload should not send back a zero-size content length header,
@@ -844,6 +908,12 @@ public class HttpProtocol extends CommProtocol implements HttpUtils.Protocol {
 		}
 	}
 
+	private boolean isCompressible( String contentType ) {
+		String compressionTypes =
+			getStringParameter( HttpUtils.Parameters.COMPRESSION_TYPES, DEFAULT_COMPRESSION_TYPES ).toLowerCase();
+		return compressionTypes.equals( "*" ) || compressionTypes.contains( contentType );
+	}
+
 	private void send_logDebugInfo( CharSequence header, HttpUtils.EncodedContent encodedContent, String charset )
 		throws IOException {
 		if( checkBooleanParameter( HttpUtils.Parameters.DEBUG ) ) {
@@ -928,9 +998,30 @@ public class HttpProtocol extends CommProtocol implements HttpUtils.Protocol {
 
 		ostream.write( headerBuilder.toString().getBytes( HttpUtils.URL_DECODER_ENC ) );
 		if( encodedContent.content != null && !exchangeContext.headRequest ) {
-			ostream.write( encodedContent.content.getBytes() );
+			if( exchangeContext.streamingEncoding != null ) {
+				// Closing the encoding stream ends the chunked content, but leaves the connection open
+				try( OutputStream encodingStream = HttpUtils.encodingStream( exchangeContext.streamingEncoding,
+					new ChunkedOutputStream( ostream, chunkSize() ) ) ) {
+					encodingStream.write( encodedContent.content.getBytes() );
+				}
+			} else {
+				ostream.write( encodedContent.content.getBytes() );
+			}
 		}
 		exchangeContext.headRequest = false;
+		exchangeContext.streamingEncoding = null;
+	}
+
+	private int chunkSize() {
+		return hasParameter( HttpUtils.Parameters.CHUNK_SIZE )
+			? Math.max( 1, getIntParameter( HttpUtils.Parameters.CHUNK_SIZE ) )
+			: DEFAULT_CHUNK_SIZE;
+	}
+
+	private long maxContentLength() {
+		return hasParameter( HttpUtils.Parameters.MAX_CONTENT_LENGTH )
+			? getParameterFirstValue( HttpUtils.Parameters.MAX_CONTENT_LENGTH ).longValue()
+			: HttpParser.UNLIMITED_CONTENT_LENGTH;
 	}
 
 	@Override
@@ -1280,10 +1371,125 @@ public class HttpProtocol extends CommProtocol implements HttpUtils.Protocol {
 		}
 	}
 
+	/**
+	 * Answers a GET or HEAD request for a file in the directory of the staticFiles parameter, without
+	 * passing it to the service. Files are served from the cache, compressed as requested, and
+	 * validated with their ETag and last modification time.
+	 *
+	 * @return <code>true</code> if the request has been answered, <code>false</code> if it is not for a
+	 *         static file
+	 */
+	private boolean recv_serveStaticFile( HttpMessage message, OutputStream ostream )
+		throws IOException {
+		if( !(message.isGet() || message.isHead()) || !hasParameter( HttpUtils.Parameters.STATIC_FILES ) ) {
+			return false;
+		}
+		final Value staticFiles = getParameterFirstValue( HttpUtils.Parameters.STATIC_FILES );
+		final String directory = staticFiles.getFirstChild( HttpUtils.Parameters.StaticFiles.DIRECTORY ).strValue();
+		String prefix = staticFiles.hasChildren( HttpUtils.Parameters.StaticFiles.PATH )
+			? staticFiles.getFirstChild( HttpUtils.Parameters.StaticFiles.PATH ).strValue()
+			: "/";
+		if( !prefix.endsWith( "/" ) ) {
+			prefix += "/";
+		}
+		String path = message.requestPath();
+		if( path.indexOf( '?' ) >= 0 ) {
+			path = path.substring( 0, path.indexOf( '?' ) );
+		}
+		if( directory.isEmpty() || !(path + "/").startsWith( prefix ) ) {
+			return false;
+		}
+
+		final StaticFileCache.StaticFile file;
+		try {
+			final Path root = Paths.get( directory ).toAbsolutePath().normalize();
+			Path filePath = root.resolve( path.substring( Math.min( prefix.length(), path.length() ) ) ).normalize();
+			if( !filePath.startsWith( root ) ) {
+				return false;
+			}
+			if( Files.isDirectory( filePath ) ) {
+				filePath = filePath.resolve( INDEX_FILE );
+			}
+			file = staticFileCache.get( filePath );
+		} catch( InvalidPathException e ) {
+			return false;
+		}
+		if( file == null ) {
+			return false;
+		}
+
+		final boolean compressible = checkBooleanParameter( HttpUtils.Parameters.COMPRESSION, true )
+			&& isCompressible( file.contentType() );
+		String encoding = null;
+		byte[] variant = null;
+		if( compressible && exchangeContext.encoding != null ) {
+			encoding = HttpUtils.selectEncoding( exchangeContext.encoding );
+			if( encoding != null ) {
+				variant = staticFileCache.getVariant( file, encoding );
+			}
+			if( variant == null ) {
+				encoding = null;
+			}
+		}
+
+		final String ifNoneMatch = message.getProperty( "if-none-match" );
+		final String ifModifiedSince = message.getProperty( "if-modified-since" );
+		boolean notModified = false;
+		if( ifNoneMatch != null ) {
+			notModified = file.matches( ifNoneMatch );
+		} else if( ifModifiedSince != null ) {
+			try {
+				notModified = ZonedDateTime.parse( ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME )
+					.toEpochSecond() >= file.lastModified() / 1000;
+			} catch( DateTimeParseException e ) {
+				// Invalid dates are ignored (RFC 9110, Section 13.1.3)
+			}
+		}
+
+		final StringBuilder headerBuilder = new StringBuilder( "HTTP/1.1 " );
+		headerBuilder.append( HttpUtils.getStatusCodeDescription( notModified ? 304 : 200 ) )
+			.append( HttpUtils.CRLF );
+		headerBuilder.append( "Server: Jolie" ).append( HttpUtils.CRLF );
+		send_appendCacheControlHeader( headerBuilder );
+		headerBuilder.append( "ETag: " ).append( file.etag( encoding ) ).append( HttpUtils.CRLF );
+		headerBuilder.append( "Last-Modified: " )
+			.append( DateTimeFormatter.RFC_1123_DATE_TIME
+				.format( Instant.ofEpochMilli( file.lastModified() ).atZone( ZoneOffset.UTC ) ) )
+			.append( HttpUtils.CRLF );
+		if( compressible ) {
+			headerBuilder.append( "Vary: Accept-Encoding" ).append( HttpUtils.CRLF );
+		}
+		if( !checkBooleanParameter( HttpUtils.Parameters.KEEP_ALIVE, true ) ) {
+			channel().setToBeClosed( true );
+			headerBuilder.append( "Connection: close" ).append( HttpUtils.CRLF );
+		}
+		if( !notModified ) {
+			headerBuilder.append( "Content-Type: " ).append( file.contentType() ).append( HttpUtils.CRLF );
+			if( encoding != null ) {
+				headerBuilder.append( "Content-Encoding: " ).append( encoding ).append( HttpUtils.CRLF );
+			}
+			headerBuilder.append( "Content-Length: " ).append( variant != null ? variant.length : file.size() )
+				.append( HttpUtils.CRLF );
+		}
+		headerBuilder.append( HttpUtils.CRLF );
+
+		ostream.write( headerBuilder.toString().getBytes( HttpUtils.URL_DECODER_ENC ) );
+		if( !notModified && !message.isHead() ) {
+			if( variant != null ) {
+				ostream.write( variant );
+			} else {
+				StaticFileCache.writeTo( file, ostream );
+			}
+		}
+		// Nothing else is sent for this request, since the service does not receive it
+		ostream.flush();
+		return true;
+	}
+
 	@Override
 	public CommMessage recv_internal( InputStream istream, OutputStream ostream )
 		throws IOException {
-		HttpMessage message = new HttpParser( istream ).parse();
+		HttpMessage message = new HttpParser( istream, maxContentLength() ).parse();
 		CommMessage retVal = null;
 		HttpUtils.DecodedMessage decodedMessage = new HttpUtils.DecodedMessage();
 
@@ -1321,6 +1527,13 @@ public class HttpProtocol extends CommProtocol implements HttpUtils.Protocol {
 
 		exchangeContext.encoding = message.getProperty( "accept-encoding" );
 		exchangeContext.headRequest = inInputPort && message.isHead();
+		// Clients using HTTP/1.0 do not understand chunked content
+		exchangeContext.chunkedResponse =
+			inInputPort && message.version() == HttpMessage.Version.HTTP_1_1;
+
+		if( inInputPort && recv_serveStaticFile( message, ostream ) ) {
+			return null;
+		}
 
 		String contentType = HttpUtils.DEFAULT_CONTENT_TYPE;
 		if( message.getProperty( "content-type" ) != null ) {
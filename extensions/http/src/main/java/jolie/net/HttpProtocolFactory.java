@@ -29,8 +29,11 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import jolie.net.ext.CommProtocolFactory;
+import jolie.net.http.HttpUtils;
+import jolie.net.http.StaticFileCache;
 import jolie.net.protocols.CommProtocol;
 import jolie.runtime.AndJarDeps;
+import jolie.runtime.Value;
 import jolie.runtime.VariablePath;
 
 @AndJarDeps( { "jolie-xml.jar", "jolie-js.jar", "json-simple.jar", "jolie-uri.jar", "handy-uri-templates.jar",
@@ -39,6 +42,7 @@ public class HttpProtocolFactory extends CommProtocolFactory {
 	private final TransformerFactory transformerFactory;
 	private final DocumentBuilderFactory docBuilderFactory;
 	private final DocumentBuilder docBuilder;
+	private final StaticFileCache staticFileCache = new StaticFileCache( StaticFileCache.DEFAULT_MAX_SIZE );
 
 	public HttpProtocolFactory( CommCore commCore )
 		throws ParserConfigurationException, TransformerConfigurationException {
@@ -52,30 +56,34 @@ public class HttpProtocolFactory extends CommProtocolFactory {
 	@Override
 	public CommProtocol createInputProtocol( VariablePath configurationPath, URI location )
 		throws IOException {
-		try {
-			return new HttpProtocol(
-				configurationPath,
-				location,
-				true,
-				transformerFactory,
-				docBuilder );
-		} catch( TransformerConfigurationException e ) {
-			throw new IOException( e );
-		}
+		// Clients choose between HTTP/1.x and HTTP/2, which a server can tell apart from the first bytes
+		return new Http2Protocol( configurationPath, location, true, transformerFactory, docBuilder,
+			staticFileCache );
 	}
 
 	@Override
 	public CommProtocol createOutputProtocol( VariablePath configurationPath, URI location )
 		throws IOException {
+		if( isHttp2( configurationPath ) ) {
+			return new Http2Protocol( configurationPath, location, false, transformerFactory, docBuilder,
+				staticFileCache );
+		}
 		try {
 			return new HttpProtocol(
 				configurationPath,
 				location,
 				false,
 				transformerFactory,
-				docBuilder );
+				docBuilder,
+				staticFileCache );
 		} catch( TransformerConfigurationException e ) {
 			throw new IOException( e );
 		}
 	}
+
+	private static boolean isHttp2( VariablePath configurationPath ) {
+		final Value configuration = configurationPath.getValue();
+		return configuration.hasChildren( HttpUtils.Parameters.HTTP2 )
+			&& configuration.getFirstChild( HttpUtils.Parameters.HTTP2 ).boolValue();
+	}
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net.http;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes content sent with the chunked transfer coding, reading it incrementally from the
+ * underlying stream.
+ *
+ * The stream ends after the last chunk. Header fields found in the trailer are added to the message
+ * being parsed. Content longer than the given maximum length is rejected as soon as the chunk sizes
+ * announce it, without reading it.
+ *
+ * @see <a href="https://datatracker.ietf.org/doc/html/rfc9112#section-7.1">RFC 9112, section
+ *      7.1</a>
+ */
+public class ChunkedInputStream extends InputStream {
+	private static final int MAX_LINE_LENGTH = 8192;
+
+	private final InputStream in;
+	private final HttpMessage message;
+	private final long maxLength;
+	private final StringBuilder line = new StringBuilder();
+	private long chunkRemaining = 0;
+	private long length = 0;
+	private boolean firstChunk = true;
+	private boolean eof = false;
+
+	public ChunkedInputStream( InputStream in, HttpMessage message ) {
+		this( in, message, HttpParser.UNLIMITED_CONTENT_LENGTH );
+	}
+
+	/**
+	 * @param maxLength the maximum length of the content, or
+	 *        {@link HttpParser#UNLIMITED_CONTENT_LENGTH}
+	 */
+	public ChunkedInputStream( InputStream in, HttpMessage message, long maxLength ) {
+		this.in = in;
+		this.message = message;
+		this.maxLength = maxLength;
+	}
+
+	/*
+	 * Moves to the next chunk, returning false after the last one.
+	 */
+	private boolean nextChunk()
+		throws IOException {
+		if( eof ) {
+			return false;
+		}
+		if( !firstChunk ) {
+			// Chunks are followed by a line separator
+			readLine();
+		}
+		firstChunk = false;
+
+		// Extensions after the size are ignored
+		final String chunkSize = readLine().split( ";", 2 )[ 0 ].trim();
+		try {
+			chunkRemaining = Long.parseLong( chunkSize, 16 );
+		} catch( NumberFormatException e ) {
+			throw new IOException( "Illegal chunk size " + chunkSize );
+		}
+		if( chunkRemaining < 0 ) {
+			throw new IOException( "Illegal chunk size " + chunkSize );
+		} else if( chunkRemaining == 0 ) {
+			readTrailer();
+			eof = true;
+			return false;
+		}
+		length += chunkRemaining;
+		if( maxLength != HttpParser.UNLIMITED_CONTENT_LENGTH && length > maxLength ) {
+			throw new ContentTooLargeException( maxLength );
+		}
+		return true;
+	}
+
+	private void readTrailer()
+		throws IOException {
+		String field;
+		while( !(field = readLine()).isEmpty() ) {
+			final int colon = field.indexOf( ':' );
+			if( colon > 0 ) {
+				message.setProperty( field.substring( 0, colon ).trim().toLowerCase(),
+					field.substring( colon + 1 ).trim() );
+			}
+		}
+	}
+
+	private String readLine()
+		throws IOException {
+		line.setLength( 0 );
+		int c;
+		while( (c = in.read()) != '\n' ) {
+			if( c == -1 ) {
+				throw new EOFException();
+			} else if( c != '\r' ) {
+				line.append( (char) c );
+				if( line.length() > MAX_LINE_LENGTH ) {
+					throw new IOException( "Chunk header too long" );
+				}
+			}
+		}
+		return line.toString();
+	}
+
+	@Override
+	public int read()
+		throws IOException {
+		final byte[] b = new byte[ 1 ];
+		return read( b, 0, 1 ) == -1 ? -1 : b[ 0 ] & 0xff;
+	}
+
+	@Override
+	public int read( byte[] b, int off, int len )
+		throws IOException {
+		if( len == 0 ) {
+			return 0;
+		}
+		if( chunkRemaining == 0 && !nextChunk() ) {
+			return -1;
+		}
+		final int r = in.read( b, off, (int) Math.min( len, chunkRemaining ) );
+		if( r == -1 ) {
+			throw new EOFException();
+		}
+		chunkRemaining -= r;
+		return r;
+	}
+
+	@Override
+	public int available()
+		throws IOException {
+		return (int) Math.min( chunkRemaining, in.available() );
+	}
+
+	/**
+	 * Does not close the underlying stream, which belongs to the connection.
+	 */
+	@Override
+	public void close() {}
+}
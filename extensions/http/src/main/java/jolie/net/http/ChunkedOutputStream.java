@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net.http;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes the data written to it with the chunked transfer coding, buffering up to a chunk before
+ * writing it to the underlying stream.
+ *
+ * Closing the stream writes the last chunk, but does not close the underlying stream.
+ *
+ * @see ChunkedInputStream
+ */
+public class ChunkedOutputStream extends OutputStream {
+	private static final byte[] CRLF = HttpUtils.CRLF.getBytes( StandardCharsets.ISO_8859_1 );
+	private static final byte[] LAST_CHUNK = ("0" + HttpUtils.CRLF + HttpUtils.CRLF)
+		.getBytes( StandardCharsets.ISO_8859_1 );
+
+	private final OutputStream out;
+	private final byte[] buffer;
+	private int count = 0;
+	private boolean closed = false;
+
+	public ChunkedOutputStream( OutputStream out, int chunkSize ) {
+		this.out = out;
+		this.buffer = new byte[ chunkSize ];
+	}
+
+	private void writeChunk( byte[] b, int off, int len )
+		throws IOException {
+		out.write( Integer.toHexString( len ).getBytes( StandardCharsets.ISO_8859_1 ) );
+		out.write( CRLF );
+		out.write( b, off, len );
+		out.write( CRLF );
+	}
+
+	private void flushBuffer()
+		throws IOException {
+		if( count > 0 ) {
+			writeChunk( buffer, 0, count );
+			count = 0;
+		}
+	}
+
+	@Override
+	public void write( int b )
+		throws IOException {
+		if( count == buffer.length ) {
+			flushBuffer();
+		}
+		buffer[ count++ ] = (byte) b;
+	}
+
+	@Override
+	public void write( byte[] b, int off, int len )
+		throws IOException {
+		if( len >= buffer.length ) {
+			// Large writes become chunks of their own
+			flushBuffer();
+			writeChunk( b, off, len );
+		} else {
+			if( len > buffer.length - count ) {
+				flushBuffer();
+			}
+			System.arraycopy( b, off, buffer, count, len );
+			count += len;
+		}
+	}
+
+	@Override
+	public void flush()
+		throws IOException {
+		flushBuffer();
+		out.flush();
+	}
+
+	@Override
+	public void close()
+		throws IOException {
+		if( !closed ) {
+			closed = true;
+			flushBuffer();
+			out.write( LAST_CHUNK );
+		}
+	}
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net.http;
+
+import java.io.IOException;
+import jolie.lang.Constants;
+
+/**
+ * Thrown when the content of a received message exceeds the maximum length allowed by the
+ * maxContentLength parameter.
+ */
+public class ContentTooLargeException extends IOException {
+	private static final long serialVersionUID = Constants.serialVersionUID();
+
+	public ContentTooLargeException( long maxContentLength ) {
+		super( "Content exceeds the maximum length of " + maxContentLength + " bytes" );
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net.http;
+
+import java.nio.ByteBuffer;
+import jolie.net.protocols.MessageFramer;
+
+/**
+ * Finds the end of an HTTP request, following its headers and then its content as delimited by
+ * Content-Length or by chunked transfer coding, like {@link HttpParser} does.
+ *
+ * Requests that cannot be framed reliably, e.g., those expecting a 100 Continue response or with
+ * malformed headers, are reported as complete as soon as their headers have been read, leaving them
+ * to the parser. So are requests whose content exceeds the maximum length accepted by the parser,
+ * as soon as their headers or chunk sizes tell so, in order not to buffer their content.
+ */
+public class HttpMessageFramer implements MessageFramer {
+	private enum State {
+		HEADERS, CONTENT, CHUNK_SIZE, CHUNK, TRAILER, COMPLETE
+	}
+
+	private static final int MAX_LINE_LENGTH = 8192;
+
+	private final long maxContentLength;
+	private final StringBuilder line = new StringBuilder();
+	private State state;
+	private boolean requestLineRead;
+	private long contentLength;
+	private long chunksLength;
+	private boolean chunked;
+	private boolean expectContinue;
+	private long skip;
+
+	public HttpMessageFramer() {
+		this( HttpParser.UNLIMITED_CONTENT_LENGTH );
+	}
+
+	/**
+	 * @param maxContentLength the maximum length of the content of a request, or
+	 *        {@link HttpParser#UNLIMITED_CONTENT_LENGTH}
+	 */
+	public HttpMessageFramer( long maxContentLength ) {
+		this.maxContentLength = maxContentLength;
+		reset();
+	}
+
+	@Override
+	public void reset() {
+		line.setLength( 0 );
+		state = State.HEADERS;
+		requestLineRead = false;
+		contentLength = 0;
+		chunksLength = 0;
+		chunked = false;
+		expectContinue = false;
+		skip = 0;
+	}
+
+	@Override
+	public boolean scan( ByteBuffer data ) {
+		while( state != State.COMPLETE ) {
+			if( state == State.CONTENT || state == State.CHUNK ) {
+				final int n = (int) Math.min( skip, data.remaining() );
+				data.position( data.position() + n );
+				skip -= n;
+				if( skip > 0 ) {
+					return false;
+				}
+				state = state == State.CONTENT ? State.COMPLETE : State.CHUNK_SIZE;
+			} else if( readLine( data ) ) {
+				onLine( line.toString().trim() );
+				line.setLength( 0 );
+			} else {
+				return state == State.COMPLETE;
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * Reads up to the end of the current line, returning false if more data is needed. Overlong lines
+	 * end the scan.
+	 */
+	private boolean readLine( ByteBuffer data ) {
+		while( data.hasRemaining() ) {
+			final char c = (char) (data.get() & 0xff);
+			if( c == '\n' ) {
+				return true;
+			}
+			line.append( c );
+			if( line.length() > MAX_LINE_LENGTH ) {
+				state = State.COMPLETE;
+				return false;
+			}
+		}
+		return false;
+	}
+
+	private void onLine( String text ) {
+		switch( state ) {
+		case HEADERS:
+			if( !requestLineRead ) {
+				// Empty lines before the request line are skipped by the parser
+				requestLineRead = !text.isEmpty();
+			} else if( text.isEmpty() ) {
+				endOfHeaders();
+			} else {
+				onHeader( text );
+			}
+			break;
+		case CHUNK_SIZE:
+			// Chunks are followed by line separators
+			if( !text.isEmpty() ) {
+				try {
+					skip = Long.parseLong( text.split( ";", 2 )[ 0 ].trim(), 16 );
+					chunksLength += skip;
+					if( isTooLong( chunksLength ) ) {
+						state = State.COMPLETE;
+					} else {
+						state = skip > 0 ? State.CHUNK : State.TRAILER;
+					}
+				} catch( NumberFormatException e ) {
+					state = State.COMPLETE;
+				}
+			}
+			break;
+		case TRAILER:
+			if( text.isEmpty() ) {
+				state = State.COMPLETE;
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void onHeader( String text ) {
+		final int colon = text.indexOf( ':' );
+		if( colon < 0 ) {
+			return;
+		}
+		final String name = text.substring( 0, colon ).trim().toLowerCase();
+		final String value = text.substring( colon + 1 ).trim();
+		switch( name ) {
+		case "content-length":
+			try {
+				contentLength = Long.parseLong( value );
+			} catch( NumberFormatException e ) {
+				contentLength = 0;
+			}
+			break;
+		case "transfer-encoding":
+			chunked = value.startsWith( "chunked" );
+			break;
+		case "expect":
+			expectContinue = value.equalsIgnoreCase( "100-continue" );
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void endOfHeaders() {
+		if( expectContinue ) {
+			state = State.COMPLETE;
+		} else if( chunked ) {
+			state = State.CHUNK_SIZE;
+		} else if( contentLength > 0 && !isTooLong( contentLength ) ) {
+			skip = contentLength;
+			state = State.CONTENT;
+		} else {
+			state = State.COMPLETE;
+		}
+	}
+
+	// The parser rejects such contents as soon as it has read past the maximum length
+	private boolean isTooLong( long length ) {
+		return maxContentLength != HttpParser.UNLIMITED_CONTENT_LENGTH && length > maxContentLength;
+	}
+}
@@ -22,16 +22,12 @@
 
 package jolie.net.http;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
-import java.nio.ByteBuffer;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.InflaterInputStream;
@@ -54,7 +50,13 @@ public class HttpParser {
 	private static final Pattern COOKIES_SPLIT_PATTERN = Pattern.compile( ";" );
 	private static final Pattern COOKIE_NAME_VALUE_SPLIT_PATTERN = Pattern.compile( "=" );
 
+	/**
+	 * The value of maxContentLength that sets no limit.
+	 */
+	public static final long UNLIMITED_CONTENT_LENGTH = -1;
+
 	private final HttpScanner scanner;
+	private final long maxContentLength;
 	private Scanner.Token token;
 
 	private void nextToken()
@@ -63,9 +65,24 @@ public class HttpParser {
 	}
 
 	public HttpParser( InputStream istream )
+		throws IOException {
+		this( istream, UNLIMITED_CONTENT_LENGTH );
+	}
+
+	/**
+	 * Creates a parser that rejects messages whose content, after decoding, is longer than the given
+	 * number of bytes. Content is decoded while it is read, so that the memory used for a message never
+	 * exceeds the limit by more than a block.
+	 *
+	 * @param istream the stream to read messages from
+	 * @param maxContentLength the maximum length of the content, or {@link #UNLIMITED_CONTENT_LENGTH}
+	 * @throws IOException if reading from the stream fails
+	 */
+	public HttpParser( InputStream istream, long maxContentLength )
 		throws IOException {
 		scanner = new HttpScanner( istream );
 		// , URI.create( "urn:network" ) );
+		this.maxContentLength = maxContentLength;
 	}
 
 	private void tokenAssert( Scanner.TokenType type )
@@ -242,18 +259,25 @@ public class HttpParser {
 
 	private static final int BLOCK_SIZE = 0x1000; // 4K
 
-	private static byte[] readAll( InputStream stream )
+	private byte[] readAll( InputStream stream )
 		throws IOException {
 		int r;
 		ByteArrayOutputStream c = new ByteArrayOutputStream();
 		byte[] tmp = new byte[ BLOCK_SIZE ];
 		while( (r = stream.read( tmp, 0, BLOCK_SIZE )) != -1 ) {
 			c.write( tmp, 0, r );
-			tmp = new byte[ BLOCK_SIZE ];
+			checkContentLength( c.size() );
 		}
 		return c.toByteArray();
 	}
 
+	private void checkContentLength( long length )
+		throws ContentTooLargeException {
+		if( maxContentLength != UNLIMITED_CONTENT_LENGTH && length > maxContentLength ) {
+			throw new ContentTooLargeException( maxContentLength );
+		}
+	}
+
 	private void readContent( HttpMessage message )
 		throws IOException {
 		boolean chunked = false;
@@ -279,41 +303,25 @@ public class HttpParser {
 			}
 		}
 
-		byte[] buffer = null;
-		InputStream stream = scanner.inputStream();
+		final String contentEncoding = message.getProperty( "content-encoding" );
+		final boolean encoded = contentEncoding != null && !contentEncoding.equals( "identity" );
+
+		// The content is read incrementally, decoding it on the fly
+		final InputStream body;
 		if( chunked ) {
 			// Link: http://tools.ietf.org/html/rfc2616#section-3.6.1
-			List< byte[] > chunks = new ArrayList<>();
-			int l = -1, totalLen = 0;
-			scanner.readChar();
-			do {
-				// the chunk header contains the size in hex format
-				// and could contain additional parameters which we ignore atm
-				String chunkHeader = scanner.readLine( false );
-				String chunkSize = chunkHeader.split( ";", 2 )[ 0 ];
-				try {
-					l = Integer.parseInt( chunkSize, 16 );
-				} catch( NumberFormatException e ) {
-					throw new IOException( "Illegal chunk size " + chunkSize );
-				}
-				// parses the real chunk with the specified size, follwed by CR-LF
-				if( l > 0 ) {
-					totalLen += l;
-					byte[] chunk = new byte[ l ];
-					blockingRead( stream, chunk, 0, l );
-					chunks.add( chunk );
-					scanner.readChar();
-					scanner.eatSeparators();
-				}
-			} while( l > 0 );
-			// parse optional trailer (additional HTTP headers)
-			parseHeaderProperties( message );
-			ByteBuffer b = ByteBuffer.allocate( totalLen );
-			chunks.forEach( b::put );
-			buffer = b.array();
+			// The length of encoded content is checked once decoded, see readAll
+			body = new ChunkedInputStream( scanner.inputStream(), message,
+				encoded ? UNLIMITED_CONTENT_LENGTH : maxContentLength );
 		} else if( contentLength > 0 ) {
-			buffer = new byte[ contentLength ];
-			blockingRead( stream, buffer, 0, contentLength );
+			if( !encoded ) {
+				checkContentLength( contentLength );
+				final byte[] buffer = new byte[ contentLength ];
+				blockingRead( scanner.inputStream(), buffer, 0, contentLength );
+				message.setContent( buffer );
+				return;
+			}
+			body = new BoundedInputStream( scanner.inputStream(), contentLength );
 		} else if( message.isResponse() ) {
 			// Per https://tools.ietf.org/html/rfc7230#section-3.3.3 payload may only be sent on *responses*
 			// (including the HTTP version header) when there is NO transfer encoding and NO content length
@@ -321,35 +329,87 @@ public class HttpParser {
 			HttpMessage.Version version =
 				(message.version() == null ? HttpMessage.Version.HTTP_1_1 : message.version());
 
-			if( // Will the connection be closed?
+			final boolean closing =
 				// HTTP 1.1
-			(version.equals( HttpMessage.Version.HTTP_1_1 )
-				&&
-				message.getPropertyOrEmptyString( "connection" ).equalsIgnoreCase( "close" ))
-				||
-				// HTTP 1.0
-				(version.equals( HttpMessage.Version.HTTP_1_0 )
+				(version.equals( HttpMessage.Version.HTTP_1_1 )
 					&&
-					!message.getPropertyOrEmptyString( "connection" ).equalsIgnoreCase( "keep-alive" )) ) {
-				buffer = readAll( scanner.inputStream() );
+					message.getPropertyOrEmptyString( "connection" ).equalsIgnoreCase( "close" ))
+					||
+					// HTTP 1.0
+					(version.equals( HttpMessage.Version.HTTP_1_0 )
+						&&
+						!message.getPropertyOrEmptyString( "connection" ).equalsIgnoreCase( "keep-alive" ));
+			if( !closing ) {
+				message.setContent( new byte[ 0 ] );
+				return;
 			}
+			// The content lasts until the connection is closed
+			body = scanner.inputStream();
+		} else {
+			message.setContent( new byte[ 0 ] );
+			return;
 		}
 
-		if( buffer != null ) {
-			p = message.getProperty( "content-encoding" );
-			if( p != null ) {
-				if( p.contains( "deflate" ) ) {
-					buffer = readAll( new InflaterInputStream( new ByteArrayInputStream( buffer ) ) );
-				} else if( p.contains( "gzip" ) ) {
-					buffer = readAll( new GZIPInputStream( new ByteArrayInputStream( buffer ) ) );
-				} else if( !p.equals( "identity" ) ) {
-					throw new UnsupportedEncodingException( "Unrecognized Content-Encoding: " + p );
-				}
+		InputStream stream = body;
+		if( encoded ) {
+			if( contentEncoding.contains( "deflate" ) ) {
+				stream = new InflaterInputStream( stream );
+			} else if( contentEncoding.contains( "gzip" ) ) {
+				stream = new GZIPInputStream( stream );
+			} else {
+				throw new UnsupportedEncodingException( "Unrecognized Content-Encoding: " + contentEncoding );
+			}
+		}
+
+		message.setContent( readAll( stream ) );
+		if( encoded ) {
+			// Decoders can stop before the end of the body, which must be consumed entirely for the next
+			// message on the connection to be found
+			final byte[] tmp = new byte[ BLOCK_SIZE ];
+			while( body.read( tmp, 0, BLOCK_SIZE ) != -1 ) {
 			}
+		}
+	}
 
-			message.setContent( buffer );
-		} else {
-			message.setContent( new byte[ 0 ] );
+	/*
+	 * Reads the given number of bytes from a stream, and no more.
+	 */
+	private static class BoundedInputStream extends InputStream {
+		private final InputStream in;
+		private long remaining;
+
+		private BoundedInputStream( InputStream in, long length ) {
+			this.in = in;
+			this.remaining = length;
+		}
+
+		@Override
+		public int read()
+			throws IOException {
+			final byte[] b = new byte[ 1 ];
+			return read( b, 0, 1 ) == -1 ? -1 : b[ 0 ] & 0xff;
+		}
+
+		@Override
+		public int read( byte[] b, int off, int len )
+			throws IOException {
+			if( remaining <= 0 ) {
+				return -1;
+			} else if( len == 0 ) {
+				return 0;
+			}
+			final int r = in.read( b, off, (int) Math.min( len, remaining ) );
+			if( r == -1 ) {
+				throw new EOFException();
+			}
+			remaining -= r;
+			return r;
+		}
+
+		@Override
+		public int available()
+			throws IOException {
+			return (int) Math.min( remaining, in.available() );
 		}
 	}
 
@@ -27,6 +27,7 @@ import java.io.InputStream;
 import jolie.lang.parse.Scanner;
 import jolie.lang.parse.Scanner.Token;
 import jolie.lang.parse.Scanner.TokenType;
+import jolie.net.PreBufferedInputStream;
 
 public class HttpScanner {
 	private final InputStream stream;
@@ -99,10 +100,20 @@ public class HttpScanner {
 		}
 	}
 
+	/*
+	 * Skips the line separators that follow a message and have already been received, e.g., the CRLF
+	 * that some clients send after the content of a request. Differently from the other methods, no
+	 * character is read ahead, since the data that follows belongs to the next message on the
+	 * connection.
+	 */
 	void eatSeparatorsUntilEOF()
 		throws IOException {
-		while( Scanner.isSeparator( ch ) && stream.available() > 0 ) {
-			readChar();
+		if( stream instanceof PreBufferedInputStream ) {
+			final PreBufferedInputStream bufferedStream = (PreBufferedInputStream) stream;
+			int next;
+			while( (next = bufferedStream.peek()) == '\r' || next == '\n' ) {
+				bufferedStream.skip( 1 );
+			}
 		}
 	}
 
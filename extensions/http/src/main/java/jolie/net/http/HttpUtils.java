@@ -173,10 +173,19 @@ public class HttpUtils {
 		public static final String INCOMING_HEADERS = "inHeaders";
 		public static final String STATUS_CODES = "statusCodes";
 		public static final String FORCE_RECEIVING_CHARSET = "forceRecvCharset";
+		public static final String MAX_CONTENT_LENGTH = "maxContentLength";
+		public static final String CHUNK_SIZE = "chunkSize";
+		public static final String HTTP2 = "http2";
+		public static final String STATIC_FILES = "staticFiles";
 
 		public static class MultiPartHeaders {
 			public static final String FILENAME = "filename";
 		}
+
+		public static class StaticFiles {
+			public static final String DIRECTORY = "directory";
+			public static final String PATH = "path";
+		}
 	}
 
 	static {
@@ -303,6 +312,10 @@ public class HttpUtils {
 			}
 		} else if( e instanceof UnsupportedHttpVersionException ) { // 505 HTTP Version Not Supported
 			httpMessage.append( getStatusCodeDescription( 505 ) ).append( CRLF );
+		} else if( e instanceof ContentTooLargeException ) { // 413 Request Entity Too Large
+			// The rest of the content is not read, so the connection cannot be used anymore
+			httpMessage.append( getStatusCodeDescription( 413 ) ).append( CRLF );
+			httpMessage.append( "Connection: close" ).append( CRLF );
 		} else { // 500 Internal Server Error
 			httpMessage.append( getStatusCodeDescription( 500 ) ).append( CRLF );
 		}
@@ -443,27 +456,41 @@ public class HttpUtils {
 
 	public static ByteArray encode( String encodingHeader, ByteArray content, StringBuilder headerBuilder )
 		throws IOException {
+		final String encoding = selectEncoding( encodingHeader );
+		if( encoding == null ) {
+			return content;
+		}
+		ByteArrayOutputStream baOutStream = new ByteArrayOutputStream();
+		try( OutputStream outStream = encodingStream( encoding, baOutStream ) ) {
+			outStream.write( content.getBytes() );
+		}
+		headerBuilder.append( "Content-Encoding: " ).append( encoding ).append( HttpUtils.CRLF );
+		return new ByteArray( baOutStream.toByteArray() );
+	}
+
+	/**
+	 * Returns the content coding to use among those accepted by an Accept-Encoding header, either
+	 * "gzip" or "deflate", or null if none of them is accepted.
+	 */
+	public static String selectEncoding( String encodingHeader ) {
 		for( Map.Entry< Double, String > encoding : parseAcceptHeaders( encodingHeader ) ) { // accept-encoding
 			// RFC 7231 section-5.3.4 introduced the "*" (any) option, we opt for gzip as a sane default
 			if( encoding.getValue().equals( "gzip" ) || encoding.getValue().equals( "*" ) ) {
-				ByteArrayOutputStream baOutStream = new ByteArrayOutputStream();
-				GZIPOutputStream outStream = new GZIPOutputStream( baOutStream );
-				outStream.write( content.getBytes() );
-				outStream.close();
-				content = new ByteArray( baOutStream.toByteArray() );
-				headerBuilder.append( "Content-Encoding: gzip" ).append( HttpUtils.CRLF );
-				return content;
+				return "gzip";
 			} else if( encoding.getValue().equals( "deflate" ) ) {
-				ByteArrayOutputStream baOutStream = new ByteArrayOutputStream();
-				DeflaterOutputStream outStream = new DeflaterOutputStream( baOutStream );
-				outStream.write( content.getBytes() );
-				outStream.close();
-				content = new ByteArray( baOutStream.toByteArray() );
-				headerBuilder.append( "Content-Encoding: deflate" ).append( HttpUtils.CRLF );
-				return content;
+				return "deflate";
 			}
 		}
-		return content;
+		return null;
+	}
+
+	/**
+	 * Returns a stream that encodes the data written to it with the given content coding, as returned
+	 * by {@link #selectEncoding(String)}, before writing it to the given stream.
+	 */
+	public static OutputStream encodingStream( String encoding, OutputStream ostream )
+		throws IOException {
+		return "gzip".equals( encoding ) ? new GZIPOutputStream( ostream ) : new DeflaterOutputStream( ostream );
 	}
 
 	public static String prepareSendDebugString( CharSequence header, EncodedContent encodedContent, String charset,
@@ -0,0 +1,293 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of the static files served by http input ports, shared by their connections.
+ *
+ * The content of a file is memory-mapped, so that it is neither read from disk nor copied to the
+ * heap for every request. The compressed variants of a file (gzip and deflate) are computed once
+ * and kept in memory, up to a maximum total size, evicting the least recently used files first.
+ * Entries are keyed by path and validated against the last modification time and size of their
+ * file, so changed files are reloaded.
+ */
+public class StaticFileCache {
+	/**
+	 * The default maximum total size of the compressed variants kept in memory.
+	 */
+	public static final long DEFAULT_MAX_SIZE = 32L * 1024 * 1024;
+
+	// Files are kept mapped while they are cached, so their number is bounded too
+	private static final int MAX_FILES = 1024;
+	private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+	// The types of common web assets, which the platform may not know
+	private static final Map< String, String > CONTENT_TYPES = Map.ofEntries(
+		Map.entry( "html", "text/html" ),
+		Map.entry( "htm", "text/html" ),
+		Map.entry( "css", "text/css" ),
+		Map.entry( "js", "application/javascript" ),
+		Map.entry( "mjs", "application/javascript" ),
+		Map.entry( "json", "application/json" ),
+		Map.entry( "map", "application/json" ),
+		Map.entry( "xml", "application/xml" ),
+		Map.entry( "txt", "text/plain" ),
+		Map.entry( "svg", "image/svg+xml" ),
+		Map.entry( "png", "image/png" ),
+		Map.entry( "jpg", "image/jpeg" ),
+		Map.entry( "jpeg", "image/jpeg" ),
+		Map.entry( "gif", "image/gif" ),
+		Map.entry( "webp", "image/webp" ),
+		Map.entry( "ico", "image/x-icon" ),
+		Map.entry( "woff", "font/woff" ),
+		Map.entry( "woff2", "font/woff2" ),
+		Map.entry( "ttf", "font/ttf" ),
+		Map.entry( "otf", "font/otf" ),
+		Map.entry( "wasm", "application/wasm" ),
+		Map.entry( "pdf", "application/pdf" ) );
+
+	/**
+	 * A regular file, as it was when it was cached.
+	 */
+	public static class StaticFile {
+		private final Path path;
+		private final long lastModified;
+		private final long size;
+		private final String etag;
+		private final String contentType;
+		// null if the file is too large to be mapped
+		private final ByteBuffer content;
+		// By encoding, or null for the encodings that do not make the content smaller
+		private final Map< String, byte[] > variants = new HashMap<>();
+		private long variantsSize = 0;
+
+		private StaticFile( Path path, long lastModified, long size, ByteBuffer content ) {
+			this.path = path;
+			this.lastModified = lastModified;
+			this.size = size;
+			this.etag = Long.toHexString( lastModified ) + '-' + Long.toHexString( size );
+			this.contentType = probeContentType( path );
+			this.content = content;
+		}
+
+		public Path path() {
+			return path;
+		}
+
+		/**
+		 * Returns the last modification time of the file, in milliseconds since the epoch.
+		 */
+		public long lastModified() {
+			return lastModified;
+		}
+
+		public long size() {
+			return size;
+		}
+
+		public String contentType() {
+			return contentType;
+		}
+
+		/**
+		 * Returns the entity tag of the file with the given content encoding (null for none), quoted.
+		 */
+		public String etag( String encoding ) {
+			return '"' + (encoding == null ? etag : etag + '-' + encoding) + '"';
+		}
+
+		/**
+		 * Returns <code>true</code> if the given value of an If-None-Match header matches any variant of
+		 * the file.
+		 */
+		public boolean matches( String ifNoneMatch ) {
+			for( String tag : ifNoneMatch.split( "," ) ) {
+				tag = tag.trim();
+				if( tag.equals( "*" ) ) {
+					return true;
+				}
+				// If-None-Match uses the weak comparison
+				if( tag.startsWith( "W/" ) ) {
+					tag = tag.substring( 2 );
+				}
+				if( tag.length() > 1 && tag.startsWith( '"' + etag ) && tag.endsWith( "\"" )
+					&& (tag.length() == etag.length() + 2 || tag.charAt( etag.length() + 1 ) == '-') ) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean isCurrent( BasicFileAttributes attributes ) {
+			return attributes.lastModifiedTime().toMillis() == lastModified && attributes.size() == size;
+		}
+	}
+
+	private final long maxSize;
+	private final Map< Path, StaticFile > files = new LinkedHashMap<>( 16, 0.75f, true );
+	private long size = 0;
+
+	public StaticFileCache( long maxSize ) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Returns the regular file at the given path, or null if there is none.
+	 */
+	public StaticFile get( Path path )
+		throws IOException {
+		final BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes( path, BasicFileAttributes.class );
+		} catch( NoSuchFileException e ) {
+			return null;
+		}
+		if( !attributes.isRegularFile() ) {
+			return null;
+		}
+
+		synchronized( this ) {
+			final StaticFile file = files.get( path );
+			if( file != null && file.isCurrent( attributes ) ) {
+				return file;
+			}
+		}
+
+		ByteBuffer content = null;
+		if( attributes.size() <= Integer.MAX_VALUE ) {
+			try( FileChannel channel = FileChannel.open( path, StandardOpenOption.READ ) ) {
+				content = channel.map( FileChannel.MapMode.READ_ONLY, 0, attributes.size() );
+			}
+		}
+		final StaticFile file =
+			new StaticFile( path, attributes.lastModifiedTime().toMillis(), attributes.size(), content );
+		synchronized( this ) {
+			final StaticFile previous = files.put( path, file );
+			if( previous != null ) {
+				size -= previous.variantsSize;
+			}
+			evict();
+		}
+		return file;
+	}
+
+	/**
+	 * Returns the content of the file compressed with the given encoding ("gzip" or "deflate"), or null
+	 * if it is not smaller than the file itself or the file is too large to be compressed in memory.
+	 */
+	public byte[] getVariant( StaticFile file, String encoding )
+		throws IOException {
+		if( file.content == null || file.size > maxSize / 4 ) {
+			return null;
+		}
+		// Compressing a file once is enough, even if it is requested by many clients at the same time
+		synchronized( file ) {
+			if( file.variants.containsKey( encoding ) ) {
+				return file.variants.get( encoding );
+			}
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try( OutputStream encodingStream = HttpUtils.encodingStream( encoding, bytes ) ) {
+				writeTo( file, encodingStream );
+			}
+			final byte[] variant = bytes.size() < file.size ? bytes.toByteArray() : null;
+			file.variants.put( encoding, variant );
+			if( variant != null ) {
+				synchronized( this ) {
+					file.variantsSize += variant.length;
+					if( files.get( file.path ) == file ) {
+						size += variant.length;
+						evict();
+					}
+				}
+			}
+			return variant;
+		}
+	}
+
+	/**
+	 * Writes the content of the file, without encoding, to the given stream.
+	 */
+	public static void writeTo( StaticFile file, OutputStream ostream )
+		throws IOException {
+		final WritableByteChannel channel = Channels.newChannel( ostream );
+		if( file.content != null ) {
+			try {
+				final ByteBuffer content = file.content.duplicate();
+				while( content.hasRemaining() ) {
+					channel.write( content );
+				}
+			} catch( InternalError e ) {
+				// Accessing a mapped file that has been truncated
+				throw new IOException( "Could not read " + file.path, e );
+			}
+		} else {
+			try( FileChannel fileChannel = FileChannel.open( file.path, StandardOpenOption.READ ) ) {
+				long position = 0;
+				while( position < file.size ) {
+					final long n = fileChannel.transferTo( position, file.size - position, channel );
+					if( n <= 0 ) {
+						throw new IOException( "Could not read " + file.path );
+					}
+					position += n;
+				}
+			}
+		}
+	}
+
+	private static String probeContentType( Path path ) {
+		final String name = path.getFileName().toString();
+		final String contentType = CONTENT_TYPES.get( name.substring( name.lastIndexOf( '.' ) + 1 ).toLowerCase() );
+		if( contentType != null ) {
+			return contentType;
+		}
+		try {
+			final String probed = Files.probeContentType( path );
+			return probed != null ? probed : DEFAULT_CONTENT_TYPE;
+		} catch( IOException e ) {
+			return DEFAULT_CONTENT_TYPE;
+		}
+	}
+
+	// Requires: synchronized on this
+	private void evict() {
+		final Iterator< StaticFile > it = files.values().iterator();
+		while( it.hasNext() && (size > maxSize || files.size() > MAX_FILES) ) {
+			final StaticFile file = it.next();
+			size -= file.variantsSize;
+			it.remove();
+		}
+	}
+}
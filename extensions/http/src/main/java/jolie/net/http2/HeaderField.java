@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net.http2;
+
+/**
+ * A header field of an HTTP/2 header block. Names and values are sequences of octets, represented
+ * as ISO-8859-1 strings.
+ */
+public final class HeaderField {
+	/**
+	 * The overhead added to the size of every entry of a header table (RFC 7541, Section 4.1).
+	 */
+	static final int ENTRY_OVERHEAD = 32;
+
+	private final String name;
+	private final String value;
+
+	public HeaderField( String name, String value ) {
+		this.name = name;
+		this.value = value;
+	}
+
+	public String name() {
+		return name;
+	}
+
+	public String value() {
+		return value;
+	}
+
+	/**
+	 * Returns the size of this field as an entry of a header table.
+	 */
+	int size() {
+		return name.length() + value.length() + ENTRY_OVERHEAD;
+	}
+
+	@Override
+	public String toString() {
+		return name + ": " + value;
+	}
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net.http2;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The header table of an HPACK encoder or decoder: the static table, followed by a dynamic table of
+ * bounded size whose newest entry has the lowest index (RFC 7541, Section 2.3).
+ */
+final class HeaderTable {
+	private static final HeaderField[] STATIC_TABLE = {
+		null, // Indexes start from 1
+		new HeaderField( ":authority", "" ),
+		new HeaderField( ":method", "GET" ),
+		new HeaderField( ":method", "POST" ),
+		new HeaderField( ":path", "/" ),
+		new HeaderField( ":path", "/index.html" ),
+		new HeaderField( ":scheme", "http" ),
+		new HeaderField( ":scheme", "https" ),
+		new HeaderField( ":status", "200" ),
+		new HeaderField( ":status", "204" ),
+		new HeaderField( ":status", "206" ),
+		new HeaderField( ":status", "304" ),
+		new HeaderField( ":status", "400" ),
+		new HeaderField( ":status", "404" ),
+		new HeaderField( ":status", "500" ),
+		new HeaderField( "accept-charset", "" ),
+		new HeaderField( "accept-encoding", "gzip, deflate" ),
+		new HeaderField( "accept-language", "" ),
+		new HeaderField( "accept-ranges", "" ),
+		new HeaderField( "accept", "" ),
+		new HeaderField( "access-control-allow-origin", "" ),
+		new HeaderField( "age", "" ),
+		new HeaderField( "allow", "" ),
+		new HeaderField( "authorization", "" ),
+		new HeaderField( "cache-control", "" ),
+		new HeaderField( "content-disposition", "" ),
+		new HeaderField( "content-encoding", "" ),
+		new HeaderField( "content-language", "" ),
+		new HeaderField( "content-length", "" ),
+		new HeaderField( "content-location", "" ),
+		new HeaderField( "content-range", "" ),
+		new HeaderField( "content-type", "" ),
+		new HeaderField( "cookie", "" ),
+		new HeaderField( "date", "" ),
+		new HeaderField( "etag", "" ),
+		new HeaderField( "expect", "" ),
+		new HeaderField( "expires", "" ),
+		new HeaderField( "from", "" ),
+		new HeaderField( "host", "" ),
+		new HeaderField( "if-match", "" ),
+		new HeaderField( "if-modified-since", "" ),
+		new HeaderField( "if-none-match", "" ),
+		new HeaderField( "if-range", "" ),
+		new HeaderField( "if-unmodified-since", "" ),
+		new HeaderField( "last-modified", "" ),
+		new HeaderField( "link", "" ),
+		new HeaderField( "location", "" ),
+		new HeaderField( "max-forwards", "" ),
+		new HeaderField( "proxy-authenticate", "" ),
+		new HeaderField( "proxy-authorization", "" ),
+		new HeaderField( "range", "" ),
+		new HeaderField( "referer", "" ),
+		new HeaderField( "refresh", "" ),
+		new HeaderField( "retry-after", "" ),
+		new HeaderField( "server", "" ),
+		new HeaderField( "set-cookie", "" ),
+		new HeaderField( "strict-transport-security", "" ),
+		new HeaderField( "transfer-encoding", "" ),
+		new HeaderField( "user-agent", "" ),
+		new HeaderField( "vary", "" ),
+		new HeaderField( "via", "" ),
+		new HeaderField( "www-authenticate", "" )
+	};
+	private static final int STATIC_TABLE_LENGTH = STATIC_TABLE.length - 1;
+
+	// The lowest static index of each name, and of each field with a value
+	private static final Map< String, Integer > STATIC_NAMES = new HashMap<>();
+	private static final Map< String, Integer > STATIC_FIELDS = new HashMap<>();
+
+	static {
+		for( int i = STATIC_TABLE_LENGTH; i > 0; i-- ) {
+			STATIC_NAMES.put( STATIC_TABLE[ i ].name(), i );
+			if( !STATIC_TABLE[ i ].value().isEmpty() ) {
+				STATIC_FIELDS.put( STATIC_TABLE[ i ].name() + '\0' + STATIC_TABLE[ i ].value(), i );
+			}
+		}
+	}
+
+	// A circular buffer of the dynamic entries, from the oldest to the newest
+	private HeaderField[] entries = new HeaderField[ 16 ];
+	private int first = 0;
+	private int length = 0;
+	private int size = 0;
+	private int maxSize;
+
+	HeaderTable( int maxSize ) {
+		this.maxSize = maxSize;
+	}
+
+	int maxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Changes the maximum size of the dynamic table, evicting the entries that do not fit anymore.
+	 */
+	void setMaxSize( int maxSize ) {
+		this.maxSize = maxSize;
+		evict( 0 );
+	}
+
+	/**
+	 * Returns the field with the given index, in the static or dynamic table.
+	 *
+	 * @throws Http2Exception if there is no such field
+	 */
+	HeaderField get( int index )
+		throws Http2Exception {
+		if( index <= 0 || index > STATIC_TABLE_LENGTH + length ) {
+			throw new Http2Exception( Http2Constants.ErrorCode.COMPRESSION_ERROR,
+				"Invalid header table index: " + index );
+		}
+		if( index <= STATIC_TABLE_LENGTH ) {
+			return STATIC_TABLE[ index ];
+		}
+		return dynamicEntry( index - STATIC_TABLE_LENGTH - 1 );
+	}
+
+	private HeaderField dynamicEntry( int i ) {
+		// Entry 0 is the newest
+		return entries[ (first + length - 1 - i) & (entries.length - 1) ];
+	}
+
+	/**
+	 * Adds a field to the dynamic table, evicting the oldest entries to make room for it. A field
+	 * larger than the table empties it.
+	 */
+	void add( HeaderField field ) {
+		evict( field.size() );
+		if( field.size() > maxSize ) {
+			return;
+		}
+		if( length == entries.length ) {
+			final HeaderField[] larger = new HeaderField[ entries.length * 2 ];
+			for( int i = 0; i < length; i++ ) {
+				larger[ i ] = entries[ (first + i) & (entries.length - 1) ];
+			}
+			entries = larger;
+			first = 0;
+		}
+		entries[ (first + length) & (entries.length - 1) ] = field;
+		length++;
+		size += field.size();
+	}
+
+	private void evict( int room ) {
+		while( length > 0 && size + room > maxSize ) {
+			size -= entries[ first ].size();
+			entries[ first ] = null;
+			first = (first + 1) & (entries.length - 1);
+			length--;
+		}
+	}
+
+	/**
+	 * Returns the index of a field with the given name and value, or 0 if there is none.
+	 */
+	int indexOf( String name, String value ) {
+		final Integer i = STATIC_FIELDS.get( name + '\0' + value );
+		if( i != null ) {
+			return i;
+		}
+		for( int j = 0; j < length; j++ ) {
+			final HeaderField field = dynamicEntry( j );
+			if( field.name().equals( name ) && field.value().equals( value ) ) {
+				return STATIC_TABLE_LENGTH + 1 + j;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Returns the index of a field with the given name, or 0 if there is none.
+	 */
+	int indexOfName( String name ) {
+		final Integer i = STATIC_NAMES.get( name );
+		if( i != null ) {
+			return i;
+		}
+		for( int j = 0; j < length; j++ ) {
+			if( dynamicEntry( j ).name().equals( name ) ) {
+				return STATIC_TABLE_LENGTH + 1 + j;
+			}
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net.http2;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes the header blocks received through an HTTP/2 connection (RFC 7541). A decoder keeps the
+ * dynamic table shared with the encoder of the peer, so it must decode every header block of the
+ * connection, in order.
+ */
+final class HpackDecoder {
+	private final HeaderTable table;
+	private final int maxTableSize;
+	private final int maxHeaderListSize;
+
+	private byte[] data;
+	private int position;
+	private int end;
+
+	/**
+	 * @param maxTableSize the maximum size of the dynamic table, as advertised to the peer
+	 * @param maxHeaderListSize the maximum size of a decoded header list
+	 */
+	HpackDecoder( int maxTableSize, int maxHeaderListSize ) {
+		this.table = new HeaderTable( maxTableSize );
+		this.maxTableSize = maxTableSize;
+		this.maxHeaderListSize = maxHeaderListSize;
+	}
+
+	/**
+	 * Decodes a complete header block.
+	 *
+	 * @throws Http2Exception if the block is not valid, which is an error of the whole connection
+	 */
+	List< HeaderField > decode( byte[] block, int length )
+		throws Http2Exception {
+		this.data = block;
+		this.position = 0;
+		this.end = length;
+		final List< HeaderField > fields = new ArrayList<>();
+		int listSize = 0;
+		boolean first = true;
+		while( position < end ) {
+			final int b = data[ position ] & 0xff;
+			final HeaderField field;
+			if( (b & 0x80) != 0 ) {
+				// Indexed header field
+				field = table.get( readInteger( 7 ) );
+			} else if( (b & 0x40) != 0 ) {
+				// Literal header field with incremental indexing
+				field = readLiteral( 6 );
+				table.add( field );
+			} else if( (b & 0x20) != 0 ) {
+				// Dynamic table size update, only allowed at the beginning of a block
+				final int size = readInteger( 5 );
+				if( !first || size > maxTableSize ) {
+					throw new Http2Exception( Http2Constants.ErrorCode.COMPRESSION_ERROR,
+						"Invalid dynamic table size update" );
+				}
+				table.setMaxSize( size );
+				continue;
+			} else {
+				// Literal header field without indexing, or never indexed
+				field = readLiteral( 4 );
+			}
+			first = false;
+			listSize += field.size();
+			if( listSize > maxHeaderListSize ) {
+				throw new Http2Exception( Http2Constants.ErrorCode.ENHANCE_YOUR_CALM,
+					"Header list larger than " + maxHeaderListSize + " octets" );
+			}
+			fields.add( field );
+		}
+		this.data = null;
+		return fields;
+	}
+
+	private HeaderField readLiteral( int prefix )
+		throws Http2Exception {
+		final int nameIndex = readInteger( prefix );
+		final String name = nameIndex == 0 ? readString() : table.get( nameIndex ).name();
+		return new HeaderField( name, readString() );
+	}
+
+	private String readString()
+		throws Http2Exception {
+		if( position >= end ) {
+			throw truncated();
+		}
+		final boolean huffman = (data[ position ] & 0x80) != 0;
+		final int length = readInteger( 7 );
+		if( length > end - position ) {
+			throw truncated();
+		}
+		final String s = huffman
+			? Huffman.decode( data, position, length )
+			: new String( data, position, length, StandardCharsets.ISO_8859_1 );
+		position += length;
+		return s;
+	}
+
+	private int readInteger( int prefix )
+		throws Http2Exception {
+		final int mask = (1 << prefix) - 1;
+		int value = data[ position++ ] & mask;
+		if( value < mask ) {
+			return value;
+		}
+		int shift = 0;
+		int b;
+		do {
+			if( position >= end ) {
+				throw truncated();
+			}
+			b = data[ position++ ] & 0xff;
+			if( shift > 21 ) {
+				throw new Http2Exception( Http2Constants.ErrorCode.COMPRESSION_ERROR, "Integer overflow" );
+			}
+			value += (b & 0x7f) << shift;
+			shift += 7;
+		} while( (b & 0x80) != 0 );
+		if( value < 0 ) {
+			throw new Http2Exception( Http2Constants.ErrorCode.COMPRESSION_ERROR, "Integer overflow" );
+		}
+		return value;
+	}
+
+	private static Http2Exception truncated() {
+		return new Http2Exception( Http2Constants.ErrorCode.COMPRESSION_ERROR, "Truncated header block" );
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net.http2;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Encodes the header blocks sent through an HTTP/2 connection (RFC 7541). An encoder keeps the
+ * dynamic table shared with the decoder of the peer, so the blocks it encodes must be sent in the
+ * same order.
+ */
+final class HpackEncoder {
+	// Fields whose values change at every message, and would only fill the dynamic table
+	private static final Set< String > NOT_INDEXED = Set.of(
+		"content-length", "date", "etag", "last-modified", "if-modified-since", "if-none-match" );
+	// Fields carrying secrets, which intermediaries must not index either (RFC 7541, Section 7.1)
+	private static final Set< String > NEVER_INDEXED = Set.of(
+		"authorization", "proxy-authorization", "cookie", "set-cookie" );
+
+	private final HeaderTable table = new HeaderTable( Http2Constants.DEFAULT_HEADER_TABLE_SIZE );
+	// The smallest size set since the last block, if the size changed
+	private int smallestMaxSize = -1;
+
+	/**
+	 * Sets the maximum size of the dynamic table, as advertised by the peer. Encoders may use smaller
+	 * tables, so this only limits the default size.
+	 */
+	void setMaxTableSize( int maxSize ) {
+		final int size = Math.min( maxSize, Http2Constants.DEFAULT_HEADER_TABLE_SIZE );
+		if( size != table.maxSize() ) {
+			smallestMaxSize = smallestMaxSize < 0 ? size : Math.min( smallestMaxSize, size );
+			table.setMaxSize( size );
+		}
+	}
+
+	/**
+	 * Encodes a header block containing the given fields.
+	 */
+	byte[] encode( List< HeaderField > fields ) {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		if( smallestMaxSize >= 0 ) {
+			// Signal the smallest size first, so that the peer evicts the same entries
+			writeInteger( out, 0x20, 5, smallestMaxSize );
+			if( smallestMaxSize != table.maxSize() ) {
+				writeInteger( out, 0x20, 5, table.maxSize() );
+			}
+			smallestMaxSize = -1;
+		}
+		for( HeaderField field : fields ) {
+			final int index = table.indexOf( field.name(), field.value() );
+			if( index > 0 ) {
+				writeInteger( out, 0x80, 7, index );
+				continue;
+			}
+			final int nameIndex = table.indexOfName( field.name() );
+			if( NEVER_INDEXED.contains( field.name() ) ) {
+				writeInteger( out, 0x10, 4, nameIndex );
+			} else if( NOT_INDEXED.contains( field.name() ) || field.size() > table.maxSize() / 2 ) {
+				writeInteger( out, 0x00, 4, nameIndex );
+			} else {
+				writeInteger( out, 0x40, 6, nameIndex );
+				table.add( field );
+			}
+			if( nameIndex == 0 ) {
+				writeString( out, field.name() );
+			}
+			writeString( out, field.value() );
+		}
+		return out.toByteArray();
+	}
+
+	private static void writeString( ByteArrayOutputStream out, String s ) {
+		final int huffmanLength = Huffman.encodedLength( s );
+		if( huffmanLength < s.length() ) {
+			writeInteger( out, 0x80, 7, huffmanLength );
+			Huffman.encode( s, out );
+		} else {
+			writeInteger( out, 0x00, 7, s.length() );
+			out.writeBytes( s.getBytes( StandardCharsets.ISO_8859_1 ) );
+		}
+	}
+
+	private static void writeInteger( ByteArrayOutputStream out, int pattern, int prefix, int value ) {
+		final int mask = (1 << prefix) - 1;
+		if( value < mask ) {
+			out.write( pattern | value );
+			return;
+		}
+		out.write( pattern | mask );
+		value -= mask;
+		while( value >= 0x80 ) {
+			out.write( (value & 0x7f) | 0x80 );
+			value >>>= 7;
+		}
+		out.write( value );
+	}
+}
@@ -0,0 +1,1213 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net.http2;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jolie.net.PreBufferedInputStream;
+import jolie.net.http2.Http2Constants.ErrorCode;
+import jolie.net.http2.Http2Constants.Flags;
+import jolie.net.http2.Http2Constants.FrameType;
+import jolie.net.http2.Http2Constants.Settings;
+
+/**
+ * An HTTP/2 connection (RFC 9113), seen from either endpoint. A connection multiplexes messages on
+ * concurrent streams: it sends requests or responses as header blocks and data frames, respecting
+ * the flow control of the peer, and collects the messages received on each stream until they are
+ * complete.
+ *
+ * A connection does not own its streams of bytes: they are passed to each operation, so that the
+ * connection can be used by the channels that drive a protocol. Frames are read by one thread at a
+ * time, and written by one thread at a time. A sender waiting for the peer to open its flow-control
+ * window reads frames itself, unless another thread is already reading them.
+ */
+public class Http2Connection {
+	/**
+	 * The connection preface sent by clients.
+	 */
+	public static final byte[] PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes( StandardCharsets.US_ASCII );
+
+	/**
+	 * A value for the maximum content length of received messages, meaning no limit.
+	 */
+	public static final long UNLIMITED_CONTENT_LENGTH = -1L;
+
+	// Received content is given back to the flow-control window of the connection only once it has been
+	// consumed, so the window bounds the memory used for buffering. Streams are reset before exhausting
+	// their own windows, which are therefore never updated.
+	private static final int LOCAL_WINDOW_SIZE = 1 << 26;
+	private static final int MAX_STREAM_BUFFER = 1 << 24;
+	// Incomplete messages can fill half of the window at most, so that the peer can always complete
+	// them
+	private static final int MAX_PARTIAL_BUFFER = LOCAL_WINDOW_SIZE / 2;
+	private static final int LOCAL_MAX_CONCURRENT_STREAMS = 128;
+	private static final int LOCAL_MAX_HEADER_LIST_SIZE = 1 << 16;
+	// How long a sender waits for a window update read by another thread, before checking if it can
+	// read
+	// frames itself
+	private static final long UPDATE_WAIT_MILLIS = 100;
+
+	private static final Set< String > REQUEST_PSEUDO_HEADERS = Set.of( ":method", ":scheme", ":authority", ":path" );
+	private static final Set< String > CONNECTION_SPECIFIC_HEADERS =
+		Set.of( "connection", "keep-alive", "proxy-connection", "transfer-encoding", "upgrade" );
+
+	/**
+	 * A message received on a stream.
+	 */
+	public static final class Message {
+		private final int streamId;
+		private final List< HeaderField > headers;
+		private final byte[] content;
+		private final long contentLength;
+		private final Object attachment;
+		private final IOException error;
+
+		private Message( int streamId, List< HeaderField > headers, byte[] content, long contentLength,
+			Object attachment, IOException error ) {
+			this.streamId = streamId;
+			this.headers = headers;
+			this.content = content;
+			this.contentLength = contentLength;
+			this.attachment = attachment;
+			this.error = error;
+		}
+
+		public int streamId() {
+			return streamId;
+		}
+
+		/**
+		 * Returns the header fields of this message, starting with its pseudo-header fields, followed by
+		 * its trailer fields if there were any.
+		 */
+		public List< HeaderField > headers() {
+			return headers;
+		}
+
+		/**
+		 * Returns the content of this message, which is empty if it was longer than the maximum content
+		 * length of the connection.
+		 */
+		public byte[] content() {
+			return content;
+		}
+
+		/**
+		 * Returns the length of the content received on the stream, which is larger than the maximum
+		 * content length of the connection if the content has been discarded.
+		 */
+		public long contentLength() {
+			return contentLength;
+		}
+
+		/**
+		 * Returns the object attached to the stream of this message when the request was sent, or null if
+		 * this message is a request.
+		 */
+		public Object attachment() {
+			return attachment;
+		}
+
+		/**
+		 * Returns the error that ended the stream before a response was received, or null if this message
+		 * is complete.
+		 */
+		public IOException error() {
+			return error;
+		}
+	}
+
+	private static final class Stream {
+		private final int id;
+		private final Object attachment;
+		// Guarded by the connection
+		private long sendWindow;
+		private boolean localClosed = false;
+		private boolean remoteClosed = false;
+		// Set when the content of a request is too long, see reject
+		private boolean rejected = false;
+		// Guarded by the read lock
+		private int receiveWindow = LOCAL_WINDOW_SIZE;
+		private List< HeaderField > headers = null;
+		private ByteArrayOutputStream content = null;
+		private long contentLength = 0;
+
+		private Stream( int id, Object attachment, long sendWindow ) {
+			this.id = id;
+			this.attachment = attachment;
+			this.sendWindow = sendWindow;
+		}
+	}
+
+	private final boolean client;
+	private volatile long maxContentLength = UNLIMITED_CONTENT_LENGTH;
+	private final ReentrantLock readLock = new ReentrantLock();
+	private final ReentrantLock writeLock = new ReentrantLock();
+
+	// Guarded by this
+	private final Map< Integer, Stream > streams = new HashMap<>();
+	private final Deque< Message > received = new ArrayDeque<>();
+	private long sendWindow = Http2Constants.DEFAULT_WINDOW_SIZE;
+	private int peerInitialWindowSize = Http2Constants.DEFAULT_WINDOW_SIZE;
+	private int peerMaxFrameSize = Http2Constants.DEFAULT_MAX_FRAME_SIZE;
+	private long peerMaxConcurrentStreams = Long.MAX_VALUE;
+	private int nextStreamId;
+	private int lastPeerStreamId = 0;
+	private boolean goingAway = false;
+	private IOException failure = null;
+	// Incremented whenever senders may be able to make progress
+	private long updates = 0;
+
+	// Guarded by the read lock
+	private final HpackDecoder decoder =
+		new HpackDecoder( Http2Constants.DEFAULT_HEADER_TABLE_SIZE, LOCAL_MAX_HEADER_LIST_SIZE );
+	private final byte[] inputFrameHeader = new byte[ Http2Constants.FRAME_HEADER_LENGTH ];
+	private final ByteArrayOutputStream headerBlock = new ByteArrayOutputStream();
+	private int headerBlockStreamId = 0;
+	private int headerBlockFlags = 0;
+	private boolean settingsReceived = false;
+	private int receiveWindow = LOCAL_WINDOW_SIZE;
+	// Bytes buffered for incomplete messages
+	private int partial = 0;
+	// Bytes consumed but not given back to the window yet, see updateWindow
+	private int unreleased = 0;
+
+	// Guarded by the write lock
+	private final HpackEncoder encoder = new HpackEncoder();
+	private final byte[] outputFrameHeader = new byte[ Http2Constants.FRAME_HEADER_LENGTH ];
+	private boolean started = false;
+
+	/**
+	 * @param client <code>true</code> if this endpoint sends requests, <code>false</code> if it
+	 *        receives them
+	 */
+	public Http2Connection( boolean client ) {
+		this.client = client;
+		this.nextStreamId = client ? 1 : 2;
+	}
+
+	/**
+	 * Sets the maximum length of the content of a received message, by default
+	 * {@link #UNLIMITED_CONTENT_LENGTH}. Requests with longer contents are delivered as soon as they
+	 * exceed it, without their content but with the length received so far in
+	 * {@link Message#contentLength()}, and the rest of them is discarded. Responses with longer
+	 * contents fail. Contents longer than 16 MiB fail regardless, as they are buffered entirely.
+	 */
+	public void setMaxContentLength( long maxContentLength ) {
+		this.maxContentLength = maxContentLength;
+	}
+
+	/**
+	 * Returns the maximum length of the content of a received message that is kept.
+	 */
+	public long maxContentLength() {
+		return maxContentLength;
+	}
+
+	/**
+	 * Starts the connection by sending the preface of this endpoint, if it has not been sent yet.
+	 */
+	public void start( OutputStream out )
+		throws IOException {
+		writeLock.lock();
+		try {
+			if( started ) {
+				return;
+			}
+			started = true;
+			if( client ) {
+				out.write( PREFACE );
+			}
+			final ByteBuffer settings = ByteBuffer.allocate( 18 );
+			if( client ) {
+				putSetting( settings, Settings.ENABLE_PUSH, 0 );
+			} else {
+				putSetting( settings, Settings.MAX_CONCURRENT_STREAMS, LOCAL_MAX_CONCURRENT_STREAMS );
+			}
+			putSetting( settings, Settings.INITIAL_WINDOW_SIZE, LOCAL_WINDOW_SIZE );
+			putSetting( settings, Settings.MAX_HEADER_LIST_SIZE, LOCAL_MAX_HEADER_LIST_SIZE );
+			writeFrame( out, FrameType.SETTINGS, 0, 0, settings.array(), 0, settings.position() );
+			writeFrame( out, FrameType.WINDOW_UPDATE, 0, 0,
+				int32( LOCAL_WINDOW_SIZE - Http2Constants.DEFAULT_WINDOW_SIZE ), 0, 4 );
+			out.flush();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	private static void putSetting( ByteBuffer settings, int id, int value ) {
+		settings.putShort( (short) id ).putInt( value );
+	}
+
+	/**
+	 * Returns <code>true</code> if a received message is waiting to be returned by
+	 * {@link #receive(InputStream, OutputStream)} or {@link #poll(InputStream, OutputStream)}.
+	 */
+	public synchronized boolean hasReceived() {
+		return !received.isEmpty();
+	}
+
+	/**
+	 * Returns <code>true</code> if the peer is closing the connection, which cannot carry new requests.
+	 */
+	public synchronized boolean isGoingAway() {
+		return goingAway;
+	}
+
+	/**
+	 * Returns the next message received, reading frames until there is one.
+	 */
+	public Message receive( InputStream in, OutputStream out )
+		throws IOException {
+		readLock.lock();
+		try {
+			Message message;
+			while( (message = nextReceived( out )) == null ) {
+				readFrame( in, out );
+			}
+			return message;
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the next message received, reading at least a frame if there is none, and then the frames
+	 * that are already buffered by the input stream. Returns null if they do not complete a message.
+	 */
+	public Message poll( InputStream in, OutputStream out )
+		throws IOException {
+		readLock.lock();
+		try {
+			Message message = nextReceived( out );
+			if( message == null ) {
+				do {
+					readFrame( in, out );
+					message = nextReceived( out );
+				} while( message == null && hasBufferedFrame( in ) );
+			}
+			return message;
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	/*
+	 * Returns the next message received, whose content is then consumed. Called with the read lock.
+	 */
+	private Message nextReceived( OutputStream out )
+		throws IOException {
+		final Message message;
+		synchronized( this ) {
+			message = received.poll();
+		}
+		if( message != null && message.content != null ) {
+			unreleased += message.content.length;
+			updateWindow( out );
+		}
+		return message;
+	}
+
+	/*
+	 * Gives the consumed bytes back to the window of the connection, in batches. Called with the read
+	 * lock.
+	 */
+	private void updateWindow( OutputStream out )
+		throws IOException {
+		if( unreleased >= LOCAL_WINDOW_SIZE / 2 ) {
+			writeControlFrame( out, FrameType.WINDOW_UPDATE, 0, 0, int32( unreleased ) );
+			receiveWindow += unreleased;
+			unreleased = 0;
+		}
+	}
+
+	/*
+	 * Drops the content buffered for a stream whose message will not be delivered. Called with the read
+	 * lock.
+	 */
+	private void discard( Stream stream ) {
+		if( stream.content != null ) {
+			partial -= stream.content.size();
+			unreleased += stream.content.size();
+			stream.content = null;
+		}
+	}
+
+	private static boolean hasBufferedFrame( InputStream in )
+		throws IOException {
+		if( in instanceof PreBufferedInputStream ) {
+			final ByteBuffer data = ((PreBufferedInputStream) in).cachedData();
+			return data.remaining() >= Http2Constants.FRAME_HEADER_LENGTH
+				&& data.remaining() >= Http2Constants.FRAME_HEADER_LENGTH + (getInt24( data, data.position() ));
+		}
+		return in.available() > 0;
+	}
+
+	private static int getInt24( ByteBuffer data, int index ) {
+		return ((data.get( index ) & 0xff) << 16) | ((data.get( index + 1 ) & 0xff) << 8)
+			| (data.get( index + 2 ) & 0xff);
+	}
+
+	/**
+	 * Sends a request on a new stream, attaching an object to it that is returned with the response.
+	 *
+	 * @return the identifier of the new stream
+	 */
+	public int sendRequest( InputStream in, OutputStream out, List< HeaderField > headers, byte[] content,
+		Object attachment )
+		throws IOException {
+		start( out );
+		long version;
+		while( true ) {
+			synchronized( this ) {
+				checkUsable();
+				if( streams.size() < peerMaxConcurrentStreams ) {
+					break;
+				}
+				version = updates;
+			}
+			awaitUpdate( in, out, version );
+		}
+
+		final Stream stream;
+		writeLock.lock();
+		try {
+			synchronized( this ) {
+				checkUsable();
+				if( nextStreamId < 0 ) {
+					throw new IOException( "HTTP/2 stream identifiers exhausted" );
+				}
+				stream = new Stream( nextStreamId, attachment, peerInitialWindowSize );
+				nextStreamId += 2;
+				streams.put( stream.id, stream );
+			}
+			writeHeaders( out, stream, headers, content.length == 0 );
+		} finally {
+			writeLock.unlock();
+		}
+		writeContent( in, out, stream, content );
+		return stream.id;
+	}
+
+	/**
+	 * Sends the response to the request received on a stream. The response is discarded if the peer has
+	 * reset the stream.
+	 */
+	public void sendResponse( InputStream in, OutputStream out, int streamId, List< HeaderField > headers,
+		byte[] content )
+		throws IOException {
+		final Stream stream;
+		final boolean rejected;
+		synchronized( this ) {
+			if( failure != null ) {
+				throw failure;
+			}
+			stream = streams.get( streamId );
+			if( stream == null || stream.localClosed ) {
+				return;
+			}
+			rejected = stream.rejected;
+		}
+		writeLock.lock();
+		try {
+			writeHeaders( out, stream, headers, content.length == 0 );
+		} finally {
+			writeLock.unlock();
+		}
+		writeContent( in, out, stream, content );
+		if( rejected ) {
+			// Stops the peer from sending the rest of the request (RFC 9113, Section 8.1)
+			writeControlFrame( out, FrameType.RST_STREAM, 0, streamId, int32( ErrorCode.NO_ERROR ) );
+		}
+	}
+
+	/**
+	 * Resets a stream, e.g., because the message received on it could not be processed.
+	 */
+	public void resetStream( OutputStream out, int streamId )
+		throws IOException {
+		synchronized( this ) {
+			if( streams.remove( streamId ) == null ) {
+				return;
+			}
+			updates++;
+			notifyAll();
+		}
+		writeControlFrame( out, FrameType.RST_STREAM, 0, streamId, int32( ErrorCode.INTERNAL_ERROR ) );
+	}
+
+	private void checkUsable()
+		throws IOException {
+		if( failure != null ) {
+			throw failure;
+		}
+		if( goingAway ) {
+			throw new IOException( "The HTTP/2 connection is being closed by the peer" );
+		}
+	}
+
+	private void writeHeaders( OutputStream out, Stream stream, List< HeaderField > headers, boolean endStream )
+		throws IOException {
+		final byte[] block = encoder.encode( headers );
+		final int maxFrameSize;
+		synchronized( this ) {
+			maxFrameSize = peerMaxFrameSize;
+		}
+		int offset = Math.min( block.length, maxFrameSize );
+		writeFrame( out, FrameType.HEADERS,
+			(endStream ? Flags.END_STREAM : 0) | (offset == block.length ? Flags.END_HEADERS : 0),
+			stream.id, block, 0, offset );
+		while( offset < block.length ) {
+			final int length = Math.min( block.length - offset, maxFrameSize );
+			writeFrame( out, FrameType.CONTINUATION, offset + length == block.length ? Flags.END_HEADERS : 0,
+				stream.id, block, offset, length );
+			offset += length;
+		}
+		if( endStream ) {
+			closeLocally( stream );
+		}
+	}
+
+	private void writeContent( InputStream in, OutputStream out, Stream stream, byte[] content )
+		throws IOException {
+		int offset = 0;
+		while( offset < content.length ) {
+			final int length;
+			final long version;
+			synchronized( this ) {
+				if( failure != null ) {
+					throw failure;
+				}
+				if( streams.get( stream.id ) != stream ) {
+					// Reset by the peer
+					return;
+				}
+				length = (int) Math.min( Math.min( content.length - offset, peerMaxFrameSize ),
+					Math.min( sendWindow, stream.sendWindow ) );
+				if( length > 0 ) {
+					sendWindow -= length;
+					stream.sendWindow -= length;
+				}
+				version = updates;
+			}
+			if( length > 0 ) {
+				final boolean last = offset + length == content.length;
+				writeLock.lock();
+				try {
+					writeFrame( out, FrameType.DATA, last ? Flags.END_STREAM : 0, stream.id, content, offset, length );
+				} finally {
+					writeLock.unlock();
+				}
+				offset += length;
+				if( last ) {
+					closeLocally( stream );
+				}
+			} else {
+				awaitUpdate( in, out, version );
+			}
+		}
+	}
+
+	private synchronized void closeLocally( Stream stream ) {
+		stream.localClosed = true;
+		if( stream.remoteClosed ) {
+			streams.remove( stream.id );
+			updates++;
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Waits until the state of the connection changes, e.g., because the peer opened its flow-control
+	 * window, reading a frame if no other thread is reading them.
+	 */
+	private void awaitUpdate( InputStream in, OutputStream out, long version )
+		throws IOException {
+		// The peer may be waiting for what was written so far
+		writeLock.lock();
+		try {
+			out.flush();
+		} finally {
+			writeLock.unlock();
+		}
+		if( readLock.tryLock() ) {
+			try {
+				synchronized( this ) {
+					if( updates != version ) {
+						return;
+					}
+				}
+				readFrame( in, out );
+			} finally {
+				readLock.unlock();
+			}
+		} else {
+			synchronized( this ) {
+				if( updates == version && failure == null ) {
+					try {
+						wait( UPDATE_WAIT_MILLIS );
+					} catch( InterruptedException e ) {
+						Thread.currentThread().interrupt();
+						throw new InterruptedIOException();
+					}
+				}
+			}
+		}
+	}
+
+	private void readFrame( InputStream in, OutputStream out )
+		throws IOException {
+		try {
+			if( !readFully( in, inputFrameHeader, 0, inputFrameHeader.length ) ) {
+				throw new EOFException( "The HTTP/2 connection has been closed by the peer" );
+			}
+			final ByteBuffer header = ByteBuffer.wrap( inputFrameHeader );
+			final int length = getInt24( header, 0 );
+			final int type = header.get( 3 ) & 0xff;
+			final int flags = header.get( 4 ) & 0xff;
+			final int streamId = header.getInt( 5 ) & 0x7fffffff;
+			if( length > Http2Constants.DEFAULT_MAX_FRAME_SIZE ) {
+				throw new Http2Exception( ErrorCode.FRAME_SIZE_ERROR, "Frame larger than the maximum frame size" );
+			}
+			final byte[] payload = new byte[ length ];
+			if( !readFully( in, payload, 0, length ) ) {
+				throw new EOFException( "The HTTP/2 connection has been closed in the middle of a frame" );
+			}
+			try {
+				if( !settingsReceived && type != FrameType.SETTINGS ) {
+					throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, "Expected a SETTINGS frame" );
+				}
+				if( headerBlockStreamId != 0 && (type != FrameType.CONTINUATION || streamId != headerBlockStreamId) ) {
+					throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, "Expected a CONTINUATION frame" );
+				}
+				onFrame( out, type, flags, streamId, payload );
+			} catch( Http2Exception e ) {
+				if( e.isConnectionError() ) {
+					throw e;
+				}
+				onStreamError( out, e );
+			}
+			updateWindow( out );
+		} catch( Http2Exception e ) {
+			goAway( out, e.errorCode() );
+			fail( e );
+			throw e;
+		} catch( IOException e ) {
+			fail( e );
+			throw e;
+		}
+	}
+
+	private static boolean readFully( InputStream in, byte[] b, int offset, int length )
+		throws IOException {
+		int n = 0;
+		while( n < length ) {
+			final int r = in.read( b, offset + n, length - n );
+			if( r < 0 ) {
+				return false;
+			}
+			n += r;
+		}
+		return true;
+	}
+
+	private void onFrame( OutputStream out, int type, int flags, int streamId, byte[] payload )
+		throws IOException {
+		switch( type ) {
+		case FrameType.DATA:
+			onData( out, flags, streamId, payload );
+			break;
+		case FrameType.HEADERS:
+			onHeaders( out, flags, streamId, payload );
+			break;
+		case FrameType.PRIORITY:
+			requireStream( streamId );
+			if( payload.length != 5 ) {
+				throw new Http2Exception( ErrorCode.FRAME_SIZE_ERROR, streamId, "Invalid PRIORITY frame" );
+			}
+			break;
+		case FrameType.RST_STREAM:
+			onRstStream( streamId, payload );
+			break;
+		case FrameType.SETTINGS:
+			onSettings( out, flags, streamId, payload );
+			break;
+		case FrameType.PUSH_PROMISE:
+			throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, "Server push is not enabled" );
+		case FrameType.PING:
+			if( streamId != 0 ) {
+				throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, "PING frame on a stream" );
+			}
+			if( payload.length != 8 ) {
+				throw new Http2Exception( ErrorCode.FRAME_SIZE_ERROR, "Invalid PING frame" );
+			}
+			if( (flags & Flags.ACK) == 0 ) {
+				writeControlFrame( out, FrameType.PING, Flags.ACK, 0, payload );
+			}
+			break;
+		case FrameType.GOAWAY:
+			onGoAway( streamId, payload );
+			break;
+		case FrameType.WINDOW_UPDATE:
+			onWindowUpdate( streamId, payload );
+			break;
+		case FrameType.CONTINUATION:
+			if( headerBlockStreamId == 0 ) {
+				throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, "Unexpected CONTINUATION frame" );
+			}
+			appendHeaderBlock( payload, 0, payload.length );
+			if( (flags & Flags.END_HEADERS) != 0 ) {
+				onHeaderBlock( out );
+			}
+			break;
+		default:
+			// Frames of unknown types are ignored
+			break;
+		}
+	}
+
+	private static void requireStream( int streamId )
+		throws Http2Exception {
+		if( streamId == 0 ) {
+			throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, "Stream frame without a stream" );
+		}
+	}
+
+	/**
+	 * Returns the length of the padding of a frame, checking that it fits.
+	 */
+	private static int padding( int flags, byte[] payload, int offset )
+		throws Http2Exception {
+		if( (flags & Flags.PADDED) == 0 ) {
+			return 0;
+		}
+		if( payload.length == 0 ) {
+			throw new Http2Exception( ErrorCode.FRAME_SIZE_ERROR, "Invalid padded frame" );
+		}
+		final int padding = payload[ 0 ] & 0xff;
+		if( padding > payload.length - 1 - offset ) {
+			throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, "Padding longer than the frame" );
+		}
+		return padding;
+	}
+
+	private void onData( OutputStream out, int flags, int streamId, byte[] payload )
+		throws IOException {
+		requireStream( streamId );
+		receiveWindow -= payload.length;
+		if( receiveWindow < 0 ) {
+			throw new Http2Exception( ErrorCode.FLOW_CONTROL_ERROR, "Connection flow-control window exceeded" );
+		}
+		int buffered = 0;
+		try {
+			buffered = bufferData( flags, streamId, payload );
+		} finally {
+			// Padding and discarded content are consumed right away
+			unreleased += payload.length - buffered;
+		}
+	}
+
+	/*
+	 * Buffers the content of a DATA frame, returning how many bytes have been kept.
+	 */
+	private int bufferData( int flags, int streamId, byte[] payload )
+		throws Http2Exception {
+		final int padding = padding( flags, payload, 0 );
+		final int offset = (flags & Flags.PADDED) != 0 ? 1 : 0;
+		final Stream stream = activeStream( streamId );
+		if( stream.headers == null ) {
+			throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, streamId, "DATA frame before the headers" );
+		}
+		stream.receiveWindow -= payload.length;
+		if( stream.receiveWindow < 0 ) {
+			throw new Http2Exception( ErrorCode.FLOW_CONTROL_ERROR, streamId, "Stream flow-control window exceeded" );
+		}
+		if( stream.rejected ) {
+			return 0;
+		}
+
+		final int length = payload.length - offset - padding;
+		stream.contentLength += length;
+		if( maxContentLength != UNLIMITED_CONTENT_LENGTH && stream.contentLength > maxContentLength ) {
+			if( client ) {
+				throw new Http2Exception( ErrorCode.FLOW_CONTROL_ERROR, streamId,
+					"Content exceeds the maximum length of " + maxContentLength + " bytes" );
+			}
+			reject( stream );
+			return 0;
+		}
+		if( stream.contentLength > MAX_STREAM_BUFFER || partial + length > MAX_PARTIAL_BUFFER ) {
+			throw new Http2Exception( ErrorCode.FLOW_CONTROL_ERROR, streamId, "Too much content to buffer" );
+		}
+		if( stream.content == null ) {
+			stream.content = new ByteArrayOutputStream( length );
+		}
+		stream.content.write( payload, offset, length );
+		partial += length;
+		if( (flags & Flags.END_STREAM) != 0 ) {
+			onEndStream( stream );
+		}
+		return length;
+	}
+
+	/*
+	 * Delivers a request whose content is too long without its content, so that it can be answered
+	 * right away. The rest of the request is discarded.
+	 */
+	private void reject( Stream stream ) {
+		discard( stream );
+		synchronized( this ) {
+			stream.rejected = true;
+		}
+		onEndStream( stream );
+	}
+
+	/**
+	 * Returns the stream that can receive frames with the given identifier.
+	 */
+	private Stream activeStream( int streamId )
+		throws Http2Exception {
+		final Stream stream;
+		synchronized( this ) {
+			stream = streams.get( streamId );
+			if( stream == null && isIdle( streamId ) ) {
+				throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, "Frame on an idle stream" );
+			}
+		}
+		if( stream == null || (stream.remoteClosed && !stream.rejected) ) {
+			throw new Http2Exception( ErrorCode.STREAM_CLOSED, streamId, "Frame on a closed stream" );
+		}
+		return stream;
+	}
+
+	private boolean isIdle( int streamId ) {
+		final boolean local = (streamId % 2 == 1) == client;
+		return local ? streamId >= nextStreamId : streamId > lastPeerStreamId;
+	}
+
+	private void onHeaders( OutputStream out, int flags, int streamId, byte[] payload )
+		throws IOException {
+		requireStream( streamId );
+		int offset = (flags & Flags.PADDED) != 0 ? 1 : 0;
+		if( (flags & Flags.PRIORITY) != 0 ) {
+			offset += 5;
+		}
+		final int padding = padding( flags, payload, offset );
+		if( offset > payload.length - padding ) {
+			throw new Http2Exception( ErrorCode.FRAME_SIZE_ERROR, "Invalid HEADERS frame" );
+		}
+		headerBlock.reset();
+		headerBlockStreamId = streamId;
+		headerBlockFlags = flags;
+		appendHeaderBlock( payload, offset, payload.length - offset - padding );
+		if( (flags & Flags.END_HEADERS) != 0 ) {
+			onHeaderBlock( out );
+		}
+	}
+
+	private void appendHeaderBlock( byte[] fragment, int offset, int length )
+		throws Http2Exception {
+		if( headerBlock.size() + length > LOCAL_MAX_HEADER_LIST_SIZE ) {
+			throw new Http2Exception( ErrorCode.ENHANCE_YOUR_CALM, "Header block too large" );
+		}
+		headerBlock.write( fragment, offset, length );
+	}
+
+	private void onHeaderBlock( OutputStream out )
+		throws IOException {
+		final int streamId = headerBlockStreamId;
+		final boolean endStream = (headerBlockFlags & Flags.END_STREAM) != 0;
+		headerBlockStreamId = 0;
+		// Header blocks are always decoded, to keep the dynamic table in sync with the peer
+		final List< HeaderField > headers = decoder.decode( headerBlock.toByteArray(), headerBlock.size() );
+
+		Stream stream;
+		synchronized( this ) {
+			stream = streams.get( streamId );
+			if( stream == null && !client ) {
+				if( streamId % 2 == 0 || streamId <= lastPeerStreamId ) {
+					throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, "Invalid stream identifier: " + streamId );
+				}
+				lastPeerStreamId = streamId;
+				if( goingAway || streams.size() >= LOCAL_MAX_CONCURRENT_STREAMS ) {
+					throw new Http2Exception( ErrorCode.REFUSED_STREAM, streamId, "Too many concurrent streams" );
+				}
+				validate( streamId, headers, true );
+				stream = new Stream( streamId, null, peerInitialWindowSize );
+				streams.put( streamId, stream );
+			}
+		}
+		if( stream == null ) {
+			// A response on a stream that was closed, unless the stream has never been opened
+			activeStream( streamId );
+			return;
+		}
+		if( stream.rejected ) {
+			return;
+		} else if( stream.remoteClosed ) {
+			throw new Http2Exception( ErrorCode.STREAM_CLOSED, streamId, "HEADERS frame on a closed stream" );
+		}
+
+		if( stream.headers == null ) {
+			if( client ) {
+				validate( streamId, headers, false );
+				if( headers.get( 0 ).value().startsWith( "1" ) ) {
+					// Interim responses are not delivered
+					if( endStream ) {
+						throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, streamId,
+							"Interim response ends the stream" );
+					}
+					return;
+				}
+			}
+			stream.headers = new ArrayList<>( headers );
+		} else {
+			// Trailer fields, which are appended to the header fields
+			if( !endStream ) {
+				throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, streamId, "Trailers do not end the stream" );
+			}
+			for( HeaderField field : headers ) {
+				if( field.name().startsWith( ":" ) ) {
+					throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, streamId, "Pseudo-header field in trailers" );
+				}
+				checkField( streamId, field );
+			}
+			stream.headers.addAll( headers );
+		}
+		if( endStream ) {
+			onEndStream( stream );
+		}
+	}
+
+	/**
+	 * Checks that the header fields of a request or response are well-formed (RFC 9113, Section 8.2),
+	 * since they are passed on as HTTP/1.1 header fields.
+	 */
+	private static void validate( int streamId, List< HeaderField > headers, boolean request )
+		throws Http2Exception {
+		boolean regular = false;
+		final Set< String > pseudo = new HashSet<>();
+		for( HeaderField field : headers ) {
+			if( field.name().startsWith( ":" ) ) {
+				final boolean known = request ? REQUEST_PSEUDO_HEADERS.contains( field.name() )
+					: field.name().equals( ":status" );
+				if( regular || !known || !pseudo.add( field.name() ) ) {
+					throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, streamId,
+						"Invalid pseudo-header field: " + field.name() );
+				}
+			} else {
+				regular = true;
+			}
+			checkField( streamId, field );
+		}
+		if( request ) {
+			if( !pseudo.contains( ":method" ) || !pseudo.contains( ":path" ) || !pseudo.contains( ":scheme" ) ) {
+				throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, streamId, "Missing request pseudo-header fields" );
+			}
+		} else if( !pseudo.contains( ":status" ) || headers.get( 0 ).value().length() != 3 ) {
+			throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, streamId, "Missing or invalid :status" );
+		}
+	}
+
+	private static void checkField( int streamId, HeaderField field )
+		throws Http2Exception {
+		final String name = field.name();
+		for( int i = name.startsWith( ":" ) ? 1 : 0; i < name.length(); i++ ) {
+			final char c = name.charAt( i );
+			if( c <= ' ' || c >= 0x7f || c == ':' || (c >= 'A' && c <= 'Z') ) {
+				throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, streamId, "Invalid header field name: " + name );
+			}
+		}
+		final String value = field.value();
+		for( int i = 0; i < value.length(); i++ ) {
+			final char c = value.charAt( i );
+			if( c == '\0' || c == '\r' || c == '\n' ) {
+				throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, streamId, "Invalid value of " + name );
+			}
+		}
+		if( name.isEmpty() || CONNECTION_SPECIFIC_HEADERS.contains( name )
+			|| (name.equals( "te" ) && !value.equals( "trailers" )) ) {
+			throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, streamId, "Invalid header field: " + name );
+		}
+	}
+
+	private void onEndStream( Stream stream ) {
+		final byte[] content = stream.content == null ? new byte[ 0 ] : stream.content.toByteArray();
+		partial -= content.length;
+		stream.content = null;
+		synchronized( this ) {
+			stream.remoteClosed = true;
+			if( stream.localClosed ) {
+				streams.remove( stream.id );
+			}
+			received.add( new Message( stream.id, stream.headers, content, stream.contentLength, stream.attachment,
+				null ) );
+			updates++;
+			notifyAll();
+		}
+	}
+
+	private void onStreamError( OutputStream out, Http2Exception e )
+		throws IOException {
+		synchronized( this ) {
+			final Stream stream = streams.remove( e.streamId() );
+			if( stream != null ) {
+				discard( stream );
+				failStream( stream, e );
+			}
+			updates++;
+			notifyAll();
+		}
+		writeControlFrame( out, FrameType.RST_STREAM, 0, e.streamId(), int32( e.errorCode() ) );
+	}
+
+	/**
+	 * Delivers the failure of a stream that is waiting for a response.
+	 */
+	private void failStream( Stream stream, IOException e ) {
+		if( client && !stream.remoteClosed ) {
+			stream.remoteClosed = true;
+			received.add( new Message( stream.id, null, null, 0, stream.attachment, e ) );
+		}
+	}
+
+	private void onRstStream( int streamId, byte[] payload )
+		throws Http2Exception {
+		requireStream( streamId );
+		if( payload.length != 4 ) {
+			throw new Http2Exception( ErrorCode.FRAME_SIZE_ERROR, "Invalid RST_STREAM frame" );
+		}
+		final int errorCode = ByteBuffer.wrap( payload ).getInt();
+		synchronized( this ) {
+			if( isIdle( streamId ) ) {
+				throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, "RST_STREAM frame on an idle stream" );
+			}
+			final Stream stream = streams.remove( streamId );
+			if( stream != null ) {
+				discard( stream );
+				failStream( stream,
+					new IOException( "HTTP/2 stream reset by the peer, with error code " + errorCode ) );
+			}
+			updates++;
+			notifyAll();
+		}
+	}
+
+	private void onSettings( OutputStream out, int flags, int streamId, byte[] payload )
+		throws IOException {
+		if( streamId != 0 ) {
+			throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, "SETTINGS frame on a stream" );
+		}
+		if( (flags & Flags.ACK) != 0 ) {
+			if( payload.length != 0 ) {
+				throw new Http2Exception( ErrorCode.FRAME_SIZE_ERROR, "Invalid SETTINGS acknowledgement" );
+			}
+			return;
+		}
+		if( payload.length % 6 != 0 ) {
+			throw new Http2Exception( ErrorCode.FRAME_SIZE_ERROR, "Invalid SETTINGS frame" );
+		}
+		final ByteBuffer settings = ByteBuffer.wrap( payload );
+		while( settings.hasRemaining() ) {
+			final int id = settings.getShort() & 0xffff;
+			final long value = settings.getInt() & 0xffffffffL;
+			switch( id ) {
+			case Settings.HEADER_TABLE_SIZE:
+				writeLock.lock();
+				try {
+					encoder.setMaxTableSize( (int) Math.min( value, Integer.MAX_VALUE ) );
+				} finally {
+					writeLock.unlock();
+				}
+				break;
+			case Settings.ENABLE_PUSH:
+				if( value > 1 || (client && value == 1) ) {
+					throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, "Invalid SETTINGS_ENABLE_PUSH" );
+				}
+				break;
+			case Settings.MAX_CONCURRENT_STREAMS:
+				synchronized( this ) {
+					peerMaxConcurrentStreams = value;
+				}
+				break;
+			case Settings.INITIAL_WINDOW_SIZE:
+				if( value > Http2Constants.MAX_WINDOW_SIZE ) {
+					throw new Http2Exception( ErrorCode.FLOW_CONTROL_ERROR, "Invalid SETTINGS_INITIAL_WINDOW_SIZE" );
+				}
+				synchronized( this ) {
+					final long delta = value - peerInitialWindowSize;
+					for( Stream stream : streams.values() ) {
+						stream.sendWindow += delta;
+						if( stream.sendWindow > Http2Constants.MAX_WINDOW_SIZE ) {
+							throw new Http2Exception( ErrorCode.FLOW_CONTROL_ERROR, "Stream window overflow" );
+						}
+					}
+					peerInitialWindowSize = (int) value;
+				}
+				break;
+			case Settings.MAX_FRAME_SIZE:
+				if( value < Http2Constants.DEFAULT_MAX_FRAME_SIZE || value > Http2Constants.MAX_MAX_FRAME_SIZE ) {
+					throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, "Invalid SETTINGS_MAX_FRAME_SIZE" );
+				}
+				synchronized( this ) {
+					peerMaxFrameSize = (int) value;
+				}
+				break;
+			default:
+				// Unknown settings and SETTINGS_MAX_HEADER_LIST_SIZE, which is advisory, are ignored
+				break;
+			}
+		}
+		settingsReceived = true;
+		synchronized( this ) {
+			updates++;
+			notifyAll();
+		}
+		writeControlFrame( out, FrameType.SETTINGS, Flags.ACK, 0, new byte[ 0 ] );
+	}
+
+	private void onGoAway( int streamId, byte[] payload )
+		throws Http2Exception {
+		if( streamId != 0 ) {
+			throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, "GOAWAY frame on a stream" );
+		}
+		if( payload.length < 8 ) {
+			throw new Http2Exception( ErrorCode.FRAME_SIZE_ERROR, "Invalid GOAWAY frame" );
+		}
+		final ByteBuffer data = ByteBuffer.wrap( payload );
+		final int lastStreamId = data.getInt() & 0x7fffffff;
+		final int errorCode = data.getInt();
+		synchronized( this ) {
+			goingAway = true;
+			if( client ) {
+				// Requests on later streams have not been processed
+				final Iterator< Stream > it = streams.values().iterator();
+				while( it.hasNext() ) {
+					final Stream stream = it.next();
+					if( stream.id > lastStreamId ) {
+						it.remove();
+						discard( stream );
+						failStream( stream, new IOException(
+							"HTTP/2 connection closed by the peer, with error code " + errorCode ) );
+					}
+				}
+			}
+			updates++;
+			notifyAll();
+		}
+	}
+
+	private void onWindowUpdate( int streamId, byte[] payload )
+		throws Http2Exception {
+		if( payload.length != 4 ) {
+			throw new Http2Exception( ErrorCode.FRAME_SIZE_ERROR, "Invalid WINDOW_UPDATE frame" );
+		}
+		final int increment = ByteBuffer.wrap( payload ).getInt() & 0x7fffffff;
+		if( increment == 0 ) {
+			throw new Http2Exception( ErrorCode.PROTOCOL_ERROR, streamId, "Window increment of 0" );
+		}
+		synchronized( this ) {
+			if( streamId == 0 ) {
+				sendWindow += increment;
+				if( sendWindow > Http2Constants.MAX_WINDOW_SIZE ) {
+					throw new Http2Exception( ErrorCode.FLOW_CONTROL_ERROR, "Connection window overflow" );
+				}
+			} else {
+				final Stream stream = streams.get( streamId );
+				if( stream != null ) {
+					stream.sendWindow += increment;
+					if( stream.sendWindow > Http2Constants.MAX_WINDOW_SIZE ) {
+						throw new Http2Exception( ErrorCode.FLOW_CONTROL_ERROR, streamId, "Stream window overflow" );
+					}
+				}
+			}
+			updates++;
+			notifyAll();
+		}
+	}
+
+	private void goAway( OutputStream out, int errorCode ) {
+		final ByteBuffer payload = ByteBuffer.allocate( 8 );
+		synchronized( this ) {
+			payload.putInt( lastPeerStreamId ).putInt( errorCode );
+		}
+		try {
+			writeControlFrame( out, FrameType.GOAWAY, 0, 0, payload.array() );
+		} catch( IOException e ) {
+			// The connection is being closed anyway
+		}
+	}
+
+	private synchronized void fail( IOException e ) {
+		if( failure == null ) {
+			failure = e;
+		}
+		updates++;
+		notifyAll();
+	}
+
+	private void writeControlFrame( OutputStream out, int type, int flags, int streamId, byte[] payload )
+		throws IOException {
+		writeLock.lock();
+		try {
+			writeFrame( out, type, flags, streamId, payload, 0, payload.length );
+			out.flush();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	private void writeFrame( OutputStream out, int type, int flags, int streamId, byte[] payload, int offset,
+		int length )
+		throws IOException {
+		outputFrameHeader[ 0 ] = (byte) (length >>> 16);
+		outputFrameHeader[ 1 ] = (byte) (length >>> 8);
+		outputFrameHeader[ 2 ] = (byte) length;
+		outputFrameHeader[ 3 ] = (byte) type;
+		outputFrameHeader[ 4 ] = (byte) flags;
+		outputFrameHeader[ 5 ] = (byte) (streamId >>> 24);
+		outputFrameHeader[ 6 ] = (byte) (streamId >>> 16);
+		outputFrameHeader[ 7 ] = (byte) (streamId >>> 8);
+		outputFrameHeader[ 8 ] = (byte) streamId;
+		out.write( outputFrameHeader );
+		out.write( payload, offset, length );
+	}
+
+	private static byte[] int32( int value ) {
+		return ByteBuffer.allocate( 4 ).putInt( value ).array();
+	}
+}
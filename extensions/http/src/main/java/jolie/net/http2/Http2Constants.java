@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net.http2;
+
+/**
+ * Frame types, flags, settings and error codes of HTTP/2 (RFC 9113).
+ */
+final class Http2Constants {
+	private Http2Constants() {}
+
+	static final class FrameType {
+		static final int DATA = 0x0;
+		static final int HEADERS = 0x1;
+		static final int PRIORITY = 0x2;
+		static final int RST_STREAM = 0x3;
+		static final int SETTINGS = 0x4;
+		static final int PUSH_PROMISE = 0x5;
+		static final int PING = 0x6;
+		static final int GOAWAY = 0x7;
+		static final int WINDOW_UPDATE = 0x8;
+		static final int CONTINUATION = 0x9;
+	}
+
+	static final class Flags {
+		static final int END_STREAM = 0x1;
+		static final int ACK = 0x1;
+		static final int END_HEADERS = 0x4;
+		static final int PADDED = 0x8;
+		static final int PRIORITY = 0x20;
+	}
+
+	static final class Settings {
+		static final int HEADER_TABLE_SIZE = 0x1;
+		static final int ENABLE_PUSH = 0x2;
+		static final int MAX_CONCURRENT_STREAMS = 0x3;
+		static final int INITIAL_WINDOW_SIZE = 0x4;
+		static final int MAX_FRAME_SIZE = 0x5;
+		static final int MAX_HEADER_LIST_SIZE = 0x6;
+	}
+
+	static final class ErrorCode {
+		static final int NO_ERROR = 0x0;
+		static final int PROTOCOL_ERROR = 0x1;
+		static final int INTERNAL_ERROR = 0x2;
+		static final int FLOW_CONTROL_ERROR = 0x3;
+		static final int STREAM_CLOSED = 0x5;
+		static final int FRAME_SIZE_ERROR = 0x6;
+		static final int REFUSED_STREAM = 0x7;
+		static final int CANCEL = 0x8;
+		static final int COMPRESSION_ERROR = 0x9;
+		static final int ENHANCE_YOUR_CALM = 0xb;
+	}
+
+	static final int FRAME_HEADER_LENGTH = 9;
+	static final int DEFAULT_MAX_FRAME_SIZE = 16384;
+	static final int MAX_MAX_FRAME_SIZE = 16777215;
+	static final int DEFAULT_WINDOW_SIZE = 65535;
+	static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+	static final int DEFAULT_HEADER_TABLE_SIZE = 4096;
+}
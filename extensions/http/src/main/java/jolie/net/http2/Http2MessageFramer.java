@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net.http2;
+
+import java.nio.ByteBuffer;
+import jolie.net.http.HttpMessageFramer;
+import jolie.net.protocols.MessageFramer;
+
+/**
+ * Frames the input of a server connection that may use HTTP/2 or HTTP/1.x, depending on whether it
+ * starts with the HTTP/2 connection preface. HTTP/2 input is ready to be received as soon as it
+ * contains a complete frame, or if the connection already holds a received message.
+ */
+public class Http2MessageFramer implements MessageFramer {
+	private enum Mode {
+		DETECTING, HTTP2, HTTP1
+	}
+
+	private final Http2Connection connection;
+	private final byte[] frameHeader = new byte[ Http2Constants.FRAME_HEADER_LENGTH ];
+	private Mode mode = Mode.DETECTING;
+	private int prefaceLength = 0;
+	private HttpMessageFramer http1Framer = null;
+	private int frameHeaderLength = 0;
+	private int payloadRemaining = 0;
+
+	public Http2MessageFramer( Http2Connection connection ) {
+		this.connection = connection;
+	}
+
+	@Override
+	public boolean scan( ByteBuffer data ) {
+		if( mode == Mode.DETECTING ) {
+			while( data.hasRemaining() && prefaceLength < Http2Connection.PREFACE.length ) {
+				final byte b = data.get();
+				if( b != Http2Connection.PREFACE[ prefaceLength ] ) {
+					mode = Mode.HTTP1;
+					http1Framer = new HttpMessageFramer( connection.maxContentLength() );
+					http1Framer.scan( ByteBuffer.wrap( Http2Connection.PREFACE, 0, prefaceLength ) );
+					if( http1Framer.scan( ByteBuffer.wrap( new byte[] { b } ) ) ) {
+						return true;
+					}
+					return http1Framer.scan( data );
+				}
+				prefaceLength++;
+			}
+			if( prefaceLength < Http2Connection.PREFACE.length ) {
+				return false;
+			}
+			mode = Mode.HTTP2;
+		}
+
+		if( mode == Mode.HTTP1 ) {
+			return http1Framer.scan( data );
+		}
+		if( connection.hasReceived() ) {
+			return true;
+		}
+		while( data.hasRemaining() ) {
+			if( frameHeaderLength < frameHeader.length ) {
+				final int n = Math.min( frameHeader.length - frameHeaderLength, data.remaining() );
+				data.get( frameHeader, frameHeaderLength, n );
+				frameHeaderLength += n;
+				if( frameHeaderLength < frameHeader.length ) {
+					return false;
+				}
+				payloadRemaining =
+					((frameHeader[ 0 ] & 0xff) << 16) | ((frameHeader[ 1 ] & 0xff) << 8) | (frameHeader[ 2 ] & 0xff);
+			}
+			final int n = Math.min( payloadRemaining, data.remaining() );
+			data.position( data.position() + n );
+			payloadRemaining -= n;
+			if( payloadRemaining == 0 ) {
+				frameHeaderLength = 0;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void reset() {
+		if( http1Framer != null ) {
+			http1Framer.reset();
+		}
+		frameHeaderLength = 0;
+		payloadRemaining = 0;
+	}
+}
@@ -28,10 +28,14 @@ import jolie.net.ext.CommProtocolFactory;
 import jolie.net.protocols.CommProtocol;
 import jolie.net.ssl.SSLProtocol;
 import jolie.runtime.AndJarDeps;
+import jolie.runtime.Value;
 import jolie.runtime.VariablePath;
 
 @AndJarDeps( { "jolie-ssl.jar" } )
 public class HttpsProtocolFactory extends CommProtocolFactory {
+	// The parameter of the http protocol that enables HTTP/2
+	private static final String HTTP2 = "http2";
+
 	public HttpsProtocolFactory( CommCore commCore )
 		throws ParserConfigurationException, TransformerConfigurationException {
 		super( commCore );
@@ -44,7 +48,8 @@ public class HttpsProtocolFactory extends CommProtocolFactory {
 			configurationPath,
 			location,
 			commCore().createOutputCommProtocol( "http", configurationPath, location ),
-			true );
+			true,
+			() -> isHttp2( configurationPath ) ? new String[] { "h2" } : new String[ 0 ] );
 	}
 
 	@Override
@@ -54,6 +59,12 @@ public class HttpsProtocolFactory extends CommProtocolFactory {
 			configurationPath,
 			location,
 			commCore().createInputCommProtocol( "http", configurationPath, location ),
-			false );
+			false,
+			() -> isHttp2( configurationPath ) ? new String[] { "h2", "http/1.1" } : new String[ 0 ] );
+	}
+
+	private static boolean isHttp2( VariablePath configurationPath ) {
+		final Value configuration = configurationPath.getValue();
+		return configuration.hasChildren( HTTP2 ) && configuration.getFirstChild( HTTP2 ).boolValue();
 	}
 }
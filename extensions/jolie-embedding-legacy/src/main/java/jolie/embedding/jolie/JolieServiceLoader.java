@@ -85,7 +85,9 @@ public class JolieServiceLoader extends EmbeddedServiceLoader {
 			cmdConfig.packagePaths(),
 			// difference:
 			serviceName.orElse( cmdConfig.executionTarget() ),
-			Optional.empty() );
+			Optional.empty(),
+			cmdConfig.virtualThreads(),
+			cmdConfig.spawnParallelism() );
 
 		interpreter = new Interpreter(
 			config,
@@ -0,0 +1,439 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import jolie.runtime.ByteArray;
+import jolie.runtime.FaultException;
+import jolie.runtime.Value;
+import jolie.runtime.ValueVector;
+
+/**
+ * Encoder and decoder of SODEP messages working on a reusable {@link ByteBuffer}.
+ *
+ * A message is encoded entirely in the buffer and then written to the output stream with a single
+ * call. Strings in UTF-8 are encoded directly in the buffer, and the sizes of children maps and
+ * vectors are patched in after their elements have been written, so that they always match the
+ * elements that were actually sent. Messages are decoded by reading exactly the bytes of each field
+ * in the buffer, without reading ahead of the message, since the input stream may already contain
+ * the next one.
+ *
+ * Codecs are not thread-safe: use {@link #acquire(Charset)} to obtain one from the shared pool and
+ * {@link #release()} to return it.
+ */
+final class SodepCodec {
+	static class DataTypeHeaderId {
+		static final byte NULL = 0;
+		static final byte STRING = 1;
+		static final byte INT = 2;
+		static final byte DOUBLE = 3;
+		static final byte BYTE_ARRAY = 4;
+		static final byte BOOL = 5;
+		static final byte LONG = 6;
+	}
+
+	private static final int POOL_SIZE = 64;
+	private static final int INITIAL_CAPACITY = 8 * 1024;
+	// Buffers grown beyond this size by large messages are not kept in the pool, so that the pool
+	// retains at most POOL_SIZE * MAX_POOLED_CAPACITY bytes (4 MiB) after a burst of them
+	private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+	private static final int KEY_CACHE_SIZE = 256;
+	private static final int MAX_CACHED_KEY_LENGTH = 64;
+
+	private static final BlockingQueue< SodepCodec > POOL = new ArrayBlockingQueue<>( POOL_SIZE );
+
+	private ByteBuffer buffer = ByteBuffer.allocate( INITIAL_CAPACITY );
+	private Charset charset = StandardCharsets.UTF_8;
+	private CharsetEncoder encoder = null;
+
+	// Decoded children names, indexed by the hash of their encoding
+	private final byte[][] keyBytes = new byte[ KEY_CACHE_SIZE ][];
+	private final String[] keys = new String[ KEY_CACHE_SIZE ];
+
+	private SodepCodec() {}
+
+	/**
+	 * Returns a codec from the shared pool, or a new one if the pool is empty.
+	 *
+	 * @param charset the charset to use for strings
+	 */
+	static SodepCodec acquire( Charset charset ) {
+		SodepCodec codec = POOL.poll();
+		if( codec == null ) {
+			codec = new SodepCodec();
+		}
+		codec.setCharset( charset );
+		return codec;
+	}
+
+	/**
+	 * Returns this codec to the shared pool. The codec must not be used afterwards.
+	 */
+	void release() {
+		if( buffer.capacity() > MAX_POOLED_CAPACITY ) {
+			buffer = ByteBuffer.allocate( INITIAL_CAPACITY );
+		}
+		POOL.offer( this );
+	}
+
+	private void setCharset( Charset charset ) {
+		if( !this.charset.equals( charset ) ) {
+			this.charset = charset;
+			encoder = null;
+			Arrays.fill( keyBytes, null );
+			Arrays.fill( keys, null );
+		}
+	}
+
+	/*
+	 * Encoding
+	 */
+
+	void writeMessage( OutputStream out, CommMessage message )
+		throws IOException {
+		buffer.clear();
+		ensureCapacity( Long.BYTES );
+		buffer.putLong( message.requestId() );
+		putString( message.resourcePath() );
+		putString( message.operationName() );
+		final FaultException fault = message.fault();
+		ensureCapacity( 1 );
+		if( fault == null ) {
+			buffer.put( (byte) 0 );
+		} else {
+			buffer.put( (byte) 1 );
+			putString( fault.faultName() );
+			putValue( fault.value() );
+		}
+		putValue( message.value() );
+		out.write( buffer.array(), buffer.arrayOffset(), buffer.position() );
+	}
+
+	private void ensureCapacity( int bytes ) {
+		if( buffer.remaining() < bytes ) {
+			final ByteBuffer newBuffer =
+				ByteBuffer.allocate( Math.max( buffer.capacity() * 2, buffer.position() + bytes ) );
+			buffer.flip();
+			newBuffer.put( buffer );
+			buffer = newBuffer;
+		}
+	}
+
+	private void putValue( Value value )
+		throws IOException {
+		if( value.isString() ) {
+			ensureCapacity( 1 );
+			buffer.put( DataTypeHeaderId.STRING );
+			putString( value.strValue() );
+		} else if( value.isInt() ) {
+			ensureCapacity( 1 + Integer.BYTES );
+			buffer.put( DataTypeHeaderId.INT ).putInt( value.intValue() );
+		} else if( value.isDouble() ) {
+			ensureCapacity( 1 + Double.BYTES );
+			buffer.put( DataTypeHeaderId.DOUBLE ).putDouble( value.doubleValue() );
+		} else if( value.isByteArray() ) {
+			final ByteArray byteArray = value.byteArrayValue();
+			ensureCapacity( 1 + Integer.BYTES + byteArray.size() );
+			buffer.put( DataTypeHeaderId.BYTE_ARRAY ).putInt( byteArray.size() ).put( byteArray.getBytes() );
+		} else if( value.isBool() ) {
+			ensureCapacity( 2 );
+			buffer.put( DataTypeHeaderId.BOOL ).put( value.boolValue() ? (byte) 1 : (byte) 0 );
+		} else if( value.isLong() ) {
+			ensureCapacity( 1 + Long.BYTES );
+			buffer.put( DataTypeHeaderId.LONG ).putLong( value.longValue() );
+		} else {
+			ensureCapacity( 1 );
+			buffer.put( DataTypeHeaderId.NULL );
+		}
+
+		ensureCapacity( Integer.BYTES );
+		if( !value.hasChildren() ) {
+			buffer.putInt( 0 );
+			return;
+		}
+
+		final int childrenCountPosition = buffer.position();
+		buffer.putInt( 0 );
+		int childrenCount = 0;
+		for( Map.Entry< String, ValueVector > entry : value.children().entrySet() ) {
+			putString( entry.getKey() );
+			ensureCapacity( Integer.BYTES );
+			final int sizePosition = buffer.position();
+			buffer.putInt( 0 );
+			int size = 0;
+			for( Value element : entry.getValue() ) {
+				putValue( element );
+				size++;
+			}
+			buffer.putInt( sizePosition, size );
+			childrenCount++;
+		}
+		buffer.putInt( childrenCountPosition, childrenCount );
+	}
+
+	private void putString( String str )
+		throws IOException {
+		final int length = str.length();
+		if( length == 0 ) {
+			ensureCapacity( Integer.BYTES );
+			buffer.putInt( 0 );
+		} else if( StandardCharsets.UTF_8.equals( charset ) ) {
+			putUTF8String( str, length );
+		} else {
+			putEncodedString( str );
+		}
+	}
+
+	/*
+	 * Encodes a string in UTF-8, replacing unpaired surrogates with '?' as the standard encoder does.
+	 */
+	private void putUTF8String( String str, int length ) {
+		ensureCapacity( Integer.BYTES + length * 3 );
+		final byte[] bytes = buffer.array();
+		final int start = buffer.arrayOffset() + buffer.position() + Integer.BYTES;
+		int p = start;
+		for( int i = 0; i < length; i++ ) {
+			final char c = str.charAt( i );
+			if( c < 0x80 ) {
+				bytes[ p++ ] = (byte) c;
+			} else if( c < 0x800 ) {
+				bytes[ p++ ] = (byte) (0xC0 | (c >> 6));
+				bytes[ p++ ] = (byte) (0x80 | (c & 0x3F));
+			} else if( Character.isSurrogate( c ) ) {
+				if( Character.isHighSurrogate( c ) && i + 1 < length
+					&& Character.isLowSurrogate( str.charAt( i + 1 ) ) ) {
+					final int codePoint = Character.toCodePoint( c, str.charAt( ++i ) );
+					bytes[ p++ ] = (byte) (0xF0 | (codePoint >> 18));
+					bytes[ p++ ] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+					bytes[ p++ ] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+					bytes[ p++ ] = (byte) (0x80 | (codePoint & 0x3F));
+				} else {
+					bytes[ p++ ] = '?';
+				}
+			} else {
+				bytes[ p++ ] = (byte) (0xE0 | (c >> 12));
+				bytes[ p++ ] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				bytes[ p++ ] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+		buffer.putInt( p - start );
+		buffer.position( buffer.position() + p - start );
+	}
+
+	private void putEncodedString( String str )
+		throws CharacterCodingException {
+		if( encoder == null ) {
+			encoder = charset.newEncoder()
+				.onMalformedInput( CodingErrorAction.REPLACE )
+				.onUnmappableCharacter( CodingErrorAction.REPLACE );
+		}
+		encoder.reset();
+		final CharBuffer chars = CharBuffer.wrap( str );
+		ensureCapacity( Integer.BYTES + (int) (str.length() * encoder.averageBytesPerChar()) );
+		final int lengthPosition = buffer.position();
+		buffer.putInt( 0 );
+		CoderResult result;
+		do {
+			result = encoder.encode( chars, buffer, true );
+			if( result.isOverflow() ) {
+				ensureCapacity( (int) Math.ceil( chars.remaining() * encoder.maxBytesPerChar() ) );
+			} else if( result.isError() ) {
+				result.throwException();
+			}
+		} while( !result.isUnderflow() );
+		while( encoder.flush( buffer ).isOverflow() ) {
+			ensureCapacity( (int) Math.ceil( encoder.maxBytesPerChar() ) );
+		}
+		buffer.putInt( lengthPosition, buffer.position() - lengthPosition - Integer.BYTES );
+	}
+
+	/*
+	 * Decoding
+	 */
+
+	CommMessage readMessage( InputStream in )
+		throws IOException {
+		final long id = readLong( in );
+		final String resourcePath = readString( in );
+		final String operationName = readString( in );
+		FaultException fault = null;
+		if( readByte( in ) != 0 ) {
+			final String faultName = readString( in );
+			fault = new FaultException( faultName, readValue( in ) );
+		}
+		final Value value = readValue( in );
+		return new CommMessage( id, operationName, resourcePath, value, fault );
+	}
+
+	/*
+	 * Reads exactly the given number of bytes in the buffer, which is left ready to be read from.
+	 */
+	private void fill( InputStream in, int bytes )
+		throws IOException {
+		buffer.clear();
+		if( buffer.capacity() < bytes ) {
+			buffer = ByteBuffer.allocate( Math.max( buffer.capacity() * 2, bytes ) );
+		}
+		final byte[] array = buffer.array();
+		final int offset = buffer.arrayOffset();
+		int read = 0;
+		while( read < bytes ) {
+			final int r = in.read( array, offset + read, bytes - read );
+			if( r < 0 ) {
+				throw new EOFException();
+			}
+			read += r;
+		}
+		buffer.limit( bytes );
+	}
+
+	private byte readByte( InputStream in )
+		throws IOException {
+		final int b = in.read();
+		if( b < 0 ) {
+			throw new EOFException();
+		}
+		return (byte) b;
+	}
+
+	private int readInt( InputStream in )
+		throws IOException {
+		fill( in, Integer.BYTES );
+		return buffer.getInt();
+	}
+
+	private long readLong( InputStream in )
+		throws IOException {
+		fill( in, Long.BYTES );
+		return buffer.getLong();
+	}
+
+	private String readString( InputStream in )
+		throws IOException {
+		final int length = readInt( in );
+		if( length <= 0 ) {
+			return "";
+		}
+		fill( in, length );
+		return new String( buffer.array(), buffer.arrayOffset(), length, charset );
+	}
+
+	/*
+	 * Reads the name of a child, reusing the string decoded for a previous occurrence of the same
+	 * bytes.
+	 */
+	private String readKey( InputStream in )
+		throws IOException {
+		final int length = readInt( in );
+		if( length <= 0 ) {
+			return "";
+		}
+		fill( in, length );
+		final byte[] array = buffer.array();
+		final int offset = buffer.arrayOffset();
+		if( length > MAX_CACHED_KEY_LENGTH ) {
+			return new String( array, offset, length, charset );
+		}
+
+		int hash = length;
+		for( int i = offset; i < offset + length; i++ ) {
+			hash = 31 * hash + array[ i ];
+		}
+		final int slot = (hash ^ (hash >>> 16)) & (KEY_CACHE_SIZE - 1);
+		final byte[] cached = keyBytes[ slot ];
+		if( cached != null && Arrays.equals( cached, 0, cached.length, array, offset, offset + length ) ) {
+			return keys[ slot ];
+		}
+		final String key = new String( array, offset, length, charset );
+		keyBytes[ slot ] = Arrays.copyOfRange( array, offset, offset + length );
+		keys[ slot ] = key;
+		return key;
+	}
+
+	private Value readValue( InputStream in )
+		throws IOException {
+		final Value value = Value.create();
+		switch( readByte( in ) ) {
+		case DataTypeHeaderId.STRING:
+			value.setValue( readString( in ) );
+			break;
+		case DataTypeHeaderId.INT:
+			value.setValue( readInt( in ) );
+			break;
+		case DataTypeHeaderId.LONG:
+			value.setValue( readLong( in ) );
+			break;
+		case DataTypeHeaderId.DOUBLE:
+			fill( in, Double.BYTES );
+			value.setValue( buffer.getDouble() );
+			break;
+		case DataTypeHeaderId.BYTE_ARRAY:
+			final int size = readInt( in );
+			final byte[] bytes = new byte[ Math.max( size, 0 ) ];
+			int read = 0;
+			while( read < bytes.length ) {
+				final int r = in.read( bytes, read, bytes.length - read );
+				if( r < 0 ) {
+					throw new EOFException();
+				}
+				read += r;
+			}
+			value.setValue( new ByteArray( bytes ) );
+			break;
+		case DataTypeHeaderId.BOOL:
+			value.setValue( readByte( in ) != 0 );
+			break;
+		case DataTypeHeaderId.NULL:
+		default:
+			break;
+		}
+
+		final int childrenCount = readInt( in );
+		if( childrenCount > 0 ) {
+			final Map< String, ValueVector > children = value.children();
+			for( int i = 0; i < childrenCount; i++ ) {
+				final String name = readKey( in );
+				final ValueVector vector = ValueVector.create();
+				final int size = readInt( in );
+				for( int k = 0; k < size; k++ ) {
+					vector.add( readValue( in ) );
+				}
+				children.put( name, vector );
+			}
+		}
+		return value;
+	}
+}
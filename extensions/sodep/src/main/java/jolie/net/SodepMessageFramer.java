@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import jolie.net.SodepCodec.DataTypeHeaderId;
+import jolie.net.protocols.MessageFramer;
+
+/**
+ * Finds the end of a sodep message, following the structure read by {@link SodepCodec} without
+ * decoding it.
+ *
+ * The parts of the message that remain to be scanned are kept in a stack of tasks, each of which
+ * can be repeated a number of times, e.g., for the values of a vector.
+ */
+final class SodepMessageFramer implements MessageFramer {
+	// A value: its type, its content and its children
+	private static final int VALUE = 0;
+	// An int length followed by as many bytes
+	private static final int STRING = 1;
+	// The int number of children of a value
+	private static final int CHILDREN = 2;
+	// The name of a child followed by its vector, expanded without reading
+	private static final int CHILD = 3;
+	// The int size of a vector followed by its values
+	private static final int VECTOR = 4;
+	// The fault flag of a message, followed by the fault if set
+	private static final int FAULT = 5;
+
+	private static final int INITIAL_DEPTH = 16;
+
+	private int[] tasks = new int[ INITIAL_DEPTH ];
+	private int[] repetitions = new int[ INITIAL_DEPTH ];
+	private int depth;
+	private long skip;
+	private int intBytes;
+	private int intValue;
+
+	SodepMessageFramer() {
+		reset();
+	}
+
+	@Override
+	public void reset() {
+		depth = 0;
+		intBytes = 0;
+		intValue = 0;
+		// Message identifier
+		skip = Long.BYTES;
+		push( VALUE, 1 );
+		push( FAULT, 1 );
+		// Operation name
+		push( STRING, 1 );
+		// Resource path
+		push( STRING, 1 );
+	}
+
+	@Override
+	public boolean scan( ByteBuffer data ) {
+		while( true ) {
+			if( skip > 0 ) {
+				final int n = (int) Math.min( skip, data.remaining() );
+				data.position( data.position() + n );
+				skip -= n;
+				if( skip > 0 ) {
+					return false;
+				}
+			}
+			if( depth == 0 ) {
+				return true;
+			}
+
+			final int task = tasks[ depth - 1 ];
+			if( task == CHILD ) {
+				pop();
+				push( VECTOR, 1 );
+				push( STRING, 1 );
+				continue;
+			}
+			if( !data.hasRemaining() ) {
+				return false;
+			}
+			if( task == VALUE || task == FAULT ) {
+				final byte b = data.get();
+				pop();
+				if( task == VALUE ) {
+					scanValue( b );
+				} else if( b != 0 ) {
+					// Fault name and content
+					push( VALUE, 1 );
+					push( STRING, 1 );
+				}
+			} else {
+				while( intBytes < Integer.BYTES && data.hasRemaining() ) {
+					intValue = (intValue << 8) | (data.get() & 0xff);
+					intBytes++;
+				}
+				if( intBytes < Integer.BYTES ) {
+					return false;
+				}
+				final int n = intValue;
+				intBytes = 0;
+				intValue = 0;
+				pop();
+				scanInt( task, n );
+			}
+		}
+	}
+
+	private void scanValue( byte type ) {
+		push( CHILDREN, 1 );
+		switch( type ) {
+		case DataTypeHeaderId.STRING:
+		case DataTypeHeaderId.BYTE_ARRAY:
+			push( STRING, 1 );
+			break;
+		case DataTypeHeaderId.INT:
+			skip = Integer.BYTES;
+			break;
+		case DataTypeHeaderId.LONG:
+		case DataTypeHeaderId.DOUBLE:
+			skip = Long.BYTES;
+			break;
+		case DataTypeHeaderId.BOOL:
+			skip = 1;
+			break;
+		case DataTypeHeaderId.NULL:
+		default:
+			break;
+		}
+	}
+
+	private void scanInt( int task, int n ) {
+		if( n <= 0 ) {
+			return;
+		}
+		switch( task ) {
+		case STRING:
+			skip = n;
+			break;
+		case CHILDREN:
+			push( CHILD, n );
+			break;
+		case VECTOR:
+			push( VALUE, n );
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void push( int task, int times ) {
+		if( depth == tasks.length ) {
+			tasks = Arrays.copyOf( tasks, depth * 2 );
+			repetitions = Arrays.copyOf( repetitions, depth * 2 );
+		}
+		tasks[ depth ] = task;
+		repetitions[ depth ] = times;
+		depth++;
+	}
+
+	/*
+	 * Consumes a repetition of the task on top of the stack.
+	 */
+	private void pop() {
+		if( --repetitions[ depth - 1 ] == 0 ) {
+			depth--;
+		}
+	}
+}
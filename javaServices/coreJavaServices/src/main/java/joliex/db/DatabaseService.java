@@ -35,6 +35,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 // Connection Pooling
@@ -50,7 +52,8 @@ import jolie.runtime.JavaService;
 import jolie.runtime.Value;
 import jolie.runtime.ValueVector;
 import jolie.runtime.embedding.RequestResponse;
-import joliex.db.impl.NamedStatementParser;
+import joliex.db.impl.NamedStatement;
+import joliex.db.impl.StatementCache;
 
 /**
  * @author Fabrizio Montesi 2008 - Marco Montesi: connection string fix for Microsoft SQL Server
@@ -72,9 +75,118 @@ import joliex.db.impl.NamedStatementParser;
 	"slf4j-nop.jar", // Logger implementation
 } )
 public class DatabaseService extends JavaService {
+	@FunctionalInterface
+	private interface StatementAction< T > {
+		T run( PreparedStatement statement )
+			throws SQLException;
+	}
+
+	/**
+	 * A query whose result set is read a page at a time, see {@link #fetch(Value)}.
+	 */
+	private static class Cursor {
+		private final Connection connection;
+		private final boolean ownsConnection;
+		private final PreparedStatement statement;
+		private final ResultSet result;
+		private final ResultSetMetaData metadata;
+		private final String[] columnNames;
+		private final int[] columnTypes;
+		private final Value template;
+		private final Map< String, Integer > colIndexes;
+		// Whether the result set is on a row that has not been returned yet
+		private boolean onRow = false;
+		private volatile boolean closed = false;
+		private volatile boolean fetching = false;
+		// When the cursor was opened or last fetched, in nanoseconds
+		private volatile long lastUsed = System.nanoTime();
+		private volatile Future< ? > expiry = null;
+
+		private Cursor( Connection connection, boolean ownsConnection, PreparedStatement statement,
+			ResultSet result, Value template )
+			throws SQLException {
+			this.connection = connection;
+			this.ownsConnection = ownsConnection;
+			this.statement = statement;
+			this.result = result;
+			this.metadata = result.getMetaData();
+			this.columnNames = columnNames( metadata );
+			this.columnTypes = columnTypes( metadata );
+			this.template = template;
+			this.colIndexes = template == null ? null : columnIndexes( metadata );
+		}
+
+		/**
+		 * Returns the next page of rows, or {@code null} if the cursor has been closed.
+		 */
+		private synchronized Value fetch( int maxRows )
+			throws SQLException {
+			if( closed ) {
+				return null;
+			}
+			fetching = true;
+			try {
+				final Value page = Value.create();
+				final ValueVector rows = page.getChildren( "row" );
+				boolean hasRow = onRow || result.next();
+				for( int rowIndex = 0; hasRow && rowIndex < maxRows; rowIndex++ ) {
+					if( template == null ) {
+						_rowToValue( rows.get( rowIndex ), result, columnNames, columnTypes );
+					} else {
+						_rowToValueWithTemplate( rows.get( rowIndex ), result, metadata, colIndexes, template );
+					}
+					hasRow = result.next();
+				}
+				onRow = hasRow;
+				page.setFirstChild( "hasMore", hasRow );
+				return page;
+			} finally {
+				lastUsed = System.nanoTime();
+				fetching = false;
+			}
+		}
+
+		/**
+		 * Returns for how many milliseconds the cursor has not been used.
+		 */
+		private long idleTime() {
+			return fetching ? 0L : TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - lastUsed );
+		}
+
+		private synchronized void close() {
+			if( closed ) {
+				return;
+			}
+			closed = true;
+			if( expiry != null ) {
+				expiry.cancel( false );
+			}
+			try {
+				result.close();
+				statement.close();
+			} catch( SQLException e ) {
+			}
+			if( ownsConnection ) {
+				try {
+					connection.setAutoCommit( true );
+				} catch( SQLException e ) {
+				}
+				try {
+					connection.close();
+				} catch( SQLException e ) {
+				}
+			}
+		}
+	}
+
 	private HikariDataSource connectionPool = null;
 	private ConcurrentHashMap< Long, Connection > openTxs = null;
 	private AtomicLong txHandles = null;
+	private ConcurrentHashMap< Long, Cursor > openCursors = null;
+	private AtomicLong cursorHandles = null;
+	private long cursorIdleTimeout = DEFAULT_CURSOR_IDLE_TIMEOUT;
+	private StatementCache statementCache = null;
+	private int fetchSize = 0;
 
 	private String connectionString = null;
 	private String username = null;
@@ -85,6 +197,10 @@ public class DatabaseService extends JavaService {
 	private static boolean toUpperCase = false;
 	private boolean mustCheckConnection = false;
 	private final static String TEMPLATE_FIELD = "_template";
+	private final static int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+	private final static int DEFAULT_FETCH_MAX_ROWS = 1000;
+	private final static int DEFAULT_BATCH_SIZE = 1000;
+	private final static long DEFAULT_CURSOR_IDLE_TIMEOUT = 300000L; // Milliseconds
 
 	@RequestResponse
 	public void close() {
@@ -105,6 +221,17 @@ public class DatabaseService extends JavaService {
 
 		openTxs = new ConcurrentHashMap<>();
 		txHandles = new AtomicLong();
+		openCursors = new ConcurrentHashMap<>();
+		cursorHandles = new AtomicLong();
+
+		fetchSize = request.getFirstChild( "fetchSize" ).intValue();
+		cursorIdleTimeout = request.hasChildren( "cursorIdleTimeout" )
+			? request.getFirstChild( "cursorIdleTimeout" ).longValue()
+			: DEFAULT_CURSOR_IDLE_TIMEOUT;
+		statementCache = new StatementCache(
+			request.hasChildren( "statementCacheSize" ) ? request.getFirstChild( "statementCacheSize" ).intValue()
+				: DEFAULT_STATEMENT_CACHE_SIZE,
+			fetchSize );
 
 		mustCheckConnection = request.getFirstChild( "checkConnection" ).intValue() > 0;
 
@@ -241,9 +368,8 @@ public class DatabaseService extends JavaService {
 
 		if( request.isString() ) {
 			try( Connection con = connectionPool.getConnection() ) {
-				PreparedStatement stm = new NamedStatementParser( con, request.strValue(), request )
-					.getPreparedStatement();
-				resultValue.setValue( stm.executeUpdate() );
+				final int updateCount = _execute( con, request, PreparedStatement::executeUpdate );
+				resultValue.setValue( updateCount );
 			} catch( SQLException e ) {
 				throw createFaultException( e );
 			}
@@ -251,10 +377,9 @@ public class DatabaseService extends JavaService {
 			long txHandle = request.getFirstChild( "txHandle" ).longValue();
 			Connection tx = _getOpenTransaction( txHandle );
 
-			try( PreparedStatement stm = new NamedStatementParser( tx, request.getFirstChild( "update" ).strValue(),
-				request.getFirstChild( "update" ) )
-					.getPreparedStatement(); ) {
-				resultValue.setValue( stm.executeUpdate() );
+			try {
+				final int updateCount = _execute( tx, request.getFirstChild( "update" ), PreparedStatement::executeUpdate );
+				resultValue.setValue( updateCount );
 				openTxs.put( txHandle, tx );
 			} catch( SQLException e ) {
 				throw createFaultException( e );
@@ -263,6 +388,104 @@ public class DatabaseService extends JavaService {
 		return resultValue;
 	}
 
+	@RequestResponse
+	public Value batchUpdate( Value request )
+		throws FaultException {
+		_checkConnection();
+		Value resultValue = Value.create();
+		ValueVector countVector = resultValue.getChildren( "updateCount" );
+		int[] updateCounts;
+
+		if( request.hasChildren( "txHandle" ) ) {
+			long txHandle = request.getFirstChild( "txHandle" ).longValue();
+			Connection tx = _getOpenTransaction( txHandle );
+			try {
+				updateCounts = _executeBatch( tx, request );
+			} catch( SQLException e ) {
+				throw createFaultException( e );
+			} finally {
+				openTxs.put( txHandle, tx );
+			}
+		} else {
+			try( Connection con = connectionPool.getConnection() ) {
+				con.setAutoCommit( false );
+				try {
+					updateCounts = _executeBatch( con, request );
+					con.commit();
+				} catch( SQLException e ) {
+					con.rollback();
+					throw e;
+				} finally {
+					con.setAutoCommit( true );
+				}
+			} catch( SQLException e ) {
+				throw createFaultException( e );
+			}
+		}
+
+		for( int updateCount : updateCounts ) {
+			countVector.add( Value.create( updateCount ) );
+		}
+		return resultValue;
+	}
+
+	/**
+	 * Executes the update of a batchUpdate request once for each of its rows, sending at most
+	 * batchSize rows to the database at a time. The same statement is used for all the rows.
+	 */
+	private int[] _executeBatch( Connection con, Value request )
+		throws SQLException {
+		final String sql = request.getFirstChild( "update" ).strValue();
+		final ValueVector rows = request.getChildren( "rows" );
+		final int[] updateCounts = new int[ rows.size() ];
+		if( rows.isEmpty() ) {
+			return updateCounts;
+		}
+		final int batchSize = request.hasChildren( "batchSize" ) && request.getFirstChild( "batchSize" ).intValue() > 0
+			? request.getFirstChild( "batchSize" ).intValue()
+			: DEFAULT_BATCH_SIZE;
+		final NamedStatement namedStatement = statementCache.parse( sql );
+
+		final PreparedStatement stm = statementCache.prepare( con, sql, rows.get( 0 ) );
+		boolean failed = true;
+		try {
+			int executed = 0;
+			for( int i = 0; i < rows.size(); i++ ) {
+				if( i > 0 ) {
+					namedStatement.setParameters( stm, rows.get( i ) );
+				}
+				stm.addBatch();
+				if( i + 1 - executed == batchSize || i + 1 == rows.size() ) {
+					final int[] batchCounts = stm.executeBatch();
+					System.arraycopy( batchCounts, 0, updateCounts, executed, batchCounts.length );
+					executed = i + 1;
+				}
+			}
+			failed = false;
+			return updateCounts;
+		} finally {
+			statementCache.release( con, sql, stm, failed );
+		}
+	}
+
+	/**
+	 * Runs an action on a statement for the SQL in the string value of statementValue, with the
+	 * parameters in its children. The statement is taken from the statement cache of the connection.
+	 */
+	private < T > T _execute( Connection con, Value statementValue, StatementAction< T > action )
+		throws SQLException {
+		final String sql = statementValue.strValue();
+		final PreparedStatement stm = statementCache.prepare( con, sql, statementValue );
+		boolean failed = true;
+		try {
+			final T result = action.run( stm );
+			failed = false;
+			return result;
+		} finally {
+			statementCache.release( con, sql, stm, failed );
+		}
+	}
+
 	private Connection _getOpenTransaction( long txHandle ) throws FaultException {
 		Connection tx = openTxs.remove( txHandle );
 		if( tx == null ) {
@@ -365,40 +588,56 @@ public class DatabaseService extends JavaService {
 		}
 	}
 
+	private static String[] columnNames( ResultSetMetaData metadata )
+		throws SQLException {
+		final String[] names = new String[ metadata.getColumnCount() ];
+		for( int i = 0; i < names.length; i++ ) {
+			names[ i ] = metadata.getColumnLabel( i + 1 );
+			if( toLowerCase ) {
+				names[ i ] = names[ i ].toLowerCase();
+			} else if( toUpperCase ) {
+				names[ i ] = names[ i ].toUpperCase();
+			}
+		}
+		return names;
+	}
+
+	private static int[] columnTypes( ResultSetMetaData metadata )
+		throws SQLException {
+		final int[] types = new int[ metadata.getColumnCount() ];
+		for( int i = 0; i < types.length; i++ ) {
+			types[ i ] = metadata.getColumnType( i + 1 );
+		}
+		return types;
+	}
+
+	private static Map< String, Integer > columnIndexes( ResultSetMetaData metadata )
+		throws SQLException {
+		Map< String, Integer > colIndexes = new HashMap<>();
+		int cols = metadata.getColumnCount();
+		for( int i = 1; i <= cols; i++ ) {
+			colIndexes.put( metadata.getColumnName( i ), i );
+		}
+		return colIndexes;
+	}
+
+	private static void _rowToValue( Value rowValue, ResultSet result, String[] columnNames, int[] columnTypes )
+		throws SQLException {
+		for( int i = 0; i < columnNames.length; i++ ) {
+			setValue( rowValue.getFirstChild( columnNames[ i ] ), result, columnTypes[ i ], i + 1 );
+		}
+	}
+
 	private static void resultSetToValueVector( ResultSet result, ValueVector vector )
 		throws SQLException {
-		Value rowValue, fieldValue;
 		ResultSetMetaData metadata = result.getMetaData();
-		int cols = metadata.getColumnCount();
-		int i;
+		// Column labels and types are looked up once, rather than for every row
+		final String[] names = columnNames( metadata );
+		final int[] types = columnTypes( metadata );
 		int rowIndex = 0;
-		if( toLowerCase ) {
-			while( result.next() ) {
-				rowValue = vector.get( rowIndex );
-				for( i = 1; i <= cols; i++ ) {
-					fieldValue = rowValue.getFirstChild( metadata.getColumnLabel( i ).toLowerCase() );
-					setValue( fieldValue, result, metadata.getColumnType( i ), i );
-				}
-				rowIndex++;
-			}
-		} else if( toUpperCase ) {
-			while( result.next() ) {
-				rowValue = vector.get( rowIndex );
-				for( i = 1; i <= cols; i++ ) {
-					fieldValue = rowValue.getFirstChild( metadata.getColumnLabel( i ).toUpperCase() );
-					setValue( fieldValue, result, metadata.getColumnType( i ), i );
-				}
-				rowIndex++;
-			}
-		} else {
-			while( result.next() ) {
-				rowValue = vector.get( rowIndex );
-				for( i = 1; i <= cols; i++ ) {
-					fieldValue = rowValue.getFirstChild( metadata.getColumnLabel( i ) );
-					setValue( fieldValue, result, metadata.getColumnType( i ), i );
-				}
-				rowIndex++;
-			}
+		while( result.next() ) {
+			_rowToValue( vector.get( rowIndex ), result, names, types );
+			rowIndex++;
 		}
 	}
 
@@ -426,11 +665,7 @@ public class DatabaseService extends JavaService {
 		throws SQLException {
 		Value rowValue;
 		ResultSetMetaData metadata = result.getMetaData();
-		Map< String, Integer > colIndexes = new HashMap<>();
-		int cols = metadata.getColumnCount();
-		for( int i = 0; i < cols; i++ ) {
-			colIndexes.put( metadata.getColumnName( i ), i );
-		}
+		Map< String, Integer > colIndexes = columnIndexes( metadata );
 
 		int rowIndex = 0;
 		while( result.next() ) {
@@ -449,28 +684,28 @@ public class DatabaseService extends JavaService {
 		ValueVector resultVector = resultValue.getChildren( "result" );
 		try( Connection connection = connectionPool.getConnection() ) {
 			connection.setAutoCommit( false );
-			Value currResultValue;
 			int updateCount;
 
 			for( Value statementValue : request.getChildren( "statement" ) ) {
-				currResultValue = Value.create();
-				try( PreparedStatement stm = new NamedStatementParser( connection, statementValue.strValue(),
-					statementValue )
-						.getPreparedStatement() ) {
-					updateCount = -1;
-					if( stm.execute() == true ) {
-						updateCount = stm.getUpdateCount();
-						if( updateCount == -1 ) {
-							if( statementValue.hasChildren( TEMPLATE_FIELD ) ) {
-								resultSetToValueVectorWithTemplate( stm.getResultSet(),
-									currResultValue.getChildren( "row" ),
-									statementValue.getFirstChild( TEMPLATE_FIELD ) );
-							} else {
-								resultSetToValueVector( stm.getResultSet(), currResultValue.getChildren( "row" ) );
+				final Value currResultValue = Value.create();
+				try {
+					updateCount = _execute( connection, statementValue, stm -> {
+						int count = -1;
+						if( stm.execute() == true ) {
+							count = stm.getUpdateCount();
+							if( count == -1 ) {
+								if( statementValue.hasChildren( TEMPLATE_FIELD ) ) {
+									resultSetToValueVectorWithTemplate( stm.getResultSet(),
+										currResultValue.getChildren( "row" ),
+										statementValue.getFirstChild( TEMPLATE_FIELD ) );
+								} else {
+									resultSetToValueVector( stm.getResultSet(), currResultValue.getChildren( "row" ) );
+								}
+								stm.getResultSet().close();
 							}
-							stm.getResultSet().close();
 						}
-					}
+						return count;
+					} );
 					currResultValue.setValue( updateCount );
 					resultVector.add( currResultValue );
 				} catch( SQLException e ) {
@@ -514,20 +749,17 @@ public class DatabaseService extends JavaService {
 		Value resultValue;
 
 		if( request.isString() ) {
-			try( Connection con = connectionPool.getConnection();
-				PreparedStatement stm = new NamedStatementParser( con, request.strValue(), request )
-					.getPreparedStatement() ) {
-				resultValue = _executeQuery( stm, request );
+			try( Connection con = connectionPool.getConnection() ) {
+				resultValue = _execute( con, request, stm -> _executeQuery( stm, request ) );
 			} catch( SQLException e ) {
 				throw createFaultException( e );
 			}
 		} else {
 			long txHandle = request.getFirstChild( "txHandle" ).longValue();
 			Connection tx = _getOpenTransaction( txHandle );
-			try( PreparedStatement stm = new NamedStatementParser( tx, request.getFirstChild( "query" ).strValue(),
-				request.getFirstChild( "query" ) )
-					.getPreparedStatement(); ) {
-				resultValue = _executeQuery( stm, request.getFirstChild( "query" ) );
+			final Value query = request.getFirstChild( "query" );
+			try {
+				resultValue = _execute( tx, query, stm -> _executeQuery( stm, query ) );
 				openTxs.put( txHandle, tx );
 			} catch( SQLException e ) {
 				throw createFaultException( e );
@@ -555,6 +787,126 @@ public class DatabaseService extends JavaService {
 		return resultValue;
 	}
 
+	@RequestResponse
+	public Value openCursor( Value request )
+		throws FaultException {
+		_checkConnection();
+		final Value query = request.getFirstChild( "query" );
+		final boolean inTransaction = request.hasChildren( "txHandle" );
+		final long txHandle = request.getFirstChild( "txHandle" ).longValue();
+		final Connection con;
+		try {
+			con = inTransaction ? _getOpenTransaction( txHandle ) : connectionPool.getConnection();
+		} catch( SQLException e ) {
+			throw createFaultException( e );
+		}
+
+		PreparedStatement stm = null;
+		try {
+			if( !inTransaction ) {
+				// Some drivers, e.g., PostgreSQL, only honour the fetch size outside of auto-commit mode
+				con.setAutoCommit( false );
+			}
+			// The statement is not cached, since it stays busy for as long as the cursor is open
+			stm = statementCache.parse( query.strValue() ).prepare( con, query );
+			final int cursorFetchSize =
+				request.hasChildren( "fetchSize" ) ? request.getFirstChild( "fetchSize" ).intValue() : fetchSize;
+			if( cursorFetchSize > 0 ) {
+				stm.setFetchSize( cursorFetchSize );
+			}
+			final Cursor cursor = new Cursor( con, !inTransaction, stm, stm.executeQuery(),
+				query.hasChildren( TEMPLATE_FIELD ) ? query.getFirstChild( TEMPLATE_FIELD ) : null );
+			final long cursorHandle = cursorHandles.getAndIncrement();
+			openCursors.put( cursorHandle, cursor );
+			if( cursorIdleTimeout > 0 ) {
+				scheduleCursorExpiry( cursorHandle, cursor, cursorIdleTimeout );
+			}
+			return Value.create( cursorHandle );
+		} catch( SQLException e ) {
+			if( stm != null ) {
+				try {
+					stm.close();
+				} catch( SQLException e1 ) {
+				}
+			}
+			if( !inTransaction ) {
+				try {
+					con.close();
+				} catch( SQLException e1 ) {
+				}
+			}
+			throw createFaultException( e );
+		} finally {
+			if( inTransaction ) {
+				openTxs.put( txHandle, con );
+			}
+		}
+	}
+
+	@RequestResponse
+	public Value fetch( Value request )
+		throws FaultException {
+		final long cursorHandle = request.getFirstChild( "cursor" ).longValue();
+		final Cursor cursor = openCursors.get( cursorHandle );
+		if( cursor == null ) {
+			throw createCursorException( "Cursor " + cursorHandle + " is unavailable or closed" );
+		}
+		final int maxRows = request.hasChildren( "maxRows" ) ? request.getFirstChild( "maxRows" ).intValue()
+			: DEFAULT_FETCH_MAX_ROWS;
+		try {
+			final Value page = cursor.fetch( maxRows );
+			if( page == null ) {
+				throw createCursorException( "Cursor " + cursorHandle + " is unavailable or closed" );
+			}
+			if( !page.getFirstChild( "hasMore" ).boolValue() ) {
+				_closeCursor( cursorHandle );
+			}
+			return page;
+		} catch( SQLException e ) {
+			_closeCursor( cursorHandle );
+			throw createFaultException( e );
+		}
+	}
+
+	@RequestResponse
+	public void closeCursor( Value request ) {
+		_closeCursor( request.longValue() );
+	}
+
+	/**
+	 * Closes the cursor once it has not been fetched for the idle timeout of the connection, so that a
+	 * cursor abandoned before its end does not keep its statement, and possibly its pooled connection,
+	 * forever.
+	 */
+	private void scheduleCursorExpiry( long cursorHandle, Cursor cursor, long delay ) {
+		final ConcurrentHashMap< Long, Cursor > cursors = openCursors;
+		final long idleTimeout = cursorIdleTimeout;
+		cursor.expiry = interpreter().schedule( () -> {
+			if( cursor.closed ) {
+				return;
+			}
+			final long remaining = idleTimeout - cursor.idleTime();
+			if( remaining > 0 ) {
+				scheduleCursorExpiry( cursorHandle, cursor, remaining );
+			} else if( cursors.remove( cursorHandle, cursor ) ) {
+				cursor.close();
+			}
+		}, delay );
+	}
+
+	private void _closeCursor( long cursorHandle ) {
+		final Cursor cursor = openCursors.remove( cursorHandle );
+		if( cursor != null ) {
+			cursor.close();
+		}
+	}
+
+	private FaultException createCursorException( String message ) {
+		Value v = Value.create();
+		v.getNewChild( "message" ).setValue( message );
+		return new FaultException( "CursorException", v );
+	}
+
 	@RequestResponse
 	public Value beginTx() throws FaultException {
 		_checkConnection();
@@ -613,6 +965,10 @@ public class DatabaseService extends JavaService {
 	}
 
 	private void _closeConnectionPool() {
+		for( long handle : openCursors.keySet() ) {
+			_closeCursor( handle );
+		}
+		statementCache.clear();
 		for( long handle : openTxs.keySet() ) {
 			try {
 				Connection con = openTxs.remove( handle );
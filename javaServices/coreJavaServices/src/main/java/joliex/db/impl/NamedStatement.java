@@ -38,11 +38,12 @@ import jolie.runtime.Value;
 
 /**
  * Commodity class for converting a parametrized query in a valid JDBC {@link PreparedStatement}.
+ * Instances are immutable, so the same parsed query can be used to prepare any number of statements.
  *
  * @author Fabrizio Montesi
  * @see PreparedStatement
  */
-public class NamedStatementParser {
+public class NamedStatement {
 	private static class TypeKeywords {
 		private final static String DATE = "Date";
 		private final static String TIMESTAMP = "Timestamp";
@@ -50,14 +51,36 @@ public class NamedStatementParser {
 	}
 
 	private final Map< String, List< Integer > > parameterPositions = new HashMap<>();
-	private final PreparedStatement statement;
+	private final String jdbcSql;
 	// private final GregorianCalendar cal = new GregorianCalendar();
 
-	public NamedStatementParser( Connection connection, String sql, Value parameters )
+	public NamedStatement( String sql ) {
+		jdbcSql = parse( sql );
+	}
+
+	/**
+	 * Returns the query in JDBC syntax, with a <code>?</code> in place of each named parameter.
+	 */
+	public String jdbcSql() {
+		return jdbcSql;
+	}
+
+	/**
+	 * Prepares a statement for this query on the given connection, and sets its parameters.
+	 */
+	public PreparedStatement prepare( Connection connection, Value parameters )
 		throws SQLException {
-		String jdbcSql = parse( sql );
+		final PreparedStatement statement = connection.prepareStatement( jdbcSql );
+		setParameters( statement, parameters );
+		return statement;
+	}
 
-		statement = connection.prepareStatement( jdbcSql );
+	/**
+	 * Sets the parameters of a statement prepared for this query to the children of the given value
+	 * with the same names.
+	 */
+	public void setParameters( PreparedStatement statement, Value parameters )
+		throws SQLException {
 		Value v;
 		for( Entry< String, List< Integer > > entry : parameterPositions.entrySet() ) {
 			v = parameters.getFirstChild( entry.getKey() );
@@ -178,8 +201,4 @@ public class NamedStatementParser {
 	private List< Integer > getParameterPositions( String parameterName ) {
 		return parameterPositions.computeIfAbsent( parameterName, k -> new ArrayList<>() );
 	}
-
-	public PreparedStatement getPreparedStatement() {
-		return statement;
-	}
 }
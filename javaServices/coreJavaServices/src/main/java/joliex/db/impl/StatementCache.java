@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package joliex.db.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jolie.runtime.Value;
+
+/**
+ * Caches the parsed form of queries, and the statements prepared for them on each connection. Both
+ * caches are keyed by the text of the query and evict their least recently used entries.
+ *
+ * Statements are cached on the physical connections behind the pooled ones, so that they survive
+ * when a connection is returned to the pool and borrowed again. A connection can be used by one
+ * thread at a time, and so can the statements cached for it.
+ */
+public class StatementCache {
+	private static class LRUMap< V > extends LinkedHashMap< String, V > {
+		private static final long serialVersionUID = 1L;
+		private final int capacity;
+
+		private LRUMap( int capacity ) {
+			super( 16, 0.75f, true );
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry( Map.Entry< String, V > eldest ) {
+			if( size() > capacity ) {
+				evicted( eldest.getValue() );
+				return true;
+			}
+			return false;
+		}
+
+		protected void evicted( V value ) {}
+	}
+
+	private static class PreparedStatements extends LRUMap< PreparedStatement > {
+		private static final long serialVersionUID = 1L;
+
+		private PreparedStatements( int capacity ) {
+			super( capacity );
+		}
+
+		@Override
+		protected void evicted( PreparedStatement statement ) {
+			closeQuietly( statement );
+		}
+	}
+
+	private final int capacity;
+	private final Map< String, NamedStatement > parsed;
+	private final Map< Connection, PreparedStatements > prepared =
+		Collections.synchronizedMap( new IdentityHashMap<>() );
+	private final int fetchSize;
+
+	/**
+	 * @param capacity the maximum number of parsed queries, and of statements per connection, to keep.
+	 *        Nothing is cached if it is 0.
+	 * @param fetchSize the fetch size to set on prepared statements, or 0 to use the default of the
+	 *        driver
+	 */
+	public StatementCache( int capacity, int fetchSize ) {
+		this.capacity = capacity;
+		this.parsed = Collections.synchronizedMap( new LRUMap<>( capacity ) );
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Returns the parsed form of a query.
+	 */
+	public NamedStatement parse( String sql ) {
+		if( capacity == 0 ) {
+			return new NamedStatement( sql );
+		}
+		NamedStatement statement = parsed.get( sql );
+		if( statement == null ) {
+			statement = new NamedStatement( sql );
+			parsed.put( sql, statement );
+		}
+		return statement;
+	}
+
+	/**
+	 * Returns a statement for a query on the given connection, with its parameters set. The statement
+	 * must be handed back with {@link #release(Connection, String, PreparedStatement, boolean)} once it
+	 * has been executed, instead of being closed.
+	 */
+	public PreparedStatement prepare( Connection connection, String sql, Value parameters )
+		throws SQLException {
+		final NamedStatement namedStatement = parse( sql );
+		PreparedStatement statement = null;
+		Connection target = connection;
+		if( capacity > 0 ) {
+			// Statements of the pooled connection would be closed when it is returned to the pool
+			target = physicalConnection( connection );
+			final PreparedStatements statements = statements( target );
+			synchronized( statements ) {
+				statement = statements.remove( sql );
+			}
+			if( statement != null && statement.isClosed() ) {
+				statement = null;
+			}
+		}
+		if( statement == null ) {
+			statement = target.prepareStatement( namedStatement.jdbcSql() );
+			if( fetchSize > 0 ) {
+				statement.setFetchSize( fetchSize );
+			}
+		}
+		try {
+			namedStatement.setParameters( statement, parameters );
+		} catch( SQLException e ) {
+			closeQuietly( statement );
+			throw e;
+		}
+		return statement;
+	}
+
+	/**
+	 * Hands back a statement obtained from {@link #prepare(Connection, String, Value)}. The statement
+	 * is kept for the next execution of the same query on the connection, unless its execution failed.
+	 */
+	public void release( Connection connection, String sql, PreparedStatement statement, boolean failed ) {
+		if( capacity == 0 || failed ) {
+			// A failed statement may have been invalidated, e.g., by a change of the schema
+			closeQuietly( statement );
+			return;
+		}
+		try {
+			statement.clearParameters();
+			final PreparedStatements statements = statements( physicalConnection( connection ) );
+			final PreparedStatement previous;
+			synchronized( statements ) {
+				previous = statements.put( sql, statement );
+			}
+			if( previous != null ) {
+				closeQuietly( previous );
+			}
+		} catch( SQLException e ) {
+			closeQuietly( statement );
+		}
+	}
+
+	/**
+	 * Closes all the cached statements.
+	 */
+	public void clear() {
+		synchronized( prepared ) {
+			for( PreparedStatements statements : prepared.values() ) {
+				synchronized( statements ) {
+					statements.values().forEach( StatementCache::closeQuietly );
+				}
+			}
+			prepared.clear();
+		}
+		parsed.clear();
+	}
+
+	private PreparedStatements statements( Connection connection ) {
+		synchronized( prepared ) {
+			PreparedStatements statements = prepared.get( connection );
+			if( statements == null ) {
+				// A new connection may replace one that the pool has closed
+				removeClosedConnections();
+				statements = new PreparedStatements( capacity );
+				prepared.put( connection, statements );
+			}
+			return statements;
+		}
+	}
+
+	private void removeClosedConnections() {
+		final Iterator< Connection > it = prepared.keySet().iterator();
+		while( it.hasNext() ) {
+			try {
+				if( it.next().isClosed() ) {
+					it.remove();
+				}
+			} catch( SQLException e ) {
+				it.remove();
+			}
+		}
+	}
+
+	private static Connection physicalConnection( Connection connection ) {
+		try {
+			return connection.unwrap( Connection.class );
+		} catch( SQLException e ) {
+			return connection;
+		}
+	}
+
+	private static void closeQuietly( PreparedStatement statement ) {
+		try {
+			statement.close();
+		} catch( SQLException e ) {
+		}
+	}
+}
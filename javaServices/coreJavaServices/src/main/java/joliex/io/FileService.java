@@ -22,7 +22,9 @@
 package joliex.io;
 
 import java.io.BufferedInputStream;
-import java.io.EOFException;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -40,18 +42,27 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Comparator;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -99,6 +110,31 @@ public class FileService extends JavaService {
 	private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
 	private FileTypeMap fileTypeMap = FileTypeMap.getDefaultFileTypeMap();
 
+	/*
+	 * Reads of at least this many bytes copy the content from a memory mapping of the file. Reading
+	 * into a heap array through a channel would allocate a direct buffer of the same size first.
+	 */
+	private final static int MAPPED_READ_THRESHOLD = 1 << 20;
+	// The largest array that all JVMs can allocate
+	private final static int MAX_READ_SIZE = Integer.MAX_VALUE - 8;
+	private final static int STREAM_BUFFER_SIZE = 64 * 1024;
+	private final static int DEFAULT_MAX_LINES = 1000;
+
+	private static class OpenWriter {
+		private final OutputStream stream;
+		private final Charset charset;
+
+		private OpenWriter( OutputStream stream, Charset charset ) {
+			this.stream = stream;
+			this.charset = charset;
+		}
+	}
+
+	private final AtomicLong streamHandles = new AtomicLong();
+	private final Map< Long, BufferedReader > lineReaders = new ConcurrentHashMap<>();
+	private final Map< Long, OpenWriter > fileWriters = new ConcurrentHashMap<>();
+	private final AtomicBoolean closesStreamsOnExit = new AtomicBoolean();
+
 	public FileService()
 		throws ParserConfigurationException {
 		super();
@@ -153,19 +189,56 @@ public class FileService extends JavaService {
 
 	private static void readBase64IntoValue( InputStream istream, long size, Value value )
 		throws IOException {
-		byte[] buffer = new byte[ (int) size ];
-		if( istream.read( buffer ) < 0 )
-			throw new EOFException();
+		byte[] buffer = readFully( istream, size );
 		Base64.Encoder encoder = Base64.getEncoder();
 		value.setValue( encoder.encodeToString( buffer ) );
 	}
 
 	private static void readBinaryIntoValue( InputStream istream, long size, Value value )
 		throws IOException {
-		byte[] buffer = new byte[ (int) size ];
-		if( istream.read( buffer ) < 0 )
-			throw new EOFException();
-		value.setValue( new ByteArray( buffer ) );
+		value.setValue( new ByteArray( readFully( istream, size ) ) );
+	}
+
+	/**
+	 * Reads the size bytes of a stream. Files are read through their channel, see
+	 * {@link #readRange(FileChannel, long, long)}.
+	 */
+	private static byte[] readFully( InputStream istream, long size )
+		throws IOException {
+		if( istream instanceof FileInputStream ) {
+			return readRange( ((FileInputStream) istream).getChannel(), 0, size );
+		}
+		return istream.readNBytes( checkReadSize( size ) );
+	}
+
+	/**
+	 * Reads at most length bytes of a file, starting from offset. Fewer bytes are returned if the file
+	 * ends before, and none if offset is past its end.
+	 */
+	private static byte[] readRange( FileChannel channel, long offset, long length )
+		throws IOException {
+		final int count = checkReadSize( Math.max( 0, Math.min( length, channel.size() - offset ) ) );
+		final byte[] buffer = new byte[ count ];
+		if( count >= MAPPED_READ_THRESHOLD ) {
+			channel.map( FileChannel.MapMode.READ_ONLY, offset, count ).get( buffer );
+			return buffer;
+		}
+		final ByteBuffer byteBuffer = ByteBuffer.wrap( buffer );
+		while( byteBuffer.hasRemaining() ) {
+			if( channel.read( byteBuffer, offset + byteBuffer.position() ) < 0 ) {
+				// The file has been truncated in the meantime
+				return Arrays.copyOf( buffer, byteBuffer.position() );
+			}
+		}
+		return buffer;
+	}
+
+	private static int checkReadSize( long size )
+		throws IOException {
+		if( size > MAX_READ_SIZE ) {
+			throw new IOException( "Cannot read " + size + " bytes at once, the maximum is " + MAX_READ_SIZE );
+		}
+		return (int) size;
 	}
 
 	private static void readJsonIntoValue( InputStream istream, Value value, Charset charset, boolean strictEncoding )
@@ -217,15 +290,11 @@ public class FileService extends JavaService {
 
 	private static void readTextIntoValue( InputStream istream, long size, Value value, Charset charset )
 		throws IOException {
-		byte[] buffer = new byte[ (int) size ];
-		int len = istream.read( buffer );
-		if( len < 0 ) {
-			len = 0; // EOF handled as empty string
-		}
+		byte[] buffer = readFully( istream, size );
 		if( charset == null ) {
-			value.setValue( new String( buffer, 0, len ) );
+			value.setValue( new String( buffer ) );
 		} else {
-			value.setValue( new String( buffer, 0, len, charset ) );
+			value.setValue( new String( buffer, charset ) );
 		}
 	}
 
@@ -602,12 +671,10 @@ public class FileService extends JavaService {
 
 	private static void writeJson( File file, Value value, boolean append, String encoding )
 		throws IOException {
-		StringBuilder json = new StringBuilder();
-		JsUtils.valueToJsonString( value, true, Type.UNDEFINED, json );
-
 		try( OutputStream fos = new FileOutputStream( file, append ) ) {
-			OutputStreamWriter writer = new OutputStreamWriter( fos, encoding != null ? encoding : "UTF-8" );
-			writer.write( json.toString() );
+			Writer writer =
+				new BufferedWriter( new OutputStreamWriter( fos, encoding != null ? encoding : "UTF-8" ) );
+			JsUtils.writeJson( value, true, Type.UNDEFINED, writer );
 			writer.flush();
 		}
 	}
@@ -667,6 +734,209 @@ public class FileService extends JavaService {
 		}
 	}
 
+	@RequestResponse
+	public Value readFileRange( Value request )
+		throws FaultException {
+		final long offset = request.getFirstChild( "offset" ).longValue();
+		final long length = request.getFirstChild( "length" ).longValue();
+		final Value formatValue = request.getFirstChild( "format" );
+		if( offset < 0 || length < 0 ) {
+			throw new FaultException( "IOException",
+				new IOException( "Invalid range: offset " + offset + ", length " + length ) );
+		}
+
+		Value retValue = Value.create();
+		try( FileChannel channel =
+			FileChannel.open( Paths.get( request.getFirstChild( "filename" ).strValue() ), StandardOpenOption.READ ) ) {
+			final long size = channel.size();
+			final byte[] content = readRange( channel, offset, length );
+			switch( formatValue.strValue() ) {
+			case "base64":
+				retValue.getFirstChild( "content" ).setValue( Base64.getEncoder().encodeToString( content ) );
+				break;
+			case "text":
+				// The range should start and end at character boundaries
+				retValue.getFirstChild( "content" ).setValue( formatValue.hasChildren( "charset" )
+					? new String( content, Charset.forName( formatValue.getFirstChild( "charset" ).strValue() ) )
+					: new String( content ) );
+				break;
+			default:
+				retValue.getFirstChild( "content" ).setValue( new ByteArray( content ) );
+				break;
+			}
+			retValue.getFirstChild( "size" ).setValue( size );
+			retValue.getFirstChild( "eof" ).setValue( offset + content.length >= size );
+		} catch( NoSuchFileException e ) {
+			throw new FaultException( "FileNotFound", e );
+		} catch( IOException | InvalidPathException e ) {
+			throw new FaultException( "IOException", e );
+		}
+		return retValue;
+	}
+
+	@RequestResponse
+	public Value openLineReader( Value request )
+		throws FaultException {
+		final Charset charset = request.hasChildren( "charset" )
+			? Charset.forName( request.getFirstChild( "charset" ).strValue() )
+			: Charset.defaultCharset();
+		try {
+			final InputStream istream =
+				Files.newInputStream( Paths.get( request.getFirstChild( "filename" ).strValue() ) );
+			closeStreamsOnExit();
+			final long handle = streamHandles.getAndIncrement();
+			lineReaders.put( handle,
+				new BufferedReader( new InputStreamReader( istream, charset ), STREAM_BUFFER_SIZE ) );
+			return Value.create( handle );
+		} catch( NoSuchFileException e ) {
+			throw new FaultException( "FileNotFound", e );
+		} catch( IOException | InvalidPathException e ) {
+			throw new FaultException( "IOException", e );
+		}
+	}
+
+	@RequestResponse
+	public Value readLines( Value request )
+		throws FaultException {
+		final long handle = request.getFirstChild( "reader" ).longValue();
+		final BufferedReader reader = lineReaders.get( handle );
+		if( reader == null ) {
+			throw new FaultException( "IOException",
+				new IOException( "Line reader " + handle + " is unavailable or closed" ) );
+		}
+		final int maxLines = request.hasChildren( "maxLines" ) ? request.getFirstChild( "maxLines" ).intValue()
+			: DEFAULT_MAX_LINES;
+
+		Value retValue = Value.create();
+		ValueVector lines = retValue.getChildren( "line" );
+		boolean hasMore = true;
+		try {
+			synchronized( reader ) {
+				String line;
+				while( lines.size() < maxLines && (line = reader.readLine()) != null ) {
+					lines.add( Value.create( line ) );
+				}
+				// Look ahead, so that the last page is known to be the last one
+				reader.mark( 1 );
+				if( reader.read() < 0 ) {
+					hasMore = false;
+				} else {
+					reader.reset();
+				}
+			}
+		} catch( IOException e ) {
+			closeLineReader( Value.create( handle ) );
+			throw new FaultException( "IOException", e );
+		}
+		if( !hasMore ) {
+			closeLineReader( Value.create( handle ) );
+		}
+		retValue.getFirstChild( "hasMore" ).setValue( hasMore );
+		return retValue;
+	}
+
+	@RequestResponse
+	public void closeLineReader( Value request ) {
+		final BufferedReader reader = lineReaders.remove( request.longValue() );
+		if( reader != null ) {
+			try {
+				reader.close();
+			} catch( IOException e ) {
+			}
+		}
+	}
+
+	@RequestResponse
+	public Value openFileWriter( Value request )
+		throws FaultException {
+		final File file = new File( request.getFirstChild( "filename" ).strValue() );
+		final boolean append = request.getFirstChild( "append" ).boolValue();
+		final Charset charset;
+		try {
+			charset = request.hasChildren( "encoding" )
+				? Charset.forName( request.getFirstChild( "encoding" ).strValue() )
+				: Charset.defaultCharset();
+		} catch( IllegalArgumentException e ) {
+			throw new FaultException( "IOException", e );
+		}
+		try {
+			final OutputStream ostream =
+				new BufferedOutputStream( new FileOutputStream( file, append ), STREAM_BUFFER_SIZE );
+			closeStreamsOnExit();
+			final long handle = streamHandles.getAndIncrement();
+			fileWriters.put( handle, new OpenWriter( ostream, charset ) );
+			return Value.create( handle );
+		} catch( FileNotFoundException e ) {
+			throw new FaultException( "FileNotFound", e );
+		}
+	}
+
+	@RequestResponse
+	public void writeChunk( Value request )
+		throws FaultException {
+		final long handle = request.getFirstChild( "writer" ).longValue();
+		final OpenWriter writer = fileWriters.get( handle );
+		if( writer == null ) {
+			throw new FaultException( "IOException",
+				new IOException( "File writer " + handle + " is unavailable or closed" ) );
+		}
+		final Value content = request.getFirstChild( "content" );
+		final byte[] bytes = content.isByteArray()
+			? content.byteArrayValue().getBytes()
+			: content.strValue().getBytes( writer.charset );
+		try {
+			synchronized( writer ) {
+				writer.stream.write( bytes );
+			}
+		} catch( IOException e ) {
+			fileWriters.remove( handle );
+			try {
+				writer.stream.close();
+			} catch( IOException e1 ) {
+			}
+			throw new FaultException( "IOException", e );
+		}
+	}
+
+	@RequestResponse
+	public void closeFileWriter( Value request )
+		throws FaultException {
+		final OpenWriter writer = fileWriters.remove( request.longValue() );
+		if( writer != null ) {
+			try {
+				synchronized( writer ) {
+					writer.stream.close();
+				}
+			} catch( IOException e ) {
+				// The last chunks may not have been written
+				throw new FaultException( "IOException", e );
+			}
+		}
+	}
+
+	/*
+	 * Readers and writers that the program leaves open are closed when the interpreter exits, so that
+	 * their file descriptors are released and the chunks still buffered by writers reach their files.
+	 */
+	private void closeStreamsOnExit() {
+		if( closesStreamsOnExit.compareAndSet( false, true ) ) {
+			interpreter().addExitHook( this::closeStreams );
+		}
+	}
+
+	private void closeStreams() {
+		for( long handle : lineReaders.keySet() ) {
+			closeLineReader( Value.create( handle ) );
+		}
+		for( long handle : fileWriters.keySet() ) {
+			try {
+				closeFileWriter( Value.create( handle ) );
+			} catch( FaultException e ) {
+				interpreter().logWarning( e );
+			}
+		}
+	}
+
 	@RequestResponse
 	public Boolean delete( Value request ) {
 		String filename = request.strValue();
@@ -33,10 +33,16 @@ import com.sun.management.UnixOperatingSystemMXBean;
 
 import jolie.ExecutionThread;
 import jolie.lang.Constants;
+import jolie.monitoring.MonitoringEventBuffer;
+import jolie.monitoring.MonitoringEventDispatcher;
+import jolie.net.ChannelPool;
 import jolie.net.CommListener;
 import jolie.net.LocalCommChannel;
+import jolie.net.MultiplexedChannelPool;
+import jolie.net.ports.Interface;
 import jolie.net.ports.OutputPort;
 import jolie.runtime.FaultException;
+import jolie.runtime.GlobalLock;
 import jolie.runtime.InvalidIdException;
 import jolie.runtime.JavaService;
 import jolie.runtime.Value;
@@ -56,7 +62,28 @@ public class RuntimeService extends JavaService {
 	}
 
 	@RequestResponse
-	public void setMonitor( final Value request ) {
+	public void setMonitor( final Value request )
+		throws FaultException {
+		final MonitoringEventBuffer.OverflowPolicy overflowPolicy;
+		if( request.hasChildren( "overflowPolicy" ) ) {
+			overflowPolicy =
+				MonitoringEventBuffer.OverflowPolicy.fromString( request.getFirstChild( "overflowPolicy" ).strValue() );
+			if( overflowPolicy == null ) {
+				throw new FaultException( "IllegalArgument",
+					"Unknown overflow policy: " + request.getFirstChild( "overflowPolicy" ).strValue() );
+			}
+		} else {
+			overflowPolicy = MonitoringEventBuffer.OverflowPolicy.DROP;
+		}
+
+		final int bufferSize = request.firstChildOrDefault( "bufferSize", Value::intValue,
+			MonitoringEventDispatcher.DEFAULT_BUFFER_SIZE );
+		if( bufferSize < 1 || bufferSize > MonitoringEventBuffer.MAXIMUM_CAPACITY ) {
+			throw new FaultException( "IllegalArgument",
+				"The buffer size must be between 1 and " + MonitoringEventBuffer.MAXIMUM_CAPACITY + ", was "
+					+ bufferSize );
+		}
+
 		final VariablePath locationPath = new VariablePathBuilder( true )
 			.add( Constants.MONITOR_OUTPUTPORT_NAME, 0 )
 			.add( Constants.LOCATION_NODE_NAME, 0 ).toVariablePath();
@@ -72,11 +99,18 @@ public class RuntimeService extends JavaService {
 			Constants.MONITOR_OUTPUTPORT_NAME,
 			locationPath,
 			protocolPath,
-			null,
+			Interface.UNDEFINED,
 			true );
 		port.optimizeLocation();
 
-		interpreter().setMonitor( port );
+		interpreter().setMonitor( new MonitoringEventDispatcher(
+			interpreter(),
+			port,
+			bufferSize,
+			request.firstChildOrDefault( "batchSize", Value::intValue, MonitoringEventDispatcher.DEFAULT_BATCH_SIZE ),
+			request.firstChildOrDefault( "flushInterval", Value::longValue,
+				MonitoringEventDispatcher.DEFAULT_FLUSH_INTERVAL ),
+			overflowPolicy ) );
 	}
 
 	@RequestResponse
@@ -306,9 +340,70 @@ public class RuntimeService extends JavaService {
 		stats_files( stats.getFirstChild( "files" ) );
 		stats_os( stats.getFirstChild( "os" ) );
 		stats_memory( stats.getFirstChild( "memory" ) );
+		stats_monitoring( stats );
+		stats_connectionPools( stats );
+		stats_multiplexedConnections( stats );
+		stats_locks( stats );
 		return stats;
 	}
 
+	private void stats_connectionPools( Value stats ) {
+		for( OutputPort port : interpreter().outputPorts() ) {
+			for( ChannelPool.Stats pool : port.channelPool().stats() ) {
+				final Value v = Value.create();
+				v.setFirstChild( "outputPort", port.id() );
+				v.setFirstChild( "location", pool.location().toString() );
+				v.setFirstChild( "protocol", pool.protocol() );
+				v.setFirstChild( "idle", pool.idle() );
+				v.setFirstChild( "inUse", pool.inUse() );
+				v.setFirstChild( "created", pool.created() );
+				v.setFirstChild( "reused", pool.reused() );
+				v.setFirstChild( "evicted", pool.evicted() );
+				v.setFirstChild( "waits", pool.waits() );
+				stats.getChildren( "connectionPools" ).add( v );
+			}
+		}
+	}
+
+	private void stats_multiplexedConnections( Value stats ) {
+		for( OutputPort port : interpreter().outputPorts() ) {
+			for( MultiplexedChannelPool.Stats pool : port.multiplexedChannelPool().stats() ) {
+				final Value v = Value.create();
+				v.setFirstChild( "outputPort", port.id() );
+				v.setFirstChild( "location", pool.location().toString() );
+				v.setFirstChild( "protocol", pool.protocol() );
+				v.setFirstChild( "connections", pool.connections() );
+				v.setFirstChild( "inFlight", pool.inFlight() );
+				v.setFirstChild( "maxInFlight", pool.maxInFlight() );
+				v.setFirstChild( "requests", pool.requests() );
+				stats.getChildren( "multiplexedConnections" ).add( v );
+			}
+		}
+	}
+
+	private void stats_locks( Value stats ) {
+		for( GlobalLock lock : interpreter().locks() ) {
+			final Value v = Value.create();
+			v.setFirstChild( "id", lock.id() );
+			v.setFirstChild( "exclusiveAcquisitions", lock.exclusiveAcquisitions() );
+			v.setFirstChild( "sharedAcquisitions", lock.sharedAcquisitions() );
+			v.setFirstChild( "contentions", lock.contentions() );
+			v.setFirstChild( "waitTime", lock.waitTime() );
+			stats.getChildren( "locks" ).add( v );
+		}
+	}
+
+	private void stats_monitoring( Value stats ) {
+		final MonitoringEventDispatcher monitor = interpreter().monitor();
+		if( monitor != null ) {
+			final Value monitoring = stats.getFirstChild( "monitoring" );
+			monitoring.setFirstChild( "bufferedEvents", monitor.buffer().size() );
+			monitoring.setFirstChild( "droppedEvents", monitor.buffer().droppedEvents() );
+			monitoring.setFirstChild( "sentEvents", monitor.sentEvents() );
+			monitoring.setFirstChild( "failedEvents", monitor.failedEvents() );
+		}
+	}
+
 	private void stats_os( Value stats ) {
 		OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
 		stats.setFirstChild( "arch", osBean.getArch() );
@@ -22,7 +22,9 @@
 package joliex.monitoring;
 
 import jolie.monitoring.MonitoringEvent;
+import jolie.monitoring.MonitoringEventDispatcher;
 import jolie.runtime.JavaService;
+import jolie.runtime.Value;
 
 /**
  * Abstract class for implementing a {@link JavaService} supporting monitoring.
@@ -31,4 +33,20 @@ import jolie.runtime.JavaService;
  */
 public abstract class AbstractMonitorJavaService extends JavaService {
 	public abstract void pushEvent( MonitoringEvent e );
+
+	/**
+	 * Receives a batch of events, as sent by {@link MonitoringEventDispatcher}. The default
+	 * implementation calls {@link #pushEvent(MonitoringEvent)} for each event in the batch.
+	 *
+	 * Only the methods declared by the concrete class are exposed as operations. Subclasses that do
+	 * not override this method receive each event through {@link #pushEvent(MonitoringEvent)}, since
+	 * the dispatcher falls back to it when the monitor does not provide {@code pushEvents}.
+	 *
+	 * @param request the batch, containing the events as {@code events} children
+	 */
+	public void pushEvents( Value request ) {
+		for( Value event : request.getChildren( MonitoringEventDispatcher.EVENTS_NODE_NAME ) ) {
+			pushEvent( MonitoringEvent.fromValue( event ) );
+		}
+	}
 }
@@ -25,6 +25,7 @@ import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedList;
 import jolie.monitoring.MonitoringEvent;
+import jolie.monitoring.MonitoringEventDispatcher;
 import jolie.net.CommMessage;
 import jolie.runtime.Value;
 
@@ -54,15 +55,28 @@ public class StandardMonitor extends AbstractMonitorJavaService {
 	public void pushEvent( MonitoringEvent e ) {
 
 		synchronized( this ) {
-			if( q.size() >= queueMax ) {
-				q.removeFirst();
+			enqueue( e );
+		}
+	}
+
+	@Override
+	public void pushEvents( Value request ) {
+		synchronized( this ) {
+			for( Value event : request.getChildren( MonitoringEventDispatcher.EVENTS_NODE_NAME ) ) {
+				enqueue( MonitoringEvent.fromValue( event ) );
 			}
-			q.addLast( e );
-			if( triggerEnabled && !alert ) {
-				if( q.size() >= triggerThreshold ) {
-					sendMessage( CommMessage.createRequest( "monitorAlert", "/", Value.create() ) );
-					alert = true;
-				}
+		}
+	}
+
+	private void enqueue( MonitoringEvent e ) {
+		if( q.size() >= queueMax ) {
+			q.removeFirst();
+		}
+		q.addLast( e );
+		if( triggerEnabled && !alert ) {
+			if( q.size() >= triggerThreshold ) {
+				sendMessage( CommMessage.createRequest( "monitorAlert", "/", Value.create() ) );
+				alert = true;
 			}
 		}
 	}
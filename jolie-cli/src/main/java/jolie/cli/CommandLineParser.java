@@ -90,6 +90,8 @@ public class CommandLineParser implements AutoCloseable {
 	private final Level logLevel;
 	private final String executionTarget;
 	private final Optional< Path > parametersFilepath;
+	private final boolean virtualThreads;
+	private final int spawnParallelism;
 	private File programDirectory = null;
 	private int cellId = 0;
 
@@ -148,6 +150,12 @@ public class CommandLineParser implements AutoCloseable {
 			.append(
 				getOptionString( "--correlationAlgorithm [simple|hash]",
 					"Set the algorithm to use for message correlation" ) )
+			.append(
+				getOptionString( "--virtualThreads",
+					"Run sessions and communication handlers on virtual threads, if supported by the Java runtime (default: false)" ) )
+			.append(
+				getOptionString( "--spawnParallelism [number]",
+					"Set the maximum number of iterations of a spawn statement that run at the same time (default: 8 per processor, at least 64)" ) )
 			.append(
 				getOptionString( "--log [severe|warning|info|fine]", "Set the logging level (default: info)" ) )
 			.append(
@@ -273,6 +281,8 @@ public class CommandLineParser implements AutoCloseable {
 		Deque< String > optionsList = new LinkedList<>();
 		boolean bTracer = false;
 		boolean bStackTraces = false;
+		boolean bVirtualThreads = false;
+		int sParallelism = 0;
 		boolean bCheck = false;
 		boolean bTypeCheck = false; // Default for typecheck
 		Level lLogLevel = Level.INFO;
@@ -374,6 +384,22 @@ public class CommandLineParser implements AutoCloseable {
 			} else if( "--stackTraces".equals( argsList.get( i ) ) ) {
 				optionsList.add( argsList.get( i ) );
 				bStackTraces = true;
+			} else if( "--virtualThreads".equals( argsList.get( i ) ) ) {
+				optionsList.add( argsList.get( i ) );
+				bVirtualThreads = true;
+			} else if( "--spawnParallelism".equals( argsList.get( i ) ) ) {
+				optionsList.add( argsList.get( i ) );
+				i++;
+				try {
+					sParallelism = Integer.parseInt( argsList.get( i ) );
+				} catch( Exception e ) {
+					sParallelism = 0;
+				}
+				if( sParallelism < 1 ) {
+					throw new CommandLineException(
+						"The number specified for spawnParallelism (" + argsList.get( i ) + ") is not allowed" );
+				}
+				optionsList.add( argsList.get( i ) );
 			} else if( "--check".equals( argsList.get( i ) ) ) {
 				optionsList.add( argsList.get( i ) );
 				bCheck = true;
@@ -517,6 +543,8 @@ public class CommandLineParser implements AutoCloseable {
 		tracerMode = tMode;
 		tracerLevel = tLevel;
 		printStackTraces = bStackTraces;
+		virtualThreads = bVirtualThreads;
+		spawnParallelism = sParallelism;
 		executionTarget = tService;
 		parametersFilepath = Optional.ofNullable( tParams );
 
@@ -830,7 +858,9 @@ public class CommandLineParser implements AutoCloseable {
 			programDirectory,
 			packagePaths,
 			executionTarget,
-			parametersFilepath );
+			parametersFilepath,
+			virtualThreads,
+			spawnParallelism );
 
 	}
 
@@ -30,6 +30,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import jolie.Interpreter.StarterThread;
 import jolie.lang.Constants;
@@ -167,6 +168,10 @@ public abstract class ExecutionThread extends JolieThread {
 	private boolean canBeInterrupted = false;
 	private FaultException killerFault = null;
 	private Future< ? > taskFuture;
+	private boolean runsOnVirtualThread = false;
+	private int loopIterations = 0;
+
+	private static final int VIRTUAL_THREAD_YIELD_INTERVAL = 256;
 
 	private void setTaskFuture( Future< ? > taskFuture ) {
 		this.taskFuture = taskFuture;
@@ -223,6 +228,16 @@ public abstract class ExecutionThread extends JolieThread {
 		}
 	}
 
+	/**
+	 * Signals that this thread completed an iteration of a loop. Virtual threads are not preempted, so
+	 * a thread running on one periodically yields its carrier to let the other threads make progress.
+	 */
+	public void onLoopIteration() {
+		if( runsOnVirtualThread && ++loopIterations % VIRTUAL_THREAD_YIELD_INTERVAL == 0 ) {
+			Thread.yield();
+		}
+	}
+
 	/**
 	 * Returns the fault which killed this thread, if any. null otherwise.
 	 * 
@@ -421,7 +436,7 @@ public abstract class ExecutionThread extends JolieThread {
 			return ((CommChannelHandler) currThread).executionThread();
 		}
 
-		return null;
+		return VirtualThreads.executionThread();
 	}
 
 	public static State getState() {
@@ -434,7 +449,8 @@ public abstract class ExecutionThread extends JolieThread {
 			return ((CommChannelHandler) t).executionThread().state();
 		}
 
-		return null;
+		final ExecutionThread ethread = VirtualThreads.executionThread();
+		return ethread == null ? null : ethread.state();
 	}
 
 	/**
@@ -473,9 +489,14 @@ public abstract class ExecutionThread extends JolieThread {
 
 	@Override
 	public final void run() {
-		JolieExecutorThread t = JolieExecutorThread.currentThread();
-		t.setExecutionThread( this );
-		t.setContextClassLoader( interpreter().getClassLoader() );
+		final JolieExecutorThread t = JolieExecutorThread.currentThread();
+		if( t == null ) { // We are running in a virtual thread
+			runsOnVirtualThread = true;
+			VirtualThreads.setExecutionThread( this );
+		} else {
+			t.setExecutionThread( this );
+		}
+		Thread.currentThread().setContextClassLoader( interpreter().getClassLoader() );
 		runProcess();
 	}
 
@@ -483,6 +504,16 @@ public abstract class ExecutionThread extends JolieThread {
 		setTaskFuture( interpreter().runJolieThread( this ) );
 	}
 
+	/**
+	 * Runs this thread in the current Java thread and waits for its termination, instead of starting a
+	 * new task for it as {@link #start()} does.
+	 */
+	public void runInCurrentThread() {
+		final FutureTask< Void > task = new FutureTask<>( this, null );
+		setTaskFuture( task );
+		task.run();
+	}
+
 	public void join()
 		throws InterruptedException {
 		try {
@@ -29,7 +29,6 @@ import java.io.PrintStream;
 import java.io.StringWriter;
 import java.lang.ref.Cleaner;
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -44,7 +43,7 @@ import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -72,6 +71,7 @@ import jolie.lang.parse.module.ModuleParsingConfiguration;
 import jolie.lang.parse.module.Modules;
 import jolie.lang.parse.module.SymbolTable;
 import jolie.monitoring.MonitoringEvent;
+import jolie.monitoring.MonitoringEventDispatcher;
 import jolie.monitoring.events.MonitorAttachedEvent;
 import jolie.monitoring.events.OperationStartedEvent;
 import jolie.monitoring.events.SessionEndedEvent;
@@ -85,6 +85,7 @@ import jolie.process.DefinitionProcess;
 import jolie.process.InputOperationProcess;
 import jolie.process.SequentialProcess;
 import jolie.runtime.FaultException;
+import jolie.runtime.GlobalLock;
 import jolie.runtime.InputOperation;
 import jolie.runtime.InvalidIdException;
 import jolie.runtime.OneWayOperation;
@@ -262,7 +263,7 @@ public class Interpreter {
 	private final Map< String, OutputPort > outputPorts = new HashMap<>();
 	private final Map< String, InputOperation > inputOperations = new HashMap<>();
 
-	private final HashMap< String, Object > locksMap = new HashMap<>();
+	private final Map< String, GlobalLock > locksMap = new ConcurrentHashMap<>();
 
 	private final String[] includePaths;
 
@@ -281,16 +282,41 @@ public class Interpreter {
 		Executors.newSingleThreadScheduledExecutor( new NativeJolieThreadFactory( this ) );
 
 	private final File programDirectory;
-	private OutputPort monitor = null;
+	private volatile MonitoringEventDispatcher monitor = null;
 
 	private final Cleaner cleaner = Cleaner.create();
+	private final List< Runnable > exitHooks = new CopyOnWriteArrayList<>();
 
 	public Cleaner cleaner() {
 		return cleaner;
 	}
 
+	/**
+	 * Registers a task to be run when this interpreter exits, once its sessions have terminated or the
+	 * termination timeout has expired. Java services can use it to release the resources they hold for
+	 * the program.
+	 *
+	 * @param hook the task to run
+	 */
+	public void addExitHook( Runnable hook ) {
+		exitHooks.add( hook );
+	}
+
 	public void setMonitor( OutputPort monitor ) {
-		this.monitor = monitor;
+		setMonitor( new MonitoringEventDispatcher( this, monitor ) );
+	}
+
+	/**
+	 * Sets the dispatcher used to deliver monitoring events, replacing the current one (if any).
+	 *
+	 * @param dispatcher the dispatcher delivering events to the monitor
+	 */
+	public void setMonitor( MonitoringEventDispatcher dispatcher ) {
+		final MonitoringEventDispatcher previous = this.monitor;
+		this.monitor = dispatcher;
+		if( previous != null ) {
+			previous.shutdown( awaitTerminationTimeout );
+		}
 		fireMonitorEvent( new MonitorAttachedEvent() );
 	}
 
@@ -298,6 +324,13 @@ public class Interpreter {
 		return monitor != null;
 	}
 
+	/**
+	 * Returns the dispatcher delivering monitoring events, or {@code null} if no monitor is set.
+	 */
+	public MonitoringEventDispatcher monitor() {
+		return monitor;
+	}
+
 	/*
 	 * public long inputMessageTimeout() { return inputMessageTimeout; }
 	 */
@@ -310,28 +343,15 @@ public class Interpreter {
 		return tracer;
 	}
 
+	/**
+	 * Schedules an event for asynchronous delivery to the monitor, if one is set.
+	 *
+	 * @param event the event to deliver
+	 */
 	public void fireMonitorEvent( MonitoringEvent event ) {
-		if( monitor != null ) {
-			CommMessage m = CommMessage.createRequest( "pushEvent", "/", MonitoringEvent.toValue( event ) );
-			CommChannel channel = null;
-			try {
-				channel = monitor.getCommChannel();
-				channel.send( m );
-				CommMessage response;
-				do {
-					response = channel.recvResponseFor( m ).get();
-				} while( response == null );
-			} catch( URISyntaxException | InterruptedException | ExecutionException | IOException e ) {
-				logWarning( e );
-			} finally {
-				if( channel != null ) {
-					try {
-						channel.release();
-					} catch( IOException e ) {
-						logWarning( e );
-					}
-				}
-			}
+		final MonitoringEventDispatcher dispatcher = monitor;
+		if( dispatcher != null ) {
+			dispatcher.fire( event );
 		}
 	}
 
@@ -573,6 +593,10 @@ public class Interpreter {
 		} finally {
 			exitingLock.unlock();
 		}
+		// The last events are delivered while the timeouts of their responses can still be scheduled
+		if( monitor != null ) {
+			monitor.shutdown( terminationTimeout );
+		}
 		final List< Runnable > pendingTimedTasks = scheduledExecutor.shutdownNow();
 		execute( () -> pendingTimedTasks.forEach( Runnable::run ) );
 		processExecutorService.shutdown();
@@ -586,6 +610,13 @@ public class Interpreter {
 			processExecutorService.awaitTermination( terminationTimeout, TimeUnit.MILLISECONDS );
 		} catch( InterruptedException e ) {
 		}
+		for( Runnable hook : exitHooks ) {
+			try {
+				hook.run();
+			} catch( RuntimeException e ) {
+				logSevere( e );
+			}
+		}
 		try {
 			scheduledExecutor.awaitTermination( terminationTimeout, TimeUnit.MILLISECONDS );
 		} catch( InterruptedException e ) {
@@ -763,7 +794,8 @@ public class Interpreter {
 			return ((InterpreterThread) t).interpreter();
 		}
 
-		return null;
+		final ExecutionThread ethread = VirtualThreads.executionThread();
+		return ethread == null ? null : ethread.interpreter();
 	}
 
 	/**
@@ -830,6 +862,8 @@ public class Interpreter {
 
 		LOGGER.setLevel( configuration.logLevel() );
 
+		this.processExecutorService = createProcessExecutorService();
+
 		exitingLock = new ReentrantLock();
 		exitingCondition = exitingLock.newCondition();
 
@@ -934,8 +968,18 @@ public class Interpreter {
 	 * @param id the global lock identifier
 	 * @return the global lock registered on this interpreter with the specified identifier
 	 */
-	public synchronized Object getLock( String id ) {
-		return locksMap.computeIfAbsent( id, k -> new Object() );
+	public GlobalLock getLock( String id ) {
+		final GlobalLock lock = locksMap.get( id );
+		return lock != null ? lock : locksMap.computeIfAbsent( id, GlobalLock::new );
+	}
+
+	/**
+	 * Returns the global locks registered on this interpreter.
+	 *
+	 * @return the global locks registered on this interpreter
+	 */
+	public Collection< GlobalLock > locks() {
+		return locksMap.values();
 	}
 
 	public SessionStarter getSessionStarter( String operationName ) {
@@ -1073,8 +1117,18 @@ public class Interpreter {
 
 	private final ExecutorService nativeExecutorService =
 		new JolieThreadPoolExecutor( new NativeJolieThreadFactory( this ) );
-	private final ExecutorService processExecutorService =
-		new JolieThreadPoolExecutor( new JolieExecutionThreadFactory( this ) );
+	private final ExecutorService processExecutorService;
+
+	private ExecutorService createProcessExecutorService() {
+		if( configuration.virtualThreads() ) {
+			final ExecutorService executor = VirtualThreads.newExecutor( programFilename() + "-VirtualThread-" );
+			if( executor != null ) {
+				return executor;
+			}
+			logWarning( "Virtual threads are not supported by this Java runtime, falling back to platform threads" );
+		}
+		return new JolieThreadPoolExecutor( new JolieExecutionThreadFactory( this ) );
+	}
 
 	/**
 	 * Runs an asynchronous task in this Interpreter internal thread pool.
@@ -1153,11 +1207,22 @@ public class Interpreter {
 		return commCore;
 	}
 
+	/*
+	 * Logs how long a startup phase took (logger level: fine) and returns the start of the next one.
+	 */
+	private long logPhaseTime( String phase, long phaseStart ) {
+		final long now = System.nanoTime();
+		logFine( phase + " took " + TimeUnit.NANOSECONDS.toMillis( now - phaseStart ) + " ms" );
+		return now;
+	}
+
 	private boolean buildOOIT( Value initValue )
 		throws InterpreterException {
 		try {
+			long phaseStart = System.nanoTime();
 			Program program;
-			if( configuration.isProgramCompiled() ) {
+			// Services embedded from a compiled program are given their program by the parent interpreter
+			if( configuration.isProgramCompiled() && this.internalServiceProgram == null ) {
 				try( final ObjectInputStream istream = new ObjectInputStream( configuration.inputStream() ) ) {
 					final Object o = istream.readObject();
 					if( o instanceof Program ) {
@@ -1188,6 +1253,7 @@ public class Interpreter {
 			}
 
 			configuration.inputStream().close();
+			phaseStart = logPhaseTime( "Parsing", phaseStart );
 
 			check = configuration.check();
 
@@ -1207,6 +1273,7 @@ public class Interpreter {
 				LOGGER.severe( e.getMessage() );
 				throw new InterpreterException( "Exiting" );
 			}
+			phaseStart = logPhaseTime( "Semantic verification", phaseStart );
 
 			if( configuration.typeCheck() ) {
 				TypeChecker typeChecker = new TypeChecker(
@@ -1216,18 +1283,21 @@ public class Interpreter {
 				if( !typeChecker.check() ) {
 					throw new InterpreterException( "Exiting" );
 				}
+				phaseStart = logPhaseTime( "Type checking", phaseStart );
 			}
 
 			if( check ) {
 				return false;
 			} else {
-				return (new OOITBuilder(
+				final boolean built = (new OOITBuilder(
 					this,
 					program,
 					semanticVerifier.constantFlags(),
 					semanticVerifier.correlationFunctionInfo(),
 					initValue ))
 						.build();
+				logPhaseTime( "Building the interpretation tree", phaseStart );
+				return built;
 			}
 
 		} catch( IOException | ParserException | ClassNotFoundException | ModuleException e ) {
@@ -1401,6 +1471,8 @@ public class Interpreter {
 		private final String[] packagePaths;
 		private final String executionTarget;
 		private final Optional< Path > parametersFilePath;
+		private final boolean virtualThreads;
+		private final int spawnParallelism;
 
 		private Configuration( int connectionsLimit,
 			int cellId,
@@ -1426,7 +1498,9 @@ public class Interpreter {
 			File programDirectory,
 			String[] packagePaths,
 			String executionTarget,
-			Optional< Path > parametersFilePath ) {
+			Optional< Path > parametersFilePath,
+			boolean virtualThreads,
+			int spawnParallelism ) {
 			this.connectionsLimit = connectionsLimit;
 			this.cellId = cellId;
 			this.correlationAlgorithm = correlationAlgorithm;
@@ -1452,6 +1526,8 @@ public class Interpreter {
 			this.packagePaths = packagePaths;
 			this.executionTarget = executionTarget;
 			this.parametersFilePath = parametersFilePath;
+			this.virtualThreads = virtualThreads;
+			this.spawnParallelism = spawnParallelism > 0 ? spawnParallelism : defaultSpawnParallelism();
 		}
 
 		public static Configuration create( int connectionsLimit,
@@ -1479,10 +1555,44 @@ public class Interpreter {
 			String[] packagePaths,
 			String executionTarget,
 			Optional< Path > parametersFilePath ) {
+			return create( connectionsLimit, cellId, correlationAlgorithm, includeList, optionArgs, libUrls,
+				inputStream, charset, programFilepath, arguments, constants, jolieClassLoader, programCompiled,
+				typeCheck, tracer, tracerLevel, tracerMode, check, printStackTraces, responseTimeout, logLevel,
+				programDirectory, packagePaths, executionTarget, parametersFilePath, false, 0 );
+		}
+
+		public static Configuration create( int connectionsLimit,
+			int cellId,
+			CorrelationEngine.Type correlationAlgorithm,
+			String[] includeList,
+			String[] optionArgs,
+			URL[] libUrls,
+			InputStream inputStream,
+			String charset,
+			File programFilepath,
+			String[] arguments,
+			Map< String, Scanner.Token > constants,
+			JolieClassLoader jolieClassLoader,
+			boolean programCompiled,
+			boolean typeCheck,
+			boolean tracer,
+			String tracerLevel,
+			String tracerMode,
+			boolean check,
+			boolean printStackTraces,
+			long responseTimeout,
+			Level logLevel,
+			File programDirectory,
+			String[] packagePaths,
+			String executionTarget,
+			Optional< Path > parametersFilePath,
+			boolean virtualThreads,
+			int spawnParallelism ) {
 			return new Configuration( connectionsLimit, cellId, correlationAlgorithm, includeList, optionArgs, libUrls,
 				inputStream, charset, programFilepath, arguments, constants, jolieClassLoader, programCompiled,
 				typeCheck, tracer, tracerLevel, tracerMode, check, printStackTraces, responseTimeout, logLevel,
-				programDirectory, packagePaths, executionTarget, parametersFilePath );
+				programDirectory, packagePaths, executionTarget, parametersFilePath, virtualThreads,
+				spawnParallelism );
 		}
 
 		public static Configuration create( Configuration config,
@@ -1493,7 +1603,8 @@ public class Interpreter {
 				config.libURLs, inputStream, config.charset, programFilepath, config.arguments, config.constants,
 				config.jolieClassLoader, config.isProgramCompiled, config.typeCheck, config.tracer, config.tracerLevel,
 				config.tracerMode, config.check, config.printStackTraces, config.responseTimeout, config.logLevel,
-				config.programDirectory, config.packagePaths, config.executionTarget, config.parametersFilePath );
+				config.programDirectory, config.packagePaths, config.executionTarget, config.parametersFilePath,
+				config.virtualThreads, config.spawnParallelism );
 		}
 
 		public static Configuration create( Configuration config,
@@ -1505,7 +1616,14 @@ public class Interpreter {
 				config.libURLs, inputStream, config.charset, programFilepath, config.arguments, config.constants,
 				config.jolieClassLoader, config.isProgramCompiled, config.typeCheck, config.tracer, config.tracerLevel,
 				config.tracerMode, config.check, config.printStackTraces, config.responseTimeout, config.logLevel,
-				config.programDirectory, config.packagePaths, executionTarget, config.parametersFilePath );
+				config.programDirectory, config.packagePaths, executionTarget, config.parametersFilePath,
+				config.virtualThreads, config.spawnParallelism );
+		}
+
+		private static int defaultSpawnParallelism() {
+			// The iterations of a spawn typically wait for communications, so we allow more of them than
+			// there are processors
+			return Math.max( 64, 8 * Runtime.getRuntime().availableProcessors() );
 		}
 
 		/**
@@ -1536,6 +1654,26 @@ public class Interpreter {
 			return this.correlationAlgorithm;
 		}
 
+		/**
+		 * Returns <code>true</code> if sessions and communication handlers should run on virtual threads,
+		 * as requested by command line with the --virtualThreads option.
+		 *
+		 * @return <code>true</code> if virtual threads should be used
+		 */
+		public boolean virtualThreads() {
+			return this.virtualThreads;
+		}
+
+		/**
+		 * Returns the maximum number of iterations of a spawn statement that are executed at the same time,
+		 * as passed by command line with the --spawnParallelism option.
+		 *
+		 * @return the maximum number of concurrent iterations of a spawn statement
+		 */
+		public int spawnParallelism() {
+			return this.spawnParallelism;
+		}
+
 		/**
 		 * Returns the include paths passed by command line with the -i option.
 		 *
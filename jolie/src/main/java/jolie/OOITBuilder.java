@@ -216,6 +216,7 @@ public class OOITBuilder implements UnitOLVisitor {
 		visit( mainService.program() );
 
 		resolveTypeLinks();
+		compileTypes();
 		checkForInit();
 		lazyVisits();
 		buildCorrelationSets();
@@ -264,6 +265,16 @@ public class OOITBuilder implements UnitOLVisitor {
 		}
 	}
 
+	/*
+	 * Compiles the validators of the types built so far, now that their links are resolved.
+	 */
+	private void compileTypes() {
+		if( valid ) {
+			builtTypes.forEach( Type::compile );
+		}
+		builtTypes.clear();
+	}
+
 	private void buildCorrelationSets() {
 		Interpreter.SessionStarter starter;
 		Collection< String > operations;
@@ -564,6 +575,7 @@ public class OOITBuilder implements UnitOLVisitor {
 	boolean insideType = false;
 
 	private final Map< TypeDefinition, Type > typeMap = new HashMap<>();
+	private final List< Type > builtTypes = new ArrayList<>();
 	private final Map< String, Map< String, OneWayTypeDescription > > notificationTypes =
 		new HashMap<>(); // Maps output ports to their OW operation types
 	private final Map< String, Map< String, RequestResponseTypeDescription > > solicitResponseTypes =
@@ -747,7 +759,7 @@ public class OOITBuilder implements UnitOLVisitor {
 	@Override
 	public void visit( SynchronizedStatement n ) {
 		n.body().accept( this );
-		currProcess = new SynchronizedProcess( n.id(), currProcess );
+		currProcess = new SynchronizedProcess( n.id(), n.shared(), currProcess );
 	}
 
 	@Override
@@ -1107,7 +1119,7 @@ public class OOITBuilder implements UnitOLVisitor {
 			node.accept( this );
 			children[ i++ ] = currExpression;
 		}
-		currExpression = new OrCondition( children );
+		currExpression = foldConstants( new OrCondition( children ), children );
 	}
 
 	@Override
@@ -1118,19 +1130,22 @@ public class OOITBuilder implements UnitOLVisitor {
 			node.accept( this );
 			children[ i++ ] = currExpression;
 		}
-		currExpression = new AndCondition( children );
+		currExpression = foldConstants( new AndCondition( children ), children );
 	}
 
 	@Override
 	public void visit( IfExpressionNode n ) {
-		currExpression = new IfExpression( buildExpression( n.guard() ), buildExpression( n.thenExpression() ),
-			buildExpression( n.elseExpression() ) );
+		final Expression guard = buildExpression( n.guard() );
+		final Expression thenExpression = buildExpression( n.thenExpression() );
+		final Expression elseExpression = buildExpression( n.elseExpression() );
+		currExpression = foldConstants( new IfExpression( guard, thenExpression, elseExpression ),
+			guard, thenExpression, elseExpression );
 	}
 
 	@Override
 	public void visit( NotExpressionNode n ) {
 		n.expression().accept( this );
-		currExpression = new NotExpression( currExpression );
+		currExpression = foldConstants( new NotExpression( currExpression ), currExpression );
 	}
 
 	@Override
@@ -1149,7 +1164,7 @@ public class OOITBuilder implements UnitOLVisitor {
 								: opType == Scanner.TokenType.MAJOR_OR_EQUAL ? CompareOperators.MAJOR_OR_EQUAL
 									: null;
 		Objects.requireNonNull( operator );
-		currExpression = new CompareCondition( left, currExpression, operator );
+		currExpression = foldConstants( new CompareCondition( left, currExpression, operator ), left, currExpression );
 	}
 
 	@Override
@@ -1191,7 +1206,8 @@ public class OOITBuilder implements UnitOLVisitor {
 			operands[ i++ ] = new Operand( pair.key(), currExpression );
 		}
 
-		currExpression = new ProductExpression( operands );
+		currExpression = foldConstants( new ProductExpression( operands ),
+			Arrays.stream( operands ).map( Operand::expression ).toArray( Expression[]::new ) );
 	}
 
 	@Override
@@ -1203,7 +1219,8 @@ public class OOITBuilder implements UnitOLVisitor {
 			operands[ i++ ] = new Operand( pair.key(), currExpression );
 		}
 
-		currExpression = new SumExpression( operands );
+		currExpression = foldConstants( new SumExpression( operands ),
+			Arrays.stream( operands ).map( Operand::expression ).toArray( Expression[]::new ) );
 	}
 
 	@Override
@@ -1326,6 +1343,7 @@ public class OOITBuilder implements UnitOLVisitor {
 	@Override
 	public void visit( TypeCastExpressionNode n ) {
 		n.expression().accept( this );
+		final Expression expression = currExpression;
 		switch( n.type() ) {
 		case INT:
 			currExpression = new CastIntExpression( currExpression );
@@ -1345,6 +1363,24 @@ public class OOITBuilder implements UnitOLVisitor {
 		default:
 			error( n.context(), "unsupported type for cast: " + n.type().toString() );
 		}
+		currExpression = foldConstants( currExpression, expression );
+	}
+
+	/*
+	 * Evaluates an expression whose operands are all constants once, at build time, turning it into a
+	 * constant. Expressions that fail are left to fail at runtime.
+	 */
+	private static Expression foldConstants( Expression expression, Expression... operands ) {
+		for( Expression operand : operands ) {
+			if( !(operand instanceof Value) || ((Value) operand).isLink() ) {
+				return expression;
+			}
+		}
+		try {
+			return expression.evaluate();
+		} catch( RuntimeException e ) {
+			return expression;
+		}
 	}
 
 	@Override
@@ -1416,6 +1452,9 @@ public class OOITBuilder implements UnitOLVisitor {
 			return null;
 		}
 		n.accept( this );
+		if( !insideType && currType != null ) {
+			builtTypes.add( currType );
+		}
 		return currType;
 	}
 
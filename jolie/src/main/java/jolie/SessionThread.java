@@ -30,6 +30,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import jolie.lang.Constants;
 import jolie.net.SessionMessage;
 import jolie.process.Process;
@@ -58,6 +59,9 @@ public class SessionThread extends ExecutionThread {
 	protected final Map< CorrelationSet, Deque< SessionMessage > > messageQueues = new HashMap<>();
 	protected final Deque< SessionMessage > uncorrelatedMessageQueue = new ArrayDeque<>();
 	private final Map< String, Set< CompletableFuture< SessionMessage > > > messageWaiters = new HashMap<>();
+	// Guards the message queues and waiters. A lock instead of a monitor, so that contention does not
+	// pin the carrier of a virtual thread.
+	private final ReentrantLock messageLock = new ReentrantLock();
 
 	private final static VariablePath TYPE_MISMATCH_PATH;
 	private final static VariablePath IO_EXCEPTION_PATH;
@@ -169,7 +173,17 @@ public class SessionThread extends ExecutionThread {
 	}
 
 	@Override
-	public synchronized Future< SessionMessage > requestMessage( Map< String, InputOperation > operations,
+	public Future< SessionMessage > requestMessage( Map< String, InputOperation > operations,
+		ExecutionThread ethread ) {
+		messageLock.lock();
+		try {
+			return requestMessageImpl( operations, ethread );
+		} finally {
+			messageLock.unlock();
+		}
+	}
+
+	private Future< SessionMessage > requestMessageImpl( Map< String, InputOperation > operations,
 		ExecutionThread ethread ) {
 		final var messageFuture = new CompletableFuture< SessionMessage >();
 		ethread.cancelIfKilled( messageFuture );
@@ -196,7 +210,16 @@ public class SessionThread extends ExecutionThread {
 	}
 
 	@Override
-	public synchronized Future< SessionMessage > requestMessage( InputOperation operation, ExecutionThread ethread ) {
+	public Future< SessionMessage > requestMessage( InputOperation operation, ExecutionThread ethread ) {
+		messageLock.lock();
+		try {
+			return requestMessageImpl( operation, ethread );
+		} finally {
+			messageLock.unlock();
+		}
+	}
+
+	private Future< SessionMessage > requestMessageImpl( InputOperation operation, ExecutionThread ethread ) {
 		final var messageFuture = new CompletableFuture< SessionMessage >();
 		ethread.cancelIfKilled( messageFuture );
 		if( messageFuture.isCancelled() ) {
@@ -261,13 +284,18 @@ public class SessionThread extends ExecutionThread {
 		messageWaiters.values().forEach( waiterSet -> waiterSet.remove( waiter ) );
 	}
 
-	public synchronized void pushMessage( SessionMessage message ) {
-		final var queue = getQueueForOperation( message.message().operationName() );
-		final var future = getMessageWaiter( message.message().operationName() );
-		if( future != null && queue.isEmpty() ) {
-			completeWaiter( future, message );
-		} else {
-			queue.addLast( message );
+	public void pushMessage( SessionMessage message ) {
+		messageLock.lock();
+		try {
+			final var queue = getQueueForOperation( message.message().operationName() );
+			final var future = getMessageWaiter( message.message().operationName() );
+			if( future != null && queue.isEmpty() ) {
+				completeWaiter( future, message );
+			} else {
+				queue.addLast( message );
+			}
+		} finally {
+			messageLock.unlock();
 		}
 	}
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Support for running Jolie threads on virtual threads, when the Java runtime provides them.
+ *
+ * Virtual threads cannot be subclassed, so they cannot be {@link JolieExecutorThread}s or
+ * {@link jolie.net.CommChannelHandler}s. The {@link ExecutionThread} a virtual thread refers to is
+ * kept in a thread local variable instead.
+ *
+ * The virtual thread API is accessed reflectively, since the interpreter is compiled for Java
+ * releases that do not have it.
+ */
+public final class VirtualThreads {
+	private static final ThreadLocal< ExecutionThread > EXECUTION_THREAD = new ThreadLocal<>();
+	private static final MethodHandle OF_VIRTUAL;
+	private static final MethodHandle NAME;
+	private static final MethodHandle FACTORY;
+	private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+
+	static {
+		MethodHandle ofVirtual = null, name = null, factory = null, newExecutor = null;
+		try {
+			final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			final Class< ? > builderClass = Class.forName( "java.lang.Thread$Builder" );
+			final Class< ? > ofVirtualClass = Class.forName( "java.lang.Thread$Builder$OfVirtual" );
+			ofVirtual = lookup.findStatic( Thread.class, "ofVirtual", MethodType.methodType( ofVirtualClass ) );
+			name = lookup.findVirtual( ofVirtualClass, "name",
+				MethodType.methodType( ofVirtualClass, String.class, long.class ) );
+			factory = lookup.findVirtual( builderClass, "factory", MethodType.methodType( ThreadFactory.class ) );
+			newExecutor = lookup.findStatic( Executors.class, "newThreadPerTaskExecutor",
+				MethodType.methodType( ExecutorService.class, ThreadFactory.class ) );
+			// Fails if virtual threads are a preview feature that has not been enabled
+			ofVirtual.invoke();
+		} catch( Throwable t ) {
+			ofVirtual = null;
+		}
+		OF_VIRTUAL = ofVirtual;
+		NAME = name;
+		FACTORY = factory;
+		NEW_THREAD_PER_TASK_EXECUTOR = newExecutor;
+	}
+
+	private VirtualThreads() {}
+
+	/**
+	 * Returns <code>true</code> if the Java runtime supports virtual threads.
+	 */
+	public static boolean isSupported() {
+		return OF_VIRTUAL != null;
+	}
+
+	/**
+	 * Creates an executor that runs each task in a new virtual thread.
+	 *
+	 * @param namePrefix the prefix of the names of the created threads
+	 * @return the executor, or <code>null</code> if virtual threads are not supported
+	 */
+	public static ExecutorService newExecutor( String namePrefix ) {
+		if( !isSupported() ) {
+			return null;
+		}
+
+		try {
+			final Object builder = NAME.invoke( OF_VIRTUAL.invoke(), namePrefix, 0L );
+			final ThreadFactory factory = (ThreadFactory) FACTORY.invoke( builder );
+			return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke( factory );
+		} catch( Throwable t ) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the <code>ExecutionThread</code> the current virtual thread refers to, or
+	 * <code>null</code> if it has not been set.
+	 */
+	public static ExecutionThread executionThread() {
+		return EXECUTION_THREAD.get();
+	}
+
+	/**
+	 * Sets the <code>ExecutionThread</code> the current thread must refer to for variable state
+	 * resolution.
+	 *
+	 * @param thread the <code>ExecutionThread</code> the current thread must refer to
+	 */
+	public static void setExecutionThread( ExecutionThread thread ) {
+		EXECUTION_THREAD.set( thread );
+	}
+}
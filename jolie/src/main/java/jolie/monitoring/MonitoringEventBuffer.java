@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.monitoring;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded, lock-free buffer of {@link MonitoringEvent}s. Any number of threads can offer events,
+ * while a single consumer drains them.
+ */
+public class MonitoringEventBuffer {
+	/**
+	 * What to do when an event is offered to a full buffer.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * Discard the offered event.
+		 */
+		DROP,
+		/**
+		 * Wait until the consumer frees some space.
+		 */
+		BLOCK;
+
+		public static OverflowPolicy fromString( String name ) {
+			switch( name ) {
+			case "drop":
+				return DROP;
+			case "block":
+				return BLOCK;
+			default:
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * The largest capacity a buffer can have.
+	 */
+	public static final int MAXIMUM_CAPACITY = 1 << 30;
+
+	private static final long BLOCK_PARK_NANOS = 100_000L;
+
+	private final AtomicReferenceArray< MonitoringEvent > slots;
+	private final int mask;
+	private final OverflowPolicy overflowPolicy;
+	private final AtomicLong tail = new AtomicLong(); // Next slot to be claimed by a producer
+	private final AtomicLong head = new AtomicLong(); // Next slot to be read by the consumer
+	private final AtomicLong droppedEvents = new AtomicLong();
+
+	/**
+	 * @param capacity the maximum number of buffered events, rounded up to a power of two
+	 * @param overflowPolicy the policy to apply when the buffer is full
+	 * @throws IllegalArgumentException if the capacity is not between 1 and {@link #MAXIMUM_CAPACITY}
+	 */
+	public MonitoringEventBuffer( int capacity, OverflowPolicy overflowPolicy ) {
+		if( capacity < 1 || capacity > MAXIMUM_CAPACITY ) {
+			throw new IllegalArgumentException(
+				"The capacity must be between 1 and " + MAXIMUM_CAPACITY + ", was " + capacity );
+		}
+		final int size = Integer.highestOneBit( Math.max( 2, capacity - 1 ) ) << 1;
+		this.slots = new AtomicReferenceArray<>( size );
+		this.mask = size - 1;
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Offers an event to this buffer, applying the overflow policy if the buffer is full.
+	 *
+	 * @param event the event to buffer
+	 * @return {@code true} if the event was buffered, {@code false} if it was dropped
+	 */
+	public boolean offer( MonitoringEvent event ) {
+		return offer( event, overflowPolicy );
+	}
+
+	/**
+	 * Offers an event to this buffer, applying the given overflow policy instead of the one of this
+	 * buffer if the buffer is full.
+	 *
+	 * @param event the event to buffer
+	 * @param overflowPolicy the policy to apply if the buffer is full
+	 * @return {@code true} if the event was buffered, {@code false} if it was dropped
+	 */
+	public boolean offer( MonitoringEvent event, OverflowPolicy overflowPolicy ) {
+		while( true ) {
+			final long t = tail.get();
+			if( t - head.get() >= slots.length() ) {
+				if( overflowPolicy == OverflowPolicy.DROP ) {
+					droppedEvents.incrementAndGet();
+					return false;
+				}
+				LockSupport.parkNanos( BLOCK_PARK_NANOS );
+				if( Thread.currentThread().isInterrupted() ) {
+					droppedEvents.incrementAndGet();
+					return false;
+				}
+			} else if( tail.compareAndSet( t, t + 1 ) ) {
+				slots.lazySet( (int) (t & mask), event );
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Moves up to {@code maxEvents} buffered events to {@code target}, in the order in which they were
+	 * offered. Must be called by a single consumer thread.
+	 *
+	 * @param target the list to which the events are added
+	 * @param maxEvents the maximum number of events to move
+	 * @return the number of moved events
+	 */
+	public int drainTo( List< MonitoringEvent > target, int maxEvents ) {
+		long h = head.get();
+		int count = 0;
+		while( count < maxEvents ) {
+			final int index = (int) (h & mask);
+			final MonitoringEvent event = slots.get( index );
+			if( event == null ) { // Empty, or the producer has not published the event yet
+				break;
+			}
+			slots.lazySet( index, null );
+			target.add( event );
+			h++;
+			count++;
+		}
+		head.lazySet( h );
+		return count;
+	}
+
+	/**
+	 * Returns the number of events currently buffered.
+	 */
+	public int size() {
+		return (int) Math.max( 0L, tail.get() - head.get() );
+	}
+
+	public int capacity() {
+		return slots.length();
+	}
+
+	public OverflowPolicy overflowPolicy() {
+		return overflowPolicy;
+	}
+
+	/**
+	 * Returns the number of events that were dropped because the buffer was full.
+	 */
+	public long droppedEvents() {
+		return droppedEvents.get();
+	}
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.monitoring;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import jolie.ExecutionThread;
+import jolie.Interpreter;
+import jolie.SessionThread;
+import jolie.lang.Constants;
+import jolie.net.CommChannel;
+import jolie.net.CommChannelHandler;
+import jolie.net.CommMessage;
+import jolie.net.ports.OutputPort;
+import jolie.process.NullProcess;
+import jolie.runtime.InvalidIdException;
+import jolie.runtime.Value;
+import jolie.runtime.ValueVector;
+
+/**
+ * Delivers {@link MonitoringEvent}s to a monitor asynchronously. Events are buffered in a
+ * {@link MonitoringEventBuffer} by the threads that fire them, and a background thread ships them
+ * to the monitor in batches through its {@code pushEvents} operation.
+ *
+ * Monitors written before batching only provide the {@code pushEvent} operation. If the monitor
+ * rejects {@code pushEvents} as an invalid operation, the dispatcher sends it each event through
+ * {@code pushEvent} from then on.
+ */
+public class MonitoringEventDispatcher {
+	public static final String PUSH_EVENT_OPERATION_NAME = "pushEvent";
+	public static final String PUSH_EVENTS_OPERATION_NAME = "pushEvents";
+	public static final String EVENTS_NODE_NAME = "events";
+
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+	public static final int DEFAULT_BATCH_SIZE = 256;
+	public static final long DEFAULT_FLUSH_INTERVAL = 100L; // Milliseconds
+
+	private final Interpreter interpreter;
+	private final OutputPort monitor;
+	private final MonitoringEventBuffer buffer;
+	private final int batchSize;
+	private final long flushIntervalNanos;
+	private final AtomicLong sentEvents = new AtomicLong();
+	private final AtomicLong failedEvents = new AtomicLong();
+	private final Thread drainer;
+	private final ExecutionThread drainerExecutionThread;
+	private volatile boolean running = true;
+	// Only accessed by the drainer
+	private boolean batching = true;
+
+	public MonitoringEventDispatcher( Interpreter interpreter, OutputPort monitor ) {
+		this( interpreter, monitor, DEFAULT_BUFFER_SIZE, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL,
+			MonitoringEventBuffer.OverflowPolicy.DROP );
+	}
+
+	/**
+	 * @param interpreter the interpreter firing the events
+	 * @param monitor the output port of the monitor
+	 * @param bufferSize the maximum number of events waiting to be delivered
+	 * @param batchSize the maximum number of events sent in a single message
+	 * @param flushInterval the maximum time, in milliseconds, an event waits before being delivered
+	 * @param overflowPolicy what to do with events fired while the buffer is full
+	 */
+	public MonitoringEventDispatcher( Interpreter interpreter, OutputPort monitor, int bufferSize, int batchSize,
+		long flushInterval, MonitoringEventBuffer.OverflowPolicy overflowPolicy ) {
+		this.interpreter = interpreter;
+		this.monitor = monitor;
+		this.buffer = new MonitoringEventBuffer( bufferSize, overflowPolicy );
+		this.batchSize = Math.max( 1, batchSize );
+		this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos( Math.max( 1L, flushInterval ) );
+		/*
+		 * Sending through an output port requires an execution context, so the drainer acts as a
+		 * communication handler with a context of its own, sharing the state of the init thread. The
+		 * threads receiving the responses of the monitor inherit this context, which is how fire recognises
+		 * the events raised while delivering to the monitor.
+		 */
+		final SessionThread initThread = interpreter.initThread();
+		this.drainerExecutionThread =
+			new SessionThread( NullProcess.getInstance(), initThread.state(), initThread );
+		final CommChannelHandler handler = new CommChannelHandler( this::drain );
+		handler.setExecutionThread( drainerExecutionThread );
+		handler.setName( interpreter.programFilename() + "-monitor" );
+		handler.setDaemon( true );
+		this.drainer = handler;
+		this.drainer.start();
+	}
+
+	/**
+	 * Schedules an event for delivery to the monitor. This method does not block, unless the buffer is
+	 * full and the overflow policy is {@link MonitoringEventBuffer.OverflowPolicy#BLOCK}. Events fired
+	 * while delivering to the monitor, e.g., by the protocol of its output port, are dropped instead:
+	 * waiting for the drainer from the drainer itself, or from a thread it is waiting for, would never
+	 * end.
+	 *
+	 * @param event the event to deliver
+	 */
+	public void fire( MonitoringEvent event ) {
+		final MonitoringEventBuffer.OverflowPolicy overflowPolicy =
+			ExecutionThread.currentThread() == drainerExecutionThread
+				? MonitoringEventBuffer.OverflowPolicy.DROP
+				: buffer.overflowPolicy();
+		if( buffer.offer( event, overflowPolicy ) && buffer.size() >= batchSize ) {
+			LockSupport.unpark( drainer );
+		}
+	}
+
+	/**
+	 * Stops the background delivery, trying to deliver the events that are still buffered within the
+	 * given timeout.
+	 *
+	 * @param timeout the maximum time to wait, in milliseconds
+	 */
+	public void shutdown( long timeout ) {
+		running = false;
+		LockSupport.unpark( drainer );
+		try {
+			drainer.join( timeout );
+		} catch( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public OutputPort monitor() {
+		return monitor;
+	}
+
+	public MonitoringEventBuffer buffer() {
+		return buffer;
+	}
+
+	/**
+	 * Returns the number of events successfully delivered to the monitor.
+	 */
+	public long sentEvents() {
+		return sentEvents.get();
+	}
+
+	/**
+	 * Returns the number of events that could not be delivered because of communication errors.
+	 */
+	public long failedEvents() {
+		return failedEvents.get();
+	}
+
+	private void drain() {
+		final List< MonitoringEvent > batch = new ArrayList<>( batchSize );
+		while( running && !Thread.currentThread().isInterrupted() ) {
+			if( buffer.drainTo( batch, batchSize ) == 0 ) {
+				LockSupport.parkNanos( this, flushIntervalNanos );
+			} else {
+				send( batch );
+				batch.clear();
+			}
+		}
+
+		while( buffer.drainTo( batch, batchSize ) > 0 ) {
+			send( batch );
+			batch.clear();
+		}
+	}
+
+	private void send( List< MonitoringEvent > batch ) {
+		int delivered = 0;
+		try {
+			if( batching ) {
+				final Value request = Value.create();
+				final ValueVector events = request.getChildren( EVENTS_NODE_NAME );
+				batch.forEach( event -> events.add( MonitoringEvent.toValue( event ) ) );
+				try {
+					if( !isInvalidOperation( call( PUSH_EVENTS_OPERATION_NAME, request ) ) ) {
+						sentEvents.addAndGet( batch.size() );
+						return;
+					}
+				} catch( ExecutionException e ) {
+					if( !isInvalidOperation( e ) ) {
+						throw e;
+					}
+				}
+				batching = false;
+			}
+			for( MonitoringEvent event : batch ) {
+				call( PUSH_EVENT_OPERATION_NAME, MonitoringEvent.toValue( event ) );
+				delivered++;
+				sentEvents.incrementAndGet();
+			}
+		} catch( URISyntaxException | ExecutionException | IOException e ) {
+			failedEvents.addAndGet( batch.size() - delivered );
+			interpreter.logWarning( e );
+		} catch( InterruptedException e ) {
+			failedEvents.addAndGet( batch.size() - delivered );
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Sends a request to the monitor and waits for its response.
+	 */
+	private CommMessage call( String operationName, Value request )
+		throws URISyntaxException, IOException, ExecutionException, InterruptedException {
+		final CommMessage message = CommMessage.createRequest( operationName, "/", request );
+		CommChannel channel = null;
+		try {
+			channel = monitor.getCommChannel();
+			channel.send( message );
+			CommMessage response;
+			do {
+				response = channel.recvResponseFor( message ).get();
+			} while( response == null );
+			return response;
+		} finally {
+			if( channel != null ) {
+				try {
+					channel.release();
+				} catch( IOException e ) {
+					interpreter.logWarning( e );
+				}
+			}
+		}
+	}
+
+	/*
+	 * Jolie services reply to an undefined operation with an IOException fault, while Java services
+	 * embedded in the same interpreter fail the response with an InvalidIdException.
+	 */
+	private static boolean isInvalidOperation( CommMessage response ) {
+		return response.isFault()
+			&& Constants.IO_EXCEPTION_FAULT_NAME.equals( response.fault().faultName() )
+			&& response.fault().value().strValue().startsWith( "Invalid operation" );
+	}
+
+	private static boolean isInvalidOperation( ExecutionException e ) {
+		for( Throwable t = e.getCause(); t != null; t = t.getCause() ) {
+			if( t instanceof InvalidIdException ) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -169,7 +169,7 @@ public abstract class AbstractCommChannel extends CommChannel {
 			 * Warning: the following line implies that this whole thing is safe iff the CommChannel is used
 			 * only for outputs, otherwise we are messing with correlation set checking.
 			 */
-			CommChannelHandler.currentThread().setExecutionThread( ethread ); // TODO: this is hacky..
+			CommChannelHandler.setCurrentExecutionThread( ethread ); // TODO: this is hacky..
 
 			CommMessage response;
 			while( keepRun ) {
@@ -201,6 +201,14 @@ public abstract class AbstractCommChannel extends CommChannel {
 						parent.responseReceiver = null;
 						timeoutHandler.cancel( false );
 					}
+					if( parent.isMultiplexed() ) {
+						// The responses to the other requests in flight are lost, the connection must be replaced
+						try {
+							parent.close();
+						} catch( IOException ex ) {
+							ethread.interpreter().logWarning( ex );
+						}
+					}
 					// TODO: close the channel?
 				}
 			}
@@ -0,0 +1,373 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import jolie.Interpreter;
+import jolie.util.ExceptionalCallable;
+import jolie.util.Helpers;
+
+/**
+ * The persistent channels of an output port, pooled by location and protocol.
+ *
+ * Idle channels are reused starting from the most recently released one, after checking that they
+ * are still open. When there are more idle channels than allowed, the least recently used ones are
+ * closed, as are idle channels that have not been used for the idle timeout of the pool. The number
+ * of channels towards a location can be limited, in which case requests wait for a channel to be
+ * released when the limit is reached.
+ *
+ * Looking up and reusing channels does not require locking, except for waiting on an exhausted
+ * pool.
+ */
+public class ChannelPool {
+	/**
+	 * The configuration of the pool towards a location.
+	 */
+	public static class Configuration {
+		private final int minIdle;
+		private final int maxIdle;
+		private final int maxTotal;
+		private final long idleTimeout;
+		private final long maxWait;
+
+		/**
+		 * @param minIdle the number of idle channels that are not closed by the idle timeout
+		 * @param maxIdle the maximum number of idle channels
+		 * @param maxTotal the maximum number of channels, or 0 for no limit
+		 * @param idleTimeout the time in milliseconds after which an idle channel is closed
+		 * @param maxWait the maximum time in milliseconds to wait for a channel if the pool is exhausted
+		 */
+		public Configuration( int minIdle, int maxIdle, int maxTotal, long idleTimeout, long maxWait ) {
+			this.minIdle = Math.max( minIdle, 0 );
+			this.maxIdle = Math.max( maxIdle, this.minIdle );
+			this.maxTotal = Math.max( maxTotal, 0 );
+			this.idleTimeout = idleTimeout;
+			this.maxWait = maxWait;
+		}
+	}
+
+	/**
+	 * Statistics on the pooled channels towards a location.
+	 */
+	public interface Stats {
+		URI location();
+
+		String protocol();
+
+		/**
+		 * Returns the number of idle channels.
+		 */
+		int idle();
+
+		/**
+		 * Returns the number of channels currently in use.
+		 */
+		int inUse();
+
+		/**
+		 * Returns the number of channels opened by the pool.
+		 */
+		long created();
+
+		/**
+		 * Returns the number of times an idle channel has been reused.
+		 */
+		long reused();
+
+		/**
+		 * Returns the number of idle channels closed by the pool.
+		 */
+		long evicted();
+
+		/**
+		 * Returns the number of times a request had to wait because the pool was exhausted.
+		 */
+		long waits();
+	}
+
+	private static class Destination implements Stats {
+		private final URI location;
+		private final String protocol;
+		private volatile Configuration configuration;
+		// Most recently released channels first
+		private final Deque< CommChannel > idleChannels = new ConcurrentLinkedDeque<>();
+		private final AtomicInteger idle = new AtomicInteger();
+		private final AtomicInteger total = new AtomicInteger();
+		private final AtomicLong created = new AtomicLong();
+		private final AtomicLong reused = new AtomicLong();
+		private final AtomicLong evicted = new AtomicLong();
+		private final AtomicLong waits = new AtomicLong();
+		private final AtomicInteger waiting = new AtomicInteger();
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition available = lock.newCondition();
+
+		private Destination( URI location, String protocol, Configuration configuration ) {
+			this.location = location;
+			this.protocol = protocol;
+			this.configuration = configuration;
+		}
+
+		private void signal() {
+			if( waiting.get() > 0 ) {
+				lock.lock();
+				try {
+					available.signal();
+				} finally {
+					lock.unlock();
+				}
+			}
+		}
+
+		private void discard( CommChannel channel ) {
+			total.decrementAndGet();
+			signal();
+			closeQuietly( channel );
+		}
+
+		@Override
+		public URI location() {
+			return location;
+		}
+
+		@Override
+		public String protocol() {
+			return protocol;
+		}
+
+		@Override
+		public int idle() {
+			return idle.get();
+		}
+
+		@Override
+		public int inUse() {
+			return Math.max( total.get() - idle.get(), 0 );
+		}
+
+		@Override
+		public long created() {
+			return created.get();
+		}
+
+		@Override
+		public long reused() {
+			return reused.get();
+		}
+
+		@Override
+		public long evicted() {
+			return evicted.get();
+		}
+
+		@Override
+		public long waits() {
+			return waits.get();
+		}
+	}
+
+	private final Interpreter interpreter;
+	// Location URI and protocol name -> Pooled channels
+	private final Map< String, Destination > destinations = new ConcurrentHashMap<>();
+	// Channels in use -> Their destination
+	private final Map< CommChannel, Destination > leases = new ConcurrentHashMap<>();
+
+	public ChannelPool( Interpreter interpreter ) {
+		this.interpreter = interpreter;
+	}
+
+	private Destination destination( URI location, String protocol, Configuration configuration ) {
+		return destinations.computeIfAbsent( protocol + ':' + location,
+			k -> new Destination( location, protocol, configuration ) );
+	}
+
+	/**
+	 * Returns a channel towards the given location, reusing an idle one if possible.
+	 *
+	 * @param location the location to connect to
+	 * @param protocol the name of the protocol to use
+	 * @param configuration the configuration of the pool towards the location
+	 * @param factory creates a new channel towards the location
+	 * @return a channel towards the location
+	 * @throws IOException if a new channel could not be created, or if the pool is exhausted and no
+	 *         channel has been released in time
+	 */
+	public CommChannel getChannel( URI location, String protocol, Configuration configuration,
+		ExceptionalCallable< CommChannel, IOException > factory )
+		throws IOException {
+		final Destination destination = destination( location, protocol, configuration );
+		destination.configuration = configuration;
+		final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( configuration.maxWait );
+		boolean waited = false;
+		while( true ) {
+			CommChannel channel;
+			while( (channel = destination.idleChannels.pollFirst()) != null ) {
+				destination.idle.decrementAndGet();
+				if( isReusable( channel ) ) {
+					destination.reused.incrementAndGet();
+					leases.put( channel, destination );
+					return channel;
+				}
+				destination.discard( channel );
+			}
+
+			final int total = destination.total.get();
+			if( configuration.maxTotal == 0 || total < configuration.maxTotal ) {
+				if( destination.total.compareAndSet( total, total + 1 ) ) {
+					try {
+						channel = factory.call();
+					} catch( IOException | RuntimeException e ) {
+						destination.total.decrementAndGet();
+						destination.signal();
+						throw e;
+					}
+					destination.created.incrementAndGet();
+					leases.put( channel, destination );
+					return channel;
+				}
+			} else {
+				if( !waited ) {
+					destination.waits.incrementAndGet();
+					waited = true;
+				}
+				awaitChannel( destination, deadline );
+			}
+		}
+	}
+
+	private static void awaitChannel( Destination destination, long deadline )
+		throws IOException {
+		destination.lock.lock();
+		destination.waiting.incrementAndGet();
+		try {
+			while( destination.idleChannels.isEmpty()
+				&& destination.total.get() >= destination.configuration.maxTotal ) {
+				final long remaining = deadline - System.nanoTime();
+				if( remaining <= 0 ) {
+					throw new IOException( "No channel available towards " + destination.location
+						+ ": the pool reached its maximum size of " + destination.configuration.maxTotal );
+				}
+				destination.available.awaitNanos( remaining );
+			}
+		} catch( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new IOException( e );
+		} finally {
+			destination.waiting.decrementAndGet();
+			destination.lock.unlock();
+		}
+	}
+
+	/*
+	 * Health check of an idle channel, which also cancels its idle timeout.
+	 */
+	private static boolean isReusable( CommChannel channel ) {
+		return Helpers.tryLockOrElse( channel.rwLock, () -> channel.isOpen() && channel.cancelTimeoutHandler(),
+			() -> false );
+	}
+
+	/**
+	 * Returns a channel to the pool, making it available for reuse.
+	 *
+	 * @param location the location of the channel
+	 * @param protocol the name of the protocol of the channel
+	 * @param configuration the configuration of the pool towards the location
+	 * @param channel the channel to release
+	 */
+	public void releaseChannel( URI location, String protocol, Configuration configuration,
+		CommChannel channel ) {
+		Destination destination = leases.remove( channel );
+		if( destination == null ) {
+			// The channel was not obtained from the pool, adopt it
+			destination = destination( location, protocol, configuration );
+			destination.total.incrementAndGet();
+		}
+
+		destination.configuration = configuration;
+		setIdleTimeout( destination, channel, configuration );
+		destination.idleChannels.offerFirst( channel );
+		destination.idle.incrementAndGet();
+		while( destination.idle.get() > configuration.maxIdle ) {
+			final CommChannel eldest = destination.idleChannels.pollLast();
+			if( eldest == null ) {
+				break;
+			}
+			destination.idle.decrementAndGet();
+			destination.evicted.incrementAndGet();
+			eldest.cancelTimeoutHandler();
+			destination.discard( eldest );
+		}
+		destination.signal();
+	}
+
+	/**
+	 * Informs the pool that a channel it created has been closed instead of being released.
+	 *
+	 * @param channel the closed channel
+	 */
+	public void channelClosed( CommChannel channel ) {
+		final Destination destination = leases.remove( channel );
+		if( destination != null ) {
+			destination.total.decrementAndGet();
+			destination.signal();
+		}
+	}
+
+	private void setIdleTimeout( Destination destination, CommChannel channel, Configuration configuration ) {
+		channel.setTimeoutHandler( () -> {
+			// The channel may have been taken for reuse in the meantime
+			if( destination.idle.get() > configuration.minIdle
+				&& destination.idleChannels.removeFirstOccurrence( channel ) ) {
+				destination.idle.decrementAndGet();
+				destination.evicted.incrementAndGet();
+				destination.discard( channel );
+			}
+		}, interpreter, configuration.idleTimeout );
+	}
+
+	private static void closeQuietly( CommChannel channel ) {
+		try {
+			channel.close();
+		} catch( IOException e ) {
+			Interpreter interpreter = Interpreter.getInstance();
+			if( interpreter != null ) {
+				interpreter.logWarning( e );
+			}
+		}
+	}
+
+	/**
+	 * Returns statistics on the channels of this pool, by location and protocol.
+	 */
+	public List< Stats > stats() {
+		return new ArrayList<>( destinations.values() );
+	}
+}
@@ -24,11 +24,13 @@ package jolie.net;
 
 import java.io.IOException;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import jolie.Interpreter;
 import jolie.net.ports.InputPort;
 import jolie.net.ports.OutputPort;
 import jolie.net.ports.Port;
+import jolie.util.ExceptionalRunnable;
 import jolie.util.Helpers;
 
 /**
@@ -49,11 +51,19 @@ import jolie.util.Helpers;
  */
 public abstract class CommChannel {
 	protected final ReentrantLock rwLock = new ReentrantLock( false );
+	// Guards receiving instead of rwLock in multiplexed channels, so that sending is not blocked
+	private final ReentrantLock recvLock = new ReentrantLock( false );
 
 	private volatile boolean toBeClosed = true;
+	private volatile boolean multiplexed = false;
+	// Requests using this channel if it is multiplexed, or -1 if it has been closed for inactivity
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+	// Threads waiting for rwLock in order to send a message, see lockForSending
+	private final AtomicInteger queuedSenders = new AtomicInteger();
 	private InputPort inputPort = null;
 	private OutputPort outputPort = null;
-	private boolean isOpen = true;
+	private volatile boolean isOpen = true;
 
 	private long redirectionMessageId = 0L;
 
@@ -172,7 +182,10 @@ public abstract class CommChannel {
 	 */
 	public final boolean isOpen() {
 		boolean result;
-		if( rwLock.tryLock() ) {
+		if( multiplexed ) {
+			// Probing the underlying connection would interfere with the running response receiver
+			result = isOpen;
+		} else if( rwLock.tryLock() ) {
 			result = isOpen && isOpenImpl();
 			rwLock.unlock();
 		} else {
@@ -189,6 +202,87 @@ public abstract class CommChannel {
 		return false;
 	}
 
+	/**
+	 * Returns <code>true</code> if this channel is shared by concurrent requests, whose responses are
+	 * matched by their request identifiers.
+	 *
+	 * @return <code>true</code> if this channel is multiplexed, <code>false</code> otherwise
+	 * @see MultiplexedChannelPool
+	 */
+	public final boolean isMultiplexed() {
+		return multiplexed;
+	}
+
+	/**
+	 * Makes this channel multiplexed. Messages are then sent and received concurrently, so this
+	 * requires the channel to be thread-safe. A multiplexed channel is owned by the pool that created
+	 * it: releasing it does not close it, unless it stays unused for the persistent connection timeout
+	 * of the interpreter, and it is closed if sending a message fails.
+	 */
+	final void setMultiplexed() {
+		multiplexed = true;
+	}
+
+	/**
+	 * Records that a request is going to use this multiplexed channel, until the channel is released.
+	 *
+	 * @return <code>false</code> if the channel has been closed for inactivity and cannot be used
+	 */
+	final boolean acquireMultiplexed() {
+		int n;
+		do {
+			n = inFlight.get();
+			if( n < 0 ) {
+				return false;
+			}
+		} while( !inFlight.compareAndSet( n, n + 1 ) );
+		maxInFlight.accumulateAndGet( n + 1, Math::max );
+		return true;
+	}
+
+	/**
+	 * Returns the number of requests currently using this multiplexed channel.
+	 */
+	final int inFlight() {
+		return Math.max( inFlight.get(), 0 );
+	}
+
+	/**
+	 * Returns the highest number of requests that have used this multiplexed channel at the same time.
+	 */
+	final int maxInFlight() {
+		return maxInFlight.get();
+	}
+
+	/**
+	 * Returns <code>true</code> if other threads are waiting to send a message through this channel.
+	 * Multiplexed channels can use this to leave flushing to the last of them.
+	 */
+	protected final boolean hasQueuedSenders() {
+		return multiplexed && queuedSenders.get() > 0;
+	}
+
+	/**
+	 * Runs a send operation while holding rwLock. The calling thread counts as a queued sender until it
+	 * holds the lock, unlike the other threads waiting for rwLock (e.g., for checking whether the
+	 * channel is open).
+	 */
+	protected final < T extends Throwable > void lockForSending( ExceptionalRunnable< T > code )
+		throws T {
+		if( rwLock.isHeldByCurrentThread() ) {
+			code.run();
+			return;
+		}
+		queuedSenders.incrementAndGet();
+		rwLock.lock();
+		queuedSenders.decrementAndGet();
+		try {
+			code.run();
+		} finally {
+			rwLock.unlock();
+		}
+	}
+
 	/**
 	 * Receives a message from the channel. This is a blocking operation.
 	 * 
@@ -197,7 +291,7 @@ public abstract class CommChannel {
 	 */
 	public CommMessage recv()
 		throws IOException {
-		return Helpers.lockAndThen( rwLock, this::recvImpl );
+		return Helpers.lockAndThen( multiplexed ? recvLock : rwLock, this::recvImpl );
 	}
 
 	/**
@@ -219,9 +313,12 @@ public abstract class CommChannel {
 	public void send( final CommMessage message )
 		throws IOException {
 		try {
-			Helpers.lockAndThen( rwLock, () -> sendImpl( message ) );
+			lockForSending( () -> sendImpl( message ) );
 		} catch( IOException e ) {
 			setToBeClosed( true );
+			if( multiplexed ) {
+				close();
+			}
 			throw e;
 		}
 	}
@@ -240,8 +337,26 @@ public abstract class CommChannel {
 	 */
 	public final void release()
 		throws IOException {
+		if( multiplexed ) {
+			final Interpreter interpreter = Interpreter.getInstance();
+			if( inFlight.decrementAndGet() == 0 && interpreter != null ) {
+				setTimeoutHandler( () -> {
+					try {
+						if( inFlight.compareAndSet( 0, -1 ) ) {
+							close();
+						}
+					} catch( IOException e ) {
+						interpreter.logWarning( e );
+					}
+				}, interpreter, interpreter.persistentConnectionTimeout() );
+			}
+			return;
+		}
 		if( toBeClosed() ) {
 			close();
+			if( outputPort != null ) {
+				outputPort.persistentChannelClosed( this );
+			}
 		} else {
 			releaseImpl();
 		}
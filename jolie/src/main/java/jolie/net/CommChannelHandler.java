@@ -26,6 +26,7 @@ import jolie.ExecutionThread;
 import jolie.Interpreter;
 import jolie.InterpreterThread;
 import jolie.JolieThread;
+import jolie.VirtualThreads;
 
 /**
  * <code>CommChannelHandler</code> is a <code>JolieThread</code> used by <code>CommCore</code> to
@@ -52,6 +53,23 @@ public class CommChannelHandler extends Thread implements InterpreterThread {
 		return ((CommChannelHandler) Thread.currentThread());
 	}
 
+	/**
+	 * Sets the <code>ExecutionThread</code> the current thread must refer to. Differently from
+	 * {@link #currentThread()}, this method can also be called from the virtual threads used by
+	 * <code>CommCore</code> when the interpreter runs in virtual thread mode.
+	 * 
+	 * @param thread the <code>ExecutionThread</code> the current thread must refer to for variable
+	 *        state resolution
+	 */
+	public static void setCurrentExecutionThread( ExecutionThread thread ) {
+		final Thread t = Thread.currentThread();
+		if( t instanceof CommChannelHandler ) {
+			((CommChannelHandler) t).setExecutionThread( thread );
+		} else {
+			VirtualThreads.setExecutionThread( thread );
+		}
+	}
+
 	/**
 	 * Sets the <code>ExecutionThread</code> this thread must refer to. This is needed to refer to the
 	 * right variable state when in this thread.
@@ -25,6 +25,7 @@ package jolie.net;
 import jolie.Interpreter;
 import jolie.JolieThreadPoolExecutor;
 import jolie.NativeJolieThread;
+import jolie.VirtualThreads;
 import jolie.lang.Constants;
 import jolie.net.ext.CommChannelFactory;
 import jolie.net.ext.CommListenerFactory;
@@ -104,7 +105,7 @@ public class CommCore {
 		 * new CommThreadFactory() ); } else { executorService = Executors.newCachedThreadPool( new
 		 * CommThreadFactory() ); }
 		 */
-		executorService = new JolieThreadPoolExecutor( new CommThreadFactory() );
+		executorService = createExecutorService( interpreter );
 
 		// TODO make socket an extension, too?
 		CommListenerFactory listenerFactory = new SocketListenerFactory( this );
@@ -113,6 +114,17 @@ public class CommCore {
 		channelFactories.put( "socket", channelFactory );
 	}
 
+	private static ExecutorService createExecutorService( Interpreter interpreter ) {
+		if( interpreter.configuration().virtualThreads() ) {
+			final ExecutorService executor =
+				VirtualThreads.newExecutor( interpreter.programFilename() + "-CommChannelHandler-" );
+			if( executor != null ) {
+				return executor;
+			}
+		}
+		return new JolieThreadPoolExecutor( new CommThreadFactory() );
+	}
+
 	public ExecutorService executor() {
 		return executorService;
 	}
@@ -463,8 +475,7 @@ public class CommCore {
 
 		@Override
 		public void run() {
-			final CommChannelHandler thread = CommChannelHandler.currentThread();
-			thread.setExecutionThread( interpreter().initThread().getNewSessionThread() );
+			CommChannelHandler.setCurrentExecutionThread( interpreter().initThread().getNewSessionThread() );
 			channel.rwLock.lock();
 			channelHandlersLock.readLock().lock();
 			try {
@@ -513,7 +524,7 @@ public class CommCore {
 				if( channel.rwLock.isHeldByCurrentThread() ) {
 					channel.rwLock.unlock();
 				}
-				thread.setExecutionThread( null );
+				CommChannelHandler.setCurrentExecutionThread( null );
 			}
 		}
 	}
@@ -668,13 +679,30 @@ public class CommCore {
 							final SelectableStreamingCommChannel channel =
 								(SelectableStreamingCommChannel) key.attachment();
 							if( channel.rwLock.tryLock() ) {
+								boolean ready;
+								try {
+									ready = channel.readAhead();
+								} catch( IOException e ) {
+									// Let the receiving thread handle the error
+									ready = true;
+								}
+								if( !ready ) {
+									// Wait for the rest of the message, selecting the key again when it arrives
+									channel.rwLock.unlock();
+									synchronized( selectingMutex ) {
+										selector.selectedKeys().remove( key );
+									}
+									continue;
+								}
 								key.cancel();
 								selectorTasks.add( () -> {
 									try {
 										try {
 											try {
 												key.channel().configureBlocking( true );
-												if( channel.isOpen() ) {
+												// Data read ahead is received even if the peer closed the connection
+												// afterwards
+												if( channel.inputStream().available() > 0 || channel.isOpen() ) {
 													/*
 													 * if ( channel.selectionTimeoutHandler() != null ) {
 													 * interpreter.removeTimeoutHandler(
@@ -753,7 +781,7 @@ public class CommCore {
 
 		public void register( SelectableStreamingCommChannel channel, int index ) {
 			try {
-				if( channel.inputStream().available() > 0 ) {
+				if( channel.hasBufferedMessage() ) {
 					scheduleReceive( channel, channel.parentInputPort() );
 					return;
 				}
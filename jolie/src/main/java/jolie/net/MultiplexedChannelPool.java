@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import jolie.util.ExceptionalCallable;
+
+/**
+ * The multiplexed channels of an output port. Requests to the same location and protocol share a
+ * small set of persistent channels, which can carry many requests at the same time: responses are
+ * matched to requests by their identifiers.
+ *
+ * Only channels whose protocol is thread-safe, e.g., sodep, can be multiplexed. For other
+ * protocols, the channels created by the pool are returned as they are and are not shared.
+ */
+public class MultiplexedChannelPool {
+	/**
+	 * Statistics on the multiplexed channels towards a location.
+	 */
+	public interface Stats {
+		URI location();
+
+		String protocol();
+
+		/**
+		 * Returns the number of open channels.
+		 */
+		int connections();
+
+		/**
+		 * Returns the number of requests currently using the channels.
+		 */
+		int inFlight();
+
+		/**
+		 * Returns the highest number of requests that have used a single channel at the same time.
+		 */
+		int maxInFlight();
+
+		/**
+		 * Returns the number of messages sent through the channels.
+		 */
+		long requests();
+	}
+
+	private static class Connections implements Stats {
+		private final URI location;
+		private final String protocol;
+		private final CommChannel[] channels;
+		// Slots reserved for channels being opened, see get
+		private final boolean[] connecting;
+		private final AtomicLong requests = new AtomicLong();
+		private volatile boolean unsupported = false;
+
+		private Connections( URI location, String protocol, int size ) {
+			this.location = location;
+			this.protocol = protocol;
+			this.channels = new CommChannel[ size ];
+			this.connecting = new boolean[ size ];
+		}
+
+		private CommChannel get( ExceptionalCallable< CommChannel, IOException > factory )
+			throws IOException {
+			while( true ) {
+				final int slot;
+				synchronized( this ) {
+					slot = select();
+					if( slot >= 0 ) {
+						final CommChannel channel = channels[ slot ];
+						if( channel.acquireMultiplexed() ) {
+							requests.incrementAndGet();
+							return channel;
+						}
+						continue;
+					}
+				}
+
+				// Connecting may take long, so other requests keep using the open channels meanwhile
+				final int free = ~slot;
+				final CommChannel channel;
+				try {
+					channel = factory.call();
+				} catch( IOException | RuntimeException e ) {
+					release( free, null );
+					throw e;
+				}
+				if( !(channel instanceof AbstractCommChannel) || !channel.isThreadSafe() ) {
+					unsupported = true;
+					release( free, null );
+					return channel;
+				}
+				channel.setMultiplexed();
+				release( free, channel );
+			}
+		}
+
+		/*
+		 * Returns the index of the open channel with the fewest requests in flight. If all open channels
+		 * are busy and there is room for another one, the free slot is reserved for a new channel and its
+		 * complement is returned instead. Waits for a channel being opened by another thread when there is
+		 * neither an open channel nor room for a new one.
+		 */
+		private int select() throws IOException {
+			while( true ) {
+				int best = -1;
+				int bestInFlight = Integer.MAX_VALUE;
+				int free = -1;
+				for( int i = 0; i < channels.length; i++ ) {
+					final CommChannel channel = channels[ i ];
+					if( connecting[ i ] ) {
+						continue;
+					}
+					if( channel == null || !channel.isOpen() ) {
+						channels[ i ] = null;
+						if( free < 0 ) {
+							free = i;
+						}
+					} else {
+						final int n = channel.inFlight();
+						if( n < bestInFlight ) {
+							best = i;
+							bestInFlight = n;
+						}
+					}
+				}
+
+				if( free >= 0 && (best < 0 || bestInFlight > 0) ) {
+					connecting[ free ] = true;
+					return ~free;
+				} else if( best >= 0 ) {
+					return best;
+				}
+				try {
+					wait();
+				} catch( InterruptedException e ) {
+					Thread.currentThread().interrupt();
+					throw new IOException( e );
+				}
+			}
+		}
+
+		// Ends the reservation of a slot, installing the channel that has been opened for it (if any)
+		private synchronized void release( int slot, CommChannel channel ) {
+			connecting[ slot ] = false;
+			channels[ slot ] = channel;
+			notifyAll();
+		}
+
+		@Override
+		public URI location() {
+			return location;
+		}
+
+		@Override
+		public String protocol() {
+			return protocol;
+		}
+
+		@Override
+		public synchronized int connections() {
+			int count = 0;
+			for( CommChannel channel : channels ) {
+				if( channel != null && channel.isOpen() ) {
+					count++;
+				}
+			}
+			return count;
+		}
+
+		@Override
+		public synchronized int inFlight() {
+			int count = 0;
+			for( CommChannel channel : channels ) {
+				if( channel != null ) {
+					count += channel.inFlight();
+				}
+			}
+			return count;
+		}
+
+		@Override
+		public synchronized int maxInFlight() {
+			int max = 0;
+			for( CommChannel channel : channels ) {
+				if( channel != null ) {
+					max = Math.max( max, channel.maxInFlight() );
+				}
+			}
+			return max;
+		}
+
+		@Override
+		public long requests() {
+			return requests.get();
+		}
+	}
+
+	// Location URI and protocol name -> Multiplexed channels
+	private final Map< String, Connections > connections = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns a multiplexed channel towards the given location, opening it if needed.
+	 *
+	 * @param location the location to connect to
+	 * @param protocol the name of the protocol to use
+	 * @param size the maximum number of channels towards the location
+	 * @param factory creates a new channel towards the location
+	 * @return a multiplexed channel, or a new channel that is not multiplexed if the protocol does not
+	 *         support multiplexing
+	 * @throws IOException if a new channel could not be created
+	 */
+	public CommChannel getChannel( URI location, String protocol, int size,
+		ExceptionalCallable< CommChannel, IOException > factory )
+		throws IOException {
+		final Connections c = connections.computeIfAbsent( protocol + ':' + location,
+			k -> new Connections( location, protocol, Math.max( size, 1 ) ) );
+		return c.unsupported ? factory.call() : c.get( factory );
+	}
+
+	/**
+	 * Returns statistics on the multiplexed channels of this pool, by location and protocol.
+	 */
+	public List< Stats > stats() {
+		final List< Stats > result = new ArrayList<>();
+		connections.values().forEach( c -> {
+			if( !c.unsupported ) {
+				result.add( c );
+			}
+		} );
+		return result;
+	}
+}
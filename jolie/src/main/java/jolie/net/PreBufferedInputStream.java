@@ -23,21 +23,54 @@
 
 package jolie.net;
 
-import java.io.BufferedInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.Objects;
 
-public class PreBufferedInputStream extends BufferedInputStream {
+/**
+ * A buffered input stream whose buffer can be filled in advance, e.g., with the data read by a
+ * selector.
+ *
+ * Differently from {@link java.io.BufferedInputStream}, methods are not synchronized: access is
+ * already serialised by the owning channel, and blocking inside a monitor would pin the carrier
+ * when reading from a virtual thread.
+ */
+public class PreBufferedInputStream extends InputStream {
+	private final static int DEFAULT_BUFFER_SIZE = 8192;
 	private final static int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
 
+	private final InputStream in;
+	private byte[] buf = new byte[ DEFAULT_BUFFER_SIZE ];
+	private int pos = 0;
+	private int count = 0;
+
 	public PreBufferedInputStream( InputStream istream ) {
-		super( istream );
+		this.in = istream;
 	}
 
 	public boolean hasCachedData() {
 		return pos < count;
 	}
 
+	/**
+	 * Returns a read-only view of the cached data, which is not consumed.
+	 *
+	 * @return the cached data
+	 */
+	public ByteBuffer cachedData() {
+		return ByteBuffer.wrap( buf, pos, count - pos ).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Returns the next cached byte without consuming it, or -1 if no data is cached. Never blocks.
+	 *
+	 * @return the next cached byte, or -1
+	 */
+	public int peek() {
+		return pos < count ? buf[ pos ] & 0xff : -1;
+	}
+
 	public void append( ByteBuffer b ) {
 		final int bufferSize = b.remaining();
 		enlargeIfNecessary( bufferSize );
@@ -69,4 +102,94 @@ public class PreBufferedInputStream extends BufferedInputStream {
 		enlargeIfNecessary( 1 );
 		buf[ count++ ] = b;
 	}
+
+	private void fill()
+		throws IOException {
+		pos = 0;
+		count = 0;
+		final int n = in.read( buf, 0, buf.length );
+		if( n > 0 ) {
+			count = n;
+		}
+	}
+
+	@Override
+	public int read()
+		throws IOException {
+		if( pos >= count ) {
+			fill();
+			if( pos >= count ) {
+				return -1;
+			}
+		}
+		return buf[ pos++ ] & 0xff;
+	}
+
+	private int readOnce( byte[] b, int off, int len )
+		throws IOException {
+		if( pos >= count ) {
+			if( len >= buf.length ) {
+				// Do not bother copying the data through our buffer
+				return in.read( b, off, len );
+			}
+			fill();
+			if( pos >= count ) {
+				return -1;
+			}
+		}
+		final int n = Math.min( len, count - pos );
+		System.arraycopy( buf, pos, b, off, n );
+		pos += n;
+		return n;
+	}
+
+	@Override
+	public int read( byte[] b, int off, int len )
+		throws IOException {
+		Objects.checkFromIndexSize( off, len, b.length );
+		if( len == 0 ) {
+			return 0;
+		}
+
+		int n = 0;
+		while( true ) {
+			final int r = readOnce( b, off + n, len - n );
+			if( r <= 0 ) {
+				return n == 0 ? r : n;
+			}
+			n += r;
+			if( n >= len || in.available() <= 0 ) {
+				return n;
+			}
+		}
+	}
+
+	@Override
+	public long skip( long n )
+		throws IOException {
+		if( n <= 0 ) {
+			return 0;
+		}
+		final int cached = count - pos;
+		if( cached <= 0 ) {
+			return in.skip( n );
+		}
+		final int skipped = (int) Math.min( cached, n );
+		pos += skipped;
+		return skipped;
+	}
+
+	@Override
+	public int available()
+		throws IOException {
+		final int cached = count - pos;
+		final int avail = in.available();
+		return cached > Integer.MAX_VALUE - avail ? Integer.MAX_VALUE : cached + avail;
+	}
+
+	@Override
+	public void close()
+		throws IOException {
+		in.close();
+	}
 }
@@ -27,7 +27,6 @@ import java.net.URI;
 import java.nio.channels.SelectableChannel;
 import jolie.Interpreter;
 import jolie.net.protocols.CommProtocol;
-import jolie.util.Helpers;
 
 /**
  * This class implements the support for a selectable channel. A channel implementation based on
@@ -68,10 +67,43 @@ public abstract class SelectableStreamingCommChannel extends StreamingCommChanne
 	 */
 	abstract public SelectableChannel selectableChannel();
 
+	/**
+	 * Reads the data available on this channel without blocking, as long as it does not contain a
+	 * complete message. Called by the selector thread when the channel is ready for reading, so that a
+	 * thread is assigned to receiving a message only once the message has been read entirely.
+	 *
+	 * @return <code>true</code> if a complete message, or the end of the stream, has been read
+	 * @throws IOException if reading from the channel fails
+	 */
+	protected boolean readAhead()
+		throws IOException {
+		return true;
+	}
+
+	/**
+	 * Returns <code>true</code> if the data already buffered by this channel contains a complete
+	 * message. Called before registering the channel for selection, which starts looking for the end of
+	 * a new message.
+	 *
+	 * @return <code>true</code> if a message can be received without waiting for more data
+	 * @throws IOException if reading the buffered data fails
+	 */
+	protected boolean hasBufferedMessage()
+		throws IOException {
+		return inputStream().available() > 0;
+	}
+
 	@Override
 	public final void send( CommMessage message )
 		throws IOException {
-		Helpers.lockAndThen( rwLock, () -> _send( message ) );
+		try {
+			lockForSending( () -> _send( message ) );
+		} catch( IOException e ) {
+			if( isMultiplexed() ) {
+				close();
+			}
+			throw e;
+		}
 	}
 
 	private void _send( CommMessage message )
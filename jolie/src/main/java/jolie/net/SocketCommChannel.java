@@ -35,6 +35,7 @@ import java.nio.channels.SocketChannel;
 
 import jolie.Interpreter;
 import jolie.net.protocols.CommProtocol;
+import jolie.net.protocols.MessageFramer;
 import jolie.util.Helpers;
 
 
@@ -47,8 +48,13 @@ public class SocketCommChannel extends SelectableStreamingCommChannel {
 	private final SocketChannel socketChannel;
 	private final PreBufferedInputStream istream;
 	private final OutputStream ostream;
+	private final MessageFramer framer;
+	private ByteBuffer readAheadBuffer = null;
 
 	private static final int SO_LINGER = 10000;
+	private static final int READ_AHEAD_BUFFER_SIZE = 8192;
+	// Beyond this, the rest of a message is read by the thread receiving it, as for unframed protocols
+	private static final int MAX_READ_AHEAD = 1 << 20;
 
 	/**
 	 * Constructor.
@@ -69,6 +75,7 @@ public class SocketCommChannel extends SelectableStreamingCommChannel {
 		// socketChannel ) ) );
 		this.istream = new PreBufferedInputStream( Channels.newInputStream( socketChannel ) );
 		this.ostream = new BufferedOutputStream( Channels.newOutputStream( socketChannel ) );
+		this.framer = protocol.createMessageFramer();
 		setToBeClosed( false ); // Socket connections are kept open by default
 	}
 
@@ -87,6 +94,55 @@ public class SocketCommChannel extends SelectableStreamingCommChannel {
 		return istream;
 	}
 
+	/**
+	 * Returns <code>true</code> if the protocol of this channel can tell when a message has been read
+	 * entirely, in which case messages are read without blocking before being received.
+	 *
+	 * @return <code>true</code> if messages received by this channel are framed
+	 */
+	public boolean isFramed() {
+		return framer != null;
+	}
+
+	@Override
+	protected boolean readAhead()
+		throws IOException {
+		if( framer == null ) {
+			return true;
+		}
+
+		if( readAheadBuffer == null ) {
+			readAheadBuffer = ByteBuffer.allocate( READ_AHEAD_BUFFER_SIZE );
+		}
+		while( true ) {
+			readAheadBuffer.clear();
+			final int read = socketChannel.read( readAheadBuffer );
+			if( read < 0 ) {
+				return true;
+			} else if( read == 0 ) {
+				return false;
+			}
+			readAheadBuffer.flip();
+			istream.append( readAheadBuffer.duplicate() );
+			if( framer.scan( readAheadBuffer ) || istream.cachedData().remaining() > MAX_READ_AHEAD ) {
+				return true;
+			}
+		}
+	}
+
+	@Override
+	protected boolean hasBufferedMessage()
+		throws IOException {
+		if( framer == null ) {
+			return super.hasBufferedMessage();
+		}
+
+		// The framer is also asked with no cached data, as protocols may have messages of their own
+		// pending, e.g., the streams already received on an HTTP/2 connection
+		framer.reset();
+		return framer.scan( istream.cachedData() );
+	}
+
 	/**
 	 * Receives a message from the channel.
 	 * 
@@ -116,7 +172,10 @@ public class SocketCommChannel extends SelectableStreamingCommChannel {
 		throws IOException {
 		try {
 			protocol().send( ostream, message, istream );
-			ostream.flush();
+			// Concurrent messages on a multiplexed channel are written in a single batch by the last sender
+			if( !hasQueuedSenders() ) {
+				ostream.flush();
+			}
 		} catch( IllegalBlockingModeException e ) {
 			throw new IOException( e );
 		}
@@ -78,12 +78,17 @@ public class SocketListener extends CommListener {
 		try {
 			SocketChannel socketChannel;
 			while( (socketChannel = serverChannel.accept()) != null ) {
-				final CommChannel channel = new SocketCommChannel(
+				final SocketCommChannel channel = new SocketCommChannel(
 					socketChannel,
 					inputPort().location(),
 					createProtocol() );
 				channel.setParentInputPort( inputPort() );
-				interpreter().commCore().scheduleReceive( channel, inputPort() );
+				if( channel.isFramed() ) {
+					// Wait for the first message to be read entirely before scheduling its reception
+					interpreter().commCore().registerForSelection( channel );
+				} else {
+					interpreter().commCore().scheduleReceive( channel, inputPort() );
+				}
 			}
 		} catch( ClosedByInterruptException e ) {
 			try {
@@ -30,9 +30,10 @@ import java.util.Map;
 import java.util.WeakHashMap;
 import jolie.Interpreter;
 import jolie.lang.Constants;
-import jolie.net.ChannelCache;
+import jolie.net.ChannelPool;
 import jolie.net.CommChannel;
 import jolie.net.CommMessage;
+import jolie.net.MultiplexedChannelPool;
 import jolie.net.protocols.CommProtocol;
 import jolie.process.AssignmentProcess;
 import jolie.process.DeepCopyProcess;
@@ -54,13 +55,33 @@ import jolie.util.LocationParser;
  * @author Fabrizio Montesi
  */
 public class OutputPort extends AbstractIdentifiableObject implements Port {
+	/**
+	 * Protocol parameter enabling multiplexed channels, which carry concurrent requests to the same
+	 * location over shared connections.
+	 */
+	public static final String MULTIPLEX_PARAMETER = "multiplex";
+	/**
+	 * Protocol parameter setting the maximum number of multiplexed connections to a location (default:
+	 * 1).
+	 */
+	public static final String MULTIPLEX_CONNECTIONS_PARAMETER = "multiplexConnections";
+	/**
+	 * Protocol parameter configuring the pool of persistent channels, with the optional subnodes
+	 * <code>minIdle</code>, <code>maxIdle</code>, <code>maxTotal</code>, <code>idleTimeout</code> and
+	 * <code>maxWait</code>.
+	 */
+	public static final String POOL_PARAMETER = "pool";
+
+	private static final int DEFAULT_POOL_MAX_IDLE = 8;
+
 	private final Interpreter interpreter;
 	private final Process configurationProcess;
 	private Expression locationExpression;
 	private final VariablePath locationVariablePath, protocolVariablePath;
 	private final boolean isConstant;
 	private final Interface iface;
-	private final ChannelCache channelCache = new ChannelCache();
+	private final ChannelPool channelPool;
+	private final MultiplexedChannelPool multiplexedChannels = new MultiplexedChannelPool();
 
 	/*
 	 * To be called at runtime, after main is run. Requires the caller to set the variables by itself.
@@ -68,6 +89,7 @@ public class OutputPort extends AbstractIdentifiableObject implements Port {
 	public OutputPort( Interpreter interpreter, String id ) {
 		super( id );
 		this.interpreter = interpreter;
+		this.channelPool = new ChannelPool( interpreter );
 
 		this.protocolVariablePath =
 			new VariablePathBuilder( false )
@@ -99,6 +121,7 @@ public class OutputPort extends AbstractIdentifiableObject implements Port {
 		super( id );
 		this.isConstant = isConstant;
 		this.interpreter = interpreter;
+		this.channelPool = new ChannelPool( interpreter );
 		this.locationVariablePath = locationVariablePath;
 		this.protocolVariablePath = protocolVariablePath;
 		this.iface = iface;
@@ -125,6 +148,7 @@ public class OutputPort extends AbstractIdentifiableObject implements Port {
 		boolean isConstant ) {
 		super( id );
 		this.interpreter = interpreter;
+		this.channelPool = new ChannelPool( interpreter );
 
 		this.protocolVariablePath = new VariablePathBuilder( false ).add( id(), 0 )
 			.add( Constants.PROTOCOL_NODE_NAME, 0 ).toVariablePath();
@@ -228,11 +252,16 @@ public class OutputPort extends AbstractIdentifiableObject implements Port {
 				// A fresh channel was requested
 				ret = interpreter.commCore().createCommChannel( uri, this );
 			} else {
-				// Try reusing an existing channel first
-				String protocol = protocolVariablePath.getValue().strValue();
-				ret = channelCache.getPersistentChannel( uri, protocol );
-				if( ret == null ) {
-					ret = interpreter.commCore().createCommChannel( uri, this );
+				final Value protocolConfiguration = protocolVariablePath.getValue();
+				String protocol = protocolConfiguration.strValue();
+				if( isMultiplexed( protocolConfiguration ) ) {
+					ret = multiplexedChannels.getChannel( uri, protocol,
+						protocolConfiguration.getFirstChild( MULTIPLEX_CONNECTIONS_PARAMETER ).intValue(),
+						() -> interpreter.commCore().createCommChannel( uri, this ) );
+				} else {
+					// Try reusing an existing channel first
+					ret = channelPool.getChannel( uri, protocol, poolConfiguration( protocolConfiguration ),
+						() -> interpreter.commCore().createCommChannel( uri, this ) );
 				}
 			}
 		}
@@ -241,8 +270,59 @@ public class OutputPort extends AbstractIdentifiableObject implements Port {
 		return ret;
 	}
 
+	private static boolean isMultiplexed( Value protocolConfiguration ) {
+		return protocolConfiguration.hasChildren( MULTIPLEX_PARAMETER )
+			&& protocolConfiguration.getFirstChild( MULTIPLEX_PARAMETER ).boolValue();
+	}
+
+	/**
+	 * Returns the pool of the multiplexed channels of this output port.
+	 *
+	 * @return the pool of the multiplexed channels of this output port
+	 */
+	public MultiplexedChannelPool multiplexedChannelPool() {
+		return multiplexedChannels;
+	}
+
+	private ChannelPool.Configuration poolConfiguration( Value protocolConfiguration ) {
+		final Value pool = protocolConfiguration.hasChildren( POOL_PARAMETER )
+			? protocolConfiguration.getFirstChild( POOL_PARAMETER )
+			: Value.UNDEFINED_VALUE;
+		return new ChannelPool.Configuration(
+			intParameter( pool, "minIdle", 0 ),
+			intParameter( pool, "maxIdle", DEFAULT_POOL_MAX_IDLE ),
+			intParameter( pool, "maxTotal", 0 ),
+			pool.hasChildren( "idleTimeout" ) ? pool.getFirstChild( "idleTimeout" ).longValue()
+				: interpreter.persistentConnectionTimeout(),
+			pool.hasChildren( "maxWait" ) ? pool.getFirstChild( "maxWait" ).longValue()
+				: interpreter.responseTimeout() );
+	}
+
+	private static int intParameter( Value pool, String name, int defaultValue ) {
+		return pool.hasChildren( name ) ? pool.getFirstChild( name ).intValue() : defaultValue;
+	}
+
+	/**
+	 * Returns the pool of the persistent channels of this output port.
+	 *
+	 * @return the pool of the persistent channels of this output port
+	 */
+	public ChannelPool channelPool() {
+		return channelPool;
+	}
+
 	public void putPersistentChannel( URI location, String protocol, CommChannel channel ) {
-		channelCache.putPersistentChannel( location, protocol, channel, interpreter );
+		channelPool.releaseChannel( location, protocol, poolConfiguration( protocolVariablePath.getValue() ),
+			channel );
+	}
+
+	/**
+	 * Informs this output port that one of its channels has been closed instead of being released.
+	 *
+	 * @param channel the closed channel
+	 */
+	public void persistentChannelClosed( CommChannel channel ) {
+		channelPool.channelClosed( channel );
 	}
 
 	private static class LazyLocalUriHolder {
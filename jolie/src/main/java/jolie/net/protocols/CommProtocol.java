@@ -230,4 +230,15 @@ public abstract class CommProtocol {
 		throws IOException;
 
 	abstract public boolean isThreadSafe();
+
+	/**
+	 * Returns a new framer for the messages received with this protocol, or <code>null</code> if this
+	 * protocol does not support framing. Channels using a protocol without framing hand the channel to
+	 * a receiving thread as soon as some data is available.
+	 *
+	 * @return a new framer, or <code>null</code>
+	 */
+	public MessageFramer createMessageFramer() {
+		return null;
+	}
 }
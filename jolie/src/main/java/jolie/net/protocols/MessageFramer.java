@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.net.protocols;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Finds the end of the next message in the data received by a channel, as the data arrives.
+ *
+ * Channels waiting for input on a selector use a framer to buffer the data of a message without
+ * blocking, so that a thread is assigned to receiving the message with
+ * {@link CommProtocol#recv(java.io.InputStream, java.io.OutputStream)} only once all of its data is
+ * available. A framer must therefore never require more data than the protocol reads for the
+ * message. When in doubt, e.g., for unexpected input, it should report the message as complete and
+ * leave the error to the protocol.
+ *
+ * @see CommProtocol#createMessageFramer()
+ */
+public interface MessageFramer {
+	/**
+	 * Scans the next bytes received by the channel, consuming them from the buffer.
+	 *
+	 * @param data the received bytes
+	 * @return <code>true</code> if the bytes scanned since the last reset contain a complete message
+	 */
+	boolean scan( ByteBuffer data );
+
+	/**
+	 * Discards the bytes scanned so far, to look for the end of a new message.
+	 */
+	void reset();
+}
@@ -25,6 +25,7 @@ import jolie.ExecutionThread;
 import jolie.Interpreter;
 import jolie.lang.parse.context.ParsingContext;
 import jolie.runtime.VariablePath;
+import jolie.runtime.correlation.CorrelationEngine;
 import jolie.runtime.expression.Expression;
 import jolie.tracer.AssignmentTraceAction;
 import jolie.tracer.Tracer;
@@ -66,6 +67,7 @@ public class DeepCopyProcess implements Process {
 			} else {
 				leftPath.getValue().deepCopy( rightExpression.evaluate() );
 			}
+			CorrelationEngine.notifyStructuralUpdate( ExecutionThread.getState().root() );
 		}
 		final Tracer tracer = Interpreter.getInstance().tracer();
 
@@ -58,6 +58,7 @@ public final class ForProcess implements Process {
 			if( ethread.isKilled() )
 				return;
 			post.run();
+			ethread.onLoopIteration();
 		}
 	}
 
@@ -34,6 +34,7 @@ import jolie.runtime.FaultException;
 import jolie.runtime.InputOperation;
 import jolie.runtime.OneWayOperation;
 import jolie.runtime.VariablePath;
+import jolie.runtime.correlation.CorrelationEngine;
 import jolie.tracer.MessageTraceAction;
 import jolie.tracer.Tracer;
 
@@ -80,6 +81,7 @@ public class OneWayProcess implements InputOperationProcess {
 		log( "RECEIVED", sessionMessage.message() );
 		if( varPath != null ) {
 			varPath.getValue( state.root() ).refCopy( sessionMessage.message().value() );
+			CorrelationEngine.notifyStructuralUpdate( state.root() );
 		}
 
 		return NullProcess.getInstance();
@@ -39,6 +39,7 @@ import jolie.runtime.InputOperation;
 import jolie.runtime.RequestResponseOperation;
 import jolie.runtime.Value;
 import jolie.runtime.VariablePath;
+import jolie.runtime.correlation.CorrelationEngine;
 import jolie.runtime.expression.Expression;
 import jolie.runtime.typing.Type;
 import jolie.runtime.typing.TypeCheckingException;
@@ -114,6 +115,7 @@ public class RequestResponseProcess implements InputOperationProcess {
 		log( "RECEIVED", sessionMessage.message() );
 		if( inputVarPath != null ) {
 			inputVarPath.getValue( state.root() ).refCopy( sessionMessage.message().value() );
+			CorrelationEngine.notifyStructuralUpdate( state.root() );
 		}
 
 		return new Process() {
@@ -21,29 +21,44 @@
 
 package jolie.process;
 
+import java.util.concurrent.locks.Lock;
+
 import jolie.Interpreter;
 import jolie.runtime.ExitingException;
 import jolie.runtime.FaultException;
 
 public class SynchronizedProcess implements Process {
 	final private String id;
+	final private boolean shared;
 	final private Process process;
 
 	public SynchronizedProcess( String id, Process process ) {
+		this( id, false, process );
+	}
+
+	/**
+	 * @param shared <code>true</code> if the process can run at the same time as other shared processes
+	 *        synchronized on the same identifier
+	 */
+	public SynchronizedProcess( String id, boolean shared, Process process ) {
 		this.id = id;
+		this.shared = shared;
 		this.process = process;
 	}
 
 	@Override
 	public Process copy( TransformationReason reason ) {
-		return new SynchronizedProcess( id, process.copy( reason ) );
+		return new SynchronizedProcess( id, shared, process.copy( reason ) );
 	}
 
 	@Override
 	public void run()
 		throws FaultException, ExitingException {
-		synchronized( Interpreter.getInstance().getLock( id ) ) {
+		final Lock lock = Interpreter.getInstance().getLock( id ).acquire( shared );
+		try {
 			process.run();
+		} finally {
+			lock.unlock();
 		}
 	}
 
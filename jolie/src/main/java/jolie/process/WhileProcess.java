@@ -45,14 +45,16 @@ public class WhileProcess implements Process {
 	@Override
 	public void run()
 		throws FaultException, ExitingException {
-		if( ExecutionThread.currentThread().isKilled() ) {
+		final ExecutionThread ethread = ExecutionThread.currentThread();
+		if( ethread.isKilled() ) {
 			return;
 		}
 		while( condition.evaluate().boolValue() ) {
 			process.run();
-			if( ExecutionThread.currentThread().isKilled() ) {
+			if( ethread.isKilled() ) {
 				return;
 			}
+			ethread.onLoopIteration();
 		}
 	}
 
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.runtime;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A lock used by the synchronized blocks with the same identifier. Blocks can hold it exclusively,
+ * or shared with the other blocks that hold it in shared mode.
+ *
+ * Both modes are reentrant, but a thread holding the lock in shared mode cannot acquire it in
+ * exclusive mode: trying to do so raises {@link #UPGRADE_FAULT} instead of waiting forever.
+ */
+public final class GlobalLock {
+	/**
+	 * The fault raised when a thread holding a lock in shared mode tries to acquire it exclusively.
+	 */
+	public static final String UPGRADE_FAULT = "SynchronizationError";
+
+	private final String id;
+	// A lock instead of a monitor, so that waiting does not pin the carrier of a virtual thread
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final AtomicLong exclusiveAcquisitions = new AtomicLong();
+	private final AtomicLong sharedAcquisitions = new AtomicLong();
+	private final AtomicLong contentions = new AtomicLong();
+	private final AtomicLong waitTime = new AtomicLong();
+
+	public GlobalLock( String id ) {
+		this.id = id;
+	}
+
+	public String id() {
+		return id;
+	}
+
+	/**
+	 * Acquires this lock, waiting for it if necessary.
+	 *
+	 * @param shared <code>true</code> to acquire the lock in shared mode, <code>false</code> to acquire
+	 *        it exclusively
+	 * @return the acquired lock, to be released with {@link Lock#unlock()}
+	 * @throws FaultException if the lock is requested exclusively by a thread that holds it in shared
+	 *         mode
+	 */
+	public Lock acquire( boolean shared )
+		throws FaultException {
+		final Lock l;
+		if( shared ) {
+			l = lock.readLock();
+			sharedAcquisitions.incrementAndGet();
+		} else {
+			if( lock.getReadHoldCount() > 0 ) {
+				// The write lock would wait for this thread to release its read lock
+				throw new FaultException( UPGRADE_FAULT, "Cannot enter an exclusive synchronized block on " + id
+					+ " from a shared synchronized block on the same identifier" );
+			}
+			l = lock.writeLock();
+			exclusiveAcquisitions.incrementAndGet();
+		}
+		if( !l.tryLock() ) {
+			contentions.incrementAndGet();
+			final long start = System.nanoTime();
+			l.lock();
+			waitTime.addAndGet( System.nanoTime() - start );
+		}
+		return l;
+	}
+
+	/**
+	 * Returns the number of times this lock has been acquired exclusively.
+	 */
+	public long exclusiveAcquisitions() {
+		return exclusiveAcquisitions.get();
+	}
+
+	/**
+	 * Returns the number of times this lock has been acquired in shared mode.
+	 */
+	public long sharedAcquisitions() {
+		return sharedAcquisitions.get();
+	}
+
+	/**
+	 * Returns the number of acquisitions that had to wait for this lock to be released.
+	 */
+	public long contentions() {
+		return contentions.get();
+	}
+
+	/**
+	 * Returns the total time spent waiting for this lock, in milliseconds.
+	 */
+	public long waitTime() {
+		return TimeUnit.NANOSECONDS.toMillis( waitTime.get() );
+	}
+}
@@ -24,6 +24,8 @@ package jolie.runtime;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import jolie.ExecutionThread;
 import jolie.TransparentExecutionThread;
@@ -53,6 +55,9 @@ public class ParallelExecution {
 	}
 
 	final private Collection< ParallelThread > threads = new HashSet<>();
+	// A lock instead of a monitor, so that waiting does not pin the carrier of a virtual thread
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition termination = lock.newCondition();
 	private FaultException fault = null;
 	private boolean isKilled = false;
 
@@ -64,7 +69,8 @@ public class ParallelExecution {
 
 	public void run()
 		throws FaultException {
-		synchronized( this ) {
+		lock.lock();
+		try {
 			for( ParallelThread t : threads ) {
 				t.start();
 			}
@@ -74,19 +80,17 @@ public class ParallelExecution {
 				ethread = ExecutionThread.currentThread();
 				try {
 					ethread.setCanBeInterrupted( true );
-					wait();
+					termination.await();
 					ethread.setCanBeInterrupted( false );
 				} catch( InterruptedException e ) {
-					synchronized( this ) {
-						if( ethread.isKilled() && !threads.isEmpty() ) {
-							isKilled = true;
-							for( ParallelThread t : threads ) {
-								t.kill( ethread.killerFault() );
-							}
-							try {
-								wait();
-							} catch( InterruptedException ie ) {
-							}
+					if( ethread.isKilled() && !threads.isEmpty() ) {
+						isKilled = true;
+						for( ParallelThread t : threads ) {
+							t.kill( ethread.killerFault() );
+						}
+						try {
+							termination.await();
+						} catch( InterruptedException ie ) {
 						}
 					}
 				}
@@ -98,41 +102,49 @@ public class ParallelExecution {
 				}
 				while( !threads.isEmpty() ) {
 					try {
-						wait();
+						termination.await();
 					} catch( InterruptedException e ) {
 					}
 				}
 				throw fault;
 			}
+		} finally {
+			lock.unlock();
 		}
 	}
 
 	private void terminationNotify( ParallelThread thread ) {
-		synchronized( this ) {
+		lock.lock();
+		try {
 			threads.remove( thread );
 
 			if( threads.isEmpty() ) {
-				notify();
+				termination.signal();
 			}
+		} finally {
+			lock.unlock();
 		}
 	}
 
 
 	private void signalFault( ParallelThread thread, FaultException f ) {
-		synchronized( this ) {
+		lock.lock();
+		try {
 			threads.remove( thread );
 			if( isKilled ) {
 				if( threads.isEmpty() ) {
-					notify();
+					termination.signal();
 				}
 			} else {
 				if( fault == null ) {
 					fault = f;
-					notify();
+					termination.signal();
 				} else if( threads.isEmpty() ) {
-					notify();
+					termination.signal();
 				}
 			}
+		} finally {
+			lock.unlock();
 		}
 	}
 
@@ -22,16 +22,22 @@
 package jolie.runtime;
 
 
-import java.util.Collection;
-import java.util.HashSet;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jolie.ExecutionThread;
 import jolie.Interpreter;
 import jolie.SessionThread;
 import jolie.process.Process;
 import jolie.process.SpawnProcess;
-
+import jolie.runtime.correlation.CorrelationEngine;
+
+/**
+ * Executes a spawn statement. The iterations are run by a bounded number of workers, as many as the
+ * configured spawn parallelism: each worker repeatedly takes the next iteration that has not been
+ * started yet, so that workers that finish early take over the remaining work. The thread of an
+ * iteration, together with its copy of the state, is created only when the iteration is started.
+ */
 public class SpawnExecution {
 	private class SpawnedThread extends SessionThread {
 		private final int index;
@@ -56,10 +62,11 @@ public class SpawnExecution {
 		}
 	}
 
-	private final Collection< SpawnedThread > threads = new HashSet<>();
 	private final SpawnProcess parentSpawnProcess;
 	private final ExecutionThread ethread;
-	private CountDownLatch latch;
+	private final AtomicInteger nextIndex = new AtomicInteger();
+	private int upperBound;
+	private Value[] results;
 
 	public SpawnExecution( SpawnProcess parent ) {
 		this.parentSpawnProcess = parent;
@@ -71,21 +78,22 @@ public class SpawnExecution {
 		if( parentSpawnProcess.inPath() != null ) {
 			parentSpawnProcess.inPath().undef();
 		}
-		int upperBound = parentSpawnProcess.upperBound().evaluate().intValue();
-		latch = new CountDownLatch( upperBound );
-		SpawnedThread thread;
-
-		for( int i = 0; i < upperBound; i++ ) {
-			thread = new SpawnedThread(
-				ethread,
-				parentSpawnProcess.body(),
-				i );
-			threads.add( thread );
+		upperBound = parentSpawnProcess.upperBound().evaluate().intValue();
+		if( upperBound <= 0 ) {
+			return;
 		}
-
-		for( SpawnedThread t : threads ) {
-			// We start threads in this other cycle to avoid race conditions on inPath
-			t.start();
+		results = new Value[ upperBound ];
+
+		final int workers = Math.min( upperBound, ethread.interpreter().configuration().spawnParallelism() );
+		final CountDownLatch latch = new CountDownLatch( workers );
+		for( int i = 0; i < workers; i++ ) {
+			ethread.interpreter().runJolieThread( () -> {
+				try {
+					runIterations();
+				} finally {
+					latch.countDown();
+				}
+			} );
 		}
 
 		try {
@@ -93,16 +101,29 @@ public class SpawnExecution {
 		} catch( InterruptedException e ) {
 			Interpreter.getInstance().logWarning( e );
 		}
-	}
 
-	private void terminationNotify( SpawnedThread thread ) {
-		synchronized( this ) {
-			if( parentSpawnProcess.inPath() != null ) {
-				parentSpawnProcess.inPath().getValueVector( ethread.state().root() ).get( thread.index )
-					.deepCopy( parentSpawnProcess.inPath().getValueVector().first() );
+		// The results are stored only now, so that the iterations started later do not copy the results
+		// of the previous ones with the state
+		if( parentSpawnProcess.inPath() != null ) {
+			final ValueVector resultVector = parentSpawnProcess.inPath().getValueVector( ethread.state().root() );
+			for( int i = 0; i < upperBound; i++ ) {
+				if( results[ i ] != null ) {
+					resultVector.get( i ).deepCopy( results[ i ] );
+				}
 			}
+			CorrelationEngine.notifyStructuralUpdate( ethread.state().root() );
+		}
+	}
+
+	private void runIterations() {
+		for( int i = nextIndex.getAndIncrement(); i < upperBound; i = nextIndex.getAndIncrement() ) {
+			new SpawnedThread( ethread, parentSpawnProcess.body(), i ).runInCurrentThread();
+		}
+	}
 
-			latch.countDown();
+	private void terminationNotify( SpawnedThread thread ) {
+		if( parentSpawnProcess.inPath() != null ) {
+			results[ thread.index ] = parentSpawnProcess.inPath().getValueVector().first();
 		}
 	}
 }
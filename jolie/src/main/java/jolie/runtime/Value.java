@@ -26,12 +26,22 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Function;
 
 import jolie.lang.Constants;
@@ -82,6 +92,26 @@ class ValueLink extends Value {
 		getLinkedValue().setValueObject( object );
 	}
 
+	@Override
+	protected void setIntValue( int value ) {
+		getLinkedValue().setIntValue( value );
+	}
+
+	@Override
+	protected void setLongValue( long value ) {
+		getLinkedValue().setLongValue( value );
+	}
+
+	@Override
+	protected void setDoubleValue( double value ) {
+		getLinkedValue().setDoubleValue( value );
+	}
+
+	@Override
+	protected void setBoolValue( boolean value ) {
+		getLinkedValue().setBoolValue( value );
+	}
+
 	@Override
 	public void erase() {
 		getLinkedValue().erase();
@@ -127,30 +157,517 @@ class ValueLink extends Value {
 class ValueImpl extends Value implements Serializable {
 	private static final long serialVersionUID = 1L;
 
+	private static final AtomicReferenceFieldUpdater< ValueImpl, ChildrenMap > CHILDREN =
+		AtomicReferenceFieldUpdater.newUpdater( ValueImpl.class, ChildrenMap.class, "children" );
+	private static final AtomicIntegerFieldUpdater< ValueImpl > VERSION =
+		AtomicIntegerFieldUpdater.newUpdater( ValueImpl.class, "version" );
+
+	/*
+	 * The types of the values stored unboxed in primitiveValue. Doubles are stored as their raw bits,
+	 * booleans as 0 or 1.
+	 */
+	private enum Primitive {
+		INT, LONG, DOUBLE, BOOL
+	}
+
+	// The value, or the Primitive tag of the value stored in primitiveValue
 	private volatile Object valueObject = null;
-	private final AtomicReference< Map< String, ValueVector > > children = new AtomicReference<>();
+	private volatile long primitiveValue;
+	/*
+	 * Odd while a primitive is being stored. A primitive is read together with its tag only if the
+	 * version is even and does not change in the meantime, so that readers never mix the tag of one
+	 * write with the bits of another.
+	 */
+	private transient volatile int version = 0;
+	private volatile ChildrenMap children = null;
+	// The children this value has been cloned with, copied when they are first accessed
+	private transient volatile ChildrenSnapshot clonedChildren = null;
+	// The map holding this value when a snapshot of it was last taken, to be detached before writing
+	private transient volatile ChildrenMap sharedBy = null;
+
+	/*
+	 * The children of one or more values (more than one in case of refCopy). Clones of the owners share
+	 * the map through a snapshot, which is detached before the map or anything below it is written.
+	 * Taking a snapshot marks the vectors and values below the map as shared, pointing them to the map
+	 * that holds them, so that a write through any reference to them detaches the snapshots above it
+	 * first. Subtrees that already have a snapshot are marked already, so only the parts written since
+	 * the last snapshot are visited again.
+	 *
+	 * Up to INLINE_CAPACITY children are kept in a small array of alternated keys and vectors, which is
+	 * replaced on every update so that it can be read without locking. Maps that grow past that move
+	 * their children to a ConcurrentHashMap, and keep using it from then on.
+	 */
+	static final class ChildrenMap extends AbstractMap< String, ValueVector > implements Serializable {
+		private static final long serialVersionUID = 1L;
+		private static final int INLINE_CAPACITY = 4;
+		private static final Object[] EMPTY = new Object[ 0 ];
+		private static final ChildrenMap[] NO_PARENTS = new ChildrenMap[ 0 ];
+		private static final AtomicReferenceFieldUpdater< ChildrenMap, ChildrenMap[] > PARENTS =
+			AtomicReferenceFieldUpdater.newUpdater( ChildrenMap.class, ChildrenMap[].class, "parents" );
+
+		private volatile Object[] inline = EMPTY;
+		private volatile ConcurrentHashMap< String, ValueVector > delegate = null;
+		private transient volatile ChildrenSnapshot snapshot = null;
+		/*
+		 * The maps holding the owners of this map when snapshots of them were taken, since the last write.
+		 * There is more than one when the owners share this map through refCopy.
+		 */
+		private transient volatile ChildrenMap[] parents = NO_PARENTS;
+
+		private synchronized ChildrenSnapshot snapshot() {
+			if( isEmpty() ) {
+				return null;
+			}
+			if( snapshot == null ) {
+				snapshot = new ChildrenSnapshot( this );
+				for( ValueVector vector : values() ) {
+					if( vector instanceof ValueVectorImpl ) {
+						((ValueVectorImpl) vector).share( this );
+					}
+				}
+			}
+			return snapshot;
+		}
+
+		private void readObject( ObjectInputStream in )
+			throws IOException, ClassNotFoundException {
+			in.defaultReadObject();
+			parents = NO_PARENTS;
+		}
+
+		private void addParent( ChildrenMap parent ) {
+			ChildrenMap[] current;
+			ChildrenMap[] updated;
+			do {
+				current = parents;
+				for( ChildrenMap p : current ) {
+					if( p == parent ) {
+						return;
+					}
+				}
+				updated = Arrays.copyOf( current, current.length + 1 );
+				updated[ current.length ] = parent;
+			} while( !PARENTS.compareAndSet( this, current, updated ) );
+		}
+
+		/*
+		 * Detaches the snapshots of this map and of the maps above it, outermost first, so that each
+		 * snapshot copies the values below it before they change.
+		 */
+		void detachUp() {
+			if( parents.length > 0 ) {
+				for( ChildrenMap p : PARENTS.getAndSet( this, NO_PARENTS ) ) {
+					p.detachUp();
+				}
+			}
+			detachSnapshot();
+		}
+
+		private void detachSnapshot() {
+			if( snapshot != null ) {
+				synchronized( this ) {
+					if( snapshot != null ) {
+						snapshot.frozen = copyOf( this );
+						snapshot = null;
+					}
+				}
+			}
+		}
+
+		private static int indexOf( Object[] entries, Object key ) {
+			for( int i = 0; i < entries.length; i += 2 ) {
+				if( entries[ i ].equals( key ) ) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public ValueVector get( Object key ) {
+			// inline must be read first: it is emptied after delegate is set
+			final Object[] entries = inline;
+			final ConcurrentHashMap< String, ValueVector > map = delegate;
+			if( map != null ) {
+				return map.get( key );
+			}
+			final int i = indexOf( entries, key );
+			return i < 0 ? null : (ValueVector) entries[ i + 1 ];
+		}
+
+		@Override
+		public boolean containsKey( Object key ) {
+			return get( key ) != null;
+		}
+
+		@Override
+		public int size() {
+			final Object[] entries = inline;
+			final ConcurrentHashMap< String, ValueVector > map = delegate;
+			return map != null ? map.size() : entries.length / 2;
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return size() == 0;
+		}
+
+		@Override
+		public ValueVector put( String key, ValueVector vector ) {
+			Objects.requireNonNull( key );
+			Objects.requireNonNull( vector );
+			detachUp();
+			final ConcurrentHashMap< String, ValueVector > map = delegate;
+			if( map != null ) {
+				return map.put( key, vector );
+			}
+			synchronized( this ) {
+				return putLocked( key, vector, false );
+			}
+		}
+
+		@Override
+		public ValueVector putIfAbsent( String key, ValueVector vector ) {
+			Objects.requireNonNull( key );
+			Objects.requireNonNull( vector );
+			detachUp();
+			final ConcurrentHashMap< String, ValueVector > map = delegate;
+			if( map != null ) {
+				return map.putIfAbsent( key, vector );
+			}
+			synchronized( this ) {
+				return putLocked( key, vector, true );
+			}
+		}
+
+		@Override
+		public ValueVector computeIfAbsent( String key,
+			Function< ? super String, ? extends ValueVector > mappingFunction ) {
+			final ValueVector vector = get( key );
+			if( vector != null ) {
+				return vector;
+			}
+			detachUp();
+			final ConcurrentHashMap< String, ValueVector > map = delegate;
+			if( map != null ) {
+				return map.computeIfAbsent( key, mappingFunction );
+			}
+			synchronized( this ) {
+				if( delegate != null ) {
+					return delegate.computeIfAbsent( key, mappingFunction );
+				}
+				final int i = indexOf( inline, key );
+				if( i >= 0 ) {
+					return (ValueVector) inline[ i + 1 ];
+				}
+				final ValueVector newVector = mappingFunction.apply( key );
+				if( newVector != null ) {
+					putLocked( key, newVector, false );
+				}
+				return newVector;
+			}
+		}
+
+		private ValueVector putLocked( String key, ValueVector vector, boolean onlyIfAbsent ) {
+			if( delegate != null ) {
+				return onlyIfAbsent ? delegate.putIfAbsent( key, vector ) : delegate.put( key, vector );
+			}
+			final Object[] entries = inline;
+			final int i = indexOf( entries, key );
+			if( i >= 0 ) {
+				final ValueVector old = (ValueVector) entries[ i + 1 ];
+				if( !onlyIfAbsent ) {
+					final Object[] newEntries = entries.clone();
+					newEntries[ i + 1 ] = vector;
+					inline = newEntries;
+				}
+				return old;
+			}
+			if( entries.length < INLINE_CAPACITY * 2 ) {
+				final Object[] newEntries = Arrays.copyOf( entries, entries.length + 2 );
+				newEntries[ entries.length ] = key;
+				newEntries[ entries.length + 1 ] = vector;
+				inline = newEntries;
+			} else {
+				final ConcurrentHashMap< String, ValueVector > map = new ConcurrentHashMap<>();
+				for( int k = 0; k < entries.length; k += 2 ) {
+					map.put( (String) entries[ k ], (ValueVector) entries[ k + 1 ] );
+				}
+				map.put( key, vector );
+				delegate = map;
+				inline = EMPTY;
+			}
+			return null;
+		}
+
+		@Override
+		public ValueVector remove( Object key ) {
+			detachUp();
+			final ConcurrentHashMap< String, ValueVector > map = delegate;
+			if( map != null ) {
+				return map.remove( key );
+			}
+			synchronized( this ) {
+				if( delegate != null ) {
+					return delegate.remove( key );
+				}
+				final Object[] entries = inline;
+				final int i = indexOf( entries, key );
+				if( i < 0 ) {
+					return null;
+				}
+				final Object[] newEntries = new Object[ entries.length - 2 ];
+				System.arraycopy( entries, 0, newEntries, 0, i );
+				System.arraycopy( entries, i + 2, newEntries, i, entries.length - i - 2 );
+				inline = newEntries;
+				return (ValueVector) entries[ i + 1 ];
+			}
+		}
+
+		@Override
+		public void clear() {
+			detachUp();
+			synchronized( this ) {
+				final ConcurrentHashMap< String, ValueVector > map = delegate;
+				if( map != null ) {
+					map.clear();
+				} else {
+					inline = EMPTY;
+				}
+			}
+		}
+
+		@Override
+		public Set< Entry< String, ValueVector > > entrySet() {
+			return new AbstractSet< Entry< String, ValueVector > >() {
+				@Override
+				public Iterator< Entry< String, ValueVector > > iterator() {
+					final Object[] entries = inline;
+					final ConcurrentHashMap< String, ValueVector > map = delegate;
+					if( map != null ) {
+						final Iterator< Entry< String, ValueVector > > it = map.entrySet().iterator();
+						return new Iterator< Entry< String, ValueVector > >() {
+							private String last = null;
+
+							@Override
+							public boolean hasNext() {
+								return it.hasNext();
+							}
+
+							@Override
+							public Entry< String, ValueVector > next() {
+								final Entry< String, ValueVector > entry = it.next();
+								last = entry.getKey();
+								return new SimpleEntry< String, ValueVector >( entry ) {
+									private static final long serialVersionUID = 1L;
+
+									@Override
+									public ValueVector setValue( ValueVector value ) {
+										put( getKey(), value );
+										return super.setValue( value );
+									}
+								};
+							}
+
+							@Override
+							public void remove() {
+								if( last == null ) {
+									throw new IllegalStateException();
+								}
+								ChildrenMap.this.remove( last );
+								last = null;
+							}
+						};
+					}
+					// Iterates over the children at the time of the call, like ConcurrentHashMap does
+					return new Iterator< Entry< String, ValueVector > >() {
+						private int next = 0;
+
+						@Override
+						public boolean hasNext() {
+							return next < entries.length;
+						}
+
+						@Override
+						public Entry< String, ValueVector > next() {
+							if( next >= entries.length ) {
+								throw new NoSuchElementException();
+							}
+							final String key = (String) entries[ next ];
+							final ValueVector vector = (ValueVector) entries[ next + 1 ];
+							next += 2;
+							return new SimpleEntry< String, ValueVector >( key, vector ) {
+								private static final long serialVersionUID = 1L;
+
+								@Override
+								public ValueVector setValue( ValueVector value ) {
+									put( key, value );
+									return super.setValue( value );
+								}
+							};
+						}
+
+						@Override
+						public void remove() {
+							if( next == 0 ) {
+								throw new IllegalStateException();
+							}
+							ChildrenMap.this.remove( entries[ next - 2 ] );
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return ChildrenMap.this.size();
+				}
+			};
+		}
+	}
+
+	/*
+	 * The children of a value at the time it was cloned. Until the owners of the source map access it
+	 * again, the snapshot reads from the source map. Afterwards, it reads from a frozen copy, which
+	 * nobody can modify.
+	 */
+	private static final class ChildrenSnapshot {
+		private final ChildrenMap source;
+		private volatile ChildrenMap frozen = null;
+
+		private ChildrenSnapshot( ChildrenMap source ) {
+			this.source = source;
+		}
+
+		private ChildrenMap copy() {
+			final ChildrenMap f = frozen;
+			if( f != null ) {
+				return copyOf( f );
+			}
+			synchronized( source ) {
+				return copyOf( frozen == null ? source : frozen );
+			}
+		}
+
+		private boolean containsKey( String childId ) {
+			final ChildrenMap f = frozen;
+			if( f != null ) {
+				return f.containsKey( childId );
+			}
+			synchronized( source ) {
+				return (frozen == null ? source : frozen).containsKey( childId );
+			}
+		}
+	}
+
+	/*
+	 * Copies the structure of a children map, cloning its values. Since cloning is lazy, this costs
+	 * time proportional to the number of direct children only.
+	 */
+	private static ChildrenMap copyOf( Map< String, ValueVector > map ) {
+		final ChildrenMap ret = new ChildrenMap();
+		for( Entry< String, ValueVector > entry : map.entrySet() ) {
+			final ValueVector vec = entry.getValue();
+			if( vec.isLink() ) {
+				ret.put( entry.getKey(), ValueVector.createClone( vec ) );
+			} else {
+				final ValueVector copy = ValueVector.create();
+				for( Value v : vec.valuesCopy() ) {
+					copy.add( v.clone() );
+				}
+				ret.put( entry.getKey(), copy );
+			}
+		}
+		return ret;
+	}
+
+	private void store( Object object ) {
+		if( object instanceof Integer ) {
+			store( Primitive.INT, (Integer) object );
+		} else if( object instanceof Long ) {
+			store( Primitive.LONG, (Long) object );
+		} else if( object instanceof Double ) {
+			store( Primitive.DOUBLE, Double.doubleToRawLongBits( (Double) object ) );
+		} else if( object instanceof Boolean ) {
+			store( Primitive.BOOL, (Boolean) object ? 1L : 0L );
+		} else {
+			// A single write, which needs no version: bits are only ever read with a primitive tag
+			detachShared();
+			valueObject = object;
+		}
+	}
+
+	private void store( Primitive type, long value ) {
+		detachShared();
+		int v;
+		while( ((v = version) & 1) != 0 || !VERSION.compareAndSet( this, v, v + 1 ) ) {
+			Thread.onSpinWait();
+		}
+		primitiveValue = value;
+		valueObject = type;
+		version = v + 2;
+	}
+
+	private boolean isStable( int v ) {
+		return (v & 1) == 0 && version == v;
+	}
 
 	@Override
 	public void setValueObject( Object object ) {
-		valueObject = object;
+		store( object );
+	}
+
+	@Override
+	protected void setIntValue( int value ) {
+		store( Primitive.INT, value );
+	}
+
+	@Override
+	protected void setLongValue( long value ) {
+		store( Primitive.LONG, value );
+	}
+
+	@Override
+	protected void setDoubleValue( double value ) {
+		store( Primitive.DOUBLE, Double.doubleToRawLongBits( value ) );
+	}
+
+	@Override
+	protected void setBoolValue( boolean value ) {
+		store( Primitive.BOOL, value ? 1L : 0L );
 	}
 
 	@Override
 	public ValueVector getChildren( String childId ) {
-		return children().computeIfAbsent( childId, k -> ValueVector.create() );
+		return ownChildren().computeIfAbsent( childId, k -> ValueVector.create() );
 	}
 
+	/**
+	 * Clones this value in constant time. The children are shared with the clone, and copied one level
+	 * at a time when either of the two values accesses them.
+	 */
 	@Override
 	public ValueImpl clone() {
 		ValueImpl ret = new ValueImpl();
-		ret._deepCopy( this, true );
+		cloneInto( ret );
 		return ret;
 	}
 
+	protected final void cloneInto( ValueImpl target ) {
+		int v;
+		do {
+			v = version;
+			target.valueObject = valueObject;
+			target.primitiveValue = primitiveValue;
+		} while( !isStable( v ) );
+		final ChildrenMap map = children;
+		target.clonedChildren = map == null ? clonedChildren : map.snapshot();
+	}
+
 	@Override
 	protected void _refCopy( Value value ) {
 		setValueObject( value.valueObject() );
-		this.children.set( value.children() );
+		clonedChildren = null;
+		this.children = (ChildrenMap) value.children();
 	}
 
 	@Override
@@ -160,8 +677,10 @@ class ValueImpl extends Value implements Serializable {
 
 	@Override
 	public void erase() {
+		detachShared();
 		valueObject = null;
-		children.set( null );
+		clonedChildren = null;
+		children = null;
 	}
 
 	protected ValueImpl() {}
@@ -173,14 +692,22 @@ class ValueImpl extends Value implements Serializable {
 
 	@Override
 	public boolean hasChildren() {
-		Map< String, ValueVector > c = children.get();
-		return (c != null && !c.isEmpty());
+		final Map< String, ValueVector > c = children;
+		if( c != null ) {
+			return !c.isEmpty();
+		}
+		// Snapshots are never empty
+		return clonedChildren != null;
 	}
 
 	@Override
 	public boolean hasChildren( String childId ) {
-		Map< String, ValueVector > c = children.get();
-		return (c != null && c.containsKey( childId ));
+		final Map< String, ValueVector > c = children;
+		if( c != null ) {
+			return c.containsKey( childId );
+		}
+		final ChildrenSnapshot snapshot = clonedChildren;
+		return snapshot != null && snapshot.containsKey( childId );
 	}
 
 	@Override
@@ -220,126 +747,226 @@ class ValueImpl extends Value implements Serializable {
 		return children.computeIfAbsent( childId, k -> ValueVector.create() );
 	}
 
-	private final static int INITIAL_CAPACITY = 8;
-	private final static float LOAD_FACTOR = 0.75f;
-
 	@Override
 	public Map< String, ValueVector > children() {
-		// Create the map if not present
-		children.getAndUpdate( v -> v == null ? new ConcurrentHashMap<>( INITIAL_CAPACITY, LOAD_FACTOR ) : v );
-		return children.get();
+		return ownChildren();
 	}
 
-	@Override
-	public Object valueObject() {
-		return valueObject;
+	/*
+	 * Returns the children map of this value, creating it if necessary. The map detaches its snapshots
+	 * by itself before it is written.
+	 */
+	private ChildrenMap ownChildren() {
+		ChildrenMap map;
+		while( (map = children) == null ) {
+			detachShared();
+			final ChildrenSnapshot snapshot = clonedChildren;
+			if( CHILDREN.compareAndSet( this, null, snapshot == null ? new ChildrenMap() : snapshot.copy() ) ) {
+				clonedChildren = null;
+			}
+		}
+		return map;
 	}
 
-	protected ValueImpl( Object object ) {
-		valueObject = object;
+	/*
+	 * Marks this value as held by a map that is being snapshotted, together with everything below it.
+	 */
+	void share( ChildrenMap map ) {
+		sharedBy = map;
+		final ChildrenMap c = children;
+		if( c != null ) {
+			c.addParent( map );
+			c.snapshot();
+		}
 	}
 
-	public ValueImpl( Value val ) {
-		valueObject = val.valueObject();
+	private void detachShared() {
+		final ChildrenMap map = sharedBy;
+		if( map != null ) {
+			map.detachUp();
+			sharedBy = null;
+		}
 	}
 
-	@Override
-	public boolean isEqualTo( Value v ) {
-		return this.equals( v );
+	private void writeObject( ObjectOutputStream out )
+		throws IOException {
+		ownChildren();
+		out.defaultWriteObject();
 	}
-}
 
+	@Override
+	public Object valueObject() {
+		Object o = valueObject;
+		if( o instanceof Primitive ) {
+			int v;
+			long value;
+			do {
+				v = version;
+				o = valueObject;
+				value = primitiveValue;
+			} while( !isStable( v ) );
+			if( !(o instanceof Primitive) ) {
+				return o;
+			}
+			switch( (Primitive) o ) {
+			case INT:
+				return (int) value;
+			case LONG:
+				return value;
+			case DOUBLE:
+				return Double.longBitsToDouble( value );
+			default:
+				return value != 0L;
+			}
+		}
+		return o;
+	}
 
-/** TODO: remove code duplication from ValueImpl */
-class RootValueImpl extends Value {
-	private final static int INITIAL_CAPACITY = 8;
-	private final static float LOAD_FACTOR = 0.75f;
+	@Override
+	public boolean isInt() {
+		return valueObject == Primitive.INT;
+	}
 
-	private final Map< String, ValueVector > children =
-		new ConcurrentHashMap<>( INITIAL_CAPACITY, LOAD_FACTOR );
+	@Override
+	public boolean isLong() {
+		return valueObject == Primitive.LONG;
+	}
 
 	@Override
-	public RootValueImpl clone() {
-		RootValueImpl ret = new RootValueImpl();
-		ret._deepCopy( this, true );
-		return ret;
+	public boolean isDouble() {
+		return valueObject == Primitive.DOUBLE;
 	}
 
 	@Override
-	public void setValueObject( Object object ) {}
+	public boolean isBool() {
+		return valueObject == Primitive.BOOL;
+	}
 
 	@Override
-	protected void _refCopy( Value value ) {}
+	public boolean isString() {
+		return valueObject instanceof String;
+	}
 
 	@Override
-	public ValueVector getChildren( String childId ) {
-		return children.computeIfAbsent( childId, k -> ValueVector.create() );
+	public boolean isByteArray() {
+		return valueObject instanceof ByteArray;
 	}
 
 	@Override
-	public final Value evaluate() {
-		return this;
+	public boolean isChannel() {
+		return valueObject instanceof CommChannel;
 	}
 
 	@Override
-	public void erase() {
-		children.clear();
+	public boolean isDefined() {
+		return valueObject != null;
 	}
 
 	@Override
-	public boolean isLink() {
-		return false;
+	public String strValueStrict()
+		throws TypeCastingException {
+		final int v = version;
+		final Object o = valueObject;
+		if( o instanceof Primitive ) {
+			final long value = primitiveValue;
+			if( isStable( v ) ) {
+				switch( (Primitive) o ) {
+				case INT:
+					return Integer.toString( (int) value );
+				case LONG:
+					return Long.toString( value );
+				case DOUBLE:
+					return Double.toString( Double.longBitsToDouble( value ) );
+				default:
+					return Boolean.toString( value != 0L );
+				}
+			}
+		}
+		return super.strValueStrict();
 	}
 
 	@Override
-	public final Map< String, ValueVector > children() {
-		return children;
+	public int intValueStrict()
+		throws TypeCastingException {
+		final int v = version;
+		final Object o = valueObject;
+		if( o instanceof Primitive ) {
+			final long value = primitiveValue;
+			if( isStable( v ) ) {
+				switch( (Primitive) o ) {
+				case DOUBLE:
+					return (int) Double.longBitsToDouble( value );
+				default:
+					return (int) value;
+				}
+			}
+		}
+		return super.intValueStrict();
 	}
 
 	@Override
-	public boolean hasChildren() {
-		return children.isEmpty() == false;
+	public long longValueStrict()
+		throws TypeCastingException {
+		final int v = version;
+		final Object o = valueObject;
+		if( o instanceof Primitive ) {
+			final long value = primitiveValue;
+			if( isStable( v ) ) {
+				switch( (Primitive) o ) {
+				case DOUBLE:
+					return (long) Double.longBitsToDouble( value );
+				default:
+					return value;
+				}
+			}
+		}
+		return super.longValueStrict();
 	}
 
 	@Override
-	public boolean hasChildren( String childId ) {
-		return children.containsKey( childId );
+	public double doubleValueStrict()
+		throws TypeCastingException {
+		final int v = version;
+		final Object o = valueObject;
+		if( o instanceof Primitive ) {
+			final long value = primitiveValue;
+			if( isStable( v ) ) {
+				switch( (Primitive) o ) {
+				case DOUBLE:
+					return Double.longBitsToDouble( value );
+				default:
+					return value;
+				}
+			}
+		}
+		return super.doubleValueStrict();
 	}
 
 	@Override
-	protected void _deepCopy( Value value, boolean copyLinks ) {
-		if( value.hasChildren() ) {
-			int i;
-			ValueImpl newValue;
-			for( Entry< String, ValueVector > entry : value.children().entrySet() ) {
-				if( copyLinks && entry.getValue().isLink() ) {
-					children.put( entry.getKey(), ValueVector.createClone( entry.getValue() ) );
-				} else {
-					List< Value > otherVector = entry.getValue().valuesCopy();
-					ValueVector vec = getChildren( entry.getKey(), children );
-					i = 0;
-					for( Value v : otherVector ) {
-						if( copyLinks && v.isLink() ) {
-							vec.set( i, ((ValueLink) v).clone() );
-						} else {
-							newValue = (v.isUsedInCorrelation() ? new CSetValue() : new ValueImpl());
-							newValue._deepCopy( v, copyLinks );
-							vec.set( i, newValue );
-						}
-						i++;
-					}
+	public boolean boolValueStrict()
+		throws TypeCastingException {
+		final int v = version;
+		final Object o = valueObject;
+		if( o instanceof Primitive ) {
+			final long value = primitiveValue;
+			if( isStable( v ) ) {
+				switch( (Primitive) o ) {
+				case DOUBLE:
+					return (long) Double.longBitsToDouble( value ) > 0;
+				default:
+					return value > 0;
 				}
 			}
 		}
+		return super.boolValueStrict();
 	}
 
-	private static ValueVector getChildren( String childId, Map< String, ValueVector > children ) {
-		return children.computeIfAbsent( childId, k -> ValueVector.create() );
+	protected ValueImpl( Object object ) {
+		store( object );
 	}
 
-	@Override
-	public Object valueObject() {
-		return null;
+	public ValueImpl( Value val ) {
+		store( val.valueObject() );
 	}
 
 	@Override
@@ -349,23 +976,104 @@ class RootValueImpl extends Value {
 }
 
 
+/**
+ * The root of a state tree. It never holds a value of its own.
+ */
+class RootValueImpl extends ValueImpl {
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public RootValueImpl clone() {
+		RootValueImpl ret = new RootValueImpl();
+		cloneInto( ret );
+		return ret;
+	}
+
+	@Override
+	public void setValueObject( Object object ) {}
+
+	@Override
+	protected void setIntValue( int value ) {}
+
+	@Override
+	protected void setLongValue( long value ) {}
+
+	@Override
+	protected void setDoubleValue( double value ) {}
+
+	@Override
+	protected void setBoolValue( boolean value ) {}
+
+	@Override
+	protected void _refCopy( Value value ) {}
+}
+
+
 class CSetValue extends ValueImpl {
 	private static final long serialVersionUID = Constants.serialVersionUID();
 
-	// @Override
-	// public void setValueObject( Object object ) {
-	// // CommCore commCore = Interpreter.getInstance().commCore();
-	// // synchronized( commCore.correlationLock() )
-	// // removeFromRadixTree();
-	// super.setValueObject( object );
-	// // addToRadixTree();
-	// // }
-	// }
+	private final transient Runnable onUpdate;
+
+	CSetValue() {
+		this( null );
+	}
+
+	CSetValue( Runnable onUpdate ) {
+		this.onUpdate = onUpdate;
+	}
+
+	@Override
+	public void setValueObject( Object object ) {
+		super.setValueObject( object );
+		if( onUpdate != null ) {
+			onUpdate.run();
+		}
+	}
+
+	@Override
+	protected void setIntValue( int value ) {
+		super.setIntValue( value );
+		if( onUpdate != null ) {
+			onUpdate.run();
+		}
+	}
+
+	@Override
+	protected void setLongValue( long value ) {
+		super.setLongValue( value );
+		if( onUpdate != null ) {
+			onUpdate.run();
+		}
+	}
+
+	@Override
+	protected void setDoubleValue( double value ) {
+		super.setDoubleValue( value );
+		if( onUpdate != null ) {
+			onUpdate.run();
+		}
+	}
+
+	@Override
+	protected void setBoolValue( boolean value ) {
+		super.setBoolValue( value );
+		if( onUpdate != null ) {
+			onUpdate.run();
+		}
+	}
+
+	@Override
+	public void erase() {
+		super.erase();
+		if( onUpdate != null ) {
+			onUpdate.run();
+		}
+	}
 
 	@Override
 	public CSetValue clone() {
 		CSetValue ret = new CSetValue();
-		ret._deepCopy( this, true );
+		cloneInto( ret );
 		return ret;
 	}
 
@@ -407,6 +1115,17 @@ public abstract class Value implements Expression, Cloneable {
 		return new CSetValue();
 	}
 
+	/**
+	 * Creates a correlation value that notifies {@code onUpdate} every time its content is changed.
+	 * Clones of the returned value do not inherit the notification.
+	 *
+	 * @param onUpdate the action to run after each update
+	 * @return the created value
+	 */
+	public static Value createCSetValue( Runnable onUpdate ) {
+		return new CSetValue( onUpdate );
+	}
+
 	public static Value create( Boolean bool ) {
 		return new ValueImpl( bool );
 	}
@@ -477,6 +1196,25 @@ public abstract class Value implements Expression, Cloneable {
 
 	protected abstract void setValueObject( Object object );
 
+	/*
+	 * Setters for primitive values. Implementations may store them without boxing.
+	 */
+	protected void setIntValue( int value ) {
+		setValueObject( value );
+	}
+
+	protected void setLongValue( long value ) {
+		setValueObject( value );
+	}
+
+	protected void setDoubleValue( double value ) {
+		setValueObject( value );
+	}
+
+	protected void setBoolValue( boolean value ) {
+		setValueObject( value );
+	}
+
 	public abstract boolean hasChildren();
 
 	public abstract boolean hasChildren( String childId );
@@ -549,6 +1287,22 @@ public abstract class Value implements Expression, Cloneable {
 		setValueObject( object );
 	}
 
+	public final void setValue( int value ) {
+		setIntValue( value );
+	}
+
+	public final void setValue( long value ) {
+		setLongValue( value );
+	}
+
+	public final void setValue( double value ) {
+		setDoubleValue( value );
+	}
+
+	public final void setValue( boolean value ) {
+		setBoolValue( value );
+	}
+
 	public final synchronized boolean equals( Value val ) {
 		boolean r = false;
 		if( val.isDefined() ) {
@@ -574,35 +1328,35 @@ public abstract class Value implements Expression, Cloneable {
 		return r;
 	}
 
-	public final boolean isInt() {
+	public boolean isInt() {
 		return (valueObject() instanceof Integer);
 	}
 
-	public final boolean isLong() {
+	public boolean isLong() {
 		return (valueObject() instanceof Long);
 	}
 
-	public final boolean isBool() {
+	public boolean isBool() {
 		return (valueObject() instanceof Boolean);
 	}
 
-	public final boolean isByteArray() {
+	public boolean isByteArray() {
 		return (valueObject() instanceof ByteArray);
 	}
 
-	public final boolean isDouble() {
+	public boolean isDouble() {
 		return (valueObject() instanceof Double);
 	}
 
-	public final boolean isString() {
+	public boolean isString() {
 		return (valueObject() instanceof String);
 	}
 
-	public final boolean isChannel() {
+	public boolean isChannel() {
 		return (valueObject() instanceof CommChannel);
 	}
 
-	public final boolean isDefined() {
+	public boolean isDefined() {
 		return (valueObject() != null);
 	}
 
@@ -626,7 +1380,7 @@ public abstract class Value implements Expression, Cloneable {
 		}
 	}
 
-	public final String strValueStrict()
+	public String strValueStrict()
 		throws TypeCastingException {
 		Object o = valueObject();
 		if( o == null ) {
@@ -703,7 +1457,7 @@ public abstract class Value implements Expression, Cloneable {
 		}
 	}
 
-	public final int intValueStrict()
+	public int intValueStrict()
 		throws TypeCastingException {
 		int r = 0;
 		Object o = valueObject();
@@ -741,7 +1495,7 @@ public abstract class Value implements Expression, Cloneable {
 		}
 	}
 
-	public final boolean boolValueStrict()
+	public boolean boolValueStrict()
 		throws TypeCastingException {
 		boolean r = false;
 		Object o = valueObject();
@@ -774,7 +1528,7 @@ public abstract class Value implements Expression, Cloneable {
 		}
 	}
 
-	public final long longValueStrict()
+	public long longValueStrict()
 		throws TypeCastingException {
 		long r = 0L;
 		Object o = valueObject();
@@ -812,7 +1566,7 @@ public abstract class Value implements Expression, Cloneable {
 		}
 	}
 
-	public final double doubleValueStrict()
+	public double doubleValueStrict()
 		throws TypeCastingException {
 		double r = 0.0;
 		Object o = valueObject();
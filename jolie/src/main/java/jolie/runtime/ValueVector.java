@@ -23,8 +23,11 @@ package jolie.runtime;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -79,48 +82,253 @@ class ValueVectorLink extends ValueVector implements Cloneable {
 }
 
 
+/*
+ * Most vectors never hold more than one value, so a single value is kept in a field of its own. The
+ * vector switches to an ArrayList when it needs a second one.
+ *
+ * Writes detach the snapshots of the map holding the vector first (see ValueImpl.ChildrenMap),
+ * outside of the lock on the vector, since detaching reads the vectors of the map.
+ */
 class ValueVectorImpl extends ValueVector implements Serializable {
 	private static final long serialVersionUID = Constants.serialVersionUID();
-	private final ArrayList< Value > values;
+	// The only value of the vector, while values is null
+	private volatile Value single = null;
+	private volatile ArrayList< Value > values = null;
+	// The map holding this vector when a snapshot of it was last taken
+	private transient volatile ValueImpl.ChildrenMap sharedBy = null;
+
+	/*
+	 * Marks this vector and its values as held by a map that is being snapshotted.
+	 */
+	synchronized void share( ValueImpl.ChildrenMap map ) {
+		sharedBy = map;
+		if( values == null ) {
+			if( single instanceof ValueImpl ) {
+				((ValueImpl) single).share( map );
+			}
+		} else {
+			for( Value value : values ) {
+				if( value instanceof ValueImpl ) {
+					((ValueImpl) value).share( map );
+				}
+			}
+		}
+	}
+
+	private void detachShared() {
+		final ValueImpl.ChildrenMap map = sharedBy;
+		if( map != null ) {
+			map.detachUp();
+			sharedBy = null;
+		}
+	}
+
+	/*
+	 * Switches to the list representation. Requires the lock on this vector.
+	 */
+	private ArrayList< Value > inflate() {
+		ArrayList< Value > list = values;
+		if( list == null ) {
+			list = new ArrayList<>( 2 );
+			if( single != null ) {
+				list.add( single );
+			}
+			values = list;
+			single = null;
+		}
+		return list;
+	}
 
 	@Override
 	protected List< Value > values() {
-		return values;
+		detachShared();
+		synchronized( this ) {
+			return inflate();
+		}
 	}
 
 	@Override
 	public synchronized int size() {
-		return values().size();
+		final ArrayList< Value > list = values;
+		if( list == null ) {
+			return single == null ? 0 : 1;
+		}
+		return list.size();
 	}
 
 	@Override
 	public Value get( int i ) {
-		if( i >= values.size() ) {
-			synchronized( this ) {
-				if( i >= values.size() ) {
-					values.ensureCapacity( i + 1 );
-					for( int k = values.size(); k <= i; k++ ) {
-						values.add( Value.create() );
-					}
+		final ArrayList< Value > list = values;
+		if( list == null ) {
+			if( i == 0 ) {
+				final Value value = single;
+				if( value != null ) {
+					return value;
+				}
+			}
+		} else if( i < list.size() ) {
+			return list.get( i );
+		}
+		detachShared();
+		synchronized( this ) {
+			if( values == null && i == 0 ) {
+				if( single == null ) {
+					single = Value.create();
+				}
+				return single;
+			}
+			final ArrayList< Value > l = inflate();
+			if( i >= l.size() ) {
+				l.ensureCapacity( i + 1 );
+				for( int k = l.size(); k <= i; k++ ) {
+					l.add( Value.create() );
 				}
 			}
+			return l.get( i );
 		}
-		return values.get( i );
 	}
 
 	@Override
-	public synchronized void set( int i, Value value ) {
-		if( i >= values.size() ) {
-			values.ensureCapacity( i + 1 );
-			for( int k = values.size(); k < i; k++ ) {
-				values.add( Value.create() );
+	public void set( int i, Value value ) {
+		detachShared();
+		synchronized( this ) {
+			if( values == null && i == 0 && value != null ) {
+				single = value;
+				return;
+			}
+			final ArrayList< Value > l = inflate();
+			if( i >= l.size() ) {
+				l.ensureCapacity( i + 1 );
+				for( int k = l.size(); k < i; k++ ) {
+					l.add( Value.create() );
+				}
+				l.add( value );
+			} else {
+				l.set( i, value );
+			}
+		}
+	}
+
+	@Override
+	public void add( Value value ) {
+		detachShared();
+		synchronized( this ) {
+			if( values == null && single == null && value != null ) {
+				single = value;
+			} else {
+				inflate().add( value );
 			}
-			values.add( value );
-		} else {
-			values.set( i, value );
 		}
 	}
 
+	@Override
+	public void add( int index, Value value ) {
+		detachShared();
+		synchronized( this ) {
+			if( values == null && single == null && index == 0 && value != null ) {
+				single = value;
+			} else {
+				inflate().add( index, value );
+			}
+		}
+	}
+
+	@Override
+	public Value remove( int i ) {
+		detachShared();
+		synchronized( this ) {
+			if( values == null && single != null && i == 0 ) {
+				final Value value = single;
+				single = null;
+				return value;
+			}
+			return inflate().remove( i );
+		}
+	}
+
+	/*
+	 * Removes the value returned by an iterator over a single value, failing like the iterators of
+	 * ArrayList do if the vector changed in the meantime.
+	 */
+	private void removeSingle( Value value ) {
+		detachShared();
+		synchronized( this ) {
+			if( values == null ) {
+				if( single != value ) {
+					throw new ConcurrentModificationException();
+				}
+				single = null;
+			} else if( values.isEmpty() || values.get( 0 ) != value ) {
+				throw new ConcurrentModificationException();
+			} else {
+				values.remove( 0 );
+			}
+		}
+	}
+
+	@Override
+	public synchronized boolean isEmpty() {
+		final ArrayList< Value > list = values;
+		return list == null ? single == null : list.isEmpty();
+	}
+
+	@Override
+	public synchronized Iterator< Value > iterator() {
+		final ArrayList< Value > list = values;
+		if( list == null ) {
+			final Value value = single;
+			if( value == null ) {
+				return Collections.emptyIterator();
+			}
+			return new Iterator< Value >() {
+				private boolean hasNext = true;
+				private boolean canRemove = false;
+
+				@Override
+				public boolean hasNext() {
+					return hasNext;
+				}
+
+				@Override
+				public Value next() {
+					if( !hasNext ) {
+						throw new NoSuchElementException();
+					}
+					hasNext = false;
+					canRemove = true;
+					return value;
+				}
+
+				@Override
+				public void remove() {
+					if( !canRemove ) {
+						throw new IllegalStateException();
+					}
+					canRemove = false;
+					removeSingle( value );
+				}
+			};
+		}
+		final Iterator< Value > it = list.iterator();
+		return new Iterator< Value >() {
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public Value next() {
+				return it.next();
+			}
+
+			@Override
+			public void remove() {
+				detachShared();
+				it.remove();
+			}
+		};
+	}
+
 	@Override
 	public boolean isLink() {
 		return false;
@@ -128,12 +336,18 @@ class ValueVectorImpl extends ValueVector implements Serializable {
 
 	@Override
 	public synchronized List< Value > valuesCopy() {
-		return new ArrayList<>( values );
+		final ArrayList< Value > list = values;
+		if( list == null ) {
+			final ArrayList< Value > copy = new ArrayList<>( 1 );
+			if( single != null ) {
+				copy.add( single );
+			}
+			return copy;
+		}
+		return new ArrayList<>( list );
 	}
 
-	public ValueVectorImpl() {
-		values = new ArrayList<>( 1 );
-	}
+	public ValueVectorImpl() {}
 }
 
 
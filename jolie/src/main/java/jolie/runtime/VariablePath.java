@@ -24,6 +24,7 @@ package jolie.runtime;
 import jolie.ExecutionThread;
 import jolie.State;
 import jolie.process.TransformationReason;
+import jolie.runtime.correlation.CorrelationEngine;
 import jolie.runtime.expression.Expression;
 import jolie.util.Pair;
 
@@ -46,6 +47,12 @@ public class VariablePath implements Expression {
 
 	private final Pair< Expression, Expression >[] path; // Right Expression may be null
 
+	// Keys and indexes of the nodes that are literals, resolved once. Other nodes are evaluated on
+	// every access, and are marked by null keys and DYNAMIC_INDEX.
+	private static final int DYNAMIC_INDEX = -1;
+	private final String[] keys;
+	private final int[] indexes;
+
 	public final Pair< Expression, Expression >[] path() {
 		return path;
 	}
@@ -85,22 +92,14 @@ public class VariablePath implements Expression {
 			return null;
 
 		int i, myIndex, otherIndex;
-		Pair< Expression, Expression > pair, otherPair;
-		Expression expr, otherExpr;
 		for( i = 0; i < path.length; i++ ) {
-			pair = path[ i ];
-			otherPair = otherVarPath.path[ i ];
-
 			// *.element_name is not a subpath of *.other_name
-			if( !pair.key().evaluate().strValue().equals( otherPair.key().evaluate().strValue() ) )
+			if( !key( i ).equals( otherVarPath.key( i ) ) )
 				return null;
 
 			// If element name is equal, check for the same index
-			expr = pair.value();
-			otherExpr = otherPair.value();
-
-			myIndex = (expr == null) ? 0 : expr.evaluate().intValue();
-			otherIndex = (otherExpr == null) ? 0 : otherExpr.evaluate().intValue();
+			myIndex = index( i );
+			otherIndex = otherVarPath.index( i );
 			if( myIndex != otherIndex )
 				return null;
 		}
@@ -123,6 +122,50 @@ public class VariablePath implements Expression {
 
 	public VariablePath( Pair< Expression, Expression >[] path ) {
 		this.path = path;
+		this.keys = new String[ path.length ];
+		this.indexes = new int[ path.length ];
+		for( int i = 0; i < path.length; i++ ) {
+			final Expression key = path[ i ].key();
+			if( isConstant( key ) ) {
+				// Interned, so that children maps mostly find them by reference
+				keys[ i ] = ((Value) key).strValue().intern();
+			}
+			final Expression index = path[ i ].value();
+			if( index == null ) {
+				indexes[ i ] = 0;
+			} else if( isConstant( index ) && ((Value) index).intValue() >= 0 ) {
+				indexes[ i ] = ((Value) index).intValue();
+			} else {
+				indexes[ i ] = DYNAMIC_INDEX;
+			}
+		}
+	}
+
+	private static boolean isConstant( Expression expression ) {
+		return expression instanceof Value && !((Value) expression).isLink();
+	}
+
+	private String key( int i ) {
+		final String key = keys[ i ];
+		return key != null ? key : path[ i ].key().evaluate().strValue();
+	}
+
+	/*
+	 * Returns the index of the i-th node, which is 0 for nodes without an index.
+	 */
+	private int index( int i ) {
+		final int index = indexes[ i ];
+		return index != DYNAMIC_INDEX ? index : path[ i ].value().evaluate().intValue();
+	}
+
+	/**
+	 * Returns a copy of this path that points to the given index of its last node, e.g., a.b[2] for
+	 * a.b.
+	 */
+	public final VariablePath withLastIndex( int index ) {
+		final Pair< Expression, Expression >[] newPath = Arrays.copyOf( path, path.length );
+		newPath[ path.length - 1 ] = new Pair<>( path[ path.length - 1 ].key(), Value.create( index ) );
+		return _createVariablePath( newPath );
 	}
 
 	protected Value getRootValue() {
@@ -130,14 +173,19 @@ public class VariablePath implements Expression {
 	}
 
 	public final void undef() {
+		final Value root = getRootValue();
+		undef( root );
+		CorrelationEngine.notifyStructuralUpdate( root );
+	}
+
+	private void undef( Value currValue ) {
 		Pair< Expression, Expression > pair;
 		ValueVector currVector;
-		Value currValue = getRootValue();
 		int index;
 		String keyStr;
 		for( int i = 0; i < path.length; i++ ) {
 			pair = path[ i ];
-			keyStr = pair.key().evaluate().strValue();
+			keyStr = key( i );
 			currVector = currValue.children().get( keyStr );
 			if( currVector == null ) {
 				return;
@@ -152,7 +200,7 @@ public class VariablePath implements Expression {
 					currValue.children().remove( keyStr );
 				}
 			} else {
-				index = pair.value().evaluate().intValue();
+				index = index( i );
 				if( (i + 1) < path.length ) {
 					if( currVector.size() <= index ) {
 						return;
@@ -186,12 +234,12 @@ public class VariablePath implements Expression {
 	}
 
 	public final Value getValue( Value currValue ) {
-		for( Pair< Expression, Expression > pair : path ) {
-			final String keyStr = pair.key().evaluate().strValue();
+		for( int i = 0; i < path.length; i++ ) {
+			final String keyStr = key( i );
 			currValue =
-				pair.value() == null
+				path[ i ].value() == null
 					? currValue.getFirstChild( keyStr )
-					: currValue.getChildren( keyStr ).get( pair.value().evaluate().intValue() );
+					: currValue.getChildren( keyStr ).get( index( i ) );
 		}
 
 
@@ -201,7 +249,8 @@ public class VariablePath implements Expression {
 	public final void setValue( Value value ) {
 		Pair< Expression, Expression > pair;
 		ValueVector currVector;
-		Value currValue = getRootValue();
+		final Value root = getRootValue();
+		Value currValue = root;
 		int index;
 		String keyStr;
 
@@ -210,7 +259,7 @@ public class VariablePath implements Expression {
 		} else {
 			for( int i = 0; i < path.length; i++ ) {
 				pair = path[ i ];
-				keyStr = pair.key().evaluate().strValue();
+				keyStr = key( i );
 				currVector = currValue.getChildren( keyStr );
 				if( pair.value() == null ) {
 					if( (i + 1) < path.length ) {
@@ -223,7 +272,7 @@ public class VariablePath implements Expression {
 						}
 					}
 				} else {
-					index = pair.value().evaluate().intValue();
+					index = index( i );
 					if( (i + 1) < path.length ) {
 						currValue = currVector.get( index );
 					} else {
@@ -236,7 +285,7 @@ public class VariablePath implements Expression {
 				}
 			}
 		}
-
+		CorrelationEngine.notifyStructuralUpdate( root );
 	}
 
 	public final Value getValueOrNull() {
@@ -250,7 +299,7 @@ public class VariablePath implements Expression {
 	public final Value getValueOrNull( Value currValue ) {
 		for( int i = 0; i < path.length; i++ ) {
 			final Pair< Expression, Expression > pair = path[ i ];
-			final ValueVector currVector = currValue.children().get( pair.key().evaluate().strValue() );
+			final ValueVector currVector = currValue.children().get( key( i ) );
 			if( currVector == null ) {
 				return null;
 			}
@@ -268,7 +317,7 @@ public class VariablePath implements Expression {
 					}
 				}
 			} else {
-				final int index = pair.value().evaluate().intValue();
+				final int index = index( i );
 				if( currVector.size() <= index ) {
 					return null;
 				}
@@ -319,12 +368,12 @@ public class VariablePath implements Expression {
 		ValueVector currVector = null;
 		for( int i = 0; i < path.length; i++ ) {
 			final Pair< Expression, Expression > pair = path[ i ];
-			currVector = currValue.getChildren( pair.key().evaluate().strValue() );
+			currVector = currValue.getChildren( key( i ) );
 			if( (i + 1) < path.length ) {
 				if( pair.value() == null ) {
 					currValue = currVector.get( 0 );
 				} else {
-					currValue = currVector.get( pair.value().evaluate().intValue() );
+					currValue = currVector.get( index( i ) );
 				}
 			}
 		}
@@ -336,7 +385,7 @@ public class VariablePath implements Expression {
 		ValueVector currVector = null;
 		for( int i = 0; i < path.length; i++ ) {
 			final Pair< Expression, Expression > pair = path[ i ];
-			currVector = currValue.children().get( pair.key().evaluate().strValue() );
+			currVector = currValue.children().get( key( i ) );
 			if( currVector == null ) {
 				return null;
 			}
@@ -347,7 +396,7 @@ public class VariablePath implements Expression {
 					}
 					currValue = currVector.get( 0 );
 				} else {
-					final int index = pair.value().evaluate().intValue();
+					final int index = index( i );
 					if( currVector.size() <= index ) {
 						return null;
 					}
@@ -371,14 +420,15 @@ public class VariablePath implements Expression {
 		makePointer( getRootValue(), rightPath );
 	}
 
-	public final void makePointer( Value currValue, VariablePath rightPath ) {
+	public final void makePointer( Value root, VariablePath rightPath ) {
 		Pair< Expression, Expression > pair;
 		ValueVector currVector;
+		Value currValue = root;
 		int index;
 		String keyStr;
 		for( int i = 0; i < path.length; i++ ) {
 			pair = path[ i ];
-			keyStr = pair.key().evaluate().strValue();
+			keyStr = key( i );
 			currVector = currValue.getChildren( keyStr );
 			if( pair.value() == null ) {
 				if( (i + 1) < path.length ) {
@@ -387,7 +437,7 @@ public class VariablePath implements Expression {
 					currValue.children().put( keyStr, ValueVector.createLink( rightPath ) );
 				}
 			} else {
-				index = pair.value().evaluate().intValue();
+				index = index( i );
 				if( (i + 1) < path.length ) {
 					currValue = currVector.get( index );
 				} else {
@@ -395,7 +445,7 @@ public class VariablePath implements Expression {
 				}
 			}
 		}
-
+		CorrelationEngine.notifyStructuralUpdate( root );
 	}
 
 	public Object getValueOrValueVector() {
@@ -405,7 +455,7 @@ public class VariablePath implements Expression {
 		int index;
 		for( int i = 0; i < path.length; i++ ) {
 			pair = path[ i ];
-			currVector = currValue.getChildren( pair.key().evaluate().strValue() );
+			currVector = currValue.getChildren( key( i ) );
 			if( pair.value() == null ) {
 				if( (i + 1) < path.length ) {
 					currValue = currVector.get( 0 );
@@ -413,7 +463,7 @@ public class VariablePath implements Expression {
 					return currVector;
 				}
 			} else {
-				index = pair.value().evaluate().intValue();
+				index = index( i );
 				if( (i + 1) < path.length ) {
 					currValue = currVector.get( index );
 				} else {
@@ -437,6 +487,7 @@ public class VariablePath implements Expression {
 				myVec.get( i ).deepCopy( rightVec.get( i ) );
 			}
 		}
+		CorrelationEngine.notifyStructuralUpdate( getRootValue() );
 	}
 
 	@Override
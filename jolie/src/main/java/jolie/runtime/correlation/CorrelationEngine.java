@@ -21,13 +21,18 @@
 
 package jolie.runtime.correlation;
 
+import java.util.List;
+
+import jolie.ExecutionThread;
 import jolie.Interpreter;
 import jolie.SessionListener;
 import jolie.SessionThread;
+import jolie.lang.Constants.ExecutionMode;
 import jolie.net.CommChannel;
 import jolie.net.CommMessage;
 import jolie.runtime.Value;
 import jolie.runtime.correlation.CorrelationSet.CorrelationPair;
+import jolie.runtime.correlation.impl.HashCorrelationEngine;
 import jolie.runtime.correlation.impl.SimpleCorrelationEngine;
 
 /**
@@ -46,8 +51,7 @@ public abstract class CorrelationEngine implements SessionListener {
 		HASH {
 			@Override
 			public CorrelationEngine createInstance( Interpreter interpreter ) {
-				// return new HashCorrelationEngine( interpreter );
-				return null;
+				return new HashCorrelationEngine( interpreter );
 			}
 		};
 
@@ -82,6 +86,31 @@ public abstract class CorrelationEngine implements SessionListener {
 		return interpreter;
 	}
 
+	/**
+	 * Called when a part of the state with the given root has been replaced or removed as a whole,
+	 * instead of being assigned, e.g., by an undef or a deep copy. Does nothing by default.
+	 *
+	 * @param root the root of the updated state
+	 */
+	public void onStructuralUpdate( Value root ) {}
+
+	/**
+	 * Notifies the correlation engine of the interpreter running the current thread, if any, that a
+	 * part of the state with the given root has been replaced or removed.
+	 *
+	 * @param root the root of the updated state
+	 * @see #onStructuralUpdate(Value)
+	 */
+	public static void notifyStructuralUpdate( Value root ) {
+		final ExecutionThread thread = ExecutionThread.currentThread();
+		if( thread != null ) {
+			final CorrelationEngine engine = thread.interpreter().correlationEngine();
+			if( engine != null ) {
+				engine.onStructuralUpdate( root );
+			}
+		}
+	}
+
 	protected void initCorrelationValues( SessionThread session, Interpreter.SessionStarter starter,
 		CommMessage message ) {
 		Value messageValue;
@@ -99,6 +128,48 @@ public abstract class CorrelationEngine implements SessionListener {
 		}
 	}
 
+	/**
+	 * Checks whether a message correlates with a session, by comparing the correlation values of the
+	 * session with those carried by the message.
+	 *
+	 * @param session the candidate session
+	 * @param message the received message
+	 * @return {@code true} if the message correlates with the session, {@code false} otherwise
+	 */
+	protected boolean correlate( SessionThread session, CommMessage message ) {
+		if( (interpreter.correlationSets().isEmpty()
+			&& interpreter.executionMode() == ExecutionMode.SINGLE)
+			||
+			session.isInitialisingThread() ) {
+			return true;
+		}
+
+		final CorrelationSet cset = interpreter.getCorrelationSetForOperation( message.operationName() );
+		if( cset == null ) {
+			return interpreter.executionMode() == ExecutionMode.SINGLE; // It must be a session starter.
+		}
+		final List< CorrelationPair > pairs = cset.getOperationCorrelationPairs( message.operationName() );
+		for( CorrelationPair cpair : pairs ) {
+			final Value sessionValue = cpair.sessionPath().getValueOrNull( session.state().root() );
+			if( sessionValue == null ) {
+				return false;
+			} else {
+				Value messageValue = cpair.messagePath().getValueOrNull( message.value() );
+				if( messageValue == null ) {
+					return false;
+				} else {
+					// TODO: Value.equals is type insensitive, fix this with an additional check.
+					if( !sessionValue.isDefined() || !messageValue.isDefined()
+						|| !sessionValue.isEqualTo( messageValue ) ) {
+						return false;
+					}
+				}
+			}
+		}
+
+		return true;
+	}
+
 	public synchronized void onMessageReceive( final CommMessage message, final CommChannel channel )
 		throws CorrelationError {
 		if( !(
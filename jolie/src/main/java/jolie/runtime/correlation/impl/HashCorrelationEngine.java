@@ -21,15 +21,410 @@
 
 package jolie.runtime.correlation.impl;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
 import jolie.Interpreter;
+import jolie.SessionThread;
+import jolie.lang.Constants.ExecutionMode;
+import jolie.net.CommChannel;
+import jolie.net.CommMessage;
+import jolie.net.SessionMessage;
+import jolie.runtime.FaultException;
+import jolie.runtime.Value;
+import jolie.runtime.ValueVector;
+import jolie.runtime.VariablePath;
+import jolie.runtime.correlation.CorrelationError;
+import jolie.runtime.correlation.CorrelationEngine;
+import jolie.runtime.correlation.CorrelationSet;
+import jolie.runtime.correlation.CorrelationSet.CorrelationPair;
+import jolie.runtime.expression.Expression;
+import jolie.util.Pair;
 
 /**
- * A hash table based correlation algorithm (stub).
- * 
+ * A hash table based correlation algorithm. Sessions are indexed by the values of their correlation
+ * variables, so that routing a message requires a lookup on the values it carries instead of a scan
+ * of all running sessions.
+ *
+ * The index is updated when a session starts, when one of its correlation variables is assigned and
+ * when the session terminates. Replacing or removing a correlation variable, or one of its
+ * ancestors, is notified through {@link #onStructuralUpdate(Value)}, which hooks the new values and
+ * updates the keys of the session. Correlation values are compared by their string representation,
+ * as {@link Value#isEqualTo(Value)} does for strings. Variables that cannot be hooked, e.g.,
+ * aliases or variables removed by an undef, may change without the index being notified: if a
+ * message for an operation that does not start sessions correlates with no indexed session, only
+ * the keys of the sessions with such variables are recomputed before giving up.
+ *
  * @author Fabrizio Montesi
  */
-public class HashCorrelationEngine extends SimpleCorrelationEngine {
+public class HashCorrelationEngine extends CorrelationEngine {
+	private static final int LOCK_STRIPES = 64;
+
+	// Sessions accepting any message, e.g., the init session.
+	private final Set< SessionThread > catchAllSessions = Collections.newSetFromMap( new ConcurrentHashMap<>() );
+	private final Set< SessionThread > sessions = Collections.newSetFromMap( new ConcurrentHashMap<>() );
+	private final Map< CorrelationSet, Map< Object, Set< SessionThread > > > indexes = new ConcurrentHashMap<>();
+	private final Map< SessionThread, Map< CorrelationSet, Object > > sessionKeys = new ConcurrentHashMap<>();
+	// The values installed by installUpdateHook, in the order of the correlation variable paths.
+	private final Map< SessionThread, Map< CorrelationSet, Value[] > > hookedValues = new ConcurrentHashMap<>();
+	// The indexed sessions, by the root of their state.
+	private final Map< Value, SessionThread > sessionsByRoot = new ConcurrentHashMap<>();
+	// The indexed sessions with a correlation variable that is not hooked.
+	private final Set< SessionThread > unhookedSessions = Collections.newSetFromMap( new ConcurrentHashMap<>() );
+	// Maps each correlating operation to the positions of its pairs in the correlation set variables.
+	private final Map< String, int[] > operationKeyLayouts = new ConcurrentHashMap<>();
+	private final Object[] locks = new Object[ LOCK_STRIPES ];
+
 	public HashCorrelationEngine( Interpreter interpreter ) {
 		super( interpreter );
+		for( int i = 0; i < locks.length; i++ ) {
+			locks[ i ] = new Object();
+		}
+	}
+
+	/**
+	 * Messages are serialised only with respect to other messages mapped to the same lock stripe, so
+	 * that routing and session creation for different correlation values can proceed in parallel.
+	 */
+	@Override
+	public void onMessageReceive( final CommMessage message, final CommChannel channel )
+		throws CorrelationError {
+		final CorrelationSet cset = interpreter().getCorrelationSetForOperation( message.operationName() );
+		final Object key = cset == null ? null : messageKey( cset, message );
+		final Object lock = locks[ Math.floorMod(
+			(key == null ? message.operationName() : key).hashCode(), LOCK_STRIPES ) ];
+		synchronized( lock ) {
+			if( !(route( message, channel, cset, key ) || interpreter().startServiceSession( message, channel )) ) {
+				throw new CorrelationError();
+			}
+		}
+	}
+
+	@Override
+	protected boolean routeMessage( CommMessage message, CommChannel channel ) {
+		final CorrelationSet cset = interpreter().getCorrelationSetForOperation( message.operationName() );
+		return route( message, channel, cset, cset == null ? null : messageKey( cset, message ) );
+	}
+
+	private boolean route( CommMessage message, CommChannel channel, CorrelationSet cset, Object key ) {
+		if( cset != null ) {
+			if( key != null ) {
+				// Misses are expected for operations that start sessions, so only the others pay for a refresh
+				if( routeIndexed( cset, key, message, channel )
+					|| (interpreter().getSessionStarter( message.operationName() ) == null
+						&& refreshUnhookedKeys()
+						&& routeIndexed( cset, key, message, channel )) ) {
+					return true;
+				}
+			} else if( operationKeyLayout( cset, message.operationName() ) == null ) {
+				// The operation does not provide all correlation values, we cannot use the index.
+				if( routeTo( sessions, message, channel ) ) {
+					return true;
+				}
+			}
+		} else if( interpreter().executionMode() == ExecutionMode.SINGLE
+			&& routeTo( sessions, message, channel ) ) {
+			return true;
+		}
+
+		return routeTo( catchAllSessions, message, channel );
+	}
+
+	private boolean routeIndexed( CorrelationSet cset, Object key, CommMessage message, CommChannel channel ) {
+		final Set< SessionThread > candidates = index( cset ).get( key );
+		return candidates != null && routeTo( candidates, message, channel );
+	}
+
+	private boolean routeTo( Set< SessionThread > candidates, CommMessage message, CommChannel channel ) {
+		for( SessionThread session : candidates ) {
+			if( correlate( session, message ) ) {
+				session.pushMessage( new SessionMessage( message, channel ) );
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void onSessionStart( SessionThread session, Interpreter.SessionStarter starter, CommMessage message ) {
+		initCorrelationValues( session, starter, message );
+		register( session );
+	}
+
+	@Override
+	public void onSingleExecutionSessionStart( SessionThread session ) {
+		register( session );
+	}
+
+	@Override
+	public void onSessionExecuted( SessionThread session ) {
+		sessions.remove( session );
+		catchAllSessions.remove( session );
+		final Map< CorrelationSet, Value[] > hooks = hookedValues.remove( session );
+		if( hooks != null ) {
+			synchronized( hooks ) {
+				sessionsByRoot.remove( session.state().root(), session );
+				unhookedSessions.remove( session );
+			}
+		}
+		final Map< CorrelationSet, Object > keys = sessionKeys.remove( session );
+		if( keys != null ) {
+			keys.forEach( ( cset, key ) -> removeFromIndex( cset, key, session ) );
+		}
+	}
+
+	@Override
+	public void onSessionError( SessionThread session, FaultException fault ) {
+		onSessionExecuted( session );
+	}
+
+	private void register( SessionThread session ) {
+		sessions.add( session );
+		if( session.isInitialisingThread()
+			|| (interpreter().correlationSets().isEmpty()
+				&& interpreter().executionMode() == ExecutionMode.SINGLE) ) {
+			catchAllSessions.add( session );
+			return;
+		}
+
+		final Map< CorrelationSet, Value[] > hooks = new ConcurrentHashMap<>();
+		hookedValues.put( session, hooks );
+		sessionKeys.put( session, new ConcurrentHashMap<>() );
+		boolean unhooked = false;
+		for( CorrelationSet cset : interpreter().correlationSets() ) {
+			final List< VariablePath > paths = cset.correlationVariablePaths();
+			final Value[] values = new Value[ paths.size() ];
+			for( int i = 0; i < values.length; i++ ) {
+				values[ i ] = installUpdateHook( session, cset, paths.get( i ) );
+				unhooked |= values[ i ] == null;
+			}
+			hooks.put( cset, values );
+			updateIndex( session, cset );
+		}
+		if( unhooked ) {
+			unhookedSessions.add( session );
+		}
+		sessionsByRoot.put( session.state().root(), session );
+	}
+
+	/**
+	 * Replacing an ancestor of a hooked value detaches the hook from the state of the session, so the
+	 * values of the session are hooked again and its keys updated.
+	 */
+	@Override
+	public void onStructuralUpdate( Value root ) {
+		final SessionThread session = sessionsByRoot.get( root );
+		if( session != null ) {
+			rehook( session );
+		}
+	}
+
+	/*
+	 * Recomputes the keys of the sessions with a variable that is not hooked, and returns whether any
+	 * key changed.
+	 */
+	private boolean refreshUnhookedKeys() {
+		boolean changed = false;
+		for( SessionThread session : unhookedSessions ) {
+			changed |= rehook( session );
+		}
+		return changed;
+	}
+
+	/*
+	 * Hooks the correlation variables of the session that are not hooked anymore, and updates the keys
+	 * of their correlation sets. Removed variables are left unhooked, so that their nodes are not
+	 * created again. Returns whether any key changed.
+	 */
+	private boolean rehook( SessionThread session ) {
+		final Map< CorrelationSet, Value[] > hooks = hookedValues.get( session );
+		if( hooks == null ) { // The session is not running anymore
+			return false;
+		}
+
+		final Value root = session.state().root();
+		boolean changed = false;
+		boolean unhooked = false;
+		synchronized( hooks ) {
+			if( hookedValues.get( session ) != hooks ) {
+				return false;
+			}
+			for( Map.Entry< CorrelationSet, Value[] > entry : hooks.entrySet() ) {
+				final CorrelationSet cset = entry.getKey();
+				final List< VariablePath > paths = cset.correlationVariablePaths();
+				final Value[] values = entry.getValue();
+				boolean detached = false;
+				for( int i = 0; i < values.length; i++ ) {
+					final Value value = paths.get( i ).getValueOrNull( root );
+					if( value == null || value != values[ i ] ) {
+						detached = true;
+						values[ i ] = value == null ? null : installUpdateHook( session, cset, paths.get( i ) );
+						unhooked |= values[ i ] == null;
+					}
+				}
+				if( detached ) {
+					changed |= updateIndex( session, cset );
+				}
+			}
+			if( unhooked ) {
+				unhookedSessions.add( session );
+			} else {
+				unhookedSessions.remove( session );
+			}
+		}
+		return changed;
+	}
+
+	/*
+	 * Replaces the value of a correlation variable in the state of the session with one that updates
+	 * the index whenever it is assigned. Returns the new value, or null if the variable could not be
+	 * hooked.
+	 */
+	private Value installUpdateHook( SessionThread session, CorrelationSet cset, VariablePath path ) {
+		final Pair< Expression, Expression >[] pairs = path.path();
+		Value currValue = session.state().root();
+		ValueVector currVector = null;
+		int index = 0;
+		for( Pair< Expression, Expression > pair : pairs ) {
+			if( currVector != null ) {
+				currValue = currVector.get( index );
+			}
+			currVector = currValue.getChildren( pair.key().evaluate().strValue() );
+			index = pair.value() == null ? 0 : pair.value().evaluate().intValue();
+		}
+
+		if( currVector != null && !currVector.isLink() ) {
+			final Value oldValue = currVector.get( index );
+			if( !oldValue.isLink() && !oldValue.isUsedInCorrelation() ) {
+				final Value hookedValue = Value.createCSetValue( () -> updateIndex( session, cset ) );
+				hookedValue.refCopy( oldValue );
+				currVector.set( index, hookedValue );
+				return hookedValue;
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * Returns whether the key of the session changed.
+	 */
+	private boolean updateIndex( SessionThread session, CorrelationSet cset ) {
+		final Map< CorrelationSet, Object > keys = sessionKeys.get( session );
+		if( keys == null ) { // The session is not running anymore
+			return false;
+		}
+
+		synchronized( keys ) {
+			final Object newKey = sessionKey( cset, session );
+			final Object oldKey = keys.get( cset );
+			if( newKey == null ? oldKey == null : newKey.equals( oldKey ) ) {
+				return false;
+			}
+			if( oldKey != null ) {
+				removeFromIndex( cset, oldKey, session );
+				keys.remove( cset );
+			}
+			if( newKey != null ) {
+				index( cset ).compute( newKey, ( k, set ) -> {
+					if( set == null ) {
+						set = Collections.newSetFromMap( new ConcurrentHashMap<>( 2 ) );
+					}
+					set.add( session );
+					return set;
+				} );
+				keys.put( cset, newKey );
+			}
+			return true;
+		}
+	}
+
+	private void removeFromIndex( CorrelationSet cset, Object key, SessionThread session ) {
+		index( cset ).computeIfPresent( key, ( k, set ) -> {
+			set.remove( session );
+			return set.isEmpty() ? null : set;
+		} );
+	}
+
+	private Map< Object, Set< SessionThread > > index( CorrelationSet cset ) {
+		return indexes.computeIfAbsent( cset, k -> new ConcurrentHashMap<>() );
+	}
+
+	private static Object sessionKey( CorrelationSet cset, SessionThread session ) {
+		final List< VariablePath > paths = cset.correlationVariablePaths();
+		final String[] values = new String[ paths.size() ];
+		for( int i = 0; i < values.length; i++ ) {
+			final Value value = paths.get( i ).getValueOrNull( session.state().root() );
+			if( value == null || !value.isDefined() ) {
+				return null;
+			}
+			values[ i ] = value.strValue();
+		}
+		return toKey( values );
+	}
+
+	private Object messageKey( CorrelationSet cset, CommMessage message ) {
+		final int[] layout = operationKeyLayout( cset, message.operationName() );
+		if( layout == null ) {
+			return null;
+		}
+
+		final List< CorrelationPair > pairs = cset.getOperationCorrelationPairs( message.operationName() );
+		final String[] values = new String[ layout.length ];
+		for( int i = 0; i < layout.length; i++ ) {
+			final Value value = pairs.get( i ).messagePath().getValueOrNull( message.value() );
+			if( value == null || !value.isDefined() ) {
+				return null;
+			}
+			values[ layout[ i ] ] = value.strValue();
+		}
+		return toKey( values );
+	}
+
+	private static Object toKey( String[] values ) {
+		return values.length == 1 ? values[ 0 ] : Arrays.asList( values );
+	}
+
+	/*
+	 * Returns, for each correlation pair of the operation, the position of its session variable among
+	 * the variables of the correlation set, or null if the pairs do not cover all the variables.
+	 */
+	private int[] operationKeyLayout( CorrelationSet cset, String operationName ) {
+		final int[] layout = operationKeyLayouts.computeIfAbsent( operationName, opName -> {
+			final List< String > variables = cset.correlationVariablePaths().stream()
+				.map( HashCorrelationEngine::pathString )
+				.collect( Collectors.toList() );
+			final List< CorrelationPair > pairs = cset.getOperationCorrelationPairs( opName );
+			if( pairs == null || pairs.size() != variables.size() ) {
+				return new int[ 0 ];
+			}
+			final int[] result = new int[ pairs.size() ];
+			final boolean[] covered = new boolean[ variables.size() ];
+			for( int i = 0; i < result.length; i++ ) {
+				result[ i ] = variables.indexOf( pathString( pairs.get( i ).sessionPath() ) );
+				if( result[ i ] < 0 || covered[ result[ i ] ] ) {
+					return new int[ 0 ];
+				}
+				covered[ result[ i ] ] = true;
+			}
+			return result;
+		} );
+		return layout.length == 0 ? null : layout;
+	}
+
+	private static String pathString( VariablePath path ) {
+		final StringBuilder builder = new StringBuilder();
+		for( Pair< Expression, Expression > pair : path.path() ) {
+			builder.append( '.' )
+				.append( pair.key().evaluate().strValue() )
+				.append( '[' )
+				.append( pair.value() == null ? 0 : pair.value().evaluate().intValue() )
+				.append( ']' );
+		}
+		return builder.toString();
 	}
 }
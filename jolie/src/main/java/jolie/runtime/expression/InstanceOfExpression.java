@@ -25,7 +25,6 @@ package jolie.runtime.expression;
 import jolie.process.TransformationReason;
 import jolie.runtime.Value;
 import jolie.runtime.typing.Type;
-import jolie.runtime.typing.TypeCheckingException;
 
 /**
  * Implements the instanceof operator.
@@ -48,12 +47,6 @@ public class InstanceOfExpression implements Expression {
 
 	@Override
 	public Value evaluate() {
-		boolean ret = true;
-		try {
-			type.check( expression.evaluate() );
-		} catch( TypeCheckingException e ) {
-			ret = false;
-		}
-		return Value.create( ret );
+		return Value.create( type.accepts( expression.evaluate() ) );
 	}
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.runtime.expression;
+
+import jolie.runtime.Value;
+
+/**
+ * Accumulates the result of an arithmetic expression on primitives, following the promotions of the
+ * arithmetic operations of {@link Value}: ints are promoted to longs, and both to doubles.
+ *
+ * Operations return false, leaving the accumulator unchanged, when the operand is not a number. The
+ * expression then continues on {@link Value} arithmetic from {@link #toValue()}.
+ */
+final class NumericAccumulator {
+	private static final int INT = 0;
+	private static final int LONG = 1;
+	private static final int DOUBLE = 2;
+
+	private int kind;
+	private long longValue;
+	private double doubleValue;
+
+	private static int kindOf( Value value ) {
+		if( value.isInt() ) {
+			return INT;
+		} else if( value.isLong() ) {
+			return LONG;
+		} else if( value.isDouble() ) {
+			return DOUBLE;
+		}
+		return -1;
+	}
+
+	/**
+	 * Starts from the given value, returning false if it is not a number.
+	 */
+	boolean reset( Value value ) {
+		kind = kindOf( value );
+		if( kind == DOUBLE ) {
+			doubleValue = value.doubleValue();
+		} else if( kind >= 0 ) {
+			longValue = value.longValue();
+		}
+		return kind >= 0;
+	}
+
+	/*
+	 * Returns the kind of the result of an operation with the operand, or -1 if the operand is not a
+	 * number. The accumulator is promoted to that kind.
+	 */
+	private int promote( Value operand ) {
+		final int operandKind = kindOf( operand );
+		if( operandKind < 0 ) {
+			return -1;
+		}
+		final int resultKind = Math.max( kind, operandKind );
+		if( resultKind == DOUBLE && kind != DOUBLE ) {
+			doubleValue = longValue;
+		}
+		kind = resultKind;
+		return resultKind;
+	}
+
+	boolean add( Value operand ) {
+		switch( promote( operand ) ) {
+		case INT:
+			longValue = (int) longValue + operand.intValue();
+			return true;
+		case LONG:
+			longValue += operand.longValue();
+			return true;
+		case DOUBLE:
+			doubleValue += operand.doubleValue();
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	boolean subtract( Value operand ) {
+		switch( promote( operand ) ) {
+		case INT:
+			longValue = (int) longValue - operand.intValue();
+			return true;
+		case LONG:
+			longValue -= operand.longValue();
+			return true;
+		case DOUBLE:
+			doubleValue -= operand.doubleValue();
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	boolean multiply( Value operand ) {
+		switch( promote( operand ) ) {
+		case INT:
+			longValue = (int) longValue * operand.intValue();
+			return true;
+		case LONG:
+			longValue *= operand.longValue();
+			return true;
+		case DOUBLE:
+			doubleValue *= operand.doubleValue();
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Divides the accumulator by the operand.
+	 *
+	 * @throws ArithmeticException if an integer is divided by zero
+	 */
+	boolean divide( Value operand ) {
+		switch( promote( operand ) ) {
+		case INT:
+			longValue = (int) longValue / operand.intValue();
+			return true;
+		case LONG:
+			longValue /= operand.longValue();
+			return true;
+		case DOUBLE:
+			doubleValue /= operand.doubleValue();
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Computes the remainder of the division of the accumulator by the operand.
+	 *
+	 * @throws ArithmeticException if an integer is divided by zero
+	 */
+	boolean modulo( Value operand ) {
+		switch( promote( operand ) ) {
+		case INT:
+			longValue = (int) longValue % operand.intValue();
+			return true;
+		case LONG:
+			longValue %= operand.longValue();
+			return true;
+		case DOUBLE:
+			doubleValue %= operand.doubleValue();
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	Value toValue() {
+		final Value value = Value.create();
+		switch( kind ) {
+		case INT:
+			value.setValue( (int) longValue );
+			break;
+		case LONG:
+			value.setValue( longValue );
+			break;
+		default:
+			value.setValue( doubleValue );
+			break;
+		}
+		return value;
+	}
+}
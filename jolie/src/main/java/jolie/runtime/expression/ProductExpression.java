@@ -45,28 +45,71 @@ public class ProductExpression implements Expression {
 
 	@Override
 	public Value evaluate() {
-		Value val = Value.create( children[ 0 ].expression().evaluate() );
+		final Value first = children[ 0 ].expression().evaluate();
+		final NumericAccumulator accumulator = new NumericAccumulator();
+		if( !accumulator.reset( first ) ) {
+			return evaluate( Value.create( first ), 1 );
+		}
+
+		// Numbers are multiplied on primitives, and boxed into a value only once
 		for( int i = 1; i < children.length; i++ ) {
+			final Value operand = children[ i ].expression().evaluate();
+			final boolean done;
 			switch( children[ i ].type() ) {
 			case MULTIPLY:
-				val.multiply( children[ i ].expression().evaluate() );
+				done = accumulator.multiply( operand );
 				break;
 			case DIVIDE:
 				try {
-					val.divide( children[ i ].expression().evaluate() );
+					done = accumulator.divide( operand );
 				} catch( ArithmeticException ae ) {
 					throw new FaultException( "ArithmeticException", ae.getLocalizedMessage() )
 						.toRuntimeFaultException();
 				}
 				break;
 			case MODULUS:
-				val.modulo( children[ i ].expression().evaluate() );
+				done = accumulator.modulo( operand );
 				break;
 			default:
 				throw new IllegalStateException( "Invalid operator in product expression" );
 			}
+			if( !done ) {
+				final Value val = accumulator.toValue();
+				apply( val, i, operand );
+				return evaluate( val, i + 1 );
+			}
 		}
+		return accumulator.toValue();
+	}
 
+	/*
+	 * Applies the operands from the given index on value arithmetic.
+	 */
+	private Value evaluate( Value val, int from ) {
+		for( int i = from; i < children.length; i++ ) {
+			apply( val, i, children[ i ].expression().evaluate() );
+		}
 		return val;
 	}
+
+	private void apply( Value val, int i, Value operand ) {
+		switch( children[ i ].type() ) {
+		case MULTIPLY:
+			val.multiply( operand );
+			break;
+		case DIVIDE:
+			try {
+				val.divide( operand );
+			} catch( ArithmeticException ae ) {
+				throw new FaultException( "ArithmeticException", ae.getLocalizedMessage() )
+					.toRuntimeFaultException();
+			}
+			break;
+		case MODULUS:
+			val.modulo( operand );
+			break;
+		default:
+			throw new IllegalStateException( "Invalid operator in product expression" );
+		}
+	}
 }
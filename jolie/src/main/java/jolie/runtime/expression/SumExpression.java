@@ -47,15 +47,42 @@ public final class SumExpression implements Expression {
 
 	@Override
 	public Value evaluate() {
-		final Value val = Value.create( children[ 0 ].expression().evaluate() );
+		final Value first = children[ 0 ].expression().evaluate();
+		final NumericAccumulator accumulator = new NumericAccumulator();
+		if( !accumulator.reset( first ) ) {
+			return evaluate( Value.create( first ), 1 );
+		}
+
+		// Numbers are summed on primitives, and boxed into a value only once
 		for( int i = 1; i < children.length; i++ ) {
-			if( children[ i ].type() == Constants.OperandType.ADD ) {
-				val.add( children[ i ].expression().evaluate() );
-			} else {
-				val.subtract( children[ i ].expression().evaluate() );
+			final Value operand = children[ i ].expression().evaluate();
+			final boolean done = children[ i ].type() == Constants.OperandType.ADD
+				? accumulator.add( operand )
+				: accumulator.subtract( operand );
+			if( !done ) {
+				final Value val = accumulator.toValue();
+				apply( val, i, operand );
+				return evaluate( val, i + 1 );
 			}
 		}
+		return accumulator.toValue();
+	}
 
+	/*
+	 * Applies the operands from the given index on value arithmetic.
+	 */
+	private Value evaluate( Value val, int from ) {
+		for( int i = from; i < children.length; i++ ) {
+			apply( val, i, children[ i ].expression().evaluate() );
+		}
 		return val;
 	}
+
+	private void apply( Value val, int i, Value operand ) {
+		if( children[ i ].type() == Constants.OperandType.ADD ) {
+			val.add( operand );
+		} else {
+			val.subtract( operand );
+		}
+	}
 }
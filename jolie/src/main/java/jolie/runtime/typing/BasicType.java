@@ -100,6 +100,31 @@ public class BasicType< T extends Object > {
 		}
 	}
 
+	/*
+	 * Like check, without describing the error.
+	 */
+	boolean test( Value value ) {
+		if( !nativeTypePredicate.test( value ) ) {
+			return false;
+		}
+		if( !refinements.isEmpty() ) {
+			T nativeValue = mapper.apply( value );
+			for( BasicTypeRefinement< T > refinement : refinements ) {
+				if( !refinement.checkValue( nativeValue ) ) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * Returns true if every value conforms to this basic type.
+	 */
+	boolean isUnrestricted() {
+		return nativeType == NativeType.ANY && refinements.isEmpty();
+	}
+
 	public static BasicType< ? extends Object > fromBasicTypeDefinition( BasicTypeDefinition basicTypeDefinition ) {
 		BasicType< ? extends Object > pureBasicType = PURE_BASIC_TYPES.get( basicTypeDefinition.nativeType() );
 		if( basicTypeDefinition.refinements().isEmpty() ) {
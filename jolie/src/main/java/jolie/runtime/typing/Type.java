@@ -113,12 +113,7 @@ class TypeImpl extends Type {
 
 	@Override
 	public Optional< Type > getMinimalType( Value value ) {
-		try {
-			check( value );
-			return Optional.of( this );
-		} catch( TypeCheckingException ex ) {
-			return Optional.empty();
-		}
+		return accepts( value ) ? Optional.of( this ) : Optional.empty();
 	}
 
 	@Override
@@ -304,6 +299,17 @@ class TypeChoice extends Type {
 
 	}
 
+	@Override
+	protected Value castValid( Value value )
+		throws TypeCastingException {
+		// Like cast, return a copy if the left type accepts the value. Otherwise the left type may still
+		// convert a copy of it, so take the same path as cast.
+		if( left.accepts( value ) ) {
+			return Value.createDeepCopy( value );
+		}
+		return cast( value, new StringBuilder( "#Message" ) );
+	}
+
 	protected Type left() {
 		return left;
 	}
@@ -408,16 +414,58 @@ public abstract class Type {
 		return create( basicType, cardinality, false, subTypes );
 	}
 
+	private volatile TypeValidator validator;
+
+	/**
+	 * Compiles the validator used to check values against this type, if it has not been compiled yet.
+	 * Types are otherwise compiled the first time they are used, and all type links reachable from this
+	 * type must be resolved.
+	 */
+	public void compile() {
+		validator();
+	}
+
+	private TypeValidator validator() {
+		TypeValidator v = validator;
+		if( v == null ) {
+			v = TypeValidator.compile( this );
+			validator = v;
+		}
+		return v;
+	}
+
+	/**
+	 * Returns true if the value conforms to this type, i.e., if {@link #check(Value)} would not throw.
+	 */
+	public boolean accepts( Value value ) {
+		return validator().validate( value );
+	}
+
 	public void check( Value value )
 		throws TypeCheckingException {
-		check( value, new StringBuilder( "#Message" ) );
+		// The path of the error is only built if the value is not valid
+		if( !validator().validate( value ) ) {
+			check( value, new StringBuilder( "#Message" ) );
+		}
 	}
 
 	public Value cast( Value value )
 		throws TypeCastingException {
+		if( validator().validate( value ) ) {
+			return castValid( value );
+		}
 		return cast( value, new StringBuilder( "#Message" ) );
 	}
 
+	/**
+	 * Returns what {@link #cast(Value)} returns for a value that conforms to this type. Casting does
+	 * not change a valid value, and returns the value itself unless the type is a choice.
+	 */
+	protected Value castValid( Value value )
+		throws TypeCastingException {
+		return value;
+	}
+
 	public boolean isVoid() {
 		if( !(this instanceof TypeImpl) )
 			return false;
@@ -464,6 +512,10 @@ public abstract class Type {
 			this.linkedType = linkedType;
 		}
 
+		Type linkedType() {
+			return linkedType;
+		}
+
 		@Override
 		public void cutChildrenFromValue( Value value ) {
 			linkedType.cutChildrenFromValue( value );
@@ -490,5 +542,11 @@ public abstract class Type {
 			throws TypeCastingException {
 			return linkedType.cast( value, pathBuilder );
 		}
+
+		@Override
+		protected Value castValid( Value value )
+			throws TypeCastingException {
+			return linkedType.castValid( value );
+		}
 	}
 }
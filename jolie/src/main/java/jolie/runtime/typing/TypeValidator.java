@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.runtime.typing;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import jolie.runtime.Value;
+import jolie.runtime.ValueVector;
+import jolie.util.Range;
+
+/**
+ * A validator compiled from a {@link Type}, which tells whether a value conforms to it without
+ * building paths or exceptions. The checks of {@link Type} are only run to describe the error when
+ * validation fails.
+ *
+ * Validators are immutable once compiled. Recursive types are compiled into cyclic validators,
+ * since every cycle goes through a {@link Type.TypeLink}.
+ */
+abstract class TypeValidator {
+	private static final TypeValidator ANY = new TypeValidator() {
+		@Override
+		boolean validate( Value value ) {
+			return true;
+		}
+	};
+
+	abstract boolean validate( Value value );
+
+	static TypeValidator compile( Type type ) {
+		return compile( type, new HashMap<>() );
+	}
+
+	private static TypeValidator compile( Type type, Map< Type, TypeValidator > compiled ) {
+		TypeValidator validator = compiled.get( type );
+		if( validator != null ) {
+			return validator;
+		}
+
+		if( type instanceof TypeImpl ) {
+			validator = compileStructure( (TypeImpl) type, compiled );
+		} else if( type instanceof TypeChoice ) {
+			final TypeChoice choice = (TypeChoice) type;
+			validator = new ChoiceValidator(
+				compile( choice.left(), compiled ),
+				compile( choice.right(), compiled ) );
+		} else if( type instanceof Type.TypeLink ) {
+			// Registered before compiling the linked type, to close cycles
+			final LinkValidator link = new LinkValidator();
+			compiled.put( type, link );
+			link.target = compile( ((Type.TypeLink) type).linkedType(), compiled );
+			return link;
+		} else {
+			throw new IllegalArgumentException( "unsupported type " + type.getClass().getName() );
+		}
+		compiled.put( type, validator );
+		return validator;
+	}
+
+	private static TypeValidator compileStructure( TypeImpl type, Map< Type, TypeValidator > compiled ) {
+		final BasicType< ? > basicType = type.basicType();
+		final Map< String, Type > subTypes = type.subTypes();
+		if( subTypes == null ) {
+			return basicType.isUnrestricted() ? ANY : new BasicValidator( basicType );
+		}
+
+		final int size = subTypes.size();
+		final String[] names = new String[ size ];
+		final int[] min = new int[ size ];
+		final int[] max = new int[ size ];
+		final TypeValidator[] children = new TypeValidator[ size ];
+		int i = 0;
+		for( Entry< String, Type > entry : subTypes.entrySet() ) {
+			final Range cardinality = entry.getValue().cardinality();
+			names[ i ] = entry.getKey();
+			min[ i ] = cardinality.min();
+			max[ i ] = cardinality.max();
+			children[ i ] = compile( entry.getValue(), compiled );
+			i++;
+		}
+		return new StructureValidator( basicType, subTypes, names, min, max, children );
+	}
+
+	private static class BasicValidator extends TypeValidator {
+		private final BasicType< ? > basicType;
+
+		private BasicValidator( BasicType< ? > basicType ) {
+			this.basicType = basicType;
+		}
+
+		@Override
+		boolean validate( Value value ) {
+			return basicType.test( value );
+		}
+	}
+
+	private static class StructureValidator extends TypeValidator {
+		private final BasicType< ? > basicType;
+		private final Map< String, Type > subTypes;
+		private final String[] names;
+		private final int[] min;
+		private final int[] max;
+		private final TypeValidator[] children;
+		private final boolean childrenOptional;
+
+		private StructureValidator( BasicType< ? > basicType, Map< String, Type > subTypes,
+			String[] names, int[] min, int[] max, TypeValidator[] children ) {
+			this.basicType = basicType;
+			this.subTypes = subTypes;
+			this.names = names;
+			this.min = min;
+			this.max = max;
+			this.children = children;
+			boolean optional = true;
+			for( int m : min ) {
+				optional &= m == 0;
+			}
+			this.childrenOptional = optional;
+		}
+
+		@Override
+		boolean validate( Value value ) {
+			if( !basicType.test( value ) ) {
+				return false;
+			}
+			// Avoids materializing the children of leaves
+			if( !value.hasChildren() ) {
+				return childrenOptional;
+			}
+
+			final Map< String, ValueVector > valueChildren = value.children();
+			int present = 0;
+			for( int i = 0; i < names.length; i++ ) {
+				final ValueVector vector = valueChildren.get( names[ i ] );
+				final int size = vector == null ? 0 : vector.size();
+				if( size < min[ i ] || size > max[ i ] ) {
+					return false;
+				}
+				if( vector != null ) {
+					present++;
+					final TypeValidator child = children[ i ];
+					for( int j = 0; j < size; j++ ) {
+						if( !child.validate( vector.get( j ) ) ) {
+							return false;
+						}
+					}
+				}
+			}
+
+			// Every child of the value must be declared
+			if( valueChildren.size() != present ) {
+				for( String childName : valueChildren.keySet() ) {
+					if( !subTypes.containsKey( childName ) ) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+	}
+
+	private static class ChoiceValidator extends TypeValidator {
+		private final TypeValidator left;
+		private final TypeValidator right;
+
+		private ChoiceValidator( TypeValidator left, TypeValidator right ) {
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		boolean validate( Value value ) {
+			return left.validate( value ) || right.validate( value );
+		}
+	}
+
+	private static class LinkValidator extends TypeValidator {
+		private TypeValidator target;
+
+		@Override
+		boolean validate( Value value ) {
+			return target.validate( value );
+		}
+	}
+}
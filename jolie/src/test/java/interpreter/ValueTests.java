@@ -20,7 +20,10 @@
 package interpreter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
+import jolie.State;
 import jolie.runtime.Value;
 
 class ValueTests {
@@ -33,4 +36,162 @@ class ValueTests {
 		v1.add( v2 );
 		assertEquals( v1.intValue(), i1 + i2, "wrong addition result" );
 	}
+
+	@Test
+	void cloneIsIndependentFromOriginal() {
+		var original = Value.createRootValue();
+		original.getFirstChild( "a" ).getFirstChild( "b" ).setValue( 1 );
+		original.getChildren( "c" ).get( 1 ).setValue( "x" );
+
+		var clone = original.clone();
+		original.getFirstChild( "a" ).getFirstChild( "b" ).setValue( 2 );
+		original.getChildren( "c" ).get( 1 ).getFirstChild( "d" ).setValue( true );
+		assertEquals( 1, clone.getFirstChild( "a" ).getFirstChild( "b" ).intValue(), "clone sees later writes" );
+		assertFalse( clone.getChildren( "c" ).get( 1 ).hasChildren( "d" ), "clone sees later writes" );
+
+		clone.getFirstChild( "a" ).getFirstChild( "b" ).setValue( 3 );
+		clone.getChildren( "c" ).get( 1 ).setValue( "y" );
+		assertEquals( 2, original.getFirstChild( "a" ).getFirstChild( "b" ).intValue(), "clone writes to original" );
+		assertEquals( "x", original.getChildren( "c" ).get( 1 ).strValue(), "clone writes to original" );
+	}
+
+	@Test
+	void cloneOfCloneKeepsSnapshot() {
+		var original = Value.create();
+		original.getFirstChild( "a" ).setValue( 1 );
+		var clone = original.clone();
+		var cloneOfClone = clone.clone();
+		clone.getFirstChild( "a" ).setValue( 2 );
+		original.getFirstChild( "a" ).setValue( 3 );
+		assertEquals( 1, cloneOfClone.getFirstChild( "a" ).intValue(), "wrong value in clone of clone" );
+		assertEquals( 2, clone.getFirstChild( "a" ).intValue(), "wrong value in clone" );
+	}
+
+	@Test
+	void cloneIsIndependentFromHeldReferences() {
+		var original = Value.createRootValue();
+		var b = original.getFirstChild( "a" ).getFirstChild( "b" );
+		b.setValue( 1 );
+		var c = original.getChildren( "c" );
+		c.add( Value.create( "x" ) );
+
+		var clone = original.clone();
+		b.setValue( 2 );
+		b.getFirstChild( "d" ).setValue( 3 );
+		c.add( Value.create( "y" ) );
+		assertEquals( 1, clone.getFirstChild( "a" ).getFirstChild( "b" ).intValue(), "clone sees later writes" );
+		assertFalse( clone.getFirstChild( "a" ).getFirstChild( "b" ).hasChildren( "d" ), "clone sees later writes" );
+		assertEquals( 1, clone.getChildren( "c" ).size(), "clone sees later writes" );
+		assertEquals( 2, original.getFirstChild( "a" ).getFirstChild( "b" ).intValue(), "write is lost" );
+		assertEquals( 2, original.getChildren( "c" ).size(), "write is lost" );
+	}
+
+	@Test
+	void clonesOfRefCopiesAreIndependent() {
+		// Writes through either alias of the shared children must not reach the clones of both trees
+		for( int writer = 0; writer < 2; writer++ ) {
+			var first = Value.create();
+			var shared = first.getFirstChild( "a" );
+			shared.getFirstChild( "b" ).setValue( 1 );
+			var second = Value.create();
+			second.getFirstChild( "c" ).refCopy( shared );
+			var aliases = new Value[] { shared, second.getFirstChild( "c" ) };
+
+			var firstClone = first.clone();
+			var secondClone = second.clone();
+			aliases[ writer ].getFirstChild( "b" ).setValue( 2 );
+			aliases[ writer ].getFirstChild( "d" ).setValue( 3 );
+			assertEquals( 1, firstClone.getFirstChild( "a" ).getFirstChild( "b" ).intValue(),
+				"clone sees later writes" );
+			assertFalse( firstClone.getFirstChild( "a" ).hasChildren( "d" ), "clone sees later writes" );
+			assertEquals( 1, secondClone.getFirstChild( "c" ).getFirstChild( "b" ).intValue(),
+				"clone sees later writes" );
+			assertFalse( secondClone.getFirstChild( "c" ).hasChildren( "d" ), "clone sees later writes" );
+			for( Value alias : aliases ) {
+				assertEquals( 2, alias.getFirstChild( "b" ).intValue(), "write is not shared by the aliases" );
+				assertEquals( 3, alias.getFirstChild( "d" ).intValue(), "write is not shared by the aliases" );
+			}
+		}
+	}
+
+	@Test
+	void stateCloneIsIndependentFromHeldReferences() {
+		var state = new State();
+		var b = state.root().getFirstChild( "a" ).getFirstChild( "b" );
+		b.setValue( 1 );
+		var c = state.root().getFirstChild( "a" ).getChildren( "c" );
+
+		var first = state.clone();
+		b.setValue( 2 );
+		var second = state.clone();
+		b.setValue( 3 );
+		c.get( 0 ).setValue( "x" );
+		assertEquals( 1, first.root().getFirstChild( "a" ).getFirstChild( "b" ).intValue(),
+			"clone sees later writes" );
+		assertEquals( 2, second.root().getFirstChild( "a" ).getFirstChild( "b" ).intValue(),
+			"clone sees later writes" );
+		assertEquals( 0, first.root().getFirstChild( "a" ).getChildren( "c" ).size(), "clone sees later writes" );
+		assertEquals( 0, second.root().getFirstChild( "a" ).getChildren( "c" ).size(), "clone sees later writes" );
+		assertEquals( 3, state.root().getFirstChild( "a" ).getFirstChild( "b" ).intValue(), "write is lost" );
+	}
+
+	@Test
+	void primitiveConversions() {
+		var v = Value.create();
+		v.setValue( 0.5 );
+		assertFalse( v.boolValue(), "wrong bool conversion" );
+		assertEquals( "0.5", v.strValue(), "wrong string conversion" );
+		v.setValue( 3000000000L );
+		assertEquals( Long.valueOf( 3000000000L ), v.valueObject(), "wrong boxed value" );
+		assertEquals( (int) 3000000000L, v.intValue(), "wrong int conversion" );
+		v.setValue( Integer.valueOf( 7 ) );
+		assertTrue( v.isInt(), "boxed int not recognised" );
+		v.add( Value.create( 1.5 ) );
+		assertEquals( 8.5, v.doubleValue(), "wrong addition result" );
+	}
+
+	@Test
+	void concurrentReadsSeeWholeWrites() throws InterruptedException {
+		var v = Value.create( 0.5 );
+		var writer = new Thread( () -> {
+			for( int i = 0; i < 1_000_000; i++ ) {
+				if( i % 2 == 0 ) {
+					v.setValue( 1L << 40 );
+				} else {
+					v.setValue( 0.5 );
+				}
+			}
+		} );
+		writer.start();
+		while( writer.isAlive() ) {
+			var o = v.valueObject();
+			assertTrue( Long.valueOf( 1L << 40 ).equals( o ) || Double.valueOf( 0.5 ).equals( o ),
+				"torn read: " + o );
+		}
+		writer.join();
+	}
+
+	@Test
+	void removeThroughIterator() {
+		var v = Value.create();
+		v.getFirstChild( "a" ).setValue( 1 );
+		var it = v.getChildren( "a" ).iterator();
+		it.next();
+		it.remove();
+		assertEquals( 0, v.getChildren( "a" ).size(), "value not removed" );
+		assertFalse( it.hasNext(), "iterator not exhausted" );
+	}
+
+	@Test
+	void manyChildren() {
+		var v = Value.create();
+		for( int i = 0; i < 10; i++ ) {
+			v.getFirstChild( "c" + i ).setValue( i );
+		}
+		v.children().remove( "c3" );
+		assertEquals( 9, v.children().size(), "wrong number of children" );
+		assertFalse( v.hasChildren( "c3" ), "removed child still present" );
+		assertEquals( 9, v.getFirstChild( "c9" ).intValue(), "wrong child value" );
+		assertEquals( 9, v.clone().children().size(), "wrong number of children in clone" );
+	}
 }
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package interpreter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import jolie.process.TransformationReason;
+import jolie.runtime.Value;
+import jolie.runtime.VariablePath;
+import jolie.runtime.expression.Expression;
+import jolie.util.Pair;
+
+class VariablePathTests {
+	/*
+	 * An expression that is not a literal, whose value can be changed between accesses.
+	 */
+	private static class Dynamic implements Expression {
+		private final Value value;
+
+		private Dynamic( Value value ) {
+			this.value = value;
+		}
+
+		@Override
+		public Value evaluate() {
+			return value;
+		}
+
+		@Override
+		public Expression cloneExpression( TransformationReason reason ) {
+			return this;
+		}
+	}
+
+	/*
+	 * Creates a path on the given root from pairs of keys and indexes. Keys are strings or expressions,
+	 * indexes are integers, expressions or null.
+	 */
+	private static VariablePath path( Value root, Object... nodes ) {
+		@SuppressWarnings( "unchecked" )
+		final Pair< Expression, Expression >[] path = new Pair[ nodes.length / 2 ];
+		for( int i = 0; i < path.length; i++ ) {
+			final Object key = nodes[ 2 * i ];
+			final Object index = nodes[ 2 * i + 1 ];
+			path[ i ] = new Pair<>(
+				key instanceof String ? Value.create( (String) key ) : (Expression) key,
+				index instanceof Integer ? Value.create( (Integer) index ) : (Expression) index );
+		}
+		return new VariablePath( path ) {
+			@Override
+			protected Value getRootValue() {
+				return root;
+			}
+		};
+	}
+
+	private static Value tree() {
+		final Value root = Value.createRootValue();
+		for( int i = 0; i < 3; i++ ) {
+			root.getFirstChild( "a" ).getChildren( "b" ).get( i ).setValue( "b" + i );
+			root.getFirstChild( "a" ).getChildren( "c" ).get( i ).setValue( "c" + i );
+		}
+		return root;
+	}
+
+	@Test
+	void literalNodes() {
+		final Value root = tree();
+		assertEquals( "b2", path( root, "a", null, "b", 2 ).getValue( root ).strValue(), "wrong literal index" );
+		assertEquals( "c0", path( root, "a", 0, "c", null ).getValue( root ).strValue(), "wrong first element" );
+		assertNull( path( root, "a", null, "b", 3 ).getValueOrNull( root ), "out of bounds index resolved" );
+		assertNull( path( root, "a", null, "d", null ).getValueOrNull( root ), "missing key resolved" );
+	}
+
+	@Test
+	void dynamicKeysAndIndexesAreEvaluatedOnEveryAccess() {
+		final Value root = tree();
+		final Value k = Value.create( "b" );
+		final Value i = Value.create( 1 );
+		final VariablePath path = path( root, "a", null, new Dynamic( k ), new Dynamic( i ) );
+
+		assertEquals( "b1", path.getValue( root ).strValue(), "wrong value for a.(k)[i]" );
+		k.setValue( "c" );
+		assertEquals( "c1", path.getValue( root ).strValue(), "key not evaluated again" );
+		i.setValue( 2 );
+		assertEquals( "c2", path.getValue( root ).strValue(), "index not evaluated again" );
+		i.setValue( 3 );
+		assertNull( path.getValueOrNull( root ), "out of bounds dynamic index resolved" );
+
+		path.getValue( root ).setValue( "c3" );
+		assertEquals( "c3", root.getFirstChild( "a" ).getChildren( "c" ).get( 3 ).strValue(),
+			"write through a.(k)[i] went elsewhere" );
+		path.undef();
+		assertEquals( 3, root.getFirstChild( "a" ).getChildren( "c" ).size(), "undef of a.(k)[i] failed" );
+	}
+
+	@Test
+	void mixedLiteralAndDynamicNodes() {
+		final Value root = tree();
+		final Value i = Value.create( 0 );
+		final VariablePath path = path( root, "a", new Dynamic( i ), "b", 1 );
+
+		assertEquals( "b1", path.getValue( root ).strValue(), "wrong value for a[i].b[1]" );
+		i.setValue( 1 );
+		assertNull( path.getValueOrNull( root ), "dynamic index of the first node not evaluated again" );
+	}
+
+	@Test
+	void negativeLiteralIndexesFallBackToDynamic() {
+		final Value root = tree();
+		for( int index = -1; index >= -2; index-- ) {
+			final VariablePath literal = path( root, "a", null, "b", index );
+			final VariablePath dynamic = path( root, "a", null, "b", new Dynamic( Value.create( index ) ) );
+			final String node = "a.b[" + index + "]";
+			assertThrows( IndexOutOfBoundsException.class, () -> literal.getValue( root ),
+				"literal " + node + " resolved" );
+			assertThrows( IndexOutOfBoundsException.class, () -> dynamic.getValue( root ),
+				"dynamic " + node + " resolved" );
+			assertThrows( IndexOutOfBoundsException.class, () -> literal.getValueOrNull( root ),
+				"literal " + node + " resolved" );
+		}
+		assertEquals( 3, root.getFirstChild( "a" ).getChildren( "b" ).size(), "negative index changed the array" );
+	}
+
+	@Test
+	void forEachOverArrayItems() {
+		final Value root = tree();
+		// As in for( x in a.b ), each item is reached through a copy of the target with the item index
+		final VariablePath target = path( root, "a", null, "b", null );
+		final int size = target.getValueVector( root ).size();
+		for( int i = 0; i < size; i++ ) {
+			assertEquals( "b" + i, target.withLastIndex( i ).getValue( root ).strValue(), "wrong item " + i );
+		}
+
+		// The index replaces the one of the last node, literal or not
+		assertEquals( "b0", path( root, "a", null, "b", 2 ).withLastIndex( 0 ).getValue( root ).strValue(),
+			"literal index not replaced" );
+		final Value i = Value.create( 2 );
+		assertEquals( "b1", path( root, "a", null, "b", new Dynamic( i ) ).withLastIndex( 1 ).getValue( root )
+			.strValue(), "dynamic index not replaced" );
+
+		// Dynamic keys are still evaluated on every access
+		final Value k = Value.create( "b" );
+		final VariablePath item = path( root, "a", null, new Dynamic( k ), null ).withLastIndex( 2 );
+		assertEquals( "b2", item.getValue( root ).strValue(), "wrong item of a.(k)" );
+		k.setValue( "c" );
+		assertEquals( "c2", item.getValue( root ).strValue(), "key of a.(k) not evaluated again" );
+	}
+
+	@Test
+	void containedSubPathWithMixedNodes() {
+		final Value root = tree();
+		final Value k = Value.create( "b" );
+		final Value i = Value.create( 1 );
+		final VariablePath dynamic = path( root, "a", null, new Dynamic( k ), new Dynamic( i ) );
+		final VariablePath literal = path( root, "a", null, "b", 1, "c", null );
+
+		final VariablePath subPath = dynamic.containedSubPath( literal );
+		assertNotNull( subPath, "a.b[1].c not found in a.(k)[i]" );
+		assertEquals( 1, subPath.path().length, "wrong subpath length" );
+		assertEquals( "c", subPath.path()[ 0 ].key().evaluate().strValue(), "wrong subpath" );
+
+		i.setValue( 0 );
+		assertNull( dynamic.containedSubPath( literal ), "a.b[1].c found in a.b[0]" );
+		i.setValue( 1 );
+		k.setValue( "c" );
+		assertNull( dynamic.containedSubPath( literal ), "a.b[1].c found in a.c[1]" );
+
+		// A literal path containing a dynamic one
+		final Value j = Value.create( "d" );
+		final VariablePath other = path( root, "a", null, new Dynamic( k ), new Dynamic( i ), new Dynamic( j ), 2 );
+		final VariablePath prefix = path( root, "a", 0, "c", 1 );
+		final VariablePath dynamicSubPath = prefix.containedSubPath( other );
+		assertNotNull( dynamicSubPath, "a.(k)[i].(j)[2] not found in a[0].c[1]" );
+		assertEquals( "d", dynamicSubPath.path()[ 0 ].key().evaluate().strValue(), "wrong dynamic subpath" );
+		j.setValue( "e" );
+		assertEquals( "e", dynamicSubPath.path()[ 0 ].key().evaluate().strValue(),
+			"dynamic subpath evaluated once" );
+
+		// Implicit and explicit first indexes match, and so do negative literal and dynamic indexes
+		assertNotNull( path( root, "a", 0, "c", 1 ).containedSubPath( path( root, "a", null, "c", 1 ) ),
+			"a.c[1] not found in a[0].c[1]" );
+		final VariablePath negative = path( root, "a", -1 ).containedSubPath(
+			path( root, "a", new Dynamic( Value.create( -1 ) ), "b", null ) );
+		assertNotNull( negative, "a[i].b not found in a[-1] with i = -1" );
+		assertEquals( "b", negative.path()[ 0 ].key().evaluate().strValue(), "wrong subpath of a[-1]" );
+
+		// Paths on different roots are unrelated
+		assertNull( path( Value.createRootValue(), "a", null ).containedSubPath( literal ), "different roots" );
+	}
+}
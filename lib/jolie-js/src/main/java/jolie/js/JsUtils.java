@@ -25,16 +25,10 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 import jolie.runtime.Value;
 import jolie.runtime.ValueVector;
 import jolie.runtime.typing.Type;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.JSONValue;
-import org.json.simple.parser.ParseException;
 
 public class JsUtils {
 	/**
@@ -43,7 +37,7 @@ public class JsUtils {
 	 * reason Jolie introduces a "ROOT_SIGN" named attribute on each mapped Jolie value with a root
 	 * value set.
 	 */
-	private static final String ROOT_SIGN = "$";
+	static final String ROOT_SIGN = "$";
 
 	/**
 	 * Jolie values do not support multi-dimensional arrays as JSON, hence val[i][j] in Jolie becomes
@@ -52,207 +46,203 @@ public class JsUtils {
 	public static final String JSONARRAY_KEY = "_";
 
 	// Jolie value -> JSON string
-	private static void appendKeyColon( StringBuilder builder, String key ) {
-		builder.append( '"' ).append( key ).append( "\":" );
+	private static void appendKeyColon( Appendable out, String key )
+		throws IOException {
+		out.append( '"' ).append( key ).append( "\":" );
 	}
 
-	private static String nativeValueToJsonString( Value value ) throws IOException {
+	private static void writeNativeValue( Value value, Appendable out )
+		throws IOException {
 		if( !value.isDefined() ) {
-			return "null";
+			out.append( "null" );
 		} else if( value.isInt() || value.isLong() || value.isBool() || value.isDouble() ) {
-			return value.strValue();
+			out.append( value.strValue() );
 		} else {
-			return '"' + JSONValue.escape( value.strValue() ) + '"';
+			out.append( '"' );
+			writeEscaped( value.strValue(), out );
+			out.append( '"' );
 		}
 	}
 
-	private static void valueVectorToJsonString( ValueVector vector, StringBuilder builder, boolean isArray, Type type )
+	/*
+	 * Escapes a string like json-simple does, appending runs of characters that need no escaping at
+	 * once.
+	 */
+	private static void writeEscaped( String s, Appendable out )
+		throws IOException {
+		int start = 0;
+		final int length = s.length();
+		for( int i = 0; i < length; i++ ) {
+			final char ch = s.charAt( i );
+			final String escape;
+			switch( ch ) {
+			case '"':
+				escape = "\\\"";
+				break;
+			case '\\':
+				escape = "\\\\";
+				break;
+			case '\b':
+				escape = "\\b";
+				break;
+			case '\f':
+				escape = "\\f";
+				break;
+			case '\n':
+				escape = "\\n";
+				break;
+			case '\r':
+				escape = "\\r";
+				break;
+			case '\t':
+				escape = "\\t";
+				break;
+			case '/':
+				escape = "\\/";
+				break;
+			default:
+				if( ch <= 0x1F || (ch >= 0x7F && ch <= 0x9F) || (ch >= 0x2000 && ch <= 0x20FF) ) {
+					escape = String.format( "\\u%04X", (int) ch );
+				} else {
+					continue;
+				}
+			}
+			out.append( s, start, i ).append( escape );
+			start = i + 1;
+		}
+		out.append( s, start, length );
+	}
+
+	private static void writeValueVector( ValueVector vector, Appendable out, boolean isArray, Type type )
 		throws IOException {
 		if( vector.size() > 1 || isArray || (type != null && type.cardinality().max() > 1) ) {
-			builder.append( '[' );
+			out.append( '[' );
 			for( int i = 0; i < vector.size(); i++ ) {
-				valueToJsonString( vector.get( i ), false, type, builder );
+				writeJson( vector.get( i ), false, type, out );
 				if( i < vector.size() - 1 ) {
-					builder.append( ',' );
+					out.append( ',' );
 				}
 			}
-			builder.append( ']' );
+			out.append( ']' );
 		} else {
-			valueToJsonString( vector.first(), false, type, builder );
+			writeJson( vector.first(), false, type, out );
 		}
 	}
 
-	public static void valueToJsonString( Value value, boolean extendedRoot, Type type, StringBuilder builder )
+	/**
+	 * Writes the JSON representation of a value, without building it in memory first.
+	 *
+	 * @param value the value to write
+	 * @param extendedRoot whether the root value of a value without children is written as an object
+	 * @param type the type of the value, used to write vectors of one element as arrays
+	 * @param out where to write the JSON document, e.g., a {@link java.io.Writer} on a stream
+	 * @throws IOException if writing fails
+	 */
+	public static void writeJson( Value value, boolean extendedRoot, Type type, Appendable out )
 		throws IOException {
 		if( value.hasChildren( JSONARRAY_KEY ) ) {
 			Type subType = (type != null ? type.findSubType( JSONARRAY_KEY ) : null);
-			valueVectorToJsonString( value.children().get( JSONARRAY_KEY ), builder, true, subType );
+			writeValueVector( value.children().get( JSONARRAY_KEY ), out, true, subType );
 			return;
 		}
 		int size = value.children().size();
 		if( size == 0 ) {
 			if( extendedRoot ) {
-				builder.append( '{' );
+				out.append( '{' );
 				if( value.isDefined() ) {
-					appendKeyColon( builder, ROOT_SIGN );
-					builder.append( nativeValueToJsonString( value ) );
+					appendKeyColon( out, ROOT_SIGN );
+					writeNativeValue( value, out );
 				}
-				builder.append( '}' );
+				out.append( '}' );
 			} else {
-				builder.append( nativeValueToJsonString( value ) );
+				writeNativeValue( value, out );
 			}
 		} else {
-			builder.append( '{' );
+			out.append( '{' );
 			if( value.isDefined() ) {
-				appendKeyColon( builder, ROOT_SIGN );
-				builder.append( nativeValueToJsonString( value ) );
-				builder.append( ',' );
+				appendKeyColon( out, ROOT_SIGN );
+				writeNativeValue( value, out );
+				out.append( ',' );
 			}
 			int i = 0;
 			for( Map.Entry< String, ValueVector > child : value.children().entrySet() ) {
 				final Type subType = (type != null ? type.findSubType( child.getKey() ) : null);
-				appendKeyColon( builder, child.getKey() );
-				valueVectorToJsonString( child.getValue(), builder, false, subType );
+				appendKeyColon( out, child.getKey() );
+				writeValueVector( child.getValue(), out, false, subType );
 				if( i++ < size - 1 ) {
-					builder.append( ',' );
+					out.append( ',' );
 				}
 			}
-			builder.append( '}' );
+			out.append( '}' );
 		}
 	}
 
-	public static void valueToNdJsonString( Value value, boolean extendedRoot, Type type, StringBuilder builder )
+	public static void valueToJsonString( Value value, boolean extendedRoot, Type type, StringBuilder builder )
+		throws IOException {
+		writeJson( value, extendedRoot, type, builder );
+	}
+
+	/**
+	 * Writes a value as newline-delimited JSON, one document for each of its "item" children.
+	 */
+	public static void writeNdJson( Value value, boolean extendedRoot, Type type, Appendable out )
 		throws IOException {
 		if( !value.hasChildren( "item" ) ) {
 			throw new IOException( "ndJson requires at least one child node 'item'" );
 		}
 
 		for( Value item : value.getChildren( "item" ) ) {
-			valueToJsonString( item, extendedRoot, type, builder );
-			builder.append( '\n' );
+			writeJson( item, extendedRoot, type, out );
+			out.append( '\n' );
 		}
 	}
 
-	public static void faultValueToJsonString( Value value, Type type, StringBuilder builder ) throws IOException {
-		builder.append( "{\"error\":{\"message\":\"" )
+	public static void valueToNdJsonString( Value value, boolean extendedRoot, Type type, StringBuilder builder )
+		throws IOException {
+		writeNdJson( value, extendedRoot, type, builder );
+	}
+
+	/**
+	 * Writes a fault in the JSON-RPC error format.
+	 */
+	public static void writeFaultJson( Value value, Type type, Appendable out )
+		throws IOException {
+		out.append( "{\"error\":{\"message\":\"" )
 			.append( value.getFirstChild( "error" ).getFirstChild( "message" ).strValue() )
 			.append( "\",\"code\":" )
-			.append( value.getFirstChild( "error" ).getFirstChild( "code" ).intValue() )
+			.append( String.valueOf( value.getFirstChild( "error" ).getFirstChild( "code" ).intValue() ) )
 			.append( ",\"data\":" );
-		valueToJsonString( value.getFirstChild( "error" ).getFirstChild( "data" ), false, type, builder );
-		builder.append( "}}" );
-	}
-
-	// JSON string -> Jolie value
-	private static void objectToBasicValue( Object obj, Value val ) {
-		if( obj instanceof String ) {
-			val.setValue( (String) obj );
-		} else if( obj instanceof Double ) {
-			val.setValue( (Double) obj );
-		} else if( obj instanceof Long ) {
-			long lval = (Long) obj;
-			if( lval > Integer.MAX_VALUE || lval < Integer.MIN_VALUE ) {
-				val.setValue( lval );
-			} else {
-				val.setValue( (int) lval );
-			}
-		} else if( obj instanceof Boolean ) {
-			val.setValue( (Boolean) obj );
-		} else if( obj != null ) {
-			val.setValue( obj.toString() );
-		}
+		writeJson( value.getFirstChild( "error" ).getFirstChild( "data" ), false, type, out );
+		out.append( "}}" );
 	}
 
-	private static void jsonObjectToValue( JSONObject obj, Value value, boolean strictEncoding ) {
-		@SuppressWarnings( "unchecked" )
-		Map< String, Object > map = (Map< String, Object >) obj;
-		ValueVector vec;
-		for( Map.Entry< String, Object > entry : map.entrySet() ) {
-			if( entry.getKey().equals( ROOT_SIGN ) ) {
-				objectToBasicValue( entry.getValue(), value );
-			} else {
-				vec = jsonObjectToValueVector( entry.getValue(), strictEncoding );
-				value.children().put( entry.getKey(), vec );
-			}
-		}
-	}
-
-	private static ValueVector jsonObjectToValueVector( Object obj, boolean strictEncoding ) {
-		ValueVector vec = ValueVector.create();
-		if( obj instanceof JSONObject ) {
-			Value val = Value.create();
-			jsonObjectToValue( (JSONObject) obj, val, strictEncoding );
-			vec.add( val );
-		} else if( obj instanceof JSONArray && strictEncoding ) {
-			Value arrayValue = Value.create();
-			vec.add( arrayValue );
-			arrayValue.children().put( JSONARRAY_KEY, jsonArrayToValueVector( (JSONArray) obj, strictEncoding ) );
-		} else if( obj instanceof JSONArray && !strictEncoding ) {
-			vec = jsonArrayToValueVector( (JSONArray) obj, strictEncoding );
-		} else {
-			Value val = Value.create();
-			objectToBasicValue( obj, val );
-			vec.add( val );
-		}
-		return vec;
-	}
-
-	private static ValueVector jsonArrayToValueVector( JSONArray array, boolean strictEncoding ) {
-		ValueVector vec = ValueVector.create();
-		for( Object element : array ) {
-			Value value = Value.create();
-			if( element instanceof JSONArray ) {
-				value.children().put( JSONARRAY_KEY, jsonArrayToValueVector( (JSONArray) element, strictEncoding ) );
-			} else if( element instanceof JSONObject ) {
-				jsonObjectToValue( (JSONObject) element, value, strictEncoding );
-			} else {
-				objectToBasicValue( element, value );
-			}
-			vec.add( value );
-		}
-		return vec;
+	public static void faultValueToJsonString( Value value, Type type, StringBuilder builder ) throws IOException {
+		writeFaultJson( value, type, builder );
 	}
 
+	// JSON string -> Jolie value
+	/**
+	 * Parses a JSON document into a value, reading it in a single pass without building an intermediate
+	 * representation.
+	 *
+	 * @param reader the JSON document
+	 * @param value the value to fill
+	 * @param strictEncoding whether arrays are mapped to "_" children also when they are the content of
+	 *        a field
+	 * @throws IOException if reading fails or the document is not valid JSON
+	 */
 	public static void parseJsonIntoValue( Reader reader, Value value, boolean strictEncoding )
 		throws IOException {
-		try {
-			Object obj = JSONValue.parseWithException( reader );
-			if( obj instanceof JSONArray ) {
-				value.children().put( JSONARRAY_KEY, jsonArrayToValueVector( (JSONArray) obj, strictEncoding ) );
-			} else if( obj instanceof JSONObject ) {
-				jsonObjectToValue( (JSONObject) obj, value, strictEncoding );
-			} else {
-				objectToBasicValue( obj, value );
-			}
-		} catch( ParseException | ClassCastException e ) {
-			throw new IOException( e );
-		}
+		new JsonParser( reader, strictEncoding ).parseDocument( value );
 	}
 
-
 	public static void parseNdJsonIntoValue( BufferedReader reader, Value value, boolean strictEncoding )
 		throws IOException {
-		List< String > stringItemVector = reader.lines().collect( Collectors.toList() );
-
-		for( String stringItem : stringItemVector ) {
-			StringReader itemReader = new StringReader( stringItem );
-			try {
-				Value itemValue = Value.create();
-				Object obj = JSONValue.parseWithException( itemReader );
-				if( obj instanceof JSONArray ) {
-					itemValue.children().put( JSONARRAY_KEY,
-						jsonArrayToValueVector( (JSONArray) obj, strictEncoding ) );
-				} else if( obj instanceof JSONObject ) {
-					jsonObjectToValue( (JSONObject) obj, itemValue, strictEncoding );
-				} else {
-					objectToBasicValue( obj, itemValue );
-				}
-				value.getChildren( "item" ).add( itemValue );
-			} catch( ParseException | ClassCastException e ) {
-				throw new IOException( e );
-			}
-
+		String line;
+		while( (line = reader.readLine()) != null ) {
+			final Value itemValue = Value.create();
+			parseJsonIntoValue( new StringReader( line ), itemValue, strictEncoding );
+			value.getChildren( "item" ).add( itemValue );
 		}
-
 	}
 }
@@ -0,0 +1,393 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+package jolie.js;
+
+import java.io.IOException;
+import java.io.Reader;
+import jolie.runtime.Value;
+import jolie.runtime.ValueVector;
+import jolie.runtime.typing.Type;
+
+/**
+ * A single-pass JSON parser that builds Jolie values while reading the document, following the
+ * mapping of {@link JsUtils}.
+ */
+final class JsonParser {
+	private static final int BUFFER_SIZE = 8192;
+
+	private final Reader reader;
+	private final boolean strictEncoding;
+	private final char[] buffer = new char[ BUFFER_SIZE ];
+	private final StringBuilder text = new StringBuilder();
+	private int position = 0;
+	private int limit = 0;
+	// Offset of the buffer in the document, for error messages
+	private long offset = 0;
+
+	JsonParser( Reader reader, boolean strictEncoding ) {
+		this.reader = reader;
+		this.strictEncoding = strictEncoding;
+	}
+
+	/**
+	 * Parses a whole document into the given value.
+	 */
+	void parseDocument( Value value )
+		throws IOException {
+		switch( peekToken() ) {
+		case '[':
+			position++;
+			value.children().put( JsUtils.JSONARRAY_KEY, parseArray() );
+			break;
+		case '{':
+			position++;
+			parseObject( value );
+			break;
+		default:
+			parsePrimitive( value );
+			break;
+		}
+		if( peekToken() != -1 ) {
+			throw error( "unexpected content after the end of the document" );
+		}
+	}
+
+	private void parseObject( Value value )
+		throws IOException {
+		int c = peekToken();
+		if( c == '}' ) {
+			position++;
+			return;
+		}
+		while( true ) {
+			if( c != '"' ) {
+				throw error( "expected a string key" );
+			}
+			position++;
+			final String key = parseString();
+			expect( ':' );
+			if( key.equals( JsUtils.ROOT_SIGN ) ) {
+				parseRootValue( value );
+			} else {
+				value.children().put( key, parseChild() );
+			}
+			c = peekToken();
+			position++;
+			if( c == '}' ) {
+				return;
+			} else if( c != ',' ) {
+				throw error( "expected ',' or '}'" );
+			}
+			c = peekToken();
+		}
+	}
+
+	/*
+	 * The root value of an object is set from its "$" attribute. Structured values are kept as JSON
+	 * text.
+	 */
+	private void parseRootValue( Value value )
+		throws IOException {
+		final int c = peekToken();
+		if( c == '[' || c == '{' ) {
+			final Value structure = Value.create();
+			position++;
+			if( c == '[' ) {
+				structure.children().put( JsUtils.JSONARRAY_KEY, parseArray() );
+			} else {
+				parseObject( structure );
+			}
+			final StringBuilder builder = new StringBuilder();
+			JsUtils.valueToJsonString( structure, false, Type.UNDEFINED, builder );
+			value.setValue( builder.toString() );
+		} else {
+			parsePrimitive( value );
+		}
+	}
+
+	private ValueVector parseChild()
+		throws IOException {
+		final int c = peekToken();
+		if( c == '[' ) {
+			position++;
+			if( strictEncoding ) {
+				final ValueVector vector = ValueVector.create();
+				final Value arrayValue = Value.create();
+				arrayValue.children().put( JsUtils.JSONARRAY_KEY, parseArray() );
+				vector.add( arrayValue );
+				return vector;
+			}
+			return parseArray();
+		}
+
+		final ValueVector vector = ValueVector.create();
+		vector.add( parseElement() );
+		return vector;
+	}
+
+	private ValueVector parseArray()
+		throws IOException {
+		final ValueVector vector = ValueVector.create();
+		int c = peekToken();
+		if( c == ']' ) {
+			position++;
+			return vector;
+		}
+		while( true ) {
+			vector.add( parseElement() );
+			c = peekToken();
+			position++;
+			if( c == ']' ) {
+				return vector;
+			} else if( c != ',' ) {
+				throw error( "expected ',' or ']'" );
+			}
+		}
+	}
+
+	private Value parseElement()
+		throws IOException {
+		final Value value = Value.create();
+		final int c = peekToken();
+		if( c == '[' ) {
+			position++;
+			value.children().put( JsUtils.JSONARRAY_KEY, parseArray() );
+		} else if( c == '{' ) {
+			position++;
+			parseObject( value );
+		} else {
+			parsePrimitive( value );
+		}
+		return value;
+	}
+
+	private void parsePrimitive( Value value )
+		throws IOException {
+		final int c = peekToken();
+		switch( c ) {
+		case '"':
+			position++;
+			value.setValue( parseString() );
+			break;
+		case 't':
+			expectWord( "true" );
+			value.setValue( true );
+			break;
+		case 'f':
+			expectWord( "false" );
+			value.setValue( false );
+			break;
+		case 'n':
+			expectWord( "null" );
+			break;
+		case -1:
+			throw error( "unexpected end of the document" );
+		default:
+			if( c == '-' || (c >= '0' && c <= '9') ) {
+				parseNumber( value );
+			} else {
+				throw error( "unexpected character '" + (char) c + "'" );
+			}
+			break;
+		}
+	}
+
+	private void parseNumber( Value value )
+		throws IOException {
+		text.setLength( 0 );
+		boolean integral = true;
+		int c;
+		while( (c = peek()) != -1 ) {
+			if( (c >= '0' && c <= '9') || c == '-' || c == '+' ) {
+				text.append( (char) c );
+			} else if( c == '.' || c == 'e' || c == 'E' ) {
+				integral = false;
+				text.append( (char) c );
+			} else {
+				break;
+			}
+			position++;
+		}
+
+		final String number = text.toString();
+		try {
+			if( integral ) {
+				try {
+					final long l = Long.parseLong( number );
+					if( l > Integer.MAX_VALUE || l < Integer.MIN_VALUE ) {
+						value.setValue( l );
+					} else {
+						value.setValue( (int) l );
+					}
+					return;
+				} catch( NumberFormatException e ) {
+					// Too large for a long
+				}
+			}
+			value.setValue( Double.parseDouble( number ) );
+		} catch( NumberFormatException e ) {
+			throw error( "invalid number " + number );
+		}
+	}
+
+	/*
+	 * Parses the rest of a string, after its opening quote.
+	 */
+	private String parseString()
+		throws IOException {
+		// Fast path: strings without escapes that are entirely in the buffer
+		for( int i = position; i < limit; i++ ) {
+			final char c = buffer[ i ];
+			if( c == '"' ) {
+				final String s = new String( buffer, position, i - position );
+				position = i + 1;
+				return s;
+			} else if( c == '\\' ) {
+				break;
+			}
+		}
+
+		text.setLength( 0 );
+		while( true ) {
+			if( position >= limit && !fill() ) {
+				throw error( "unterminated string" );
+			}
+			int start = position;
+			while( position < limit ) {
+				final char c = buffer[ position ];
+				if( c == '"' ) {
+					text.append( buffer, start, position - start );
+					position++;
+					return text.toString();
+				} else if( c == '\\' ) {
+					text.append( buffer, start, position - start );
+					position++;
+					text.append( parseEscape() );
+					start = position;
+				} else {
+					position++;
+				}
+			}
+			text.append( buffer, start, position - start );
+		}
+	}
+
+	private char parseEscape()
+		throws IOException {
+		final int c = read();
+		switch( c ) {
+		case '"':
+		case '\\':
+		case '/':
+			return (char) c;
+		case 'b':
+			return '\b';
+		case 'f':
+			return '\f';
+		case 'n':
+			return '\n';
+		case 'r':
+			return '\r';
+		case 't':
+			return '\t';
+		case 'u':
+			int code = 0;
+			for( int i = 0; i < 4; i++ ) {
+				final int digit = Character.digit( read(), 16 );
+				if( digit < 0 ) {
+					throw error( "invalid unicode escape" );
+				}
+				code = (code << 4) | digit;
+			}
+			return (char) code;
+		default:
+			throw error( "invalid escape sequence" );
+		}
+	}
+
+	private void expect( char expected )
+		throws IOException {
+		if( peekToken() != expected ) {
+			throw error( "expected '" + expected + "'" );
+		}
+		position++;
+	}
+
+	private void expectWord( String word )
+		throws IOException {
+		for( int i = 0; i < word.length(); i++ ) {
+			if( read() != word.charAt( i ) ) {
+				throw error( "expected " + word );
+			}
+		}
+	}
+
+	/*
+	 * Returns the next character that is not whitespace without consuming it, or -1 at the end of the
+	 * document.
+	 */
+	private int peekToken()
+		throws IOException {
+		while( true ) {
+			final int c = peek();
+			if( c == ' ' || c == '\n' || c == '\r' || c == '\t' ) {
+				position++;
+			} else {
+				return c;
+			}
+		}
+	}
+
+	private int peek()
+		throws IOException {
+		if( position >= limit && !fill() ) {
+			return -1;
+		}
+		return buffer[ position ];
+	}
+
+	private int read()
+		throws IOException {
+		if( position >= limit && !fill() ) {
+			return -1;
+		}
+		return buffer[ position++ ];
+	}
+
+	private boolean fill()
+		throws IOException {
+		offset += limit;
+		position = 0;
+		limit = 0;
+		int n;
+		do {
+			n = reader.read( buffer, 0, buffer.length );
+		} while( n == 0 );
+		if( n < 0 ) {
+			return false;
+		}
+		limit = n;
+		return true;
+	}
+
+	private IOException error( String message ) {
+		return new IOException( "Invalid JSON at position " + (offset + position) + ": " + message );
+	}
+}
@@ -38,6 +38,7 @@ import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
+import java.util.function.Supplier;
 
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
@@ -45,6 +46,7 @@ import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLEngineResult;
 import javax.net.ssl.SSLEngineResult.HandshakeStatus;
 import javax.net.ssl.SSLEngineResult.Status;
+import javax.net.ssl.SSLParameters;
 import javax.net.ssl.TrustManagerFactory;
 
 import jolie.net.CommMessage;
@@ -65,6 +67,7 @@ public class SSLProtocol extends SequentialCommProtocol {
 	private final URI location;
 	private boolean firstTime;
 	private final CommProtocol wrappedProtocol;
+	private final Supplier< String[] > applicationProtocols;
 	private SSLEngine sslEngine;
 
 	private OutputStream outputStream;
@@ -212,8 +215,23 @@ public class SSLProtocol extends SequentialCommProtocol {
 		URI uri,
 		CommProtocol wrappedProtocol,
 		boolean isClient ) {
+		this( configurationPath, uri, wrappedProtocol, isClient, () -> new String[ 0 ] );
+	}
+
+	/**
+	 * Creates a protocol that offers application protocols (e.g., "h2" and "http/1.1") for negotiation
+	 * during the handshake (ALPN), in order of preference. They are obtained when the connection is
+	 * initialised, when the parameters of the port can be read.
+	 */
+	public SSLProtocol(
+		VariablePath configurationPath,
+		URI uri,
+		CommProtocol wrappedProtocol,
+		boolean isClient,
+		Supplier< String[] > applicationProtocols ) {
 		super( configurationPath );
 		this.wrappedProtocol = wrappedProtocol;
+		this.applicationProtocols = applicationProtocols;
 		this.isClient = isClient;
 		this.firstTime = true;
 		this.location = uri;
@@ -304,6 +322,12 @@ public class SSLProtocol extends SequentialCommProtocol {
 			}
 			sslEngine.setEnabledProtocols( new String[] { protocol } );
 			sslEngine.setUseClientMode( isClient );
+			final String[] protocols = applicationProtocols.get();
+			if( protocols.length > 0 ) {
+				final SSLParameters parameters = sslEngine.getSSLParameters();
+				parameters.setApplicationProtocols( protocols );
+				sslEngine.setSSLParameters( parameters );
+			}
 			if( isClient == false ) {
 				sslEngine.setWantClientAuth( getSSLIntegerParameter( "wantClientAuth", 1 ) > 0 );
 			}
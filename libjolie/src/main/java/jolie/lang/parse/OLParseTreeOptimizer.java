@@ -435,7 +435,7 @@ public class OLParseTreeOptimizer {
 		@Override
 		public void visit( SynchronizedStatement n ) {
 			n.body().accept( this );
-			currNode = new SynchronizedStatement( n.context(), n.id(), currNode );
+			currNode = new SynchronizedStatement( n.context(), n.id(), n.shared(), currNode );
 		}
 
 		@Override
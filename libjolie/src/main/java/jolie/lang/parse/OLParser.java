@@ -2452,10 +2452,20 @@ public class OLParser extends AbstractParser {
 			assertToken( Scanner.TokenType.ID, "expected lock id" );
 			final String sid = token.content();
 			nextToken();
+			boolean sharedLock = false;
+			if( token.is( Scanner.TokenType.COMMA ) ) {
+				nextToken();
+				assertToken( Scanner.TokenType.ID, "expected shared" );
+				if( token.isKeyword( "shared" ) == false ) {
+					throwException( "expected shared" );
+				}
+				sharedLock = true;
+				nextToken();
+			}
 
 			eat( Scanner.TokenType.RPAREN, "expected )" );
 			eat( Scanner.TokenType.LCURLY, "expected {" );
-			retVal = new SynchronizedStatement( getContext(), sid, parseProcess() );
+			retVal = new SynchronizedStatement( getContext(), sid, sharedLock, parseProcess() );
 			eat( Scanner.TokenType.RCURLY, "expected }" );
 			break;
 		case SPAWN:
@@ -19,6 +19,7 @@
 
 package jolie.lang.parse.ast;
 
+import java.io.Serializable;
 import java.util.Map;
 import java.util.Optional;
 import jolie.lang.Constants;
@@ -31,7 +32,8 @@ import jolie.util.Pair;
 public class ServiceNode extends OLSyntaxNode implements ImportableSymbol {
 	public static final String DEFAULT_MAIN_SERVICE_NAME = "Main";
 
-	public static class ParameterConfiguration {
+	public static class ParameterConfiguration implements Serializable {
+		private static final long serialVersionUID = Constants.serialVersionUID();
 		private final TypeDefinition type;
 		private final String variablePath;
 
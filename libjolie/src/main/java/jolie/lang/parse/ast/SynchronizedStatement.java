@@ -27,11 +27,17 @@ import jolie.lang.parse.context.ParsingContext;
 
 public class SynchronizedStatement extends OLSyntaxNode {
 	private final String id;
+	private final boolean shared;
 	private final OLSyntaxNode body;
 
 	public SynchronizedStatement( ParsingContext context, String id, OLSyntaxNode body ) {
+		this( context, id, false, body );
+	}
+
+	public SynchronizedStatement( ParsingContext context, String id, boolean shared, OLSyntaxNode body ) {
 		super( context );
 		this.id = id;
+		this.shared = shared;
 		this.body = body;
 	}
 
@@ -39,6 +45,14 @@ public class SynchronizedStatement extends OLSyntaxNode {
 		return id;
 	}
 
+	/**
+	 * Returns <code>true</code> if the body can run at the same time as the bodies of other shared
+	 * synchronized statements with the same identifier, as in <code>synchronized( id, shared )</code>.
+	 */
+	public boolean shared() {
+		return shared;
+	}
+
 	public OLSyntaxNode body() {
 		return body;
 	}
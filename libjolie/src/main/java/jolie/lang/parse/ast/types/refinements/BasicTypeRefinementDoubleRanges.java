@@ -4,7 +4,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 
 public class BasicTypeRefinementDoubleRanges implements Serializable, BasicTypeRefinement< Double > {
-	public static class Interval {
+	public static class Interval implements Serializable {
 		private final double min;
 		private final double max;
 
@@ -4,7 +4,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 
 public class BasicTypeRefinementIntegerRanges implements Serializable, BasicTypeRefinement< Integer > {
-	public static class Interval {
+	public static class Interval implements Serializable {
 		private final int min;
 		private final int max;
 
@@ -60,7 +60,7 @@ public class ImportedSymbolInfo extends SymbolInfo {
 	}
 
 	public Optional< ModuleSource > moduleSource() {
-		return Optional.of( this.moduleSource );
+		return Optional.ofNullable( this.moduleSource );
 	}
 
 	public String originalSymbolName() {
@@ -26,13 +26,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -50,7 +53,7 @@ class ModuleCrawler {
 		private final Map< URI, ModuleRecord > moduleCrawled;
 
 		private CrawlerResult() {
-			this.moduleCrawled = new HashMap<>();
+			this.moduleCrawled = new LinkedHashMap<>();
 		}
 
 		private void addModuleRecord( ModuleRecord mr ) {
@@ -66,7 +69,7 @@ class ModuleCrawler {
 		}
 
 		public Map< URI, SymbolTable > symbolTables() {
-			Map< URI, SymbolTable > result = new HashMap<>();
+			Map< URI, SymbolTable > result = new LinkedHashMap<>();
 			this.moduleCrawled.values().stream().forEach( mr -> result.put( mr.uri(), mr.symbolTable() ) );
 			return result;
 		}
@@ -125,40 +128,86 @@ class ModuleCrawler {
 		throws ParserException, IOException, ModuleException {
 		CrawlerResult result = new CrawlerResult();
 		// start with main module record
-		Queue< ModuleSource > dependencies = new LinkedList<>();
 		result.addModuleRecord( mainRecord );
-		dependencies.addAll( this.crawlModule( mainRecord ) );
+		List< ModuleSource > dependencies = this.crawlModule( mainRecord );
 
-		// walk through dependencies
-		while( dependencies.peek() != null ) {
-			ModuleSource module = dependencies.poll();
-
-			if( result.isRecordInResult( module.uri() ) ) {
-				continue;
-			}
+		// walk through dependencies, one level of the dependency graph at a time
+		while( !dependencies.isEmpty() ) {
+			Map< URI, ModuleSource > toParse = new LinkedHashMap<>();
+			List< ModuleSource > nextDependencies = new ArrayList<>();
+			for( ModuleSource module : dependencies ) {
+				if( result.isRecordInResult( module.uri() ) || toParse.containsKey( module.uri() ) ) {
+					continue;
+				}
 
-			if( cache.contains( module.uri() ) ) {
 				ModuleRecord cached = cache.get( module.uri() );
-				for( ImportedSymbolInfo importedSymbol : cached.symbolTable().importedSymbolInfos() ) {
-					if( importedSymbol.moduleSource().isPresent() ) {
-						dependencies.add( importedSymbol.moduleSource().get() );
-					} else {
-						ModuleRecord record = new ModuleParser( parserConfiguration ).parse( module );
-						result.addModuleRecord( record );
-						dependencies.addAll( crawlModule( record ) );
+				// a cached record whose imports were never resolved has to be parsed and crawled again
+				if( cached != null && Arrays.stream( cached.symbolTable().importedSymbolInfos() )
+					.allMatch( importedSymbol -> importedSymbol.moduleSource().isPresent() ) ) {
+					for( ImportedSymbolInfo importedSymbol : cached.symbolTable().importedSymbolInfos() ) {
+						nextDependencies.add( importedSymbol.moduleSource().get() );
 					}
+					result.addModuleRecord( cached );
+				} else {
+					toParse.put( module.uri(), module );
 				}
-				result.addModuleRecord( cached );
-			} else {
-				ModuleRecord record = new ModuleParser( parserConfiguration ).parse( module );
+			}
+
+			// records are crawled in the order in which their modules were found, so that the result
+			// does not depend on which parse finishes first
+			for( ModuleRecord record : parse( toParse.values() ) ) {
 				result.addModuleRecord( record );
-				dependencies.addAll( crawlModule( record ) );
+				nextDependencies.addAll( crawlModule( record ) );
 			}
+			dependencies = nextDependencies;
 		}
 
 		return result;
 	}
 
+	/**
+	 * Parses the given modules, concurrently if there is more than one, and returns their records in
+	 * the same order.
+	 */
+	private List< ModuleRecord > parse( Collection< ModuleSource > modules )
+		throws ParserException, IOException, ModuleException {
+		if( modules.size() == 1 ) {
+			return List.of( new ModuleParser( parserConfiguration ).parse( modules.iterator().next() ) );
+		}
+
+		List< ForkJoinTask< ModuleRecord > > tasks = new ArrayList<>( modules.size() );
+		for( ModuleSource module : modules ) {
+			tasks.add( ForkJoinPool.commonPool()
+				.submit( () -> new ModuleParser( parserConfiguration ).parse( module ) ) );
+		}
+
+		List< ModuleRecord > records = new ArrayList<>( tasks.size() );
+		for( ForkJoinTask< ModuleRecord > task : tasks ) {
+			try {
+				records.add( task.get() );
+			} catch( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+				throw new IOException( e );
+			} catch( ExecutionException e ) {
+				tasks.forEach( t -> t.cancel( false ) );
+				Throwable cause = e.getCause();
+				if( cause instanceof ParserException ) {
+					throw (ParserException) cause;
+				} else if( cause instanceof IOException ) {
+					throw (IOException) cause;
+				} else if( cause instanceof ModuleException ) {
+					throw (ModuleException) cause;
+				} else if( cause instanceof RuntimeException ) {
+					throw (RuntimeException) cause;
+				} else if( cause instanceof Error ) {
+					throw (Error) cause;
+				}
+				throw new IOException( cause );
+			}
+		}
+		return records;
+	}
+
 	/**
 	 * crawl module's dependencies required for resolving symbols
 	 * 
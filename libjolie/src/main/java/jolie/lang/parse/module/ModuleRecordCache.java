@@ -19,7 +19,6 @@
 package jolie.lang.parse.module;
 
 import java.net.URI;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -50,12 +49,10 @@ public class ModuleRecordCache {
 	 * @param dependencies list of dependencies needed by moduleURI
 	 */
 	private void putDependencies( URI moduleURI, List< URI > dependencies ) {
-		dependenciesLoadedFrom.putIfAbsent( moduleURI, new HashSet<>() );
-		dependenciesLoadedFrom.get( moduleURI ).addAll( dependencies );
-		dependencies.forEach( d -> {
-			dependenciesNeededBy.putIfAbsent( d, new HashSet<>() );
-			dependenciesNeededBy.get( d ).add( moduleURI );
-		} );
+		dependenciesLoadedFrom.computeIfAbsent( moduleURI, k -> ConcurrentHashMap.newKeySet() )
+			.addAll( dependencies );
+		dependencies.forEach(
+			d -> dependenciesNeededBy.computeIfAbsent( d, k -> ConcurrentHashMap.newKeySet() ).add( moduleURI ) );
 	}
 
 	protected void put( ModuleRecord mc, List< URI > dependencies ) {
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+
+package jolie.lang.parse.module;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ModuleCrawlerTests {
+	// main imports a, b and c; a and b import c
+	private static final List< String > CRAWL_ORDER = List.of( "main.ol", "a.ol", "b.ol", "c.ol" );
+
+	private static Path module( String name )
+		throws Exception {
+		return Paths.get( ModuleCrawlerTests.class.getResource( "crawler/" + name ).toURI() );
+	}
+
+	private static List< URI > expectedOrder()
+		throws Exception {
+		final List< URI > order = new ArrayList<>();
+		for( String name : CRAWL_ORDER ) {
+			order.add( module( name ).toUri() );
+		}
+		return order;
+	}
+
+	private static List< URI > crawl( boolean useGlobalCache )
+		throws Exception {
+		final ModuleParsingConfiguration configuration = new ModuleParsingConfiguration(
+			StandardCharsets.UTF_8.name(), new String[ 0 ], new String[ 0 ], ModuleCrawlerTests.class.getClassLoader(),
+			Map.of(), false, useGlobalCache );
+		final Path main = module( "main.ol" );
+		try( InputStream stream = main.toUri().toURL().openStream() ) {
+			return new ArrayList<>(
+				Modules.parseModuleLocal( configuration, stream, main.toUri() ).symbolTables().keySet() );
+		}
+	}
+
+	@AfterEach
+	void freeCache()
+		throws Exception {
+		for( URI uri : expectedOrder() ) {
+			Modules.freeCache( uri );
+		}
+	}
+
+	@Test
+	void crawlsSharedImportsOnceInImportOrder()
+		throws Exception {
+		final List< URI > expected = expectedOrder();
+		for( int i = 0; i < 20; i++ ) {
+			assertEquals( expected, crawl( false ), "crawl " + i );
+		}
+	}
+
+	@Test
+	void crawlsCachedModulesInTheSameOrder()
+		throws Exception {
+		final List< URI > expected = expectedOrder();
+		assertEquals( expected, crawl( true ), "first crawl" );
+		for( int i = 0; i < 20; i++ ) {
+			assertEquals( expected, crawl( true ), "cached crawl " + i );
+		}
+	}
+
+	@Test
+	void crawlsCachedModulesWithUnresolvedImports()
+		throws Exception {
+		final ModuleParsingConfiguration configuration = new ModuleParsingConfiguration(
+			StandardCharsets.UTF_8.name(), new String[ 0 ], new String[ 0 ], ModuleCrawlerTests.class.getClassLoader(),
+			Map.of(), false, true );
+		// a is cached without having been crawled, so its import of c has no module source
+		final ModuleRecord a = new ModuleParser( configuration ).parse( new PathSource( module( "a.ol" ) ) );
+		Modules.CACHE.put( a, List.of() );
+		assertEquals( expectedOrder(), crawl( true ), "crawl" );
+	}
+}
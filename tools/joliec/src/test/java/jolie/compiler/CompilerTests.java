@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2026 The Jolie Developers
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+
+
+package jolie.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import jolie.Interpreter;
+import jolie.cli.CommandLineParser;
+import jolie.lang.parse.ast.Program;
+import jolie.net.CommMessage;
+import jolie.net.LocalCommChannel;
+import jolie.runtime.Value;
+
+class CompilerTests {
+	private static Path program( String name )
+		throws Exception {
+		return Paths.get( CompilerTests.class.getResource( name ).toURI() );
+	}
+
+	private static byte[] compile( String... args )
+		throws Exception {
+		final ByteArrayOutputStream ostream = new ByteArrayOutputStream();
+		new Compiler( args ).compile( ostream );
+		return ostream.toByteArray();
+	}
+
+	@Test
+	void compilesImportsParametersAndRanges()
+		throws Exception {
+		final byte[] compiled = compile( program( "imports.ol" ).toString() );
+		try( ObjectInputStream istream = new ObjectInputStream( new ByteArrayInputStream( compiled ) ) ) {
+			final Object o = istream.readObject();
+			assertTrue( o instanceof Program, "the compiled file does not contain a program" );
+			assertTrue( ((Program) o).children().size() > 0, "the compiled program is empty" );
+		}
+	}
+
+	@Test
+	void runsEmbeddedServicesOfCompiledPrograms()
+		throws Exception {
+		final Path compiled = Files.createTempFile( "embedding", ".olc" );
+		try {
+			Files.write( compiled, compile( "-s", "Main", program( "embedding.ol" ).toString() ) );
+			final Interpreter interpreter;
+			try( CommandLineParser parser = new CommandLineParser( new String[] { "-s", "Main", compiled.toString() },
+				CompilerTests.class.getClassLoader(), false ) ) {
+				interpreter = new Interpreter( parser.getInterpreterConfiguration(), null,
+					Optional.of( Value.create() ), Optional.empty() );
+				assertNull( interpreter.start().get(), "the compiled program did not start" );
+			}
+			try {
+				final LocalCommChannel channel = interpreter.commCore().getLocalCommChannel();
+				final CommMessage request = CommMessage.createRequest( "echo", "/", Value.create( "hello" ) );
+				channel.send( request );
+				final CommMessage response = channel.recvResponseFor( request ).get();
+				assertFalse( response.isFault(), "the embedded service did not answer" );
+				assertEquals( "echo hello", response.value().strValue() );
+			} finally {
+				interpreter.exit();
+			}
+		} finally {
+			Files.delete( compiled );
+		}
+	}
+}